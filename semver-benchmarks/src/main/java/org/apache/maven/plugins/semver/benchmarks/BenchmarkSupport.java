@@ -0,0 +1,84 @@
+package org.apache.maven.plugins.semver.benchmarks;
+
+import org.apache.maven.plugins.semver.providers.RepositoryProvider;
+import org.slf4j.helpers.NOPLogger;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ *
+ * <h1>BenchmarkSupport</h1>
+ *
+ * <p>Wires the Plexus-components of the plugin without a container: the loggers are no-op, so the benchmarks measure the
+ * version math and not the logging, and the {@link RepositoryProvider} does not touch a SCM-repository.</p>
+ *
+ * @author sido
+ */
+final class BenchmarkSupport {
+
+  private BenchmarkSupport() {
+  }
+
+  /**
+   *
+   * <p>Set the no-op logger and the {@link RepositoryProvider} on a component.</p>
+   *
+   * @param component the component, like the <i>VersionProviderImpl</i>
+   * @param repositoryProvider the {@link RepositoryProvider}
+   * @param <T> type of the component
+   * @return the component
+   * @throws ReflectiveOperationException when the component has no <i>LOG</i> or <i>repositoryProvider</i>
+   */
+  static <T> T wire(T component, RepositoryProvider repositoryProvider) throws ReflectiveOperationException {
+    inject(component, "LOG", NOPLogger.NOP_LOGGER);
+    inject(component, "repositoryProvider", repositoryProvider);
+    return component;
+  }
+
+  /**
+   *
+   * <p>A {@link RepositoryProvider} on the given branch, every other method returns the default value of its return type.</p>
+   *
+   * @param branch the current branch
+   * @return the {@link RepositoryProvider}
+   */
+  static RepositoryProvider repositoryProvider(final String branch) {
+    return (RepositoryProvider) Proxy.newProxyInstance(RepositoryProvider.class.getClassLoader(), new Class<?>[]{RepositoryProvider.class}, new InvocationHandler() {
+      @Override
+      public Object invoke(Object proxy, Method method, Object[] args) {
+        Object value = null;
+        if ("getCurrentBranch".equals(method.getName())) {
+          value = branch;
+        } else if ("isInitialized".equals(method.getName())) {
+          value = Boolean.TRUE;
+        } else if (method.getReturnType() == boolean.class) {
+          value = Boolean.FALSE;
+        } else if (method.getReturnType() == int.class) {
+          value = 0;
+        } else if (method.getReturnType() == long.class) {
+          value = 0L;
+        }
+        return value;
+      }
+    });
+  }
+
+  /**
+   *
+   * <p>Set a <i>@Requirement</i>-field of a component.</p>
+   *
+   * @param component the component
+   * @param name name of the field
+   * @param value value of the field
+   * @throws ReflectiveOperationException when the component has no field with the name
+   */
+  static void inject(Object component, String name, Object value) throws ReflectiveOperationException {
+    Field field = component.getClass().getDeclaredField(name);
+    field.setAccessible(true);
+    field.set(component, value);
+  }
+
+}
@@ -0,0 +1,51 @@
+package org.apache.maven.plugins.semver.benchmarks;
+
+import org.apache.maven.plugins.semver.providers.BranchProviderImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * <h1>BranchProviderBenchmark</h1>
+ *
+ * <p>The branch-regexes of the {@link BranchProviderImpl}, for a release-branch (<i>1.2.3</i>), a versioned branch
+ * (<i>v1_2_3_feature</i>) and a branch without a version (<i>develop</i>).
+ * The <i>master</i>-branch is left out, it calls the branch-conversion service.</p>
+ *
+ * @author sido
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BranchProviderBenchmark {
+
+  @Param({"1.2.3", "v1_2_3_feature", "develop"})
+  public String branch;
+
+  private BranchProviderImpl branchProvider;
+
+  @Setup
+  public void setup() throws ReflectiveOperationException {
+    branchProvider = BenchmarkSupport.wire(new BranchProviderImpl(), BenchmarkSupport.repositoryProvider(branch));
+  }
+
+  @Benchmark
+  public String determineBranchVersionFromGitBranch() {
+    return branchProvider.determineBranchVersionFromGitBranch(null, null);
+  }
+
+}
@@ -0,0 +1,124 @@
+package org.apache.maven.plugins.semver.benchmarks;
+
+import org.apache.maven.plugins.semver.providers.MetricsProvider;
+import org.apache.maven.plugins.semver.providers.MetricsReport;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *
+ * <h1>HeapMetricsProvider</h1>
+ *
+ * <p>{@link MetricsProvider} that records the heap next to the timings of the plugin: the bytes allocated by the thread that
+ * runs a phase, and the highest used heap at the end of a phase. The timings and counters are recorded by the wrapped provider.</p>
+ * <p>The allocated bytes are only known on HotSpot-based JVMs, on other JVMs they are 0.</p>
+ *
+ * @author sido
+ */
+class HeapMetricsProvider implements MetricsProvider {
+
+  private final MetricsProvider metricsProvider;
+  private final com.sun.management.ThreadMXBean threads;
+  private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+  private final Map<PHASE, AtomicLong> allocatedBytes = new EnumMap<>(PHASE.class);
+  private final Map<PHASE, AtomicLong> usedHeapBytes = new EnumMap<>(PHASE.class);
+  private final ThreadLocal<Set<PHASE>> runningPhases = new ThreadLocal<Set<PHASE>>() {
+    @Override
+    protected Set<PHASE> initialValue() {
+      return EnumSet.noneOf(PHASE.class);
+    }
+  };
+
+  HeapMetricsProvider(MetricsProvider metricsProvider) {
+    this.metricsProvider = metricsProvider;
+    ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    if (threadMXBean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()) {
+      this.threads = (com.sun.management.ThreadMXBean) threadMXBean;
+      this.threads.setThreadAllocatedMemoryEnabled(true);
+    } else {
+      this.threads = null;
+    }
+    for (PHASE phase : PHASE.values()) {
+      allocatedBytes.put(phase, new AtomicLong());
+      usedHeapBytes.put(phase, new AtomicLong());
+    }
+  }
+
+  @Override
+  public void startReport(String goal) {
+    for (PHASE phase : PHASE.values()) {
+      allocatedBytes.get(phase).set(0);
+      usedHeapBytes.get(phase).set(0);
+    }
+    metricsProvider.startReport(goal);
+  }
+
+  @Override
+  public Timer startPhase(final PHASE phase) {
+    final Timer timer = metricsProvider.startPhase(phase);
+    final Set<PHASE> phases = runningPhases.get();
+    if (!phases.add(phase)) {
+      return timer;
+    }
+    final long allocatedAtStart = getAllocatedBytes();
+    return new Timer() {
+      @Override
+      public void close() {
+        timer.close();
+        phases.remove(phase);
+        allocatedBytes.get(phase).addAndGet(getAllocatedBytes() - allocatedAtStart);
+        AtomicLong usedHeap = usedHeapBytes.get(phase);
+        long used = memory.getHeapMemoryUsage().getUsed();
+        long highest = usedHeap.get();
+        while (used > highest && !usedHeap.compareAndSet(highest, used)) {
+          highest = usedHeap.get();
+        }
+      }
+    };
+  }
+
+  @Override
+  public void count(PHASE phase, String counter, long value) {
+    metricsProvider.count(phase, counter, value);
+  }
+
+  @Override
+  public MetricsReport finishReport(File outputDirectory) {
+    return metricsProvider.finishReport(outputDirectory);
+  }
+
+  /**
+   *
+   * <p>Bytes allocated during the phase since the start of the report.</p>
+   *
+   * @param phase the phase
+   * @return allocated bytes
+   */
+  long getAllocatedBytes(PHASE phase) {
+    return allocatedBytes.get(phase).get();
+  }
+
+  /**
+   *
+   * <p>Highest used heap at the end of the phase since the start of the report.</p>
+   *
+   * @param phase the phase
+   * @return used heap in bytes
+   */
+  long getUsedHeapBytes(PHASE phase) {
+    return usedHeapBytes.get(phase).get();
+  }
+
+  private long getAllocatedBytes() {
+    return threads != null ? threads.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+  }
+
+}
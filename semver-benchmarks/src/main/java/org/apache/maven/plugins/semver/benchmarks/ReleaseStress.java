@@ -0,0 +1,394 @@
+package org.apache.maven.plugins.semver.benchmarks;
+
+import org.apache.maven.plugins.semver.factories.FileWriterFactory;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ResetCommand;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.transport.RefSpec;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ *
+ * <h1>ReleaseStress</h1>
+ *
+ * <p>Contention profile of the release path: N flows release concurrently from their own clone of one bare <i>file://</i>-remote,
+ * like CI-jobs of several services releasing from the same repository at peak time. Every <i>patch</i> is a {@link StressFlow}
+ * in its own JVM; between two patches a flow resets its clone to the remote, like a new CI-job.</p>
+ * <pre>
+ *   java -cp target/benchmarks.jar org.apache.maven.plugins.semver.benchmarks.ReleaseStress flows=1,4,8 releases=5
+ * </pre>
+ * <p>Per number of flows the throughput, the outcome of every patch (released, caught by which guard, rejected by the remote)
+ * and the state of the remote afterwards are printed and written to <i>stress-report.csv</i>. A release-tag on the remote that
+ * is not reachable from the branch is a race the guards missed and the remote did not stop.</p>
+ * <p>Options, comma-separated values are combined:</p>
+ * <ul>
+ * <li>flows: number of concurrent flows (default 1,2,4,8)</li>
+ * <li>releases: number of patches per flow (default 5)</li>
+ * <li>atomic: patch with an atomic publish (default false)</li>
+ * <li>reserve: patch with a reservation of the release-tag before the pom is rewritten (default false)</li>
+ * <li>tags: number of tags in the remote (default 100)</li>
+ * <li>output: directory for the repositories and the report (default target/stress)</li>
+ * </ul>
+ *
+ * @author sido
+ */
+public class ReleaseStress {
+
+  public static final String REPORT_FILE = "stress-report.csv";
+
+  private static final String BRANCH = Constants.R_HEADS + "master";
+
+  private ReleaseStress() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new LinkedHashMap<>();
+    options.put("flows", "1,2,4,8");
+    options.put("releases", "5");
+    options.put("atomic", "false");
+    options.put("reserve", "false");
+    options.put("tags", "100");
+    options.put("output", "target/stress");
+    for (String arg : args) {
+      int separator = arg.indexOf('=');
+      if (separator < 0 || !options.containsKey(arg.substring(0, separator))) {
+        throw new IllegalArgumentException("Unknown option [ " + arg + " ], use one of " + options.keySet());
+      }
+      options.put(arg.substring(0, separator), arg.substring(separator + 1));
+    }
+
+    File output = new File(options.get("output"));
+    Files.createDirectories(output.toPath());
+    int releases = Integer.parseInt(options.get("releases"));
+    int tags = Integer.parseInt(options.get("tags"));
+    try (PrintWriter report = new PrintWriter(Files.newBufferedWriter(new File(output, REPORT_FILE).toPath(), StandardCharsets.UTF_8))) {
+      StringBuilder header = new StringBuilder("flows,atomic,reserve,patches,seconds,releasesPerSecond");
+      for (StressFlow.OUTCOME outcome : StressFlow.OUTCOME.values()) {
+        header.append(',').append(outcome.name().toLowerCase());
+      }
+      report.println(header.append(",tagCollisions,lockFailures,p50ReleaseMs,p95ReleaseMs,newTags,orphanTags"));
+      for (String atomic : options.get("atomic").split(",")) {
+        for (String reserve : options.get("reserve").split(",")) {
+          for (String flows : options.get("flows").split(",")) {
+            Profile profile = run(Integer.parseInt(flows.trim()), releases, Boolean.parseBoolean(atomic.trim()), Boolean.parseBoolean(reserve.trim()), tags, new File(output, "repository"));
+            profile.print();
+            profile.write(report);
+          }
+        }
+      }
+    }
+    System.out.println("Report written to                  : " + new File(output, REPORT_FILE));
+    System.exit(0);
+  }
+
+  private static Profile run(int flows, int releases, final boolean isAtomicPublish, final boolean isTagReservation, int tags, File root) throws Exception {
+    ScalingBenchmark.deleteDirectory(root.toPath());
+    Files.createDirectories(root.toPath());
+    new ScalingScenario(tags, true, 10, 10, 1).generate(root);
+    final File origin = new File(root, "origin.git");
+    List<File> clones = new ArrayList<>();
+    for (int flow = 0; flow < flows; flow++) {
+      File clone = new File(root, "flow-" + flow);
+      Git.cloneRepository().setURI(origin.toURI().toString()).setDirectory(clone).call().close();
+      clones.add(clone);
+    }
+
+    final Profile profile = new Profile(flows, isAtomicPublish, isTagReservation, getTags(origin));
+    final CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(flows);
+    List<Future<Void>> futures = new ArrayList<>();
+    for (final File clone : clones) {
+      final int patches = releases;
+      futures.add(executor.submit(new Callable<Void>() {
+        @Override
+        public Void call() throws Exception {
+          start.await();
+          for (int patch = 0; patch < patches; patch++) {
+            resetToRemote(clone);
+            profile.add(runFlow(clone, isAtomicPublish, isTagReservation));
+          }
+          return null;
+        }
+      }));
+    }
+    long startNanos = System.nanoTime();
+    start.countDown();
+    for (Future<Void> future : futures) {
+      future.get();
+    }
+    profile.finish(System.nanoTime() - startNanos, origin);
+    executor.shutdown();
+    return profile;
+  }
+
+  /**
+   *
+   * <p>One patch in a new JVM, the last line with the outcome is the result.</p>
+   */
+  private static Attempt runFlow(File clone, boolean isAtomicPublish, boolean isTagReservation) throws IOException, InterruptedException {
+    List<String> command = new ArrayList<>();
+    command.add(new File(new File(System.getProperty("java.home"), "bin"), "java").getPath());
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(StressFlow.class.getName());
+    command.add(clone.getAbsolutePath());
+    command.add(String.valueOf(isAtomicPublish));
+    command.add(String.valueOf(isTagReservation));
+    Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+    long start = System.nanoTime();
+    String outcomeLine = null;
+    File log = new File(clone.getParentFile(), clone.getName() + ".log");
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.startsWith(StressFlow.OUTCOME_LINE + "\t")) {
+          outcomeLine = line;
+        }
+        Files.write(log.toPath(), (line + "\n").getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+      }
+    }
+    process.waitFor();
+    return new Attempt(outcomeLine, System.nanoTime() - start);
+  }
+
+  /**
+   *
+   * <p>Start the next patch like a new CI-job: the clone is reset to the branch of the remote and the local tags that are not
+   * on the remote are deleted.</p>
+   */
+  private static void resetToRemote(File clone) throws IOException, GitAPIException {
+    try (Git git = Git.open(clone)) {
+      git.fetch().setRemote("origin").setRefSpecs(new RefSpec("+" + BRANCH + ":" + Constants.R_REMOTES + "origin/master"), new RefSpec("+" + Constants.R_TAGS + "*:" + Constants.R_TAGS + "*")).call();
+      git.reset().setMode(ResetCommand.ResetType.HARD).setRef(Constants.R_REMOTES + "origin/master").call();
+      Set<String> remoteTags = new HashSet<>();
+      for (Ref remoteTag : git.lsRemote().setRemote("origin").setTags(true).call()) {
+        remoteTags.add(remoteTag.getName());
+      }
+      List<String> localTags = new ArrayList<>();
+      for (Ref localTag : git.tagList().call()) {
+        if (!remoteTags.contains(localTag.getName())) {
+          localTags.add(localTag.getName());
+        }
+      }
+      if (!localTags.isEmpty()) {
+        git.tagDelete().setTags(localTags.toArray(new String[0])).call();
+      }
+    }
+    FileWriterFactory.removeBackupSemverPom(clone);
+  }
+
+  private static Map<String, Ref> getTags(File origin) throws IOException, GitAPIException {
+    try (Git git = Git.open(origin)) {
+      Map<String, Ref> tags = new HashMap<>();
+      for (Ref tag : git.tagList().call()) {
+        tags.put(tag.getName(), tag);
+      }
+      return tags;
+    }
+  }
+
+  /**
+   *
+   * <h1>Attempt</h1>
+   *
+   * <p>Outcome and duration of one patch.</p>
+   */
+  private static class Attempt {
+
+    private final StressFlow.OUTCOME outcome;
+    private final String releaseTag;
+    private final List<String> rejectedRefs = new ArrayList<>();
+    private final long nanos;
+
+    private Attempt(String outcomeLine, long nanos) {
+      String[] columns = outcomeLine == null ? new String[0] : outcomeLine.split("\t", -1);
+      this.outcome = columns.length == 4 ? StressFlow.OUTCOME.valueOf(columns[1]) : StressFlow.OUTCOME.FAILED;
+      this.releaseTag = columns.length == 4 && !columns[2].isEmpty() ? columns[2] : null;
+      if (columns.length == 4 && !columns[3].isEmpty()) {
+        Collections.addAll(rejectedRefs, columns[3].split(" "));
+      }
+      this.nanos = nanos;
+    }
+
+    /**
+     *
+     * <p>Was the release-tag rejected because another flow pushed the same tag first?</p>
+     */
+    private boolean isTagCollision() {
+      for (String rejectedRef : rejectedRefs) {
+        if (rejectedRef.startsWith(Constants.R_TAGS) && !rejectedRef.endsWith("=" + StressFlow.LOCK_FAILURE) && !rejectedRef.endsWith("=" + StressFlow.ABORTED)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     *
+     * <p>Was a ref rejected because the remote could not lock it for a concurrent push?</p>
+     */
+    private boolean isLockFailure() {
+      for (String rejectedRef : rejectedRefs) {
+        if (rejectedRef.endsWith("=" + StressFlow.LOCK_FAILURE)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /**
+   *
+   * <h1>Profile</h1>
+   *
+   * <p>The outcomes of all patches of a number of flows and the state of the remote afterwards.</p>
+   */
+  private static class Profile {
+
+    private final int flows;
+    private final boolean isAtomicPublish;
+    private final boolean isTagReservation;
+    private final Map<String, Ref> initialTags;
+    private final List<Attempt> attempts = new ArrayList<>();
+    private long nanos;
+    private int newTags;
+    private final List<String> orphanTags = new ArrayList<>();
+
+    private Profile(int flows, boolean isAtomicPublish, boolean isTagReservation, Map<String, Ref> initialTags) {
+      this.flows = flows;
+      this.isAtomicPublish = isAtomicPublish;
+      this.isTagReservation = isTagReservation;
+      this.initialTags = initialTags;
+    }
+
+    private synchronized void add(Attempt attempt) {
+      attempts.add(attempt);
+    }
+
+    /**
+     *
+     * <p>Count the new tags on the remote and the tags that are not reachable from the branch.</p>
+     */
+    private void finish(long nanos, File origin) throws IOException, GitAPIException {
+      this.nanos = nanos;
+      try (Git git = Git.open(origin); RevWalk revWalk = new RevWalk(git.getRepository())) {
+        Repository repository = git.getRepository();
+        RevCommit head = revWalk.parseCommit(repository.exactRef(BRANCH).getObjectId());
+        for (Ref tag : git.tagList().call()) {
+          if (!initialTags.containsKey(tag.getName())) {
+            newTags++;
+            RevCommit tagCommit = revWalk.parseCommit(tag.getObjectId());
+            if (!revWalk.isMergedInto(tagCommit, head)) {
+              orphanTags.add(tag.getName().substring(Constants.R_TAGS.length()));
+            }
+            revWalk.reset();
+          }
+        }
+      }
+    }
+
+    private Map<StressFlow.OUTCOME, Integer> countOutcomes() {
+      Map<StressFlow.OUTCOME, Integer> outcomes = new EnumMap<>(StressFlow.OUTCOME.class);
+      for (StressFlow.OUTCOME outcome : StressFlow.OUTCOME.values()) {
+        outcomes.put(outcome, 0);
+      }
+      for (Attempt attempt : attempts) {
+        outcomes.put(attempt.outcome, outcomes.get(attempt.outcome) + 1);
+      }
+      return outcomes;
+    }
+
+    private int countTagCollisions() {
+      int tagCollisions = 0;
+      for (Attempt attempt : attempts) {
+        if (attempt.isTagCollision()) {
+          tagCollisions++;
+        }
+      }
+      return tagCollisions;
+    }
+
+    private int countLockFailures() {
+      int lockFailures = 0;
+      for (Attempt attempt : attempts) {
+        if (attempt.isLockFailure()) {
+          lockFailures++;
+        }
+      }
+      return lockFailures;
+    }
+
+    private double getReleaseMillis(double percentile) {
+      List<Long> releaseNanos = new ArrayList<>();
+      for (Attempt attempt : attempts) {
+        if (attempt.outcome == StressFlow.OUTCOME.RELEASED) {
+          releaseNanos.add(attempt.nanos);
+        }
+      }
+      if (releaseNanos.isEmpty()) {
+        return 0;
+      }
+      Collections.sort(releaseNanos);
+      return releaseNanos.get((int) Math.min(releaseNanos.size() - 1, Math.floor(percentile * releaseNanos.size()))) / 1e6;
+    }
+
+    private double getReleasesPerSecond() {
+      return countOutcomes().get(StressFlow.OUTCOME.RELEASED) / (nanos / 1e9);
+    }
+
+    private void print() {
+      Map<StressFlow.OUTCOME, Integer> outcomes = countOutcomes();
+      System.out.println("************************************************************************");
+      System.out.println(String.format("%-34s : [ %d ] [ %d patches ] [ atomic: %s ] [ reserve: %s ] in [ %.1f s ]", "Concurrent flows", flows, attempts.size(), isAtomicPublish, isTagReservation, nanos / 1e9));
+      System.out.println(String.format("%-34s : [ %.2f releases/s ]", "Throughput", getReleasesPerSecond()));
+      for (Map.Entry<StressFlow.OUTCOME, Integer> outcome : outcomes.entrySet()) {
+        String detail = "";
+        if (outcome.getKey() == StressFlow.OUTCOME.RELEASED) {
+          detail = String.format(" [ p50 %.0f ms ] [ p95 %.0f ms ]", getReleaseMillis(0.5), getReleaseMillis(0.95));
+        } else if (outcome.getKey() == StressFlow.OUTCOME.REJECTED_PUSH) {
+          detail = " [ " + countTagCollisions() + " tag collisions ] [ " + countLockFailures() + " lock failures ]";
+        }
+        System.out.println(String.format(" * %-31s : [ %4dx ]%s", outcome.getKey().getDescription(), outcome.getValue(), detail));
+      }
+      System.out.println(String.format("%-34s : [ %d new tags ] [ %d orphan tags ] %s", "Remote", newTags, orphanTags.size(), orphanTags.isEmpty() ? "" : orphanTags.toString()));
+    }
+
+    private void write(PrintWriter report) {
+      StringBuilder line = new StringBuilder(String.format("%d,%s,%s,%d,%.1f,%.3f", flows, isAtomicPublish, isTagReservation, attempts.size(), nanos / 1e9, getReleasesPerSecond()));
+      for (Integer count : countOutcomes().values()) {
+        line.append(',').append(count);
+      }
+      line.append(String.format(",%d,%d,%.0f,%.0f,%d,%d", countTagCollisions(), countLockFailures(), getReleaseMillis(0.5), getReleaseMillis(0.95), newTags, orphanTags.size()));
+      report.println(line);
+      report.flush();
+    }
+  }
+
+}
@@ -0,0 +1,150 @@
+package org.apache.maven.plugins.semver.benchmarks;
+
+import org.apache.maven.plugins.semver.providers.MetricsProvider;
+import org.apache.maven.plugins.semver.providers.MetricsReport;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * <h1>ScalingBenchmark</h1>
+ *
+ * <p>Shows how the plugin scales with the size of the SCM-repository, without network. For every {@link ScalingScenario}
+ * a working copy with a bare <i>file://</i>-remote is generated and the goals run against it. The wall-clock time and the
+ * time, allocated bytes and used heap of every phase are printed and written to <i>scaling-report.csv</i>.</p>
+ * <pre>
+ *   java -cp target/benchmarks.jar org.apache.maven.plugins.semver.benchmarks.ScalingBenchmark tags=1000,10000,200000 refs=packed,loose
+ * </pre>
+ * <p>Options, comma-separated values are combined:</p>
+ * <ul>
+ * <li>tags: number of tags (default 1000,10000,100000,200000)</li>
+ * <li>refs: <i>packed</i> and/or <i>loose</i> tag-refs (default packed,loose)</li>
+ * <li>depth: number of commits in the history (default 100)</li>
+ * <li>files: number of files in the working tree (default 1000)</li>
+ * <li>modules: number of maven-modules (default 10)</li>
+ * <li>goals: goals in order of execution (default patch,rollback,cleanup-git-tags)</li>
+ * <li>output: directory for the repositories and the report (default target/scaling)</li>
+ * </ul>
+ *
+ * @author sido
+ */
+public class ScalingBenchmark {
+
+  public static final String REPORT_FILE = "scaling-report.csv";
+
+  private static final double MB = 1024 * 1024;
+
+  private ScalingBenchmark() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new LinkedHashMap<>();
+    options.put("tags", "1000,10000,100000,200000");
+    options.put("refs", "packed,loose");
+    options.put("depth", "100");
+    options.put("files", "1000");
+    options.put("modules", "10");
+    options.put("goals", ScalingGoals.PATCH + "," + ScalingGoals.ROLLBACK + "," + ScalingGoals.CLEANUP_GIT_TAGS);
+    options.put("output", "target/scaling");
+    for (String arg : args) {
+      int separator = arg.indexOf('=');
+      if (separator < 0 || !options.containsKey(arg.substring(0, separator))) {
+        throw new IllegalArgumentException("Unknown option [ " + arg + " ], use one of " + options.keySet());
+      }
+      options.put(arg.substring(0, separator), arg.substring(separator + 1));
+    }
+
+    File output = new File(options.get("output"));
+    Files.createDirectories(output.toPath());
+    List<String> goals = Arrays.asList(options.get("goals").split(","));
+    try (PrintWriter report = new PrintWriter(Files.newBufferedWriter(new File(output, REPORT_FILE).toPath(), StandardCharsets.UTF_8))) {
+      report.println("scenario,goal,goalMs,phase,calls,phaseMs,allocatedBytes,usedHeapBytes");
+      for (ScalingScenario scenario : createScenarios(options)) {
+        runScenario(scenario, goals, new File(output, "repository"), report);
+      }
+    }
+    System.out.println("Report written to                  : " + new File(output, REPORT_FILE));
+  }
+
+  private static List<ScalingScenario> createScenarios(Map<String, String> options) {
+    List<ScalingScenario> scenarios = new ArrayList<>();
+    for (String depth : options.get("depth").split(",")) {
+      for (String files : options.get("files").split(",")) {
+        for (String modules : options.get("modules").split(",")) {
+          for (String refs : options.get("refs").split(",")) {
+            for (String tags : options.get("tags").split(",")) {
+              scenarios.add(new ScalingScenario(Integer.parseInt(tags.trim()), "packed".equals(refs.trim()), Integer.parseInt(depth.trim()), Integer.parseInt(files.trim()), Integer.parseInt(modules.trim())));
+            }
+          }
+        }
+      }
+    }
+    return scenarios;
+  }
+
+  private static void runScenario(ScalingScenario scenario, List<String> goals, File root, PrintWriter report) throws Exception {
+    deleteDirectory(root.toPath());
+    Files.createDirectories(root.toPath());
+    long start = System.nanoTime();
+    File workingCopy = scenario.generate(root);
+    System.out.println("************************************************************************");
+    System.out.println("Scenario                           : " + scenario);
+    System.out.println("Generated in                       : [ " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms ]");
+    ScalingGoals scalingGoals = new ScalingGoals(workingCopy, new File(root, "target"));
+    for (String goal : goals) {
+      System.gc();
+      ScalingGoals.Result result = scalingGoals.run(goal.trim());
+      printResult(scenario, result, report);
+    }
+    deleteDirectory(root.toPath());
+  }
+
+  private static void printResult(ScalingScenario scenario, ScalingGoals.Result result, PrintWriter report) {
+    MetricsReport metrics = result.getReport();
+    double goalMs = result.getNanos() / 1e6;
+    System.out.println(String.format("%-34s : [ %9.1f ms ]", "Goal " + result.getGoal(), goalMs));
+    for (MetricsProvider.PHASE phase : MetricsProvider.PHASE.values()) {
+      if (metrics.isRecorded(phase)) {
+        double phaseMs = metrics.getNanos(phase) / 1e6;
+        long allocatedBytes = result.getAllocatedBytes(phase);
+        long usedHeapBytes = result.getUsedHeapBytes(phase);
+        System.out.println(String.format(" * %-31s : [ %9.1f ms ] [ %4dx ] [ %8.1f MB allocated ] [ %8.1f MB heap ]", phase.getDescription(), phaseMs, metrics.getCalls(phase), allocatedBytes / MB, usedHeapBytes / MB));
+        report.println(String.format("\"%s\",%s,%.1f,%s,%d,%.1f,%d,%d", scenario, result.getGoal(), goalMs, phase, metrics.getCalls(phase), phaseMs, allocatedBytes, usedHeapBytes));
+      }
+    }
+    report.flush();
+  }
+
+  static void deleteDirectory(Path directory) throws IOException {
+    if (Files.exists(directory)) {
+      Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+          Files.delete(file);
+          return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult postVisitDirectory(Path dir, IOException err) throws IOException {
+          Files.delete(dir);
+          return FileVisitResult.CONTINUE;
+        }
+      });
+    }
+  }
+
+}
@@ -0,0 +1,250 @@
+package org.apache.maven.plugins.semver.benchmarks;
+
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.apache.maven.plugins.semver.configuration.SemverConfiguration;
+import org.apache.maven.plugins.semver.factories.FileWriterFactory;
+import org.apache.maven.plugins.semver.goals.SemverGoal;
+import org.apache.maven.plugins.semver.providers.AsyncRepositoryProviderImpl;
+import org.apache.maven.plugins.semver.providers.MetricsProvider;
+import org.apache.maven.plugins.semver.providers.MetricsProviderImpl;
+import org.apache.maven.plugins.semver.providers.MetricsReport;
+import org.apache.maven.plugins.semver.providers.PomProvider;
+import org.apache.maven.plugins.semver.providers.PomProviderImpl;
+import org.apache.maven.plugins.semver.providers.RepositoryProviderImpl;
+import org.apache.maven.plugins.semver.providers.VersionProvider;
+import org.apache.maven.plugins.semver.providers.VersionProviderImpl;
+import org.apache.maven.plugins.semver.runmodes.RunMode;
+import org.apache.maven.plugins.semver.runmodes.RunModeNative;
+import org.apache.maven.plugins.semver.utils.SemverExecutors;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.slf4j.Logger;
+import org.slf4j.helpers.NOPLogger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ *
+ * <h1>ScalingGoals</h1>
+ *
+ * <p>Runs the goals <i>patch</i>, <i>rollback</i> and <i>cleanup-git-tags</i> on a working copy, like the mojo's do, with the
+ * components of the plugin wired without a Maven-container. Every goal gets new components, like a new maven-invocation.</p>
+ *
+ * @author sido
+ */
+class ScalingGoals {
+
+  static final String PATCH = "patch";
+  static final String ROLLBACK = "rollback";
+  static final String CLEANUP_GIT_TAGS = "cleanup-git-tags";
+
+  private final File workingCopy;
+  private final File outputDirectory;
+  private final String scmConnection;
+  private final Logger log;
+  private final boolean isAtomicPublish;
+  private final boolean isTagReservation;
+  private String releaseTag;
+
+  ScalingGoals(File workingCopy, File outputDirectory) throws IOException, XmlPullParserException {
+    this(workingCopy, outputDirectory, NOPLogger.NOP_LOGGER, false, false);
+  }
+
+  /**
+   *
+   * @param workingCopy the working copy
+   * @param outputDirectory directory for the metrics-reports
+   * @param log logger of the repository-provider, the version-provider and the runmode
+   * @param isAtomicPublish patch with an atomic publish
+   * @param isTagReservation patch with a reservation of the release-tag
+   * @throws IOException when the pom.xml can not be read
+   * @throws XmlPullParserException when the pom.xml is invalid
+   */
+  ScalingGoals(File workingCopy, File outputDirectory, Logger log, boolean isAtomicPublish, boolean isTagReservation) throws IOException, XmlPullParserException {
+    this.workingCopy = workingCopy;
+    this.outputDirectory = outputDirectory;
+    this.scmConnection = readModel(new File(workingCopy, "pom.xml")).getScm().getConnection();
+    this.log = log;
+    this.isAtomicPublish = isAtomicPublish;
+    this.isTagReservation = isTagReservation;
+  }
+
+  /**
+   *
+   * <p>Run a goal. The rollback reverts the release of the last patch, so run the patch first.</p>
+   *
+   * @param goal <i>patch</i>, <i>rollback</i> or <i>cleanup-git-tags</i>
+   * @return the phases of the goal
+   * @throws Exception when the components can not be wired or the poms can not be read
+   */
+  Result run(String goal) throws Exception {
+    HeapMetricsProvider metricsProvider = new HeapMetricsProvider(wire(new MetricsProviderImpl()));
+    RepositoryProviderImpl repositoryProvider = new RepositoryProviderImpl();
+    BenchmarkSupport.inject(repositoryProvider, "LOG", log);
+    BenchmarkSupport.inject(repositoryProvider, "metricsProvider", metricsProvider);
+
+    metricsProvider.startReport(goal);
+    long start = System.nanoTime();
+    repositoryProvider.initialize(workingCopy, scmConnection, "benchmark", "benchmark");
+    if (PATCH.equals(goal)) {
+      runPatch(repositoryProvider, metricsProvider);
+    } else if (ROLLBACK.equals(goal)) {
+      runRollback(repositoryProvider, metricsProvider);
+    } else if (CLEANUP_GIT_TAGS.equals(goal)) {
+      repositoryProvider.pull();
+      repositoryProvider.getLocalTags();
+    } else {
+      throw new IllegalArgumentException("Unknown goal [ " + goal + " ]");
+    }
+    repositoryProvider.closeRepository();
+    long nanos = System.nanoTime() - start;
+    return new Result(goal, nanos, metricsProvider.finishReport(new File(outputDirectory, goal)), metricsProvider);
+  }
+
+  /**
+   *
+   * @return the release-tag of the last patch, null before the patch
+   */
+  String getReleaseTag() {
+    return releaseTag;
+  }
+
+  private void runPatch(RepositoryProviderImpl repositoryProvider, MetricsProvider metricsProvider) throws Exception {
+    List<MavenProject> projects = readReactor();
+    MavenSession session = new MavenSession(null, new DefaultMavenExecutionRequest(), new DefaultMavenExecutionResult(), projects);
+
+    VersionProviderImpl versionProvider = BenchmarkSupport.wire(new VersionProviderImpl(), repositoryProvider);
+    BenchmarkSupport.inject(versionProvider, "LOG", log);
+    PomProviderImpl pomProvider = BenchmarkSupport.wire(new PomProviderImpl(), repositoryProvider);
+    BenchmarkSupport.inject(pomProvider, "metricsProvider", metricsProvider);
+    BenchmarkSupport.inject(pomProvider, "project", projects.get(0));
+    BenchmarkSupport.inject(pomProvider, "session", session);
+    RunModeNative runMode = BenchmarkSupport.wire(new RunModeNative(), repositoryProvider);
+    BenchmarkSupport.inject(runMode, "LOG", log);
+    BenchmarkSupport.inject(runMode, "pomProvider", pomProvider);
+    BenchmarkSupport.inject(runMode, "versionProvider", versionProvider);
+    BenchmarkSupport.inject(runMode, "metricsProvider", metricsProvider);
+    BenchmarkSupport.inject(runMode, "asyncRepositoryProvider", new AsyncRepositoryProviderImpl(repositoryProvider, SemverExecutors.getRepositoryExecutor()));
+
+    SemverConfiguration configuration = new SemverConfiguration(null);
+    configuration.setRunMode(RunMode.RUNMODE.NATIVE);
+    configuration.setCheckRemoteVersionTags(true);
+    configuration.setAtomicPublish(isAtomicPublish);
+    configuration.setTagReservation(isTagReservation);
+    configuration.setPomRewriter(PomProvider.POM_REWRITER.NATIVE);
+    configuration.setBaseDir(workingCopy);
+    Map<VersionProvider.FINAL_VERSION, String> finalVersions = runMode.execute(SemverGoal.SEMVER_GOAL.PATCH, configuration, projects.get(0).getVersion());
+    releaseTag = finalVersions.get(VersionProvider.FINAL_VERSION.SCM);
+  }
+
+  /**
+   *
+   * <p>The steps of the rollback-goal, for the release of the last patch. The backup of the pom is written first, like a
+   * patch that failed after the release was pushed.</p>
+   */
+  private void runRollback(RepositoryProviderImpl repositoryProvider, MetricsProvider metricsProvider) {
+    if (releaseTag == null) {
+      throw new IllegalStateException("Run the patch-goal before the rollback-goal");
+    }
+    FileWriterFactory.backupSemverPom(workingCopy);
+    if (FileWriterFactory.canRollBack(workingCopy) && !repositoryProvider.isRemoteVersionCorrupt(releaseTag)) {
+      FileWriterFactory.rollbackPom(workingCopy);
+      repositoryProvider.commit("[semver-maven-plugin] rollback version  : [ " + releaseTag + " ]");
+      repositoryProvider.push();
+      repositoryProvider.deleteTag(releaseTag);
+      repositoryProvider.pushTag();
+      try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.CLEANUP)) {
+        FileWriterFactory.removeBackupSemverPom(workingCopy);
+      }
+    }
+  }
+
+  /**
+   *
+   * <p>The reactor of the working copy: the parent and its modules, with the version and groupId of the parent inherited.</p>
+   */
+  private List<MavenProject> readReactor() throws IOException, XmlPullParserException {
+    File parentPom = new File(workingCopy, "pom.xml");
+    Model parent = readModel(parentPom);
+    List<MavenProject> projects = new ArrayList<>();
+    projects.add(toProject(parent, parentPom));
+    for (String module : parent.getModules()) {
+      File modulePom = new File(new File(workingCopy, module), "pom.xml");
+      Model model = readModel(modulePom);
+      model.setGroupId(parent.getGroupId());
+      model.setVersion(parent.getVersion());
+      projects.add(toProject(model, modulePom));
+    }
+    return projects;
+  }
+
+  private static MavenProject toProject(Model model, File pomFile) {
+    MavenProject project = new MavenProject(model);
+    project.setFile(pomFile);
+    return project;
+  }
+
+  private static Model readModel(File pomFile) throws IOException, XmlPullParserException {
+    try (Reader reader = Files.newBufferedReader(pomFile.toPath(), StandardCharsets.UTF_8)) {
+      return new MavenXpp3Reader().read(reader);
+    }
+  }
+
+  private static MetricsProviderImpl wire(MetricsProviderImpl metricsProvider) throws ReflectiveOperationException {
+    BenchmarkSupport.inject(metricsProvider, "LOG", NOPLogger.NOP_LOGGER);
+    return metricsProvider;
+  }
+
+  /**
+   *
+   * <h1>Result</h1>
+   *
+   * <p>Wall-clock time of a goal and the time and heap of its phases.</p>
+   */
+  static class Result {
+
+    private final String goal;
+    private final long nanos;
+    private final MetricsReport report;
+    private final HeapMetricsProvider heap;
+
+    private Result(String goal, long nanos, MetricsReport report, HeapMetricsProvider heap) {
+      this.goal = goal;
+      this.nanos = nanos;
+      this.report = report;
+      this.heap = heap;
+    }
+
+    String getGoal() {
+      return goal;
+    }
+
+    long getNanos() {
+      return nanos;
+    }
+
+    MetricsReport getReport() {
+      return report;
+    }
+
+    long getAllocatedBytes(MetricsProvider.PHASE phase) {
+      return heap.getAllocatedBytes(phase);
+    }
+
+    long getUsedHeapBytes(MetricsProvider.PHASE phase) {
+      return heap.getUsedHeapBytes(phase);
+    }
+  }
+
+}
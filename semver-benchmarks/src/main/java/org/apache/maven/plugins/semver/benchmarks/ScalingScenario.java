@@ -0,0 +1,187 @@
+package org.apache.maven.plugins.semver.benchmarks;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.StoredConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ *
+ * <h1>ScalingScenario</h1>
+ *
+ * <p>Size of a synthetic SCM-repository: the number of tags, packed or loose tag-refs, the depth of the history and the
+ * number of files and modules in the working tree.</p>
+ * <p>{@link #generate(File)} creates the working copy and a bare remote next to it, the remote is a copy of the working copy
+ * so both have the same refs in the same layout.</p>
+ *
+ * @author sido
+ */
+class ScalingScenario {
+
+  static final String GROUP_ID = "org.haakma.semver.scaling";
+
+  private final int tags;
+  private final boolean isPackedRefs;
+  private final int depth;
+  private final int files;
+  private final int modules;
+
+  ScalingScenario(int tags, boolean isPackedRefs, int depth, int files, int modules) {
+    this.tags = tags;
+    this.isPackedRefs = isPackedRefs;
+    this.depth = Math.max(depth, 1);
+    this.files = files;
+    this.modules = Math.max(modules, 1);
+  }
+
+  /**
+   *
+   * <p>Tag-name of the n-th version, from <i>0.0.0</i> upwards.</p>
+   *
+   * @param n number of the tag
+   * @return tag-name
+   */
+  static String toTag(int n) {
+    return (n / 10000) + "." + ((n / 100) % 100) + "." + (n % 100);
+  }
+
+  /**
+   *
+   * <p>Version in the pom.xml's: the development-version after the last tag.</p>
+   *
+   * @return pom-version
+   */
+  String getPomVersion() {
+    return toTag(tags) + "-SNAPSHOT";
+  }
+
+  /**
+   *
+   * <p>Generate the working copy <i>work</i> and the bare remote <i>origin.git</i> in the root.</p>
+   *
+   * @param root empty directory
+   * @return the working copy
+   * @throws IOException when the repositories can not be written
+   * @throws GitAPIException when the history can not be committed
+   */
+  File generate(File root) throws IOException, GitAPIException {
+    File workingCopy = new File(root, "work");
+    File origin = new File(root, "origin.git");
+    try (Git git = Git.init().setDirectory(workingCopy).call()) {
+      writeModules(workingCopy, origin);
+      git.add().addFilepattern(".").call();
+      List<ObjectId> history = new ArrayList<>(depth);
+      history.add(git.commit().setMessage("initial commit").call().getId());
+      File historyFile = new File(workingCopy, "HISTORY.txt");
+      for (int commit = 1; commit < depth; commit++) {
+        Files.write(historyFile.toPath(), ("commit " + commit + "\n").getBytes(StandardCharsets.UTF_8));
+        git.add().addFilepattern(historyFile.getName()).call();
+        history.add(git.commit().setMessage("commit " + commit).call().getId());
+      }
+      writeTags(git.getRepository(), history);
+    }
+    copyDirectory(new File(workingCopy, Constants.DOT_GIT).toPath(), origin.toPath());
+    try (Git remote = Git.open(origin)) {
+      StoredConfig config = remote.getRepository().getConfig();
+      config.setBoolean("core", null, "bare", true);
+      config.save();
+    }
+    try (Git git = Git.open(workingCopy)) {
+      Repository repository = git.getRepository();
+      StoredConfig config = repository.getConfig();
+      config.setString("remote", "origin", "url", origin.toURI().toString());
+      config.setString("remote", "origin", "fetch", "+refs/heads/*:refs/remotes/origin/*");
+      config.setString("branch", "master", "remote", "origin");
+      config.setString("branch", "master", "merge", "refs/heads/master");
+      config.save();
+      RefUpdate remoteBranch = repository.updateRef("refs/remotes/origin/master");
+      remoteBranch.setNewObjectId(repository.resolve(Constants.HEAD));
+      remoteBranch.forceUpdate();
+    }
+    return workingCopy;
+  }
+
+  private void writeModules(File workingCopy, File origin) throws IOException {
+    StringBuilder moduleList = new StringBuilder();
+    for (int module = 0; module < modules; module++) {
+      String artifactId = "module-" + module;
+      moduleList.append("    <module>").append(artifactId).append("</module>\n");
+      File moduleDir = new File(workingCopy, artifactId);
+      File resources = new File(moduleDir, "src/main/resources");
+      Files.createDirectories(resources.toPath());
+      writePom(new File(moduleDir, "pom.xml"), "  <parent>\n    <groupId>" + GROUP_ID + "</groupId>\n    <artifactId>scaling-parent</artifactId>\n    <version>" + getPomVersion() + "</version>\n  </parent>\n  <artifactId>" + artifactId + "</artifactId>\n");
+      for (int file = module; file < files; file += modules) {
+        Files.write(new File(resources, "file-" + file + ".txt").toPath(), ("file " + file + "\n").getBytes(StandardCharsets.UTF_8));
+      }
+    }
+    writePom(new File(workingCopy, "pom.xml"), "  <groupId>" + GROUP_ID + "</groupId>\n  <artifactId>scaling-parent</artifactId>\n  <version>" + getPomVersion() + "</version>\n  <packaging>pom</packaging>\n  <scm>\n    <connection>scm:git:" + origin.toURI() + "</connection>\n  </scm>\n  <modules>\n" + moduleList + "  </modules>\n");
+  }
+
+  private static void writePom(File pomFile, String content) throws IOException {
+    String pom = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n  <modelVersion>4.0.0</modelVersion>\n" + content + "</project>\n";
+    Files.write(pomFile.toPath(), pom.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   *
+   * <p>Write the tags directly as refs, spread over the history. Writing 200k tags with JGit-commands takes longer than the goals.</p>
+   */
+  private void writeTags(Repository repository, List<ObjectId> history) throws IOException {
+    Map<String, ObjectId> tagRefs = new TreeMap<>();
+    for (int tag = 0; tag < tags; tag++) {
+      tagRefs.put(Constants.R_TAGS + toTag(tag), history.get((int) ((long) tag * history.size() / tags)));
+    }
+    if (isPackedRefs) {
+      try (Writer writer = Files.newBufferedWriter(new File(repository.getDirectory(), Constants.PACKED_REFS).toPath(), StandardCharsets.UTF_8)) {
+        writer.write("# pack-refs with: peeled fully-peeled sorted \n");
+        for (Map.Entry<String, ObjectId> tagRef : tagRefs.entrySet()) {
+          writer.write(tagRef.getValue().name() + " " + tagRef.getKey() + "\n");
+        }
+      }
+    } else {
+      for (Map.Entry<String, ObjectId> tagRef : tagRefs.entrySet()) {
+        Files.write(new File(repository.getDirectory(), tagRef.getKey()).toPath(), (tagRef.getValue().name() + "\n").getBytes(StandardCharsets.US_ASCII));
+      }
+    }
+  }
+
+  private static void copyDirectory(final Path source, final Path target) throws IOException {
+    Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+      @Override
+      public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+        Files.createDirectories(target.resolve(source.relativize(dir)));
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+        Files.copy(file, target.resolve(source.relativize(file)), StandardCopyOption.COPY_ATTRIBUTES);
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
+  @Override
+  public String toString() {
+    return "tags=" + tags + " refs=" + (isPackedRefs ? "packed" : "loose") + " depth=" + depth + " files=" + files + " modules=" + modules;
+  }
+
+}
@@ -0,0 +1,78 @@
+package org.apache.maven.plugins.semver.benchmarks;
+
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.plugins.semver.versions.SemanticVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * <h1>SemanticVersionBenchmark</h1>
+ *
+ * <p>Parsing and comparing one version, the building blocks of the version math and the tag checks:</p>
+ * <ul>
+ * <li>semanticVersionParse: {@link SemanticVersion#parse(String)}</li>
+ * <li>semanticVersionCompareTo: {@link SemanticVersion#compareTo(SemanticVersion)} of two equal versions, so every prerelease identifier is compared</li>
+ * <li>defaultArtifactVersionParse and defaultArtifactVersionCompareTo: the same with the {@link DefaultArtifactVersion} of Maven</li>
+ * </ul>
+ * <p>Parse and compareTo should not allocate besides the parsed version, the <i>gc</i>-profiler reports it.</p>
+ *
+ * @author sido
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SemanticVersionBenchmark {
+
+  @Param({"1.2.3", "1.2.3-SNAPSHOT", "1.2.3-beta.11+build.5", "6.4.0-rc.1000000+1.0.0.beta"})
+  public String version;
+
+  private SemanticVersion semanticVersion;
+  private SemanticVersion otherSemanticVersion;
+  private DefaultArtifactVersion artifactVersion;
+  private DefaultArtifactVersion otherArtifactVersion;
+
+  @Setup
+  public void setup() {
+    String otherVersion = new String(version.toCharArray());
+    semanticVersion = SemanticVersion.parse(version);
+    otherSemanticVersion = SemanticVersion.parse(otherVersion);
+    artifactVersion = new DefaultArtifactVersion(version);
+    otherArtifactVersion = new DefaultArtifactVersion(otherVersion);
+  }
+
+  @Benchmark
+  public SemanticVersion semanticVersionParse() {
+    return SemanticVersion.parse(version);
+  }
+
+  @Benchmark
+  public int semanticVersionCompareTo() {
+    return semanticVersion.compareTo(otherSemanticVersion);
+  }
+
+  @Benchmark
+  public DefaultArtifactVersion defaultArtifactVersionParse() {
+    return new DefaultArtifactVersion(version);
+  }
+
+  @Benchmark
+  public int defaultArtifactVersionCompareTo() {
+    return artifactVersion.compareTo(otherArtifactVersion);
+  }
+
+}
@@ -0,0 +1,47 @@
+package org.apache.maven.plugins.semver.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
+
+/**
+ *
+ * <h1>SemverBenchmarks</h1>
+ *
+ * <p>Runs the JMH benchmarks of the plugin. All JMH command line options are supported, the <i>gc</i>-profiler is always added
+ * so the allocation rate of every benchmark is reported next to its time.</p>
+ * <pre>
+ *   java -jar target/benchmarks.jar
+ *   java -jar target/benchmarks.jar VersionProviderBenchmark -rf json
+ * </pre>
+ *
+ * @author sido
+ */
+public class SemverBenchmarks {
+
+  private SemverBenchmarks() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+    if (!isGcProfiled(commandLineOptions)) {
+      options.addProfiler(GCProfiler.class);
+    }
+    new Runner(options.build()).run();
+  }
+
+  private static boolean isGcProfiled(CommandLineOptions commandLineOptions) {
+    boolean isGcProfiled = false;
+    for (ProfilerConfig profiler : commandLineOptions.getProfilers()) {
+      if ("gc".equals(profiler.getKlass()) || GCProfiler.class.getName().equals(profiler.getKlass())) {
+        isGcProfiled = true;
+      }
+    }
+    return isGcProfiled;
+  }
+
+}
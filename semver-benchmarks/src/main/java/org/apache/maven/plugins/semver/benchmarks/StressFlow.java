@@ -0,0 +1,178 @@
+package org.apache.maven.plugins.semver.benchmarks;
+
+import org.slf4j.Logger;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ *
+ * <h1>StressFlow</h1>
+ *
+ * <p>One <i>patch</i> of the {@link ReleaseStress}, in its own JVM like a CI-job. The plugin stops a failed release with
+ * <i>Runtime.exit(1)</i>, so the outcome is determined in a shutdown-hook from the errors the plugin logged and printed as
+ * one line:</p>
+ * <pre>
+ *   OUTCOME	&lt;outcome&gt;	&lt;release-tag&gt;	&lt;rejected ref&gt;=&lt;reason&gt; ...
+ * </pre>
+ * <p>The reason of a rejected ref is <i>lock</i> when the remote could not lock the ref for a concurrent push, <i>aborted</i>
+ * when another ref of the atomic push was rejected, otherwise the status of the update, like <i>REJECTED_NONFASTFORWARD</i>.</p>
+ *
+ * @author sido
+ */
+public class StressFlow {
+
+  static final String OUTCOME_LINE = "OUTCOME";
+  static final String LOCK_FAILURE = "lock";
+  static final String ABORTED = "aborted";
+
+  private static final Pattern REJECTED_REF = Pattern.compile("Rejected by remote\\s*: \\[ (\\S+) \\] (\\S+)(.*)");
+
+  /**
+   *
+   * <h1>OUTCOME</h1>
+   *
+   * <p>How a patch ended, the guards are checked in the order of the release.</p>
+   */
+  enum OUTCOME {
+    RELEASED("Released"),
+    CAUGHT_REMOTE_VERSION("Caught by remote-version check"),
+    CAUGHT_REMOTE_CHANGED("Caught by remote-changes check"),
+    CAUGHT_RESERVATION("Caught by tag reservation"),
+    CAUGHT_LATE_CHECK("Caught by late remote check"),
+    REJECTED_PUSH("Rejected push (race missed)"),
+    FAILED("Failed otherwise");
+
+    private final String description;
+
+    OUTCOME(String description) {
+      this.description = description;
+    }
+
+    String getDescription() {
+      return description;
+    }
+  }
+
+  private final List<String> errors = Collections.synchronizedList(new ArrayList<String>());
+  private volatile String releaseTag;
+
+  private StressFlow() {
+  }
+
+  /**
+   *
+   * @param args the working copy, <i>true</i> for an atomic publish and <i>true</i> for a tag reservation
+   * @throws Exception when the patch can not be started
+   */
+  public static void main(String[] args) throws Exception {
+    final StressFlow flow = new StressFlow();
+    Runtime.getRuntime().addShutdownHook(new Thread() {
+      @Override
+      public void run() {
+        System.out.println(flow.toOutcomeLine());
+        System.out.flush();
+      }
+    });
+    File workingCopy = new File(args[0]);
+    File outputDirectory = new File(workingCopy.getParentFile(), workingCopy.getName() + "-target");
+    ScalingGoals goals = new ScalingGoals(workingCopy, outputDirectory, flow.createLogger(), Boolean.parseBoolean(args[1]), Boolean.parseBoolean(args[2]));
+    goals.run(ScalingGoals.PATCH);
+    flow.releaseTag = goals.getReleaseTag();
+    System.exit(0);
+  }
+
+  private String toOutcomeLine() {
+    List<String> rejectedRefs = new ArrayList<>();
+    synchronized (errors) {
+      for (String error : errors) {
+        Matcher matcher = REJECTED_REF.matcher(error);
+        if (matcher.find()) {
+          rejectedRefs.add(matcher.group(1) + "=" + getReason(matcher.group(2), matcher.group(3)));
+        }
+      }
+    }
+    return OUTCOME_LINE + "\t" + determineOutcome(!rejectedRefs.isEmpty()) + "\t" + (releaseTag == null ? "" : releaseTag) + "\t" + String.join(" ", rejectedRefs);
+  }
+
+  private static String getReason(String status, String message) {
+    if (message.contains("lock")) {
+      return LOCK_FAILURE;
+    } else if (message.contains("transaction aborted")) {
+      return ABORTED;
+    }
+    return status;
+  }
+
+  private OUTCOME determineOutcome(boolean isRejected) {
+    OUTCOME outcome = releaseTag != null && errors.isEmpty() ? OUTCOME.RELEASED : OUTCOME.FAILED;
+    if (isLogged("Local version is corrupt")) {
+      outcome = OUTCOME.CAUGHT_REMOTE_VERSION;
+    } else if (isLogged("remote origin is ahead of local repository")) {
+      outcome = OUTCOME.CAUGHT_REMOTE_CHANGED;
+    } else if (isLogged("No release-tag could be reserved")) {
+      outcome = OUTCOME.CAUGHT_RESERVATION;
+    } else if (isLogged("Remote origin has changed since the checks")) {
+      outcome = OUTCOME.CAUGHT_LATE_CHECK;
+    } else if (isRejected) {
+      outcome = OUTCOME.REJECTED_PUSH;
+    }
+    return outcome;
+  }
+
+  private boolean isLogged(String message) {
+    synchronized (errors) {
+      for (String error : errors) {
+        if (error.contains(message)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   *
+   * <p>A logger that keeps the errors of the plugin and prints them, every other level is off.</p>
+   */
+  private Logger createLogger() {
+    return (Logger) Proxy.newProxyInstance(Logger.class.getClassLoader(), new Class<?>[]{Logger.class}, new InvocationHandler() {
+      @Override
+      public Object invoke(Object proxy, Method method, Object[] args) {
+        if ("error".equals(method.getName()) && args != null && args.length > 0 && args[0] instanceof String) {
+          String error = format((String) args[0], Arrays.copyOfRange(args, 1, args.length));
+          if (!error.isEmpty()) {
+            errors.add(error);
+            System.out.println("[ERROR] " + error);
+          }
+        }
+        if ("isErrorEnabled".equals(method.getName())) {
+          return Boolean.TRUE;
+        } else if (method.getReturnType() == boolean.class) {
+          return Boolean.FALSE;
+        } else if ("getName".equals(method.getName())) {
+          return StressFlow.class.getName();
+        }
+        return null;
+      }
+    });
+  }
+
+  private static String format(String message, Object[] arguments) {
+    Object[] values = arguments;
+    if (arguments.length == 1 && arguments[0] instanceof Object[]) {
+      values = (Object[]) arguments[0];
+    }
+    return MessageFormatter.arrayFormat(message, values).getMessage();
+  }
+
+}
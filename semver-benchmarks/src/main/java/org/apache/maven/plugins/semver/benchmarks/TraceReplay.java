@@ -0,0 +1,240 @@
+package org.apache.maven.plugins.semver.benchmarks;
+
+import org.apache.maven.plugins.semver.providers.MetricsProviderImpl;
+import org.apache.maven.plugins.semver.providers.RepositoryProviderImpl;
+import org.apache.maven.plugins.semver.utils.SemverTrace;
+import org.eclipse.jgit.lib.Constants;
+import org.slf4j.helpers.NOPLogger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * <h1>TraceReplay</h1>
+ *
+ * <p>Replays a {@link SemverTrace}, recorded with <i>-Dtrace=true</i> on a build-agent, against a generated local repository
+ * with a bare <i>file://</i>-remote. The git-operations run in the recorded order on the {@link RepositoryProviderImpl};
+ * after every remote operation the difference with its recorded latency is slept, so the replay takes as long as the
+ * recorded release while the local work is measured for real.</p>
+ * <pre>
+ *   java -cp target/benchmarks.jar org.apache.maven.plugins.semver.benchmarks.TraceReplay trace=semver-trace.tsv latency=recorded
+ * </pre>
+ * <p>Options:</p>
+ * <ul>
+ * <li>trace: the recorded <i>semver-trace.tsv</i> (required)</li>
+ * <li>latency: <i>recorded</i> injects the recorded latency of the remote operations, <i>none</i> runs them at local speed (default recorded)</li>
+ * <li>gaps: <i>true</i> also sleeps the recorded time between the operations, like the pom-rewrite (default false)</li>
+ * <li>tags: number of tags in the generated repository (default the most tags listed in the trace, or 1000)</li>
+ * <li>refs: <i>packed</i> or <i>loose</i> tag-refs (default packed)</li>
+ * <li>output: directory for the repositories and the report (default target/replay)</li>
+ * </ul>
+ * <p>Operations run one after another, also when they overlapped in the recorded release. An operation inside another
+ * operation on the same thread, like the delete-tag of a create-tag, is part of that operation and is not run again.</p>
+ *
+ * @author sido
+ */
+public class TraceReplay {
+
+  public static final String REPORT_FILE = "replay-report.csv";
+
+  private static final Set<String> REMOTE_OPERATIONS = new HashSet<>(Arrays.asList("ls-remote", "pull", "fetch", "push", "push-tags", "push-release", "atomic-publish", "fetch-tags", "reserve-tag", "cancel-reservation"));
+  private static final int DEFAULT_TAGS = 1000;
+  private static final int DEPTH = 10;
+  private static final int FILES = 10;
+
+  private final RepositoryProviderImpl repositoryProvider;
+  private final File workingCopy;
+  private int commits = 0;
+
+  private TraceReplay(RepositoryProviderImpl repositoryProvider, File workingCopy) {
+    this.repositoryProvider = repositoryProvider;
+    this.workingCopy = workingCopy;
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new LinkedHashMap<>();
+    options.put("trace", "");
+    options.put("latency", "recorded");
+    options.put("gaps", "false");
+    options.put("tags", "");
+    options.put("refs", "packed");
+    options.put("output", "target/replay");
+    for (String arg : args) {
+      int separator = arg.indexOf('=');
+      if (separator < 0 || !options.containsKey(arg.substring(0, separator))) {
+        throw new IllegalArgumentException("Unknown option [ " + arg + " ], use one of " + options.keySet());
+      }
+      options.put(arg.substring(0, separator), arg.substring(separator + 1));
+    }
+    if (options.get("trace").isEmpty()) {
+      throw new IllegalArgumentException("Give the recorded trace with trace=<semver-trace.tsv>");
+    }
+
+    SemverTrace trace = SemverTrace.read(new File(options.get("trace")));
+    int tags = options.get("tags").isEmpty() ? getListedTags(trace) : Integer.parseInt(options.get("tags"));
+    ScalingScenario scenario = new ScalingScenario(tags, !"loose".equals(options.get("refs")), DEPTH, FILES, 1);
+    File output = new File(options.get("output"));
+    File root = new File(output, "repository");
+    ScalingBenchmark.deleteDirectory(root.toPath());
+    Files.createDirectories(root.toPath());
+    File workingCopy = scenario.generate(root);
+
+    MetricsProviderImpl metricsProvider = new MetricsProviderImpl();
+    BenchmarkSupport.inject(metricsProvider, "LOG", NOPLogger.NOP_LOGGER);
+    RepositoryProviderImpl repositoryProvider = new RepositoryProviderImpl();
+    BenchmarkSupport.inject(repositoryProvider, "LOG", NOPLogger.NOP_LOGGER);
+    BenchmarkSupport.inject(repositoryProvider, "metricsProvider", metricsProvider);
+    repositoryProvider.initialize(workingCopy, "scm:git:" + new File(root, "origin.git").toURI(), "replay", "replay");
+
+    System.out.println("************************************************************************");
+    System.out.println("Trace                              : " + options.get("trace") + " [ " + trace.getGoal() + " ] [ " + trace.getEntries().size() + " operations ]");
+    System.out.println("Repository                         : " + scenario);
+    try (PrintWriter report = new PrintWriter(Files.newBufferedWriter(new File(output, REPORT_FILE).toPath(), StandardCharsets.UTF_8))) {
+      new TraceReplay(repositoryProvider, workingCopy).replay(trace, "recorded".equals(options.get("latency")), Boolean.parseBoolean(options.get("gaps")), report);
+    } finally {
+      repositoryProvider.closeRepository();
+    }
+    System.out.println("Report written to                  : " + new File(output, REPORT_FILE));
+  }
+
+  private void replay(SemverTrace trace, boolean isLatencyInjected, boolean isGapInjected, PrintWriter report) throws Exception {
+    report.println("operation,refs,recordedMs,localMs,injectedMs,outcome");
+    long recordedNanos = 0;
+    long replayedNanos = 0;
+    long previousEnd = -1;
+    Map<String, Long> threadEnds = new HashMap<>();
+    long start = System.nanoTime();
+    for (SemverTrace.Entry entry : trace.getEntries()) {
+      long end = entry.getOffsetNanos() + entry.getNanos();
+      Long threadEnd = threadEnds.get(entry.getThread());
+      if (threadEnd != null && end <= threadEnd) {
+        continue;
+      }
+      threadEnds.put(entry.getThread(), end);
+      if (isGapInjected && previousEnd >= 0 && entry.getOffsetNanos() > previousEnd) {
+        TimeUnit.NANOSECONDS.sleep(entry.getOffsetNanos() - previousEnd);
+      }
+      previousEnd = Math.max(previousEnd, end);
+
+      long operationStart = System.nanoTime();
+      boolean isSucceeded = run(entry);
+      long localNanos = System.nanoTime() - operationStart;
+      long injectedNanos = 0;
+      if (isLatencyInjected && REMOTE_OPERATIONS.contains(entry.getOperation())) {
+        injectedNanos = Math.max(entry.getNanos() - localNanos, 0);
+        TimeUnit.NANOSECONDS.sleep(injectedNanos);
+      }
+      recordedNanos += entry.getNanos();
+      replayedNanos += localNanos + injectedNanos;
+
+      String refs = entry.getRefs().isEmpty() ? "" : " " + entry.getRefs();
+      System.out.println(String.format(" * %-31s : [ %9.1f ms recorded ] [ %9.1f ms local ] [ %9.1f ms injected ]%s", entry.getOperation() + refs, entry.getNanos() / 1e6, localNanos / 1e6, injectedNanos / 1e6, isSucceeded ? "" : " FAILURE"));
+      report.println(String.format("%s,\"%s\",%.1f,%.1f,%.1f,%s", entry.getOperation(), String.join(" ", entry.getRefs()), entry.getNanos() / 1e6, localNanos / 1e6, injectedNanos / 1e6, isSucceeded ? "SUCCESS" : "FAILURE"));
+    }
+    System.out.println(String.format("%-34s : [ %9.1f ms recorded ] [ %9.1f ms replayed ] [ %9.1f ms wall-clock ]", "Operations", recordedNanos / 1e6, replayedNanos / 1e6, (System.nanoTime() - start) / 1e6));
+  }
+
+  /**
+   *
+   * <p>Run the git-operation of an entry on the repository. A commit commits a change of a file in the working tree.</p>
+   */
+  private boolean run(SemverTrace.Entry entry) throws IOException {
+    List<String> tags = getTags(entry.getRefs());
+    switch (entry.getOperation()) {
+      case "ls-remote":
+        return repositoryProvider.refreshRemoteSnapshot() != null;
+      case "pull":
+        return repositoryProvider.pull();
+      case "fetch":
+        return repositoryProvider.fetch();
+      case "fetch-tags":
+        return repositoryProvider.fetchTags();
+      case "compare-refs":
+        repositoryProvider.isRemoteAhead();
+        return true;
+      case "list-tags":
+        repositoryProvider.getLocalTags();
+        return true;
+      case "read-tags":
+        return repositoryProvider.getTagIndex() != null;
+      case "create-tag":
+        return tags.isEmpty() || repositoryProvider.createTag(tags.get(0));
+      case "delete-tag":
+        return tags.isEmpty() || repositoryProvider.deleteTag(tags.get(0));
+      case "commit":
+        writeChange();
+        return repositoryProvider.commit("[semver-maven-plugin] replay commit " + commits);
+      case "commit-object-database":
+        return repositoryProvider.commitFiles("[semver-maven-plugin] replay commit " + commits, Collections.singletonMap(writeChange(), ("replay " + commits + "\n").getBytes(StandardCharsets.UTF_8)));
+      case "push":
+        return repositoryProvider.push();
+      case "push-tags":
+        return repositoryProvider.pushTag();
+      case "reserve-tag":
+        return !tags.isEmpty() && repositoryProvider.reserveTag(tags.get(0));
+      case "cancel-reservation":
+        repositoryProvider.cancelReservations();
+        return true;
+      case "push-release":
+        return !tags.isEmpty() && repositoryProvider.pushRelease(tags.get(0));
+      case "atomic-publish":
+        repositoryProvider.beginAtomicPublish();
+        if (tags.isEmpty()) {
+          repositoryProvider.push();
+        }
+        for (String tag : tags) {
+          repositoryProvider.pushRelease(tag);
+        }
+        return repositoryProvider.publish();
+      default:
+        System.out.println(" * Unknown operation is skipped    : " + entry.getOperation());
+        return false;
+    }
+  }
+
+  private File writeChange() throws IOException {
+    File historyFile = new File(workingCopy, "HISTORY.txt");
+    commits++;
+    Files.write(historyFile.toPath(), ("replay " + commits + "\n").getBytes(StandardCharsets.UTF_8));
+    return historyFile;
+  }
+
+  private static List<String> getTags(List<String> refs) {
+    List<String> tags = new ArrayList<>();
+    for (String ref : refs) {
+      if (ref.startsWith(Constants.R_TAGS)) {
+        tags.add(ref.substring(Constants.R_TAGS.length()));
+      }
+    }
+    return tags;
+  }
+
+  /**
+   *
+   * <p>The generated repository gets as many tags as the recorded release listed.</p>
+   */
+  private static int getListedTags(SemverTrace trace) {
+    long tags = 0;
+    for (SemverTrace.Entry entry : trace.getEntries()) {
+      if ("list-tags".equals(entry.getOperation()) || "read-tags".equals(entry.getOperation())) {
+        tags = Math.max(tags, entry.getCount());
+      }
+    }
+    return tags > 0 ? (int) tags : DEFAULT_TAGS;
+  }
+
+}
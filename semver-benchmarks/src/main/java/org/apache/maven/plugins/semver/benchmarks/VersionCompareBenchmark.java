@@ -0,0 +1,81 @@
+package org.apache.maven.plugins.semver.benchmarks;
+
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.plugins.semver.versions.VersionIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * <h1>VersionCompareBenchmark</h1>
+ *
+ * <p>The check for remote tags ahead of the new SCM-version, as done by <i>isRemoteVersionCorrupt</i>:</p>
+ * <ul>
+ * <li>defaultArtifactVersionScan: the original check, every tag is parsed into a {@link DefaultArtifactVersion} and compared</li>
+ * <li>versionIndexCreate: building the {@link VersionIndex} from the tags</li>
+ * <li>versionIndexFindTagAhead: the lookup in the {@link VersionIndex}, as the check does now</li>
+ * </ul>
+ *
+ * @author sido
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VersionCompareBenchmark {
+
+  @Param({"100", "10000"})
+  public int tagCount;
+
+  private List<String> tags;
+  private VersionIndex versionIndex;
+  private String scmVersion;
+
+  @Setup
+  public void setup() {
+    tags = new ArrayList<>(tagCount);
+    for (int i = 0; i < tagCount; i++) {
+      tags.add((i / 1000) + "." + ((i / 10) % 100) + "." + (i % 10));
+    }
+    versionIndex = VersionIndex.create(tags);
+    scmVersion = tags.get(tagCount - 1);
+  }
+
+  @Benchmark
+  public boolean defaultArtifactVersionScan() {
+    boolean isRemoteVersionCorrupt = false;
+    DefaultArtifactVersion localVersion = new DefaultArtifactVersion(scmVersion);
+    for (String tag : tags) {
+      if (new DefaultArtifactVersion(tag).compareTo(localVersion) > 0) {
+        isRemoteVersionCorrupt = true;
+      }
+    }
+    return isRemoteVersionCorrupt;
+  }
+
+  @Benchmark
+  public VersionIndex versionIndexCreate() {
+    return VersionIndex.create(tags);
+  }
+
+  @Benchmark
+  public String versionIndexFindTagAhead() {
+    return versionIndex.findTagAhead(scmVersion);
+  }
+
+}
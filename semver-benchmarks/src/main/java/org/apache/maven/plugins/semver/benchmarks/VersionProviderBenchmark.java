@@ -0,0 +1,77 @@
+package org.apache.maven.plugins.semver.benchmarks;
+
+import org.apache.maven.plugins.semver.goals.SemverGoal;
+import org.apache.maven.plugins.semver.providers.VersionProvider;
+import org.apache.maven.plugins.semver.providers.VersionProviderImpl;
+import org.apache.maven.plugins.semver.runmodes.RunMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * <h1>VersionProviderBenchmark</h1>
+ *
+ * <p>The version math of the {@link VersionProviderImpl}: parsing the pom-version into the raw versions and building the
+ * release-tag, the release-branch-tag and the build-metadata. The RPM-runmodes take the <i>%03d%03d%03d</i>-path.</p>
+ *
+ * @author sido
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VersionProviderBenchmark {
+
+  @Param({"1.2.3-SNAPSHOT", "12.34.567-SNAPSHOT"})
+  public String pomVersion;
+
+  @Param({"NATIVE", "NATIVE_BRANCH_RPM"})
+  public RunMode.RUNMODE runMode;
+
+  private VersionProviderImpl versionProvider;
+  private String branchVersion = "1.0";
+  private String metaData = "build.42";
+  private int major = 12;
+  private int minor = 34;
+  private int patch = 567;
+
+  @Setup
+  public void setup() throws ReflectiveOperationException {
+    versionProvider = BenchmarkSupport.wire(new VersionProviderImpl(), BenchmarkSupport.repositoryProvider("master"));
+  }
+
+  @Benchmark
+  public Map<VersionProvider.RAW_VERSION, String> determineRawVersions() throws Exception {
+    return versionProvider.determineRawVersions(SemverGoal.SEMVER_GOAL.PATCH, runMode, branchVersion, metaData, pomVersion);
+  }
+
+  @Benchmark
+  public String determineReleaseTag() {
+    return versionProvider.determineReleaseTag(runMode, patch, minor, major);
+  }
+
+  @Benchmark
+  public String determineReleaseBranchTag() {
+    return versionProvider.determineReleaseBranchTag(runMode, branchVersion, patch, minor, major);
+  }
+
+  @Benchmark
+  public String determineBuildMetaData() {
+    return versionProvider.determineBuildMetaData(runMode, metaData, patch, minor, major);
+  }
+
+}
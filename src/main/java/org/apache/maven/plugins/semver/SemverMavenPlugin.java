@@ -5,15 +5,26 @@ import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.semver.configuration.SemverConfiguration;
+import org.apache.maven.plugins.semver.factories.FileWriterFactory;
 import org.apache.maven.plugins.semver.providers.BranchProvider;
+import org.apache.maven.plugins.semver.providers.CredentialCache;
+import org.apache.maven.plugins.semver.providers.MetricsProvider;
 import org.apache.maven.plugins.semver.providers.PomProvider;
 import org.apache.maven.plugins.semver.providers.RepositoryProvider;
 import org.apache.maven.plugins.semver.providers.VersionProvider;
 import org.apache.maven.plugins.semver.runmodes.*;
+import org.apache.maven.plugins.semver.utils.SemverTrace;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.settings.crypto.SettingsDecrypter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 /**
  * <p>Abstract class to use as template for each goal in the plugin.</p>
  * <ul>Possible runModes are:
@@ -44,6 +55,7 @@ public abstract class SemverMavenPlugin extends AbstractMojo {
 
   public static final String MOJO_LINE_BREAK = "------------------------------------------------------------------------";
   public static final String FUNCTION_LINE_BREAK = "************************************************************************";
+  public static final String AGGREGATED_VERSIONS = "semver.aggregatedVersions";
 
   protected final Logger LOG = LoggerFactory.getLogger(SemverMavenPlugin.class);
 
@@ -67,6 +79,28 @@ public abstract class SemverMavenPlugin extends AbstractMojo {
   private String metaData;
   @Parameter(property = "checkRemoteRepository", defaultValue = "false")
   private Boolean checkRemoteVersionTags;
+  @Parameter(property = "atomicPublish", defaultValue = "false")
+  private Boolean atomicPublish;
+  @Parameter(property = "tagReservation", defaultValue = "false")
+  private Boolean tagReservation;
+  @Parameter(property = "pomRewriter", defaultValue = "NATIVE")
+  private PomProvider.POM_REWRITER pomRewriter;
+  @Parameter(property = "objectDatabaseCommit", defaultValue = "false")
+  private Boolean objectDatabaseCommit;
+  @Parameter(property = "statusScope", defaultValue = "FULL")
+  private RepositoryProvider.STATUS_SCOPE statusScope;
+  @Parameter
+  private List<String> statusPaths;
+  @Parameter(property = "aggregate", defaultValue = "false")
+  private Boolean aggregate;
+  @Parameter(property = "repositoryCache", defaultValue = "SESSION")
+  private RepositoryProvider.REPOSITORY_CACHE repositoryCache;
+  @Parameter(property = "serverId")
+  private String serverId;
+  @Parameter(property = "credentialCacheTtl", defaultValue = "3600")
+  private Long credentialCacheTtl;
+  @Parameter(property = "trace", defaultValue = "false")
+  private Boolean trace;
 
   private SemverConfiguration configuration;
 
@@ -78,6 +112,10 @@ public abstract class SemverMavenPlugin extends AbstractMojo {
   private RepositoryProvider repositoryProvider;
   @Component
   private BranchProvider branchProvider;
+  @Component
+  private SettingsDecrypter settingsDecrypter;
+  @Component
+  private MetricsProvider metricsProvider;
 
   protected RunMode runModeImpl;
 
@@ -136,6 +174,46 @@ public abstract class SemverMavenPlugin extends AbstractMojo {
     return this.repositoryProvider;
   }
 
+  protected MetricsProvider getMetricsProvider() {
+    return this.metricsProvider;
+  }
+
+  /**
+   *
+   * <h1>Start metrics</h1>
+   *
+   * <p>Start timing the phases of the goal. With <i>trace</i> the git-operations of the goal are recorded as well.</p>
+   *
+   * @param goal name of the goal
+   */
+  protected void startMetrics(String goal) {
+    metricsProvider.startReport(goal);
+    SemverConfiguration traceConfiguration = new SemverConfiguration(session);
+    traceConfiguration.setTrace(trace);
+    if (traceConfiguration.isTrace()) {
+      SemverTrace.start(goal);
+    }
+  }
+
+  /**
+   *
+   * <h1>Report metrics</h1>
+   *
+   * <p>Log the timings of the phases and write them to <i>target/semver-metrics.json</i>.
+   * A recorded trace is written to <i>target/semver-trace.tsv</i>.</p>
+   */
+  protected void reportMetrics() {
+    File outputDirectory = null;
+    if (project != null && project.getBuild() != null && project.getBuild().getDirectory() != null) {
+      outputDirectory = new File(project.getBuild().getDirectory());
+    }
+    metricsProvider.finishReport(outputDirectory);
+    SemverTrace recordedTrace = SemverTrace.finish();
+    if (recordedTrace != null && outputDirectory != null) {
+      FileWriterFactory.writeTrace(new File(outputDirectory, SemverTrace.TRACE_FILE), recordedTrace.toTsv());
+    }
+  }
+
   /**
    *
    * <p>Determine configuration for semver-maven-plugin.</p>
@@ -151,11 +229,106 @@ public abstract class SemverMavenPlugin extends AbstractMojo {
       configuration.setBranchConversionUrl(branchConversionUrl);
       configuration.setMetaData(metaData);
       configuration.setCheckRemoteVersionTags(checkRemoteVersionTags);
+      configuration.setAtomicPublish(atomicPublish);
+      configuration.setTagReservation(tagReservation);
+      configuration.setPomRewriter(pomRewriter);
+      configuration.setObjectDatabaseCommit(objectDatabaseCommit);
+      configuration.setStatusScope(statusScope);
+      configuration.setStatusPaths(statusPaths);
+      configuration.setAggregate(aggregate);
+      configuration.setBaseDir(project != null ? project.getBasedir() : null);
+      configuration.setRepositoryCache(repositoryCache);
+      repositoryProvider.initializeCache(configuration.getRepositoryCache(), session);
+      configuration.setSettingsDecrypter(settingsDecrypter);
+      configuration.setServerId(serverId);
+      configuration.setCredentialCacheTtl(credentialCacheTtl);
+      repositoryProvider.initializeCredentials(CredentialCache.forCurrentUser(configuration.getCredentialCacheTtl()), configuration.isInteractive());
+      repositoryProvider.initializeStatus(configuration.getStatusScope(), getReactorPomFiles(), configuration.getStatusPaths());
       initializeRunMode(runMode);
     }
     return configuration;
   }
 
+  /**
+   *
+   * <h1>Aggregated module</h1>
+   *
+   * <p>With <i>aggregate</i> the plugin only runs at the execution-root of the reactor. Every other module
+   * skips the git- and version-pipeline and reuses the versions of the execution-root.</p>
+   *
+   * <p>Only the aggregate-flag is merged here, so a skipped module does not open the repository or determine a branchVersion.</p>
+   *
+   * @return should this module be skipped?
+   */
+  protected boolean isAggregatedModule() {
+    SemverConfiguration aggregateConfiguration = new SemverConfiguration(session);
+    aggregateConfiguration.setAggregate(aggregate);
+    if (!aggregateConfiguration.isAggregate() || project == null || project.isExecutionRoot()) {
+      return false;
+    }
+    Map<VersionProvider.FINAL_VERSION, String> finalVersions = getAggregatedVersions();
+    LOG.info(FUNCTION_LINE_BREAK);
+    LOG.info("Aggregated module                  : {}", project.getArtifactId());
+    if (finalVersions == null || finalVersions.isEmpty()) {
+      LOG.warn("Versions of the execution-root are not determined (yet)");
+    } else {
+      LOG.info("Release-version of execution-root  : [ {} ]", finalVersions.get(VersionProvider.FINAL_VERSION.RELEASE));
+      LOG.info("Next development-version           : [ {} ]", finalVersions.get(VersionProvider.FINAL_VERSION.DEVELOPMENT));
+    }
+    LOG.info(FUNCTION_LINE_BREAK);
+    return true;
+  }
+
+  /**
+   *
+   * <h1>Share versions</h1>
+   *
+   * <p>Store the versions of the execution-root in the context of the top-level project, where the other modules can find them.</p>
+   *
+   * @param finalVersions versions determined by the {@link RunMode}
+   */
+  protected void shareFinalVersions(Map<VersionProvider.FINAL_VERSION, String> finalVersions) {
+    MavenProject topLevelProject = session != null ? session.getTopLevelProject() : null;
+    if (topLevelProject != null && finalVersions != null && !finalVersions.isEmpty()) {
+      topLevelProject.setContextValue(AGGREGATED_VERSIONS, finalVersions);
+    }
+  }
+
+  /**
+   *
+   * <h1>Shared versions</h1>
+   *
+   * @return versions of the execution-root, null when they are not shared (yet)
+   */
+  @SuppressWarnings("unchecked")
+  protected Map<VersionProvider.FINAL_VERSION, String> getAggregatedVersions() {
+    MavenProject topLevelProject = session != null ? session.getTopLevelProject() : null;
+    if (topLevelProject == null) {
+      return null;
+    }
+    return (Map<VersionProvider.FINAL_VERSION, String>) topLevelProject.getContextValue(AGGREGATED_VERSIONS);
+  }
+
+  /**
+   *
+   * <p>Determine the pom.xml's of all projects in the reactor.</p>
+   *
+   * @return reactor pom.xml's
+   */
+  private List<File> getReactorPomFiles() {
+    List<File> pomFiles = new ArrayList<>();
+    List<MavenProject> reactorProjects = session != null ? session.getProjects() : null;
+    if (reactorProjects == null || reactorProjects.isEmpty()) {
+      reactorProjects = Collections.singletonList(project);
+    }
+    for (MavenProject reactorProject : reactorProjects) {
+      if (reactorProject != null && reactorProject.getFile() != null) {
+        pomFiles.add(reactorProject.getFile());
+      }
+    }
+    return pomFiles;
+  }
+
   /**
    *
    * <h1>Initialize configured {@link org.apache.maven.plugins.semver.runmodes.RunMode.RUNMODE}.</h1>
@@ -1,7 +1,19 @@
 package org.apache.maven.plugins.semver.configuration;
 
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugins.semver.providers.PomProvider;
+import org.apache.maven.plugins.semver.providers.RepositoryProvider;
 import org.apache.maven.plugins.semver.runmodes.RunMode;
+import org.apache.maven.settings.Server;
+import org.apache.maven.settings.crypto.DefaultSettingsDecryptionRequest;
+import org.apache.maven.settings.crypto.SettingsDecrypter;
+import org.apache.maven.settings.crypto.SettingsDecryptionResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * <p>Semver Configuration is used to merge 3 types of configuration:</p>
@@ -15,7 +27,10 @@ import org.apache.maven.plugins.semver.runmodes.RunMode;
  */
 public class SemverConfiguration {
 
+  private static final Logger LOG = LoggerFactory.getLogger(SemverConfiguration.class);
+
   private static final String BRANCH_CONVERSION_URL = "";
+  private static final long DEFAULT_CREDENTIAL_CACHE_TTL = 3600L;
 
   private RunMode.RUNMODE runMode;
   private String branchVersion;
@@ -24,6 +39,20 @@ public class SemverConfiguration {
   private String branchConversionUrl;
   private String metaData;
   private Boolean checkRemoteVersionTags;
+  private Boolean atomicPublish;
+  private Boolean tagReservation;
+  private PomProvider.POM_REWRITER pomRewriter;
+  private Boolean objectDatabaseCommit;
+  private RepositoryProvider.STATUS_SCOPE statusScope;
+  private List<String> statusPaths;
+  private Boolean aggregate;
+  private RepositoryProvider.REPOSITORY_CACHE repositoryCache;
+  private String serverId;
+  private Long credentialCacheTtl;
+  private String invalidCredentialCacheTtl;
+  private Boolean trace;
+  private SettingsDecrypter settingsDecrypter;
+  private File baseDir;
 
   private MavenSession session;
 
@@ -48,6 +77,17 @@ public class SemverConfiguration {
     String userBranchConversionUrl = "";
     String userMetaData = "";
     Boolean userCheckRemoteVersionTags = false;
+    Boolean userAtomicPublish = false;
+    Boolean userTagReservation = false;
+    String userPomRewriter = "";
+    Boolean userObjectDatabaseCommit = false;
+    String userStatusScope = "";
+    String userStatusPaths = "";
+    Boolean userAggregate = false;
+    String userRepositoryCache = "";
+    String userServerId = "";
+    String userCredentialCacheTtl = "";
+    Boolean userTrace = false;
     if (session != null) {
       userRunMode = session.getUserProperties().getProperty("runMode");
       userBranchVersion = session.getUserProperties().getProperty("branchVersion");
@@ -56,6 +96,17 @@ public class SemverConfiguration {
       userBranchConversionUrl = session.getUserProperties().getProperty("branchConversionUrl");
       userMetaData = session.getUserProperties().getProperty("userMetaData");
       userCheckRemoteVersionTags = Boolean.valueOf(session.getUserProperties().getProperty("checkRemoteRepository"));
+      userAtomicPublish = Boolean.valueOf(session.getUserProperties().getProperty("atomicPublish"));
+      userTagReservation = Boolean.valueOf(session.getUserProperties().getProperty("tagReservation"));
+      userPomRewriter = session.getUserProperties().getProperty("pomRewriter");
+      userObjectDatabaseCommit = Boolean.valueOf(session.getUserProperties().getProperty("objectDatabaseCommit"));
+      userStatusScope = session.getUserProperties().getProperty("statusScope");
+      userStatusPaths = session.getUserProperties().getProperty("statusPaths");
+      userAggregate = Boolean.valueOf(session.getUserProperties().getProperty("aggregate"));
+      userRepositoryCache = session.getUserProperties().getProperty("repositoryCache");
+      userServerId = session.getUserProperties().getProperty("serverId");
+      userCredentialCacheTtl = session.getUserProperties().getProperty("credentialCacheTtl");
+      userTrace = Boolean.valueOf(session.getUserProperties().getProperty("trace"));
     }
 
     if (userRunMode != null && !userRunMode.isEmpty()) {
@@ -70,11 +121,18 @@ public class SemverConfiguration {
       }
     }
 
+    if (serverId == null || serverId.isEmpty()) {
+      if (userServerId != null && !userServerId.isEmpty()) {
+        serverId = userServerId;
+      } else {
+        serverId = "";
+      }
+    }
+
     if (scmUsername == null || scmUsername.isEmpty()) {
       scmUsername = userScmUsername;
       if (scmUsername == null || scmUsername.isEmpty()) {
         scmUsername = "";
-        //TODO:SH Get username from settings.xml via plugin config
       }
     }
 
@@ -82,7 +140,6 @@ public class SemverConfiguration {
       scmPassword = userScmPassword;
       if (scmPassword == null || scmPassword.isEmpty()) {
         scmPassword = "";
-        //TODO:SH Get password from settings.xml via plugin config
       }
     }
 
@@ -110,6 +167,90 @@ public class SemverConfiguration {
       }
     }
 
+    if (atomicPublish == null || !atomicPublish) {
+      atomicPublish = userAtomicPublish;
+    }
+
+    if (tagReservation == null || !tagReservation) {
+      tagReservation = userTagReservation;
+    }
+
+    if (userPomRewriter != null && !userPomRewriter.isEmpty()) {
+      pomRewriter = PomProvider.POM_REWRITER.convertToEnum(userPomRewriter);
+    }
+    if (pomRewriter == null) {
+      pomRewriter = PomProvider.POM_REWRITER.NATIVE;
+    }
+
+    if (objectDatabaseCommit == null || !objectDatabaseCommit) {
+      objectDatabaseCommit = userObjectDatabaseCommit;
+    }
+
+    if (userStatusScope != null && !userStatusScope.isEmpty()) {
+      statusScope = RepositoryProvider.STATUS_SCOPE.convertToEnum(userStatusScope);
+    }
+    if (statusScope == null) {
+      statusScope = RepositoryProvider.STATUS_SCOPE.FULL;
+    }
+
+    if (statusPaths == null || statusPaths.isEmpty()) {
+      statusPaths = new ArrayList<>();
+      if (userStatusPaths != null && !userStatusPaths.isEmpty()) {
+        for (String statusPath : userStatusPaths.split(",")) {
+          if (!statusPath.trim().isEmpty()) {
+            statusPaths.add(statusPath.trim());
+          }
+        }
+      }
+    }
+
+    if (aggregate == null || !aggregate) {
+      aggregate = userAggregate;
+    }
+
+    if (userRepositoryCache != null && !userRepositoryCache.isEmpty()) {
+      repositoryCache = RepositoryProvider.REPOSITORY_CACHE.convertToEnum(userRepositoryCache);
+    }
+    if (repositoryCache == null) {
+      repositoryCache = RepositoryProvider.REPOSITORY_CACHE.SESSION;
+    }
+
+    if (userCredentialCacheTtl != null && !userCredentialCacheTtl.isEmpty()) {
+      try {
+        credentialCacheTtl = Long.valueOf(userCredentialCacheTtl);
+      } catch (NumberFormatException err) {
+        if (!userCredentialCacheTtl.equals(invalidCredentialCacheTtl)) {
+          LOG.warn("Invalid credentialCacheTtl is ignored: [ {} ]", userCredentialCacheTtl);
+          invalidCredentialCacheTtl = userCredentialCacheTtl;
+        }
+      }
+    }
+    if (credentialCacheTtl == null) {
+      credentialCacheTtl = DEFAULT_CREDENTIAL_CACHE_TTL;
+    }
+
+    if (trace == null || !trace) {
+      trace = userTrace;
+    }
+  }
+
+  /**
+   * <p>Find the server with the serverId in the settings.xml, with a decrypted password when a {@link SettingsDecrypter} is given.</p>
+   *
+   * @return server or null
+   */
+  private Server getServer() {
+    Server server = null;
+    if (session != null && session.getSettings() != null && serverId != null && !serverId.isEmpty()) {
+      server = session.getSettings().getServer(serverId);
+      if (server != null && settingsDecrypter != null) {
+        SettingsDecryptionResult result = settingsDecrypter.decrypt(new DefaultSettingsDecryptionRequest(server));
+        if (result.getServer() != null) {
+          server = result.getServer();
+        }
+      }
+    }
+    return server;
   }
 
   /**
@@ -156,11 +297,20 @@ public class SemverConfiguration {
 
   /**
    * <p>To commit tags in SCM you have to have the username of the repostory</p>
+   * <p>Without a configured username the username of the server with the serverId in the settings.xml is used. The server is
+   * read here, after the serverId and the decrypter are both set.</p>
    *
    * @return scmUsername
    */
   public String getScmUsername() {
-    return this.scmUsername;
+    String username = this.scmUsername;
+    if (username.isEmpty()) {
+      Server server = getServer();
+      if (server != null && server.getUsername() != null) {
+        username = server.getUsername();
+      }
+    }
+    return username;
   }
 
   public void setScmUsername(String scmUsername) {
@@ -170,11 +320,19 @@ public class SemverConfiguration {
 
   /**
    * <p>To commit tags in SCM you have to have the password of the repostory</p>
+   * <p>Without a configured password the decrypted password of the server with the serverId in the settings.xml is used.</p>
    *
    * @return scmPassword
    */
   public String getScmPassword() {
-    return this.scmPassword;
+    String password = this.scmPassword;
+    if (password.isEmpty()) {
+      Server server = getServer();
+      if (server != null && server.getPassword() != null) {
+        password = server.getPassword();
+      }
+    }
+    return password;
   }
 
   public void setScmPassword(String scmPassword) {
@@ -239,5 +397,303 @@ public class SemverConfiguration {
     return this.checkRemoteVersionTags;
   }
 
+  /**
+   *
+   * <h1>Atomic publish</h1>
+   *
+   * @param atomicPublish set the atomic publish flag
+   */
+  public void setAtomicPublish(Boolean atomicPublish) {
+    this.atomicPublish = atomicPublish;
+    mergeConfiguration();
+  }
+
+  /**
+   *
+   * <h1>Atomic publish</h1>
+   *
+   * <p>Flag to send the release commit, the next development commit and the new tag in one atomic push.</p>
+   *
+   * @return is flag set?
+   */
+  public boolean isAtomicPublish() {
+    return this.atomicPublish;
+  }
+
+  /**
+   *
+   * <h1>Tag reservation</h1>
+   *
+   * @param tagReservation set the tag reservation flag
+   */
+  public void setTagReservation(Boolean tagReservation) {
+    this.tagReservation = tagReservation;
+    mergeConfiguration();
+  }
+
+  /**
+   *
+   * <h1>Tag reservation</h1>
+   *
+   * <p>Flag to reserve the release-tag on the remote before the pom is rewritten. A taken tag is retried with the next version.</p>
+   * <p>Only used by the NATIVE run-mode, the branch run-modes ignore it.</p>
+   *
+   * @return is flag set?
+   */
+  public boolean isTagReservation() {
+    return this.tagReservation;
+  }
+
+  /**
+   *
+   * <h1>Pom rewriter</h1>
+   *
+   * @param pomRewriter set the rewriter for the pom-versions
+   */
+  public void setPomRewriter(PomProvider.POM_REWRITER pomRewriter) {
+    this.pomRewriter = pomRewriter;
+    mergeConfiguration();
+  }
+
+  /**
+   *
+   * <h1>Pom rewriter</h1>
+   *
+   * <p>Rewriter that updates the versions in the pom.xml's, NATIVE or VERSIONS_PLUGIN.</p>
+   *
+   * @return pomRewriter
+   */
+  public PomProvider.POM_REWRITER getPomRewriter() {
+    return this.pomRewriter;
+  }
+
+  /**
+   *
+   * <h1>Object-database commit</h1>
+   *
+   * @param objectDatabaseCommit set the object-database commit flag
+   */
+  public void setObjectDatabaseCommit(Boolean objectDatabaseCommit) {
+    this.objectDatabaseCommit = objectDatabaseCommit;
+    mergeConfiguration();
+  }
+
+  /**
+   *
+   * <h1>Object-database commit</h1>
+   *
+   * <p>Flag to commit the rewritten poms directly in the object-database, without scanning the working tree.</p>
+   *
+   * @return is flag set?
+   */
+  public boolean isObjectDatabaseCommit() {
+    return this.objectDatabaseCommit;
+  }
+
+  /**
+   *
+   * <h1>Status scope</h1>
+   *
+   * @param statusScope set the scope of the working tree check
+   */
+  public void setStatusScope(RepositoryProvider.STATUS_SCOPE statusScope) {
+    this.statusScope = statusScope;
+    mergeConfiguration();
+  }
+
+  /**
+   *
+   * <h1>Status scope</h1>
+   *
+   * <p>Check the whole working tree (FULL) or only the reactor pom.xml's and the status-paths (SCOPED) before a release.</p>
+   *
+   * @return statusScope
+   */
+  public RepositoryProvider.STATUS_SCOPE getStatusScope() {
+    return this.statusScope;
+  }
+
+  /**
+   *
+   * <h1>Status paths</h1>
+   *
+   * @param statusPaths set the globs that are checked in a SCOPED working tree check
+   */
+  public void setStatusPaths(List<String> statusPaths) {
+    this.statusPaths = statusPaths;
+    mergeConfiguration();
+  }
+
+  /**
+   *
+   * <h1>Status paths</h1>
+   *
+   * <p>Globs relative to the working tree that are checked next to the reactor pom.xml's, for example <i>src/main/resources/**</i>.</p>
+   *
+   * @return statusPaths
+   */
+  public List<String> getStatusPaths() {
+    return this.statusPaths;
+  }
+
+  /**
+   *
+   * <h1>Aggregate</h1>
+   *
+   * @param aggregate set the aggregate flag
+   */
+  public void setAggregate(Boolean aggregate) {
+    this.aggregate = aggregate;
+    mergeConfiguration();
+  }
+
+  /**
+   *
+   * <h1>Aggregate</h1>
+   *
+   * <p>Flag to run the plugin only once at the execution-root of the reactor and share its versions with all modules.</p>
+   *
+   * @return is flag set?
+   */
+  public boolean isAggregate() {
+    return this.aggregate;
+  }
+
+  /**
+   *
+   * <h1>Repository cache</h1>
+   *
+   * @param repositoryCache set how long an opened repository stays open
+   */
+  public void setRepositoryCache(RepositoryProvider.REPOSITORY_CACHE repositoryCache) {
+    this.repositoryCache = repositoryCache;
+    mergeConfiguration();
+  }
+
+  /**
+   *
+   * <h1>Repository cache</h1>
+   *
+   * <p>Keep an opened repository with its pack- and index-caches for the next goals and modules: NONE, SESSION or DAEMON.</p>
+   *
+   * @return repositoryCache
+   */
+  public RepositoryProvider.REPOSITORY_CACHE getRepositoryCache() {
+    return this.repositoryCache;
+  }
+
+  /**
+   *
+   * <h1>Server id</h1>
+   *
+   * @param serverId set the id of the server in the settings.xml with the SCM-credentials
+   */
+  public void setServerId(String serverId) {
+    this.serverId = serverId;
+    mergeConfiguration();
+  }
+
+  /**
+   *
+   * <h1>Server id</h1>
+   *
+   * <p>Id of the server in the settings.xml that is used when no username or password is configured.</p>
+   *
+   * @return serverId
+   */
+  public String getServerId() {
+    return this.serverId;
+  }
+
+  /**
+   *
+   * <h1>Settings decrypter</h1>
+   *
+   * @param settingsDecrypter set the decrypter of the passwords in the settings.xml
+   */
+  public void setSettingsDecrypter(SettingsDecrypter settingsDecrypter) {
+    this.settingsDecrypter = settingsDecrypter;
+    mergeConfiguration();
+  }
+
+  /**
+   *
+   * <h1>Credential cache TTL</h1>
+   *
+   * @param credentialCacheTtl set the seconds that validated credentials are trusted
+   */
+  public void setCredentialCacheTtl(Long credentialCacheTtl) {
+    this.credentialCacheTtl = credentialCacheTtl;
+    mergeConfiguration();
+  }
+
+  /**
+   *
+   * <h1>Credential cache TTL</h1>
+   *
+   * <p>Seconds that credentials, once accepted by the remote, are not validated again. 0 disables the cache.</p>
+   *
+   * @return credentialCacheTtl
+   */
+  public long getCredentialCacheTtl() {
+    return this.credentialCacheTtl;
+  }
+
+  /**
+   *
+   * <h1>Trace</h1>
+   *
+   * @param trace set the trace flag
+   */
+  public void setTrace(Boolean trace) {
+    this.trace = trace;
+    mergeConfiguration();
+  }
+
+  /**
+   *
+   * <h1>Trace</h1>
+   *
+   * <p>Flag to record every git-operation of the goal with its refs, bytes and latency in <i>target/semver-trace.tsv</i>.</p>
+   *
+   * @return is flag set?
+   */
+  public boolean isTrace() {
+    return this.trace;
+  }
+
+  /**
+   *
+   * <h1>Interactive</h1>
+   *
+   * <p>May the user be prompted for credentials? False in batch-mode (-B).</p>
+   *
+   * @return is interactive?
+   */
+  public boolean isInteractive() {
+    return session == null || session.getSettings() == null || session.getSettings().isInteractiveMode();
+  }
+
+  /**
+   *
+   * <h1>Base-directory</h1>
+   *
+   * @param baseDir set the base-directory of the module
+   */
+  public void setBaseDir(File baseDir) {
+    this.baseDir = baseDir;
+  }
+
+  /**
+   *
+   * <h1>Base-directory</h1>
+   *
+   * <p>Directory of the pom.xml of the module, the pom.xml.semverBackup is written next to it.</p>
+   *
+   * @return baseDir
+   */
+  public File getBaseDir() {
+    return this.baseDir;
+  }
 
 }
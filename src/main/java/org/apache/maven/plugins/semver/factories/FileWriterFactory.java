@@ -3,11 +3,14 @@ package org.apache.maven.plugins.semver.factories;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.plugins.semver.SemverMavenPlugin;
 import org.apache.maven.plugins.semver.providers.VersionProvider;
+import org.apache.maven.plugins.semver.utils.SemverEvent;
+import org.apache.maven.plugins.semver.utils.SemverEvents;
 import org.apache.maven.project.MavenProject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.util.Map;
 
@@ -16,6 +19,8 @@ import java.util.Map;
  * <h1>FileWriterFactory</h1>
  *
  * <p>This class performs all disk related actions.</p>
+ * <p>All files are resolved against the base-directory of the module, not the working directory of the process,
+ * so modules of a parallel (-T) reactor build do not share a pom.xml.semverBackup.</p>
  *
  * @author sido
  */
@@ -44,7 +49,8 @@ public class FileWriterFactory {
     releaseText.append("\n");
     releaseText.append(mavenProjectScm);
 
-    writeFileToDisk("release.properties", releaseText.toString());
+    File releaseProperties = project.getBasedir() != null ? new File(project.getBasedir(), "release.properties") : new File("release.properties");
+    writeFileToDisk(releaseProperties.getPath(), releaseText.toString());
 
   }
 
@@ -53,13 +59,14 @@ public class FileWriterFactory {
    *
    * <p>Backup the old pom to make sure when the build fails it can be set back.</p>
    *
+   * @param baseDir base-directory of the module
    */
-  public static void backupSemverPom() {
+  public static void backupSemverPom(File baseDir) {
     LOG.info("Backup pom.xml");
     LOG.info(SemverMavenPlugin.MOJO_LINE_BREAK);
-    try {
-      File pomXmlOriginal = new File("pom.xml");
-      File pomXmlSemverBackup = new File("pom.xml.semverBackup");
+    File pomXmlOriginal = new File(baseDir, "pom.xml");
+    File pomXmlSemverBackup = new File(baseDir, "pom.xml.semverBackup");
+    try (SemverEvent event = SemverEvents.fileWrite("backup", pomXmlSemverBackup)) {
       if (pomXmlSemverBackup.exists()) {
         LOG.warn("Old pom.xml.semverBackup removed  : " + pomXmlSemverBackup.getAbsolutePath());
         boolean isDeleted = pomXmlSemverBackup.delete();
@@ -68,6 +75,7 @@ public class FileWriterFactory {
         }
       }
       Files.copy(pomXmlOriginal.toPath(), pomXmlSemverBackup.toPath());
+      event.setBytes(pomXmlSemverBackup.length()).setSucceeded(true);
 
       LOG.info("New pom.xml.semverBackup prepared  : " + pomXmlSemverBackup.getAbsolutePath());
 
@@ -84,13 +92,15 @@ public class FileWriterFactory {
    * <h1>Rollback pom.xml</h1>
    * <p>Replace the current pom.xml with the pom.xml.semverBackup.</p>
    *
+   * @param baseDir base-directory of the module
    */
-  public static void rollbackPom() {
-    File pomXml= new File("pom.xml");
-    File pomXmlSemverBackup = new File("pom.xml.semverBackup");
+  public static void rollbackPom(File baseDir) {
+    File pomXml= new File(baseDir, "pom.xml");
+    File pomXmlSemverBackup = new File(baseDir, "pom.xml.semverBackup");
     LOG.info(" * Replace pom.xml with            : pom.xml.semverBackup");
-    try {
+    try (SemverEvent event = SemverEvents.fileWrite("rollback", pomXml)) {
       Files.copy(pomXmlSemverBackup.toPath(), pomXml.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      event.setBytes(pomXml.length()).setSucceeded(true);
     } catch (IOException err) {
       LOG.error(err.getMessage());
     }
@@ -100,14 +110,17 @@ public class FileWriterFactory {
    * <h>Cleanup the backup pom.xml</h>
    * <p>Remove the pom.xml.semverBackup is exists.</p>
    *
+   * @param baseDir base-directory of the module
    */
-  public static void removeBackupSemverPom() {
+  public static void removeBackupSemverPom(File baseDir) {
     LOG.info("Cleanup pom.xml.semverBackup");
     LOG.info(SemverMavenPlugin.MOJO_LINE_BREAK);
-    File pomXmlSemverBackup = new File("pom.xml.semverBackup");
+    File pomXmlSemverBackup = new File(baseDir, "pom.xml.semverBackup");
     if (pomXmlSemverBackup.exists()) {
       LOG.info(" * Remove file                     : pom.xml.semverBackup");
-      pomXmlSemverBackup.delete();
+      try (SemverEvent event = SemverEvents.fileWrite("remove-backup", pomXmlSemverBackup)) {
+        event.setSucceeded(pomXmlSemverBackup.delete());
+      }
     }
     LOG.info(SemverMavenPlugin.FUNCTION_LINE_BREAK);
   }
@@ -116,11 +129,12 @@ public class FileWriterFactory {
    *
    * <p>Can we perform a rollback?</p>
    *
+   * @param baseDir base-directory of the module
    * @return canRollback
    */
-  public static boolean canRollBack() {
+  public static boolean canRollBack(File baseDir) {
     boolean canRollback = false;
-    File pomXmlSemverBackup = new File("pom.xml.semverBackup");
+    File pomXmlSemverBackup = new File(baseDir, "pom.xml.semverBackup");
     if(pomXmlSemverBackup.exists()) {
       canRollback = true;
     } else {
@@ -131,6 +145,46 @@ public class FileWriterFactory {
     return canRollback;
   }
 
+  /**
+   *
+   * <h1>Write metrics</h1>
+   * <p>Write the metrics-report of a goal. A report that can not be written does not stop the release.</p>
+   *
+   * @param metricsFile the file, for example <i>target/semver-metrics.json</i>
+   * @param json the report
+   */
+  public static void writeMetrics(File metricsFile, String json) {
+    try (SemverEvent event = SemverEvents.fileWrite("metrics", metricsFile)) {
+      byte[] content = json.getBytes(StandardCharsets.UTF_8);
+      Files.createDirectories(metricsFile.getAbsoluteFile().getParentFile().toPath());
+      Files.write(metricsFile.toPath(), content);
+      event.setBytes(content.length).setSucceeded(true);
+      LOG.info("Metrics written to                 : {}", metricsFile.getAbsolutePath());
+    } catch (IOException err) {
+      LOG.warn("Metrics are not written            : {}", err.getMessage());
+    }
+  }
+
+  /**
+   *
+   * <h1>Write trace</h1>
+   * <p>Write the trace of the git-operations of a goal. A trace that can not be written does not stop the release.</p>
+   *
+   * @param traceFile the file, for example <i>target/semver-trace.tsv</i>
+   * @param tsv the trace
+   */
+  public static void writeTrace(File traceFile, String tsv) {
+    try (SemverEvent event = SemverEvents.fileWrite("trace", traceFile)) {
+      byte[] content = tsv.getBytes(StandardCharsets.UTF_8);
+      Files.createDirectories(traceFile.getAbsoluteFile().getParentFile().toPath());
+      Files.write(traceFile.toPath(), content);
+      event.setBytes(content.length).setSucceeded(true);
+      LOG.info("Trace written to                   : {}", traceFile.getAbsolutePath());
+    } catch (IOException err) {
+      LOG.warn("Trace is not written               : {}", err.getMessage());
+    }
+  }
+
   /**
    * <p>Write actual file to disk</p>
    *
@@ -138,7 +192,7 @@ public class FileWriterFactory {
    * @param fileContent the full content for the pom.xml
    */
   public static void writeFileToDisk(String fileName, String fileContent) {
-    try {
+    try (SemverEvent event = SemverEvents.fileWrite("write", new File(String.valueOf(fileName)))) {
       if (fileName != null) {
         File file = new File(fileName);
         if (file.exists()) {
@@ -154,6 +208,7 @@ public class FileWriterFactory {
         output.append(fileContent);
         output.close();
         writer.close();
+        event.setBytes(file.length()).setSucceeded(true);
       }
     } catch (IOException err) {
       LOG.error("semver-maven-plugin is terminating");
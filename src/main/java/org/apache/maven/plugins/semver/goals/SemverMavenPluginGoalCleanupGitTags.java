@@ -31,6 +31,7 @@ public class SemverMavenPluginGoalCleanupGitTags extends SemverMavenPlugin {
   @Override
   public void execute() throws MojoExecutionException, MojoFailureException {
 
+    startMetrics("CLEANUP-GIT-TAGS");
     String version = project.getVersion();
     String scmConnection = project.getScm().getConnection();
     File scmRoot = project.getBasedir();
@@ -49,6 +50,7 @@ public class SemverMavenPluginGoalCleanupGitTags extends SemverMavenPlugin {
     } catch (GitAPIException e) {
       LOG.error("Error when determining GIT-repo", e);
     }
+    reportMetrics();
   }
 
   /**
@@ -31,6 +31,12 @@ public class SemverMavenPluginGoalMajor extends SemverMavenPlugin {
   @Override
   public void execute() throws MojoExecutionException, MojoFailureException {
 
+    if (isAggregatedModule()) {
+      return;
+    }
+
+    startMetrics(SemverGoal.SEMVER_GOAL.MAJOR.getDescription());
+
     String pomVersion = project.getVersion();
     String scmConnection = project.getScm().getConnection();
     File scmRoot = project.getBasedir();
@@ -45,10 +51,11 @@ public class SemverMavenPluginGoalMajor extends SemverMavenPlugin {
     LOG.info(FUNCTION_LINE_BREAK);
 
     try {
-      runModeImpl.execute(SemverGoal.SEMVER_GOAL.MAJOR, getConfiguration(), pomVersion);
+      shareFinalVersions(runModeImpl.execute(SemverGoal.SEMVER_GOAL.MAJOR, getConfiguration(), pomVersion));
     } catch (Exception e) {
       LOG.error(e.getMessage());
     }
+    reportMetrics();
 
   }
 
@@ -32,6 +32,12 @@ public class SemverMavenPluginGoalMinor extends SemverMavenPlugin {
   @Override
   public void execute() throws MojoExecutionException, MojoFailureException {
 
+    if (isAggregatedModule()) {
+      return;
+    }
+
+    startMetrics(SemverGoal.SEMVER_GOAL.MINOR.getDescription());
+
     String pomVersion = project.getVersion();
     String scmConnection = project.getScm().getConnection();
     File scmRoot = project.getBasedir();
@@ -46,10 +52,11 @@ public class SemverMavenPluginGoalMinor extends SemverMavenPlugin {
     LOG.info(FUNCTION_LINE_BREAK);
 
     try {
-      runModeImpl.execute(SemverGoal.SEMVER_GOAL.MINOR, getConfiguration(), pomVersion);
+      shareFinalVersions(runModeImpl.execute(SemverGoal.SEMVER_GOAL.MINOR, getConfiguration(), pomVersion));
     } catch (Exception e) {
       LOG.error(e.getMessage());
     }
+    reportMetrics();
 
 
   }
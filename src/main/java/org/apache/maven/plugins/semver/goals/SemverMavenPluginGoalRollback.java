@@ -5,6 +5,7 @@ import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.semver.SemverMavenPlugin;
 import org.apache.maven.plugins.semver.factories.FileWriterFactory;
+import org.apache.maven.plugins.semver.providers.MetricsProvider;
 import org.apache.maven.plugins.semver.runmodes.RunMode;
 
 import java.io.File;
@@ -22,6 +23,12 @@ public class SemverMavenPluginGoalRollback extends SemverMavenPlugin {
   @Override
   public void execute() throws MojoExecutionException, MojoFailureException {
 
+    if (isAggregatedModule()) {
+      return;
+    }
+
+    startMetrics(SemverGoal.SEMVER_GOAL.ROLLBACK.getDescription());
+
     String version = project.getVersion();
     String scmConnection = project.getScm().getConnection();
     File scmRoot = project.getBasedir();
@@ -39,7 +46,7 @@ public class SemverMavenPluginGoalRollback extends SemverMavenPlugin {
 
       LOG.info("Perform a rollback for version     : [ {} ]", version);
       LOG.info(SemverMavenPlugin.MOJO_LINE_BREAK);
-      if(FileWriterFactory.canRollBack()) {
+      if(FileWriterFactory.canRollBack(project.getBasedir())) {
         if(getConfiguration().checkRemoteVersionTags()) {
           if(!getRepositoryProvider().isRemoteVersionCorrupt(version)) {
             executeRollback(version);
@@ -57,10 +64,12 @@ public class SemverMavenPluginGoalRollback extends SemverMavenPlugin {
       LOG.error("Ÿou have configured a wrong RUN_MODE ( " + getConfiguration().getRunMode() + " )");
       LOG.error("Ÿou have to use release:rollback to revert the version update");
     }
+    getRepositoryProvider().closeRepository();
+    reportMetrics();
   }
 
   private void executeRollback(String version) {
-    FileWriterFactory.rollbackPom();
+    FileWriterFactory.rollbackPom(project.getBasedir());
     LOG.info(" * Commit old pom.xml");
     getRepositoryProvider().commit("[semver-maven-plugin] rollback version  : [ " + version + " ]");
     LOG.info(" * Push old pom.xml");
@@ -70,7 +79,9 @@ public class SemverMavenPluginGoalRollback extends SemverMavenPlugin {
     LOG.info(" * Delete remote SCM-tag           : [ {} ]", version);
     getRepositoryProvider().pushTag();
     LOG.info(SemverMavenPlugin.MOJO_LINE_BREAK);
-    FileWriterFactory.removeBackupSemverPom();
+    try (MetricsProvider.Timer timer = getMetricsProvider().startPhase(MetricsProvider.PHASE.CLEANUP)) {
+      FileWriterFactory.removeBackupSemverPom(project.getBasedir());
+    }
   }
 
 
@@ -0,0 +1,102 @@
+package org.apache.maven.plugins.semver.providers;
+
+import org.eclipse.jgit.lib.Ref;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ *
+ * <h1>AsyncRepositoryProvider</h1>
+ *
+ * <p>Non-blocking variant of the {@link RepositoryProvider}, so network- and disk-work can overlap.</p>
+ * <p>Every call runs the blocking {@link RepositoryProvider}-call on the executor of {@link org.apache.maven.plugins.semver.utils.SemverExecutors}.
+ * The {@link RepositoryProvider} has to be initialized first. Blocking callers keep using the {@link RepositoryProvider}.</p>
+ *
+ * @author sido
+ */
+public interface AsyncRepositoryProvider {
+
+    /**
+     *
+     * <p>Perform a pull from the remote GIT-repository.</p>
+     *
+     * @return completes with: is pull completed?
+     */
+    CompletableFuture<Boolean> pull();
+
+    /**
+     *
+     * <p>Perform a fetch from the remote GIT-repository.</p>
+     *
+     * @return completes with: is fetch completed?
+     */
+    CompletableFuture<Boolean> fetch();
+
+    /**
+     *
+     * <p>Push all changes to remote.</p>
+     *
+     * @return completes with: is push successfull?
+     */
+    CompletableFuture<Boolean> push();
+
+    /**
+     *
+     * <p>Push the SCM-tags to the remote SCM-repository.</p>
+     *
+     * @return completes with: are the tags succesfully pushed?
+     */
+    CompletableFuture<Boolean> pushTag();
+
+    /**
+     *
+     * <p>Push the commit of a release-tag to the current branch and the tag itself.</p>
+     *
+     * @param tag the release-tag
+     * @return completes with: are the release-commit and the tag accepted by the remote?
+     */
+    CompletableFuture<Boolean> pushRelease(String tag);
+
+    /**
+     *
+     * <p>Get all local tags.</p>
+     *
+     * @return completes with the local tags
+     */
+    CompletableFuture<List<Ref>> getLocalTags();
+
+    /**
+     *
+     * <p>Get all remote tags.</p>
+     *
+     * @return completes with the remote tags by tag-name
+     */
+    CompletableFuture<Map<String, Ref>> getRemoteTags();
+
+    /**
+     *
+     * <p>Take a new snapshot of the refs on the remote.</p>
+     *
+     * @return completes with the refreshed remote snapshot
+     */
+    CompletableFuture<RemoteSnapshot> refreshRemoteSnapshot();
+
+    /**
+     *
+     * <p>Determine if there are open changes in the working tree.</p>
+     *
+     * @return completes with: are there local changes?
+     */
+    CompletableFuture<Boolean> isLocalChanged();
+
+    /**
+     *
+     * <p>Determine if the remote origin is ahead of the local repository.</p>
+     *
+     * @return completes with: is the remote changed?
+     */
+    CompletableFuture<Boolean> isRemoteChanged();
+
+}
@@ -0,0 +1,160 @@
+package org.apache.maven.plugins.semver.providers;
+
+import org.apache.maven.plugins.semver.utils.SemverExecutors;
+import org.codehaus.plexus.component.annotations.Component;
+import org.codehaus.plexus.component.annotations.Requirement;
+import org.eclipse.jgit.lib.Ref;
+
+import javax.inject.Inject;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ *
+ * <h1>AsyncRepositoryProviderImpl</h1>
+ * <p>Runs the calls of the shared {@link RepositoryProvider} on virtual threads, or on a bounded pool before JDK 21.</p>
+ *
+ * @author sido
+ */
+@Component(role = AsyncRepositoryProvider.class)
+public class AsyncRepositoryProviderImpl implements AsyncRepositoryProvider {
+
+  @Requirement
+  private RepositoryProvider repositoryProvider;
+
+  private Executor executor;
+
+  /**
+   *
+   * <p>Initialize the AsyncRepositoryProvider.</p>
+   *
+   */
+  @Inject
+  public AsyncRepositoryProviderImpl() {}
+
+  /**
+   *
+   * <p>Create an AsyncRepositoryProvider outside of plexus.</p>
+   *
+   * @param repositoryProvider the blocking provider
+   * @param executor executor for the blocking calls
+   */
+  public AsyncRepositoryProviderImpl(RepositoryProvider repositoryProvider, Executor executor) {
+    this.repositoryProvider = repositoryProvider;
+    this.executor = executor;
+  }
+
+  @Override
+  public CompletableFuture<Boolean> pull() {
+    return CompletableFuture.supplyAsync(new Supplier<Boolean>() {
+      @Override
+      public Boolean get() {
+        return repositoryProvider.pull();
+      }
+    }, getExecutor());
+  }
+
+  @Override
+  public CompletableFuture<Boolean> fetch() {
+    return CompletableFuture.supplyAsync(new Supplier<Boolean>() {
+      @Override
+      public Boolean get() {
+        return repositoryProvider.fetch();
+      }
+    }, getExecutor());
+  }
+
+  @Override
+  public CompletableFuture<Boolean> push() {
+    return CompletableFuture.supplyAsync(new Supplier<Boolean>() {
+      @Override
+      public Boolean get() {
+        return repositoryProvider.push();
+      }
+    }, getExecutor());
+  }
+
+  @Override
+  public CompletableFuture<Boolean> pushTag() {
+    return CompletableFuture.supplyAsync(new Supplier<Boolean>() {
+      @Override
+      public Boolean get() {
+        return repositoryProvider.pushTag();
+      }
+    }, getExecutor());
+  }
+
+  @Override
+  public CompletableFuture<Boolean> pushRelease(final String tag) {
+    return CompletableFuture.supplyAsync(new Supplier<Boolean>() {
+      @Override
+      public Boolean get() {
+        return repositoryProvider.pushRelease(tag);
+      }
+    }, getExecutor());
+  }
+
+  @Override
+  public CompletableFuture<List<Ref>> getLocalTags() {
+    return CompletableFuture.supplyAsync(new Supplier<List<Ref>>() {
+      @Override
+      public List<Ref> get() {
+        return repositoryProvider.getLocalTags();
+      }
+    }, getExecutor());
+  }
+
+  @Override
+  public CompletableFuture<Map<String, Ref>> getRemoteTags() {
+    return CompletableFuture.supplyAsync(new Supplier<Map<String, Ref>>() {
+      @Override
+      public Map<String, Ref> get() {
+        return repositoryProvider.getRemoteTags();
+      }
+    }, getExecutor());
+  }
+
+  @Override
+  public CompletableFuture<RemoteSnapshot> refreshRemoteSnapshot() {
+    return CompletableFuture.supplyAsync(new Supplier<RemoteSnapshot>() {
+      @Override
+      public RemoteSnapshot get() {
+        return repositoryProvider.refreshRemoteSnapshot();
+      }
+    }, getExecutor());
+  }
+
+  @Override
+  public CompletableFuture<Boolean> isLocalChanged() {
+    return CompletableFuture.supplyAsync(new Supplier<Boolean>() {
+      @Override
+      public Boolean get() {
+        return repositoryProvider.isLocalChanged();
+      }
+    }, getExecutor());
+  }
+
+  @Override
+  public CompletableFuture<Boolean> isRemoteChanged() {
+    return CompletableFuture.supplyAsync(new Supplier<Boolean>() {
+      @Override
+      public Boolean get() {
+        return repositoryProvider.isRemoteChanged();
+      }
+    }, getExecutor());
+  }
+
+  /**
+   *
+   * <p>The given executor, or the shared repository-executor of the current session. The shared executor is shut down when the session ends.</p>
+   *
+   * @return executor for the blocking calls
+   */
+  private Executor getExecutor() {
+    return executor != null ? executor : SemverExecutors.getRepositoryExecutor();
+  }
+
+}
@@ -0,0 +1,188 @@
+package org.apache.maven.plugins.semver.providers;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * <h1>CredentialCache</h1>
+ *
+ * <p>Remembers which credentials were accepted by a remote, so the <i>lsRemote</i>-probe is not needed on every run.</p>
+ * <p>Only a SHA-256 hash of remote url, username and a fingerprint of the password or token is stored, with the moment it expires.
+ * The cache is a file per user outside the repository, by default <i>~/.m2/semver-credentials.properties</i>.</p>
+ *
+ * @author sido
+ */
+public class CredentialCache {
+
+  public static final String DEFAULT_CACHE_FILE = ".m2/semver-credentials.properties";
+
+  private final File cacheFile;
+  private final long ttlMillis;
+
+  /**
+   *
+   * <p>Create a credential cache.</p>
+   *
+   * @param cacheFile file with the cached hashes
+   * @param ttlSeconds how long validated credentials are trusted, 0 disables the cache
+   */
+  public CredentialCache(File cacheFile, long ttlSeconds) {
+    this.cacheFile = cacheFile;
+    this.ttlMillis = TimeUnit.SECONDS.toMillis(Math.max(0, ttlSeconds));
+  }
+
+  /**
+   *
+   * <p>Credential cache in the home-directory of the current user.</p>
+   *
+   * @param ttlSeconds how long validated credentials are trusted, 0 disables the cache
+   * @return credential cache
+   */
+  public static CredentialCache forCurrentUser(long ttlSeconds) {
+    return new CredentialCache(new File(System.getProperty("user.home"), DEFAULT_CACHE_FILE), ttlSeconds);
+  }
+
+  /**
+   *
+   * <p>Key of the credentials in the cache. The password is hashed separately first, so the key is a hash of its fingerprint.</p>
+   *
+   * @param scmUrl remote url
+   * @param username username or token-name
+   * @param password password or token
+   * @return hex-encoded key
+   */
+  public static String createKey(String scmUrl, String username, String password) {
+    String fingerprint = sha256(password == null ? "" : password);
+    return sha256(scmUrl + "\n" + (username == null ? "" : username) + "\n" + fingerprint);
+  }
+
+  public boolean isEnabled() {
+    return ttlMillis > 0;
+  }
+
+  /**
+   *
+   * <p>Were the credentials validated before and is that not expired?</p>
+   *
+   * @param key key from {@link #createKey(String, String, String)}
+   * @return is valid?
+   */
+  public synchronized boolean isValid(String key) {
+    if (!isEnabled()) {
+      return false;
+    }
+    String expiresAt = load().getProperty(key);
+    try {
+      return expiresAt != null && Long.parseLong(expiresAt) > System.currentTimeMillis();
+    } catch (NumberFormatException err) {
+      return false;
+    }
+  }
+
+  /**
+   *
+   * <p>Remember that the credentials are accepted by the remote. Expired entries are removed.</p>
+   *
+   * @param key key from {@link #createKey(String, String, String)}
+   */
+  public synchronized void markValid(String key) {
+    if (isEnabled()) {
+      Properties cache = load();
+      long now = System.currentTimeMillis();
+      for (String cachedKey : cache.stringPropertyNames()) {
+        try {
+          if (Long.parseLong(cache.getProperty(cachedKey)) <= now) {
+            cache.remove(cachedKey);
+          }
+        } catch (NumberFormatException err) {
+          cache.remove(cachedKey);
+        }
+      }
+      cache.setProperty(key, Long.toString(now + ttlMillis));
+      store(cache);
+    }
+  }
+
+  /**
+   *
+   * <p>Forget the credentials, for example when the remote rejected them.</p>
+   *
+   * @param key key from {@link #createKey(String, String, String)}
+   */
+  public synchronized void invalidate(String key) {
+    if (isEnabled()) {
+      Properties cache = load();
+      if (cache.remove(key) != null) {
+        store(cache);
+      }
+    }
+  }
+
+  private Properties load() {
+    Properties cache = new Properties();
+    if (cacheFile.isFile()) {
+      try (InputStream input = new FileInputStream(cacheFile)) {
+        cache.load(input);
+      } catch (IOException err) {
+        cache.clear();
+      }
+    }
+    return cache;
+  }
+
+  /**
+   *
+   * <p>Write to a temporary file that is moved over the cache, readable for the owner only.
+   * A cache that can not be written only means the next run probes the remote again.</p>
+   */
+  private void store(Properties cache) {
+    File directory = cacheFile.getAbsoluteFile().getParentFile();
+    try {
+      Files.createDirectories(directory.toPath());
+      File tempFile = File.createTempFile(cacheFile.getName(), ".tmp", directory);
+      try {
+        try {
+          Files.setPosixFilePermissions(tempFile.toPath(), PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException err) {
+          tempFile.setReadable(false, false);
+          tempFile.setReadable(true, true);
+        }
+        try (OutputStream output = new FileOutputStream(tempFile)) {
+          cache.store(output, "semver-maven-plugin: hashes of validated SCM-credentials");
+        }
+        Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(tempFile.toPath());
+      }
+    } catch (IOException err) {
+      // the cache is an optimization only
+    }
+  }
+
+  private static String sha256(String value) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+      StringBuilder hex = new StringBuilder(hash.length * 2);
+      for (byte b : hash) {
+        hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+      }
+      return hex.toString();
+    } catch (NoSuchAlgorithmException err) {
+      throw new IllegalStateException(err);
+    }
+  }
+
+}
@@ -0,0 +1,105 @@
+package org.apache.maven.plugins.semver.providers;
+
+import java.io.File;
+
+/**
+ *
+ * <h1>MetricsProvider</h1>
+ *
+ * <p>Records how long each phase of a semver-goal takes, with counters like the number of refs scanned or files touched.</p>
+ * <p>At the end of the goal a summary table is logged and the report is written to <i>target/semver-metrics.json</i>.</p>
+ *
+ * @author sido
+ */
+public interface MetricsProvider {
+
+    String METRICS_FILE = "semver-metrics.json";
+
+    /**
+     *
+     * <p>Phases of a semver-goal.</p>
+     *
+     * <ul>
+     * <li>INITIALIZE: open the SCM-repository</li>
+     * <li>CREDENTIALS: validate the SCM-credentials</li>
+     * <li>REMOTE_CHECK: read the refs on the remote and compare them with the local refs</li>
+     * <li>FETCH: pull or fetch from the remote</li>
+     * <li>STATUS: determine the status of the working tree</li>
+     * <li>VERSIONS: determine the raw and the final versions</li>
+     * <li>POM_REWRITE: rewrite the versions in the pom.xml's</li>
+     * <li>COMMIT: commit the rewritten pom.xml's</li>
+     * <li>PUSH: push commits to the remote</li>
+     * <li>TAG: create, delete and push SCM-tags</li>
+     * <li>CLEANUP: remove the backup and release the repository</li>
+     * </ul>
+     */
+    enum PHASE {
+        INITIALIZE("initialize"),
+        CREDENTIALS("credential check"),
+        REMOTE_CHECK("remote check"),
+        FETCH("fetch"),
+        STATUS("status"),
+        VERSIONS("version calc"),
+        POM_REWRITE("pom rewrite"),
+        COMMIT("commit"),
+        PUSH("push"),
+        TAG("tag"),
+        CLEANUP("cleanup");
+
+        private final String description;
+
+        PHASE(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return this.description;
+        }
+    }
+
+    /**
+     *
+     * <p>Running timer of a phase, stopped by {@link #close()} so it can be used in a try-with-resources block.</p>
+     */
+    interface Timer extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    /**
+     *
+     * <p>Start a new report for a goal. Goals of a parallel (-T) reactor build that run at the same time share one report.</p>
+     *
+     * @param goal name of the goal
+     */
+    void startReport(String goal);
+
+    /**
+     *
+     * <p>Start timing a phase. A phase that is already running on the current thread is not timed twice.</p>
+     *
+     * @param phase the phase
+     * @return running timer
+     */
+    Timer startPhase(PHASE phase);
+
+    /**
+     *
+     * <p>Add to a counter of a phase.</p>
+     *
+     * @param phase the phase
+     * @param counter name of the counter, for example <i>refs</i> or <i>files</i>
+     * @param value value to add
+     */
+    void count(PHASE phase, String counter, long value);
+
+    /**
+     *
+     * <p>Finish the report of the goal: log the summary table and write {@link #METRICS_FILE}.</p>
+     *
+     * @param outputDirectory build-directory of the module, for example <i>target</i>
+     * @return the finished report
+     */
+    MetricsReport finishReport(File outputDirectory);
+}
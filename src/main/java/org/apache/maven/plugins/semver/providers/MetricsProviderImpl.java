@@ -0,0 +1,136 @@
+package org.apache.maven.plugins.semver.providers;
+
+import org.apache.maven.plugins.semver.SemverMavenPlugin;
+import org.apache.maven.plugins.semver.factories.FileWriterFactory;
+import org.codehaus.plexus.component.annotations.Component;
+import org.codehaus.plexus.component.annotations.Requirement;
+import org.slf4j.Logger;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * <h1>MetricsProviderImpl</h1>
+ * <p>Keeps the {@link MetricsReport} of the running goal. The providers and runmodes time their phases on it.</p>
+ *
+ * @author sido
+ */
+@Component(role = MetricsProvider.class)
+public class MetricsProviderImpl implements MetricsProvider {
+
+  private static final Timer NO_TIMER = new Timer() {
+    @Override
+    public void close() {
+    }
+  };
+
+  @Requirement
+  private Logger LOG;
+
+  private final ThreadLocal<Set<PHASE>> runningPhases = new ThreadLocal<Set<PHASE>>() {
+    @Override
+    protected Set<PHASE> initialValue() {
+      return EnumSet.noneOf(PHASE.class);
+    }
+  };
+
+  private volatile MetricsReport report = new MetricsReport("");
+  private int runningGoals = 0;
+
+  /**
+   *
+   * <p>Initialize the MetricsProvider.</p>
+   *
+   */
+  @Inject
+  public MetricsProviderImpl() {}
+
+  @Override
+  public synchronized void startReport(String goal) {
+    if (runningGoals++ == 0) {
+      report = new MetricsReport(goal);
+    }
+  }
+
+  @Override
+  public Timer startPhase(PHASE phase) {
+    if (!runningPhases.get().add(phase)) {
+      return NO_TIMER;
+    }
+    return new PhaseTimer(report, phase, runningPhases.get());
+  }
+
+  @Override
+  public void count(PHASE phase, String counter, long value) {
+    report.count(phase, counter, value);
+  }
+
+  @Override
+  public MetricsReport finishReport(File outputDirectory) {
+    MetricsReport finishedReport;
+    synchronized (this) {
+      finishedReport = report;
+      if (runningGoals > 0 && --runningGoals == 0) {
+        finishedReport.finish();
+      }
+    }
+    logReport(finishedReport);
+    if (outputDirectory != null) {
+      FileWriterFactory.writeMetrics(new File(outputDirectory, METRICS_FILE), finishedReport.toJson());
+    }
+    return finishedReport;
+  }
+
+  private void logReport(MetricsReport finishedReport) {
+    LOG.info(SemverMavenPlugin.FUNCTION_LINE_BREAK);
+    LOG.info("Semver-metrics                     : [ {} ] in [ {} ms ]", finishedReport.getGoal(), TimeUnit.NANOSECONDS.toMillis(finishedReport.getDurationNanos()));
+    LOG.info(SemverMavenPlugin.MOJO_LINE_BREAK);
+    for (PHASE phase : PHASE.values()) {
+      if (finishedReport.isRecorded(phase)) {
+        StringBuilder counters = new StringBuilder();
+        for (Map.Entry<String, Long> counter : finishedReport.getCounters(phase).entrySet()) {
+          counters.append(' ').append(counter.getKey()).append('=').append(counter.getValue());
+        }
+        LOG.info(String.format(Locale.ROOT, "%-34s: [ %9.1f ms ] [ %4dx ]%s", " * " + phase.getDescription(), finishedReport.getNanos(phase) / (double) TimeUnit.MILLISECONDS.toNanos(1), finishedReport.getCalls(phase), counters));
+      }
+    }
+    LOG.info(SemverMavenPlugin.FUNCTION_LINE_BREAK);
+  }
+
+  /**
+   *
+   * <h1>PhaseTimer</h1>
+   *
+   * <p>Records the duration in the report that was running when the phase started.</p>
+   */
+  private static class PhaseTimer implements Timer {
+
+    private final MetricsReport report;
+    private final PHASE phase;
+    private final Set<PHASE> runningPhases;
+    private final long start = System.nanoTime();
+    private boolean isClosed = false;
+
+    private PhaseTimer(MetricsReport report, PHASE phase, Set<PHASE> runningPhases) {
+      this.report = report;
+      this.phase = phase;
+      this.runningPhases = runningPhases;
+    }
+
+    @Override
+    public void close() {
+      if (!isClosed) {
+        isClosed = true;
+        runningPhases.remove(phase);
+        report.record(phase, System.nanoTime() - start);
+      }
+    }
+  }
+
+}
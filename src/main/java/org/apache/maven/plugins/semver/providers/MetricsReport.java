@@ -0,0 +1,208 @@
+package org.apache.maven.plugins.semver.providers;
+
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *
+ * <h1>MetricsReport</h1>
+ *
+ * <p>Timings and counters per {@link MetricsProvider.PHASE} of one semver-goal.</p>
+ * <p>Durations are measured with {@link System#nanoTime()}. The duration of a phase is the sum of all its calls,
+ * so phases that run concurrently can add up to more than the duration of the goal.</p>
+ *
+ * @author sido
+ */
+public class MetricsReport {
+
+  private final String goal;
+  private final long startedAt;
+  private final long startNanos;
+  private volatile long durationNanos = -1;
+  private final Map<MetricsProvider.PHASE, Phase> phases = new EnumMap<>(MetricsProvider.PHASE.class);
+
+  /**
+   *
+   * <p>Start a report.</p>
+   *
+   * @param goal name of the goal
+   */
+  public MetricsReport(String goal) {
+    this.goal = goal;
+    this.startedAt = System.currentTimeMillis();
+    this.startNanos = System.nanoTime();
+    for (MetricsProvider.PHASE phase : MetricsProvider.PHASE.values()) {
+      phases.put(phase, new Phase());
+    }
+  }
+
+  /**
+   *
+   * <p>Record one call of a phase.</p>
+   *
+   * @param phase the phase
+   * @param nanos duration of the call
+   */
+  public void record(MetricsProvider.PHASE phase, long nanos) {
+    Phase metrics = phases.get(phase);
+    metrics.calls.incrementAndGet();
+    metrics.nanos.addAndGet(nanos);
+  }
+
+  /**
+   *
+   * <p>Add to a counter of a phase.</p>
+   *
+   * @param phase the phase
+   * @param counter name of the counter
+   * @param value value to add
+   */
+  public void count(MetricsProvider.PHASE phase, String counter, long value) {
+    ConcurrentMap<String, AtomicLong> counters = phases.get(phase).counters;
+    AtomicLong total = counters.get(counter);
+    if (total == null) {
+      AtomicLong newTotal = new AtomicLong();
+      total = counters.putIfAbsent(counter, newTotal);
+      if (total == null) {
+        total = newTotal;
+      }
+    }
+    total.addAndGet(value);
+  }
+
+  /**
+   *
+   * <p>Stop the clock of the goal, finishing twice keeps the first duration.</p>
+   */
+  public synchronized void finish() {
+    if (durationNanos < 0) {
+      durationNanos = System.nanoTime() - startNanos;
+    }
+  }
+
+  public String getGoal() {
+    return goal;
+  }
+
+  /**
+   *
+   * <p>Duration of the goal, up to now when the report is not finished.</p>
+   *
+   * @return duration in nanoseconds
+   */
+  public long getDurationNanos() {
+    return durationNanos < 0 ? System.nanoTime() - startNanos : durationNanos;
+  }
+
+  public long getCalls(MetricsProvider.PHASE phase) {
+    return phases.get(phase).calls.get();
+  }
+
+  public long getNanos(MetricsProvider.PHASE phase) {
+    return phases.get(phase).nanos.get();
+  }
+
+  /**
+   *
+   * <p>Counters of a phase, sorted by name.</p>
+   *
+   * @param phase the phase
+   * @return counters
+   */
+  public Map<String, Long> getCounters(MetricsProvider.PHASE phase) {
+    Map<String, Long> counters = new TreeMap<>();
+    for (Map.Entry<String, AtomicLong> counter : phases.get(phase).counters.entrySet()) {
+      counters.put(counter.getKey(), counter.getValue().get());
+    }
+    return Collections.unmodifiableMap(counters);
+  }
+
+  /**
+   *
+   * <p>Was the phase called or counted at all?</p>
+   *
+   * @param phase the phase
+   * @return is recorded?
+   */
+  public boolean isRecorded(MetricsProvider.PHASE phase) {
+    return getCalls(phase) > 0 || !phases.get(phase).counters.isEmpty();
+  }
+
+  /**
+   *
+   * <p>The report as JSON, with all phases in the order of {@link MetricsProvider.PHASE} so dashboards can rely on the fields.</p>
+   *
+   * @return json
+   */
+  public String toJson() {
+    SimpleDateFormat isoFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+    isoFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+    StringBuilder json = new StringBuilder();
+    json.append("{\n");
+    json.append("  \"goal\": ").append(quote(goal)).append(",\n");
+    json.append("  \"startedAt\": ").append(quote(isoFormat.format(new Date(startedAt)))).append(",\n");
+    json.append("  \"durationMs\": ").append(toMillis(getDurationNanos())).append(",\n");
+    json.append("  \"phases\": [");
+    String separator = "\n";
+    for (MetricsProvider.PHASE phase : MetricsProvider.PHASE.values()) {
+      json.append(separator);
+      json.append("    { \"phase\": ").append(quote(phase.name()));
+      json.append(", \"description\": ").append(quote(phase.getDescription()));
+      json.append(", \"calls\": ").append(getCalls(phase));
+      json.append(", \"durationMs\": ").append(toMillis(getNanos(phase)));
+      json.append(", \"counters\": {");
+      String counterSeparator = " ";
+      for (Map.Entry<String, Long> counter : getCounters(phase).entrySet()) {
+        json.append(counterSeparator).append(quote(counter.getKey())).append(": ").append(counter.getValue());
+        counterSeparator = ", ";
+      }
+      json.append(getCounters(phase).isEmpty() ? "} }" : " } }");
+      separator = ",\n";
+    }
+    json.append("\n  ]\n");
+    json.append("}\n");
+    return json.toString();
+  }
+
+  private static String toMillis(long nanos) {
+    return String.format(Locale.ROOT, "%.3f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+  }
+
+  private static String quote(String value) {
+    StringBuilder quoted = new StringBuilder("\"");
+    for (char c : String.valueOf(value).toCharArray()) {
+      if (c == '"' || c == '\\') {
+        quoted.append('\\').append(c);
+      } else if (c < 0x20) {
+        quoted.append(String.format("\\u%04x", (int) c));
+      } else {
+        quoted.append(c);
+      }
+    }
+    return quoted.append('"').toString();
+  }
+
+  /**
+   *
+   * <h1>Phase</h1>
+   *
+   * <p>Thread-safe totals of one phase.</p>
+   */
+  private static class Phase {
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong nanos = new AtomicLong();
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+  }
+
+}
@@ -11,6 +11,39 @@ import java.util.Map;
  */
 public interface PomProvider {
 
+    /**
+     *
+     * <p>Different kind of rewriters that update the versions in the pom.xml.</p>
+     *
+     * <ul>
+     * <li>NATIVE (default): rewrites the version nodes of the reactor poms in-process</li>
+     * <li>VERSIONS_PLUGIN: executes <i>versions-maven-plugin:set</i></li>
+     * </ul>
+     */
+    enum POM_REWRITER {
+        NATIVE,
+        VERSIONS_PLUGIN;
+
+        public static POM_REWRITER convertToEnum(String pomRewriter) {
+            POM_REWRITER value = NATIVE;
+            if ("VERSIONS_PLUGIN".equals(pomRewriter)) {
+                value = VERSIONS_PLUGIN;
+            }
+            return value;
+        }
+    }
+
+    /**
+     *
+     * <h>Initialize</h>
+     * <p>Select the rewriter that updates the versions in the pom.xml and how the changes are committed.</p>
+     * <p>Called once for every release, the artifacts of the reactor are determined again for the next release.</p>
+     *
+     * @param pomRewriter configured rewriter
+     * @param isObjectDatabaseCommit commit the rewritten poms directly in the object-database (only with the NATIVE rewriter)
+     */
+    void initialize(POM_REWRITER pomRewriter, boolean isObjectDatabaseCommit);
+
     /**
      *
      * <h>Create release-pom</h>
@@ -28,4 +61,22 @@ public interface PomProvider {
      * @param developmentVersion developmentVersion
      */
     void createNextDevelopmentPom(String developmentVersion);
+
+    /**
+     *
+     * <h>Commit release-pom</h>
+     * <p>Rewrite and commit the release-pom and create the local scm-tag, without pushing to the remote.</p>
+     *
+     * @param finalVersions final versions from the plugin-goals
+     */
+    void commitReleasePom(Map<VersionProvider.FINAL_VERSION, String> finalVersions);
+
+    /**
+     *
+     * <h>Commit development-pom</h>
+     * <p>Rewrite and commit the next development-pom, without pushing to the remote.</p>
+     *
+     * @param developmentVersion developmentVersion
+     */
+    void commitNextDevelopmentPom(String developmentVersion);
 }
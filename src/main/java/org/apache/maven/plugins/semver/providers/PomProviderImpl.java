@@ -3,13 +3,21 @@ package org.apache.maven.plugins.semver.providers;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.BuildPluginManager;
 import org.apache.maven.plugins.semver.SemverMavenPlugin;
+import org.apache.maven.plugins.semver.rewriters.PomChangeSet;
+import org.apache.maven.plugins.semver.rewriters.PomRewriter;
+import org.apache.maven.plugins.semver.rewriters.ReactorPomRewriter;
+import org.apache.maven.plugins.semver.utils.SemverEvent;
+import org.apache.maven.plugins.semver.utils.SemverEvents;
 import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
-import java.util.Map;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 import static org.twdata.maven.mojoexecutor.MojoExecutor.*;
 
@@ -21,6 +29,8 @@ public class PomProviderImpl implements PomProvider {
   @Requirement
   private RepositoryProvider repositoryProvider;
   @Requirement
+  private MetricsProvider metricsProvider;
+  @Requirement
   private BuildPluginManager pluginManager;
 
   @Requirement
@@ -28,6 +38,11 @@ public class PomProviderImpl implements PomProvider {
   @Requirement
   private MavenSession session;
 
+  private POM_REWRITER pomRewriter = POM_REWRITER.NATIVE;
+  private boolean isObjectDatabaseCommit = false;
+  private Set<String> reactorArtifacts;
+  private String reactorVersion;
+
   /**
    *
    * <h>POM-provider</h>
@@ -37,76 +52,194 @@ public class PomProviderImpl implements PomProvider {
   @Inject
   public PomProviderImpl() {}
 
+  @Override
+  public void initialize(POM_REWRITER pomRewriter, boolean isObjectDatabaseCommit) {
+    this.pomRewriter = pomRewriter;
+    this.isObjectDatabaseCommit = isObjectDatabaseCommit && pomRewriter == POM_REWRITER.NATIVE;
+    this.reactorArtifacts = null;
+    this.reactorVersion = null;
+  }
+
   @Override
   public void createReleasePom(Map<VersionProvider.FINAL_VERSION, String> finalVersions) {
+    commitReleasePom(finalVersions);
+    String scmTag = finalVersions.get(VersionProvider.FINAL_VERSION.SCM);
+    LOG.info("Push new release-pom to remote     : [ {} ]", scmTag);
+    repositoryProvider.push();
+    LOG.info("Create remote scm-tag              : [ {} ]", scmTag);
+    repositoryProvider.pushTag();
+    LOG.info(SemverMavenPlugin.FUNCTION_LINE_BREAK);
+  }
+
+  @Override
+  public void commitReleasePom(Map<VersionProvider.FINAL_VERSION, String> finalVersions) {
     LOG.info("Create release-pom");
     LOG.info(SemverMavenPlugin.MOJO_LINE_BREAK);
     MavenProject releasePom = project;
     String scmTag = finalVersions.get(VersionProvider.FINAL_VERSION.SCM);
     releasePom.getScm().setTag(scmTag);
-    updateVersion(releasePom, finalVersions.get(VersionProvider.FINAL_VERSION.RELEASE));
+    PomChangeSet changeSet = updateVersion(releasePom, finalVersions.get(VersionProvider.FINAL_VERSION.RELEASE));
     releasePom.setVersion(scmTag);
     String commitMessage = "[semver-maven-plugin] create new release-pom for tag : [ " + scmTag + " ]";
     LOG.info(SemverMavenPlugin.MOJO_LINE_BREAK);
     LOG.info("Commit new release-pom             : {}", commitMessage);
-    repositoryProvider.commit(commitMessage);
-    LOG.info("Push new release-pom to remote     : {}", commitMessage);
-    repositoryProvider.push();
+    commit(commitMessage, changeSet);
     LOG.info("Create local scm-tag               : [ {} ]", scmTag);
     repositoryProvider.createTag(scmTag);
-    LOG.info("Create remote scm-tag              : [ {} ]", scmTag);
-    repositoryProvider.pushTag();
-    LOG.info(SemverMavenPlugin.FUNCTION_LINE_BREAK);
   }
 
   @Override
   public void createNextDevelopmentPom(String developmentVersion) {
+    commitNextDevelopmentPom(developmentVersion);
+    LOG.info("Push next dev-pom to remote        : [ {} ]", developmentVersion);
+    repositoryProvider.push();
+    LOG.info(SemverMavenPlugin.FUNCTION_LINE_BREAK);
+  }
+
+  @Override
+  public void commitNextDevelopmentPom(String developmentVersion) {
     LOG.info("Create next development-pom");
     LOG.info(SemverMavenPlugin.MOJO_LINE_BREAK);
     MavenProject nextDevelopementPom = project;
     nextDevelopementPom.getScm().setTag("");
-    updateVersion(nextDevelopementPom, developmentVersion);
+    PomChangeSet changeSet = updateVersion(nextDevelopementPom, developmentVersion);
     String commitMessage = "[semver-maven-plugin] create next dev-pom version : [ " + developmentVersion + " ]";
     LOG.info(SemverMavenPlugin.MOJO_LINE_BREAK);
     LOG.info("Commit next dev-pom                : {}", commitMessage);
-    repositoryProvider.commit(commitMessage);
-    LOG.info("Push next dev-pom to remote        : {}", commitMessage);
-    repositoryProvider.push();
-    LOG.info(SemverMavenPlugin.FUNCTION_LINE_BREAK);
+    commit(commitMessage, changeSet);
+  }
+
+  /**
+   *
+   * <h>Commit pom-versions</h>
+   * <p>Commit only the rewritten poms when the change-set is known, otherwise all changes.
+   * Poms that are rewritten in memory are committed directly in the object-database.</p>
+   *
+   * @param commitMessage SCM-commit message
+   * @param changeSet rewritten poms or null
+   */
+  private void commit(String commitMessage, PomChangeSet changeSet) {
+    if (changeSet != null && isObjectDatabaseCommit) {
+      repositoryProvider.commitFiles(commitMessage, changeSet.getChangedContents());
+    } else if (changeSet != null) {
+      repositoryProvider.commit(commitMessage, changeSet.getChangedFiles());
+    } else {
+      repositoryProvider.commit(commitMessage);
+    }
+  }
+
+  /**
+   *
+   * <h>Update pom-versions</h>
+   * <p>Advance the pom.xml's with the configured {@link POM_REWRITER}.</p>
+   *
+   * @param project {@link MavenProject} from parent Mojo
+   * @param version the updated version
+   * @return rewritten poms or null when the versions-plugin is used
+   */
+  private PomChangeSet updateVersion(MavenProject project, String version) {
+    PomChangeSet changeSet = null;
+    try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.POM_REWRITE); SemverEvent event = SemverEvents.pomRewrite(pomRewriter.name(), version)) {
+      if (pomRewriter == POM_REWRITER.VERSIONS_PLUGIN) {
+        updateVersionWithPlugin(project, version);
+      } else {
+        changeSet = updateVersionNative(project, version);
+      }
+      if (changeSet != null) {
+        event.setCount(changeSet.getChangedFiles().size());
+      }
+      event.setSucceeded(pomRewriter == POM_REWRITER.VERSIONS_PLUGIN || changeSet != null);
+    }
+    if (changeSet != null) {
+      metricsProvider.count(MetricsProvider.PHASE.POM_REWRITE, "files", changeSet.getChangedFiles().size());
+    }
+    return changeSet;
   }
 
-  private void checkSnapshotVersions(String version) {
+  /**
+   *
+   * <h>Update pom-versions native</h>
+   * <p>Rewrites the version nodes of all reactor poms in parallel with a {@link ReactorPomRewriter}.
+   * With an object-database commit the poms of HEAD are rewritten in memory instead of on disk.</p>
+   *
+   * @param project {@link MavenProject} from parent Mojo
+   * @param version the updated version
+   * @return rewritten poms
+   */
+  private PomChangeSet updateVersionNative(MavenProject project, String version) {
+    List<MavenProject> reactorProjects = getReactorProjects(project);
+    List<File> pomFiles = new ArrayList<>(reactorProjects.size());
+    for (MavenProject reactorProject : reactorProjects) {
+      if (reactorProject.getFile() != null) {
+        pomFiles.add(reactorProject.getFile());
+      }
+    }
+    Set<String> artifacts = getReactorArtifacts(project, reactorProjects);
+    PomRewriter pomRewriter = new PomRewriter(artifacts, reactorVersion, version);
+    PomChangeSet changeSet = null;
     try {
-      executeMojo(
-              plugin(
-                      groupId("org.codehaus.mojo"),
-                      artifactId("versions-maven-plugin"),
-                      version("2.3")
-              ),
-              goal("set"),
-              configuration(
-                      element(name("generateBackupPoms"), "false"),
-                      element(name("newVersion"), version)
-              ),
-              executionEnvironment(
-                      project,
-                      session,
-                      pluginManager
-              ));
-    } catch (Exception err) {
+      if (isObjectDatabaseCommit) {
+        changeSet = ReactorPomRewriter.rewrite(repositoryProvider.readCommittedFiles(pomFiles), pomRewriter);
+      } else {
+        changeSet = ReactorPomRewriter.rewrite(pomFiles, pomRewriter);
+      }
+      for (PomChangeSet.Change change : changeSet.getChanges()) {
+        LOG.debug(" * Rewrite pom.xml                 : [ {} ] [ {} ms ] [ changed: {} ]", change.getPomFile().getPath(), TimeUnit.NANOSECONDS.toMillis(change.getDurationNanos()), change.isChanged());
+      }
+      LOG.info("Updated pom.xml's                  : [ {} of {} ] in [ {} ms ]", changeSet.getChangedFiles().size(), pomFiles.size(), TimeUnit.NANOSECONDS.toMillis(changeSet.getDurationNanos()));
+      PomChangeSet.Change slowestChange = changeSet.getSlowestChange();
+      if (slowestChange != null) {
+        LOG.info("Slowest pom.xml                    : [ {} ] [ {} ms ]", slowestChange.getPomFile().getPath(), TimeUnit.NANOSECONDS.toMillis(slowestChange.getDurationNanos()));
+      }
+      reactorVersion = version;
+    } catch (IOException err) {
       LOG.error(err.getMessage());
+      LOG.error("");
+      LOG.error("The pom.xml's are not updated, the release is not committed");
+      repositoryProvider.cancelReservations();
+      Runtime.getRuntime().exit(1);
+    }
+    return changeSet;
+  }
+
+  private List<MavenProject> getReactorProjects(MavenProject project) {
+    if (session != null && session.getProjects() != null && !session.getProjects().isEmpty()) {
+      return session.getProjects();
     }
+    return Collections.singletonList(project);
   }
 
   /**
    *
-   * <h>Update pom-versions</h>
+   * <p>Determine the artifacts that share the version of the project, before the first pom is rewritten.
+   * The version of the project is kept as the current version of the reactor.</p>
+   *
+   * @param project {@link MavenProject} from parent Mojo
+   * @param reactorProjects all projects in the reactor
+   * @return artifacts as <i>groupId:artifactId</i>
+   */
+  private Set<String> getReactorArtifacts(MavenProject project, List<MavenProject> reactorProjects) {
+    if (reactorArtifacts == null) {
+      reactorVersion = project.getVersion();
+      reactorArtifacts = new HashSet<>();
+      for (MavenProject reactorProject : reactorProjects) {
+        if (project.getVersion().equals(reactorProject.getVersion())) {
+          reactorArtifacts.add(PomRewriter.toArtifactKey(reactorProject.getGroupId(), reactorProject.getArtifactId()));
+        }
+      }
+    }
+    return reactorArtifacts;
+  }
+
+  /**
+   *
+   * <h>Update pom-versions with versions-plugin</h>
    * <p>Makes use the versions-plugin to advance the pom.xml's.</p>
    *
    * @param project {@link MavenProject} from parent Mojo
    * @param version the updated version
    */
-  private void updateVersion(MavenProject project, String version) {
+  private void updateVersionWithPlugin(MavenProject project, String version) {
     try {
       executeMojo(
               plugin(
@@ -0,0 +1,89 @@
+package org.apache.maven.plugins.semver.providers;
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ *
+ * <h1>RemoteSnapshot</h1>
+ *
+ * <p>One ref advertisement of the remote SCM-repository.</p>
+ * <p>The snapshot is taken once when the credentials are validated, or on first use when the credentials are cached as valid,
+ * and is shared by the remote-changes check and the corruption checks. It is only refreshed explicitly before pushing.
+ * Every initialize of the repository drops the snapshot, also when a cached repository is shared, so a goal never checks
+ * against the advertisement of a previous goal.</p>
+ *
+ * @author sido
+ */
+public class RemoteSnapshot {
+
+  private final Map<String, Ref> refs;
+  private final Map<String, Ref> tags;
+  private final long createdAt;
+
+  /**
+   *
+   * <p>Create a snapshot from the advertised refs of the remote.</p>
+   *
+   * @param refs advertised refs, keyed by full ref-name
+   */
+  public RemoteSnapshot(Map<String, Ref> refs) {
+    this.refs = Collections.unmodifiableMap(new HashMap<>(refs));
+    Map<String, Ref> remoteTags = new HashMap<>();
+    for (Map.Entry<String, Ref> ref : refs.entrySet()) {
+      if (ref.getKey().startsWith(Constants.R_TAGS)) {
+        remoteTags.put(ref.getKey().substring(Constants.R_TAGS.length()), ref.getValue());
+      }
+    }
+    this.tags = Collections.unmodifiableMap(remoteTags);
+    this.createdAt = System.currentTimeMillis();
+  }
+
+  /**
+   *
+   * <p>All advertised refs keyed by full ref-name.</p>
+   *
+   * @return remote refs
+   */
+  public Map<String, Ref> getRefs() {
+    return refs;
+  }
+
+  /**
+   *
+   * <p>All advertised tags keyed by tag-name (without <i>refs/tags/</i>).</p>
+   *
+   * @return remote tags
+   */
+  public Map<String, Ref> getTags() {
+    return tags;
+  }
+
+  /**
+   *
+   * <p>Object-id of the remote branch.</p>
+   *
+   * @param branch short branch-name, for example <i>master</i>
+   * @return object-id or null when the branch is not advertised
+   */
+  public ObjectId getBranchObjectId(String branch) {
+    Ref ref = refs.get(Constants.R_HEADS + branch);
+    return ref != null ? ref.getObjectId() : null;
+  }
+
+  /**
+   *
+   * <p>Moment the snapshot was taken.</p>
+   *
+   * @return creation time in milliseconds
+   */
+  public long getCreatedAt() {
+    return createdAt;
+  }
+
+}
@@ -0,0 +1,33 @@
+package org.apache.maven.plugins.semver.providers;
+
+import org.apache.maven.AbstractMavenLifecycleParticipant;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugins.semver.utils.SemverExecutors;
+import org.codehaus.plexus.component.annotations.Component;
+
+import javax.inject.Inject;
+
+/**
+ *
+ * <h1>RepositoryCacheLifecycleParticipant</h1>
+ *
+ * <p>Closes the repositories that are cached for the session and shuts down the shared repository-executor when the session ends.</p>
+ * <p>Maven only calls this participant when the plugin is loaded with <i>extensions</i>.
+ * Without it the repositories of a session are closed when the next session starts, or when the JVM exits.
+ * The executor then stays, its daemon-threads stop after a minute of idle time.</p>
+ *
+ * @author sido
+ */
+@Component(role = AbstractMavenLifecycleParticipant.class, hint = "semver-repository-cache")
+public class RepositoryCacheLifecycleParticipant extends AbstractMavenLifecycleParticipant {
+
+  @Inject
+  public RepositoryCacheLifecycleParticipant() {}
+
+  @Override
+  public void afterSessionEnd(MavenSession session) {
+    RepositoryHandle.endSession();
+    SemverExecutors.shutdown();
+  }
+
+}
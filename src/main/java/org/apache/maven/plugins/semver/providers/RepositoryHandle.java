@@ -0,0 +1,283 @@
+package org.apache.maven.plugins.semver.providers;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ *
+ * <h1>RepositoryHandle</h1>
+ *
+ * <p>One shared {@link Git}-handle per git-directory, so all modules of a parallel (-T) reactor build work on the same repository.</p>
+ * <p>Updates of tags and branches are serialized with locks that are striped per ref:
+ * two modules that update the same ref wait for each other, updates of different refs can run side by side.</p>
+ * <p>Depending on the {@link RepositoryProvider.REPOSITORY_CACHE} a released handle stays open with warm pack- and index-caches:</p>
+ * <ul>
+ * <li>NONE: the repository is closed when the last user releases it</li>
+ * <li>SESSION: the repository stays open until the end of the maven-session</li>
+ * <li>DAEMON: the repository stays open for the next sessions in the same JVM, for example under mvnd</li>
+ * </ul>
+ * <p>A cached handle rescans its refs and packs when they have changed on disk since it was last used.</p>
+ *
+ * @author sido
+ */
+public class RepositoryHandle {
+
+  private static final int REF_LOCK_STRIPES = 64;
+
+  private static final ConcurrentMap<File, RepositoryHandle> HANDLES = new ConcurrentHashMap<>();
+  private static final ConcurrentMap<File, Lock[]> REF_LOCKS = new ConcurrentHashMap<>();
+  private static final ConcurrentMap<File, File> GIT_DIRS = new ConcurrentHashMap<>();
+
+  private static Object currentSession;
+
+  private final File gitDir;
+  private final Git git;
+  private final Lock[] refLocks;
+  private int openCount = 0;
+  private RepositoryProvider.REPOSITORY_CACHE repositoryCache = RepositoryProvider.REPOSITORY_CACHE.NONE;
+  private long[] diskState;
+
+  private RepositoryHandle(File gitDir, Git git) {
+    this.gitDir = gitDir;
+    this.git = git;
+    this.refLocks = getRefLocks(gitDir);
+    this.diskState = readDiskState(gitDir);
+  }
+
+  /**
+   *
+   * <p>The locks outlive the handle, so a handle that is opened again for the same git-directory uses the same locks.</p>
+   */
+  private static Lock[] getRefLocks(File gitDir) {
+    Lock[] refLocks = REF_LOCKS.get(gitDir);
+    if (refLocks == null) {
+      Lock[] newRefLocks = new Lock[REF_LOCK_STRIPES];
+      for (int i = 0; i < newRefLocks.length; i++) {
+        newRefLocks[i] = new ReentrantLock();
+      }
+      refLocks = REF_LOCKS.putIfAbsent(gitDir, newRefLocks);
+      if (refLocks == null) {
+        refLocks = newRefLocks;
+      }
+    }
+    return refLocks;
+  }
+
+  /**
+   *
+   * <p>Start a maven-session. When the session differs from the previous one, the idle handles of the previous session are closed.</p>
+   *
+   * @param session the maven-session
+   */
+  public static synchronized void beginSession(Object session) {
+    if (session != currentSession) {
+      if (currentSession != null) {
+        closeIdle(RepositoryProvider.REPOSITORY_CACHE.SESSION);
+      }
+      currentSession = session;
+    }
+  }
+
+  /**
+   *
+   * <p>End the maven-session: close all idle handles that are not kept for the daemon.</p>
+   */
+  public static synchronized void endSession() {
+    closeIdle(RepositoryProvider.REPOSITORY_CACHE.SESSION);
+    currentSession = null;
+  }
+
+  /**
+   *
+   * <p>Close all idle handles, including the ones that are kept for the daemon.</p>
+   */
+  public static synchronized void closeAll() {
+    closeIdle(RepositoryProvider.REPOSITORY_CACHE.DAEMON);
+    currentSession = null;
+  }
+
+  private static void closeIdle(RepositoryProvider.REPOSITORY_CACHE upToCache) {
+    for (RepositoryHandle handle : HANDLES.values()) {
+      handle.disposeIfIdle(upToCache);
+    }
+  }
+
+  /**
+   *
+   * <p>Find the canonical git-directory of the repository that contains the base-directory.</p>
+   * <p>The result is remembered per base-directory, so the walk up the directory tree is done once.</p>
+   *
+   * @param baseDir directory in the repository, for example the base-directory of a module
+   * @return canonical git-directory
+   * @throws IOException when no repository can be found
+   */
+  public static File findGitDir(File baseDir) throws IOException {
+    File canonicalBaseDir = baseDir.getCanonicalFile();
+    File gitDir = GIT_DIRS.get(canonicalBaseDir);
+    if (gitDir == null || !gitDir.isDirectory()) {
+      FileRepositoryBuilder repoBuilder = new FileRepositoryBuilder();
+      repoBuilder.addCeilingDirectory(baseDir);
+      repoBuilder.findGitDir(baseDir);
+      if (repoBuilder.getGitDir() == null) {
+        throw new IOException("No SCM-repository found for " + baseDir);
+      }
+      gitDir = repoBuilder.getGitDir().getCanonicalFile();
+      GIT_DIRS.put(canonicalBaseDir, gitDir);
+    }
+    return gitDir;
+  }
+
+  /**
+   *
+   * <p>Open the shared handle of the repository that contains the base-directory, without caching it after use.</p>
+   *
+   * @param baseDir directory in the repository, for example the base-directory of a module
+   * @return shared handle
+   * @throws IOException when no repository can be found
+   */
+  public static RepositoryHandle open(File baseDir) throws IOException {
+    return open(baseDir, RepositoryProvider.REPOSITORY_CACHE.NONE);
+  }
+
+  /**
+   *
+   * <p>Open the shared handle of the repository that contains the base-directory.</p>
+   * <p>Every call to open has to be followed by a call to {@link #close()}.</p>
+   *
+   * @param baseDir directory in the repository, for example the base-directory of a module
+   * @param repositoryCache how long the handle stays open after the last user released it
+   * @return shared handle
+   * @throws IOException when no repository can be found
+   */
+  public static RepositoryHandle open(File baseDir, RepositoryProvider.REPOSITORY_CACHE repositoryCache) throws IOException {
+    File gitDir = findGitDir(baseDir);
+    while (true) {
+      RepositoryHandle handle = HANDLES.get(gitDir);
+      if (handle == null) {
+        RepositoryHandle newHandle = new RepositoryHandle(gitDir, new Git(new FileRepositoryBuilder().setGitDir(gitDir).setMustExist(true).build()));
+        handle = HANDLES.putIfAbsent(gitDir, newHandle);
+        if (handle == null) {
+          handle = newHandle;
+        } else {
+          newHandle.git.getRepository().close();
+        }
+      }
+      if (handle.acquire(repositoryCache)) {
+        return handle;
+      }
+    }
+  }
+
+  private synchronized boolean acquire(RepositoryProvider.REPOSITORY_CACHE repositoryCache) throws IOException {
+    if (openCount < 0) {
+      return false;
+    }
+    if (openCount == 0 && !Arrays.equals(diskState, readDiskState(gitDir))) {
+      if (!gitDir.isDirectory()) {
+        dispose();
+        return false;
+      }
+      git.getRepository().scanForRepoChanges();
+      diskState = readDiskState(gitDir);
+    }
+    if (repositoryCache.ordinal() > this.repositoryCache.ordinal()) {
+      this.repositoryCache = repositoryCache;
+    }
+    openCount++;
+    return true;
+  }
+
+  /**
+   *
+   * <p>Release this handle. Without a cache the repository is closed when the last user releases it, closing it again does nothing.</p>
+   * <p>The ref-locks stay usable after the handle is closed.</p>
+   */
+  public synchronized void close() {
+    if (openCount > 0 && --openCount == 0) {
+      if (repositoryCache == RepositoryProvider.REPOSITORY_CACHE.NONE) {
+        dispose();
+      } else {
+        diskState = readDiskState(gitDir);
+      }
+    }
+  }
+
+  private synchronized void disposeIfIdle(RepositoryProvider.REPOSITORY_CACHE upToCache) {
+    if (openCount == 0 && repositoryCache.ordinal() <= upToCache.ordinal()) {
+      dispose();
+    }
+  }
+
+  private void dispose() {
+    openCount = -1;
+    HANDLES.remove(gitDir, this);
+    git.getRepository().close();
+  }
+
+  /**
+   *
+   * <p>Is the handle usable, or is the repository closed?</p>
+   *
+   * @return is open?
+   */
+  public synchronized boolean isOpen() {
+    return openCount >= 0;
+  }
+
+  /**
+   *
+   * <p>Modification-times and sizes of the files that change when refs or packs are written.</p>
+   */
+  private static long[] readDiskState(File gitDir) {
+    File[] files = {
+        new File(gitDir, Constants.HEAD),
+        new File(gitDir, Constants.PACKED_REFS),
+        new File(gitDir, "refs/heads"),
+        new File(gitDir, "refs/tags"),
+        new File(gitDir, "objects/pack"),
+        new File(gitDir, "index")
+    };
+    long[] diskState = new long[files.length * 2];
+    for (int i = 0; i < files.length; i++) {
+      diskState[i * 2] = files[i].lastModified();
+      diskState[i * 2 + 1] = files[i].length();
+    }
+    return diskState;
+  }
+
+  /**
+   *
+   * <p>Lock the stripe of a ref before it is updated.</p>
+   *
+   * @param refName full name of the ref, for example <i>refs/tags/1.0.0</i>
+   * @return the held lock, unlock it in a finally-block
+   */
+  public Lock lockRef(String refName) {
+    Lock refLock = refLocks[(refName.hashCode() & Integer.MAX_VALUE) % refLocks.length];
+    refLock.lock();
+    return refLock;
+  }
+
+  public File getGitDir() {
+    return gitDir;
+  }
+
+  public Git getGit() {
+    return git;
+  }
+
+  public Repository getRepository() {
+    return git.getRepository();
+  }
+
+}
@@ -2,11 +2,14 @@ package org.apache.maven.plugins.semver.providers;
 
 import org.apache.maven.plugins.semver.exceptions.SemverException;
 import org.apache.maven.plugins.semver.configuration.SemverConfiguration;
+import org.apache.maven.plugins.semver.versions.TagIndex;
+import org.apache.maven.plugins.semver.versions.VersionIndex;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.lib.Ref;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -21,6 +24,54 @@ import java.util.Map;
  */
 public interface RepositoryProvider {
 
+    /**
+     *
+     * <p>Different kind of working tree checks before a release.</p>
+     *
+     * <ul>
+     * <li>FULL (default): the whole working tree is checked, split by top-level directory over a thread-pool</li>
+     * <li>SCOPED: only the reactor pom.xml's and the configured status-paths are checked</li>
+     * </ul>
+     */
+    enum STATUS_SCOPE {
+        FULL,
+        SCOPED;
+
+        public static STATUS_SCOPE convertToEnum(String statusScope) {
+            STATUS_SCOPE value = FULL;
+            if ("SCOPED".equals(statusScope)) {
+                value = SCOPED;
+            }
+            return value;
+        }
+    }
+
+    /**
+     *
+     * <p>How long an opened repository stays open after a goal is done with it.</p>
+     *
+     * <ul>
+     * <li>NONE: the repository is closed after each goal</li>
+     * <li>SESSION (default): the repository stays open until the end of the maven-session</li>
+     * <li>DAEMON: the repository stays open for the next sessions in the same JVM, for example under mvnd</li>
+     * </ul>
+     */
+    enum REPOSITORY_CACHE {
+        NONE,
+        SESSION,
+        DAEMON;
+
+        public static REPOSITORY_CACHE convertToEnum(String repositoryCache) {
+            REPOSITORY_CACHE value = SESSION;
+            if ("NONE".equals(repositoryCache)) {
+                value = NONE;
+            } else if ("DAEMON".equals(repositoryCache)) {
+                value = DAEMON;
+            }
+            return value;
+        }
+    }
+
     /**
      *
      * <p>Iniitalize repository for {@link RepositoryProviderImpl}</p>
@@ -32,6 +83,34 @@ public interface RepositoryProvider {
      */
     void initialize(File baseDir, String scmUrl, String configScmUsername, String configScmPassword);
 
+    /**
+     *
+     * <p>Initialize the working tree check of {@link #isChanged()}.</p>
+     *
+     * @param statusScope FULL or SCOPED check
+     * @param scopedFiles files that are checked in a SCOPED check, for example all reactor pom.xml's
+     * @param scopedGlobs globs relative to the working tree that are checked in a SCOPED check
+     */
+    void initializeStatus(STATUS_SCOPE statusScope, Collection<File> scopedFiles, Collection<String> scopedGlobs);
+
+    /**
+     *
+     * <p>Initialize the validation of the credentials in {@link #initialize(File, String, String, String)}.</p>
+     *
+     * @param credentialCache cache of credentials that were accepted by the remote before
+     * @param isInteractive may the user be prompted for credentials? In batch-mode invalid credentials fail the goal
+     */
+    void initializeCredentials(CredentialCache credentialCache, boolean isInteractive);
+
+    /**
+     *
+     * <p>Initialize the repository cache of {@link #initialize(File, String, String, String)} for a maven-session.</p>
+     *
+     * @param repositoryCache how long a repository stays open
+     * @param session the current maven-session, a new session closes the repositories of the previous one
+     */
+    void initializeCache(REPOSITORY_CACHE repositoryCache, Object session);
+
     /**
      *
      * <p>Is the repotistory succesfully initialized?</p>
@@ -48,6 +127,23 @@ public interface RepositoryProvider {
      */
     boolean pull();
 
+    /**
+     *
+     * <p>Perform a fetch of the branches and tags from the remote GIT-repository, without touching the working tree.</p>
+     *
+     * @return is fetch completed?
+     */
+    boolean fetch();
+
+    /**
+     *
+     * <p>Perform a fetch of only the tags from the remote GIT-repository, the branches and the working tree are not touched.</p>
+     * <p>Local tags are never overwritten, a tag that differs from the remote is reported.</p>
+     *
+     * @return is fetch completed?
+     */
+    boolean fetchTags();
+
     /**
      *
      * <p>Get currentbranch which you are working in</p>
@@ -64,6 +160,32 @@ public interface RepositoryProvider {
      */
     List<Ref> getLocalTags();
 
+    /**
+     *
+     * <p>Return the persistent index of the parsed local SCM-tags.</p>
+     * <p>Version and corruption checks read the tags from this index instead of parsing every tag again.</p>
+     *
+     * @return local tag-index
+     */
+    TagIndex getTagIndex();
+
+    /**
+     *
+     * <p>Return the local SCM-tags sorted by version precedence.</p>
+     * <p>The index answers highest-release, floor, ceiling and range queries without listing the refs again.</p>
+     *
+     * @return local version-index
+     */
+    VersionIndex getVersionIndex();
+
+    /**
+     *
+     * <p>Return the remote SCM-tags of the {@link RemoteSnapshot} sorted by version precedence.</p>
+     *
+     * @return remote version-index
+     */
+    VersionIndex getRemoteVersionIndex();
+
     /**
      *
      * <p>Return a list of remote SCM-tags.</p>
@@ -72,6 +194,33 @@ public interface RepositoryProvider {
      */
     Map<String, Ref> getRemoteTags();
 
+    /**
+     *
+     * <p>Return the ref advertisement of the remote that is taken at {@link #initialize(File, String, String, String)}.</p>
+     * <p>All remote checks share this snapshot to avoid extra round trips to the remote.</p>
+     *
+     * @return remote snapshot
+     */
+    RemoteSnapshot getRemoteSnapshot();
+
+    /**
+     *
+     * <p>Take a new ref advertisement of the remote.</p>
+     * <p>This is the explicit refresh point before pushing to the remote.</p>
+     *
+     * @return refreshed remote snapshot
+     */
+    RemoteSnapshot refreshRemoteSnapshot();
+
+    /**
+     *
+     * <p>Determine if the upstream of the current branch is ahead of the local repository. The upstream is configured by
+     * <i>branch.&lt;name&gt;.merge</i>, other branches on the remote are not compared.</p>
+     *
+     * @return is remote ahead?
+     */
+    boolean isRemoteAhead();
+
     /**
      *
      * <p>Create a local SCM-tag.</p>
@@ -85,7 +234,7 @@ public interface RepositoryProvider {
      *
      * <p>Delete a local SCM-tag</p>
      *
-     * @param tag SCM-tag to delete
+     * @param tag SCM-tag to delete, either the tag-name or the full ref-name (<i>refs/tags/...</i>)
      * @return is the tag succesfully deleted?
      */
     boolean deleteTag(String tag);
@@ -99,6 +248,39 @@ public interface RepositoryProvider {
      */
     boolean commit(String message);
 
+    /**
+     *
+     * <p>Perform a commit of only the given files on the local repository.</p>
+     * <p>The working tree is not scanned for other changes.</p>
+     *
+     * @param message SCM-commit message
+     * @param files changed files in the working tree
+     * @return is the commit completed?
+     */
+    boolean commit(String message, Collection<File> files);
+
+    /**
+     *
+     * <p>Read the content of files as they are committed in HEAD.</p>
+     *
+     * @param files files in the repository
+     * @return content by file, in the given order; files that are not committed are left out
+     */
+    Map<File, byte[]> readCommittedFiles(Collection<File> files);
+
+    /**
+     *
+     * <p>Commit new content of files directly in the object-database.</p>
+     * <p>The new tree is built in memory from the tree of HEAD, the objects are written with one inserter and the branch is moved with a ref-update.
+     * The working tree is not scanned, so this also works on a bare repository.
+     * In a non-bare repository only the given files and their index-entries are updated.</p>
+     *
+     * @param message SCM-commit message
+     * @param files new content by file
+     * @return is the commit completed?
+     */
+    boolean commitFiles(String message, Map<File, byte[]> files);
+
     /**
      *
      * <p>Push all changes to remote.</p>
@@ -116,7 +298,54 @@ public interface RepositoryProvider {
     boolean pushTag();
 
     /**
-     * <p>Close the repository when finished.</p>
+     *
+     * <p>Push the commit of a release-tag to the current branch and the tag itself, in one push.
+     * Later local commits on the branch are not pushed, so the next development-commit can be made while this push is in flight.</p>
+     * <p>Unlike {@link #pushTag()} a failure does not stop the plugin, the caller decides. During an atomic publish both refs are queued.</p>
+     *
+     * @param tag the release-tag
+     * @return are the release-commit and the tag accepted by the remote?
+     */
+    boolean pushRelease(String tag);
+
+    /**
+     *
+     * <p>Reserve a release-tag on the remote before anything is rewritten: the tag is pushed on the current commit with
+     * the expectation that it does not exist on the remote yet. The remote accepts only one of concurrent reservations of the same tag.</p>
+     * <p>The release-push moves the reserved tag to the release-commit.</p>
+     *
+     * @param tag the release-tag
+     * @return is the tag reserved, false when the tag is taken?
+     */
+    boolean reserveTag(String tag);
+
+    /**
+     *
+     * <p>Delete the reserved tags of a release that is not accepted by the remote, so the version can be released again.</p>
+     * <p>A tag is only deleted when the remote still has the value this release pushed.</p>
+     */
+    void cancelReservations();
+
+    /**
+     *
+     * <p>Queue the next pushes instead of sending them to the remote.</p>
+     * <p>While queued {@link #push()} records the current branch and {@link #pushTag()} records the tags created with
+     * {@link #createTag(String)}. Nothing is sent until {@link #publish()} is called.</p>
+     */
+    void beginAtomicPublish();
+
+    /**
+     *
+     * <p>Send all queued refs to the remote in one atomic push: either all refs are updated or none.</p>
+     * <p>Does nothing when {@link #beginAtomicPublish()} was not called.</p>
+     *
+     * @return is the publish successfull
+     */
+    boolean publish();
+
+    /**
+     * <p>Close the repository when finished. Every call to {@link #initialize(File, String, String, String)} is released by
+     * exactly one call to close, closing more often does nothing.</p>
      */
     void closeRepository();
 
@@ -128,6 +357,22 @@ public interface RepositoryProvider {
      */
     boolean isChanged();
 
+    /**
+     *
+     * <p>Determine if the remote origin is ahead of the local repository. This check needs the network.</p>
+     *
+     * @return is the remote changed?
+     */
+    boolean isRemoteChanged();
+
+    /**
+     *
+     * <p>Determine if there are open changes in the working tree. This check only reads the filesystem.</p>
+     *
+     * @return are there local changes?
+     */
+    boolean isLocalChanged();
+
     /**
      * <p>When a <i>release:rollback</i> is performed local SCM-tags have to be cleaned to perform the next release.</p>
      *
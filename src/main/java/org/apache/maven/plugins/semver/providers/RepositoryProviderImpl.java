@@ -1,36 +1,72 @@
 package org.apache.maven.plugins.semver.providers;
 
-import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.plugins.semver.SemverMavenPlugin;
 import org.apache.maven.plugins.semver.exceptions.SemverException;
 import org.apache.maven.plugins.semver.exceptions.SemverExceptionMessages;
 import org.apache.maven.plugins.semver.utils.SemverConsole;
+import org.apache.maven.plugins.semver.utils.SemverEvent;
+import org.apache.maven.plugins.semver.utils.SemverEvents;
+import org.apache.maven.plugins.semver.versions.TagIndex;
+import org.apache.maven.plugins.semver.versions.VersionIndex;
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
+import org.eclipse.jgit.api.CommitCommand;
 import org.eclipse.jgit.api.Git;
-import org.eclipse.jgit.api.Status;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheBuilder;
+import org.eclipse.jgit.dircache.DirCacheEditor;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.lib.BranchConfig;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.PersonIdent;
 import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.RefUpdate;
 import org.eclipse.jgit.lib.Repository;
-import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.transport.CredentialsProvider;
-import org.eclipse.jgit.transport.FetchResult;
+import org.eclipse.jgit.transport.PushResult;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.transport.RemoteRefUpdate;
+import org.eclipse.jgit.transport.TrackingRefUpdate;
+import org.eclipse.jgit.transport.Transport;
+import org.eclipse.jgit.transport.URIish;
 import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
 import java.io.Console;
 import java.io.File;
 import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 
 /**
  *
  * <h>RepositoryProvider</h>
  * <p>Provider that is used to make connection to SCM repository and handle all request to and from that repository.</p>
+ * <p>The provider is a singleton that is shared by all modules of a parallel (-T) reactor build.
+ * All modules use one {@link RepositoryHandle} per git-directory and updates of a tag or branch are serialized per ref.</p>
  *
  * @author sido
  */
@@ -46,11 +82,32 @@ public class RepositoryProviderImpl implements RepositoryProvider {
 
   @Requirement
   private Logger LOG;
+  @Requirement
+  private MetricsProvider metricsProvider;
+
+  private volatile boolean isInitialized = false;
+
+  private volatile File baseDir;
+  private volatile RepositoryHandle handle;
+  private int handleAcquired = 0;
+  private volatile Git repository;
+  private volatile CredentialsProvider provider;
+  private volatile String remoteHost = "";
+  private volatile CredentialCache credentialCache = CredentialCache.forCurrentUser(0);
+  private volatile boolean isInteractive = true;
+  private volatile String credentialKey;
+  private volatile RemoteSnapshot remoteSnapshot;
 
-  private boolean isInitialized = false;
+  private volatile REPOSITORY_CACHE repositoryCache = REPOSITORY_CACHE.NONE;
+  private volatile Object session;
 
-  private Git repository;
-  private CredentialsProvider provider;
+  private volatile STATUS_SCOPE statusScope = STATUS_SCOPE.FULL;
+  private volatile Collection<File> scopedFiles = Collections.emptyList();
+  private volatile Collection<String> scopedGlobs = Collections.emptyList();
+
+  private volatile boolean isPublishQueued = false;
+  private final Set<String> publishQueue = Collections.synchronizedSet(new LinkedHashSet<String>());
+  private final Map<String, ObjectId> reservations = new ConcurrentHashMap<>();
 
 
   /**
@@ -62,16 +119,78 @@ public class RepositoryProviderImpl implements RepositoryProvider {
   public RepositoryProviderImpl() {}
 
   @Override
-  public void initialize(File baseDir, String scmUrl, String configScmUsername, String configScmPassword) {
+  public synchronized void initialize(File baseDir, String scmUrl, String configScmUsername, String configScmPassword) {
     try {
-      repository = initializeRepository(baseDir);
-      provider = initializeCredentialsProvider(scmUrl, configScmUsername, configScmPassword);
-    } catch (SemverException err) {
+      this.baseDir = baseDir;
+      this.remoteHost = determineRemoteHost(scmUrl);
+      this.remoteSnapshot = null;
+      if (isInitialized && handle != null && handle.isOpen() && handle.getGitDir().equals(RepositoryHandle.findGitDir(baseDir))) {
+        LOG.info(SemverMavenPlugin.FUNCTION_LINE_BREAK);
+        LOG.info("Initializing SCM-repository");
+        LOG.info(" * SCM-repository is shared        : {}", handle.getGitDir());
+        try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.INITIALIZE)) {
+          acquireHandle(RepositoryHandle.open(baseDir, repositoryCache));
+          repository = handle.getGit();
+        }
+        return;
+      }
+      try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.INITIALIZE)) {
+        repository = initializeRepository(baseDir);
+      }
+      try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.CREDENTIALS)) {
+        provider = initializeCredentialsProvider(scmUrl, configScmUsername, configScmPassword);
+      }
+    } catch (SemverException | IOException err) {
       LOG.error(err.getMessage());
       Runtime.getRuntime().exit(1);
     }
   }
 
+  /**
+   *
+   * <p>Host of the remote, for the flight-recorder events.</p>
+   *
+   * @param scmUrl the SCM-connection, with or without the <i>scm:git:</i> prefix
+   * @return host, or <i>local</i> for a remote on the filesystem
+   */
+  private static String determineRemoteHost(String scmUrl) {
+    String remoteHost = "local";
+    if (scmUrl != null) {
+      try {
+        String host = new URIish(scmUrl.replaceFirst("^scm:git:", "")).getHost();
+        if (host != null && !host.isEmpty()) {
+          remoteHost = host;
+        }
+      } catch (URISyntaxException err) {
+        remoteHost = "unknown";
+      }
+    }
+    return remoteHost;
+  }
+
+  @Override
+  public synchronized void initializeCache(REPOSITORY_CACHE repositoryCache, Object session) {
+    this.repositoryCache = repositoryCache;
+    if (session != this.session) {
+      this.session = session;
+      isInitialized = false;
+    }
+    RepositoryHandle.beginSession(session);
+  }
+
+  @Override
+  public void initializeCredentials(CredentialCache credentialCache, boolean isInteractive) {
+    this.credentialCache = credentialCache;
+    this.isInteractive = isInteractive;
+  }
+
+  @Override
+  public void initializeStatus(STATUS_SCOPE statusScope, Collection<File> scopedFiles, Collection<String> scopedGlobs) {
+    this.statusScope = statusScope;
+    this.scopedFiles = scopedFiles;
+    this.scopedGlobs = scopedGlobs;
+  }
+
   @Override
   public boolean isInitialized() {
     return this.isInitialized;
@@ -88,13 +207,9 @@ public class RepositoryProviderImpl implements RepositoryProvider {
     Git repository = null;
     LOG.info(SemverMavenPlugin.FUNCTION_LINE_BREAK);
     LOG.info("Initializing SCM-repository");
-    FileRepositoryBuilder repoBuilder = new FileRepositoryBuilder();
-    repoBuilder.addCeilingDirectory(baseDir);
-    repoBuilder.findGitDir(baseDir);
-    Repository repo = null;
     try {
-      repo = repoBuilder.build();
-      repository = new Git(repo);
+      acquireHandle(RepositoryHandle.open(baseDir, repositoryCache));
+      repository = handle.getGit();
       LOG.info(" * SCM-repository is initialized");
     } catch (Exception err) {
       LOG.error(" * This is not a valid SCM-repository.");
@@ -107,41 +222,67 @@ public class RepositoryProviderImpl implements RepositoryProvider {
 
   /**
    * <p>Initialize credentialsprovider to acces remote SCM repository.</p>
+   * <p>Credentials that were validated before, within the TTL of the {@link CredentialCache}, are not probed again.</p>
    *
    * @return {@link CredentialsProvider} initialized credentialsProvider
+   * @throws SemverException when the credentials are not valid and can not be prompted for
    */
-  private CredentialsProvider initializeCredentialsProvider(String scmUrl, String configScmUserName, String configScmPassword) {
+  private CredentialsProvider initializeCredentialsProvider(String scmUrl, String configScmUserName, String configScmPassword) throws SemverException {
     LOG.info("Initializing SCM-credentialsprovider");
     CredentialsProvider provider;
 
     Map<CREDENTIALS, String> credentials = promptForCredentials(configScmUserName, configScmPassword, scmUrl);
 
     provider = new UsernamePasswordCredentialsProvider(credentials.get(CREDENTIALS.USERNAME), credentials.get(CREDENTIALS.PASSWORD));
-    LOG.info(" * Validate credentials");
-    boolean isAuthorized = checkCredentials(provider);
-    while(!isAuthorized) {
-      Map<CREDENTIALS, String> newCredentials = promptForCredentials("", "", scmUrl);
-      provider = new UsernamePasswordCredentialsProvider(newCredentials.get(CREDENTIALS.USERNAME), newCredentials.get(CREDENTIALS.PASSWORD));
-      isAuthorized = checkCredentials(provider);
+    String key = CredentialCache.createKey(scmUrl, credentials.get(CREDENTIALS.USERNAME), credentials.get(CREDENTIALS.PASSWORD));
+    if (credentialCache.isValid(key)) {
+      LOG.info(" * Credentials are validated before");
+    } else {
+      LOG.info(" * Validate credentials");
+      boolean isAuthorized = checkCredentials(provider);
+      while(!isAuthorized) {
+        if (!isInteractive) {
+          throw new SemverException("The SCM-credentials are not valid", SemverExceptionMessages.MESSAGE_ERROR_SCM_CREDENTIALS);
+        }
+        Map<CREDENTIALS, String> newCredentials = promptForCredentials("", "", scmUrl);
+        provider = new UsernamePasswordCredentialsProvider(newCredentials.get(CREDENTIALS.USERNAME), newCredentials.get(CREDENTIALS.PASSWORD));
+        key = CredentialCache.createKey(scmUrl, newCredentials.get(CREDENTIALS.USERNAME), newCredentials.get(CREDENTIALS.PASSWORD));
+        isAuthorized = checkCredentials(provider);
+      }
+      credentialCache.markValid(key);
     }
+    credentialKey = key;
     LOG.info(" * SCM-credentialsprovider is initialized");
     isInitialized = true;
 
     return provider;
   }
 
+  /**
+   *
+   * <p>Forget the cached validation of the current credentials, after the remote has rejected them.</p>
+   */
+  private void invalidateCredentials() {
+    if (credentialKey != null) {
+      credentialCache.invalidate(credentialKey);
+    }
+  }
+
   /**
    *
    * <h1>Check if credentials are valid</h1>
    * <p>Checks with a lsremote command if the remote repository is reachable</p>
+   * <p>The advertised refs are kept as {@link RemoteSnapshot} so the remote checks do not need another round trip.</p>
    *
    * @param provider give the new {@link UsernamePasswordCredentialsProvider}
    * @return isAuthorized
    */
   private boolean checkCredentials(CredentialsProvider provider) {
     boolean isAuthorized = false;
-    try {
-      repository.lsRemote().setCredentialsProvider(provider).call();
+    try (SemverEvent event = SemverEvents.git("ls-remote", remoteHost)) {
+      remoteSnapshot = new RemoteSnapshot(repository.lsRemote().setRemote("origin").setCredentialsProvider(provider).callAsMap());
+      metricsProvider.count(MetricsProvider.PHASE.CREDENTIALS, "refs", remoteSnapshot.getRefs().size());
+      event.setCount(remoteSnapshot.getRefs().size()).setSucceeded(true);
       isAuthorized = true;
       LOG.info(" * Current credentials are valid");
     } catch(GitAPIException err) {
@@ -159,11 +300,14 @@ public class RepositoryProviderImpl implements RepositoryProvider {
    * @param configScmPassword
    * @param scmUrl
    * @return
+   * @throws SemverException when credentials are missing in batch-mode
    */
-  private Map<CREDENTIALS, String> promptForCredentials(String configScmUserName, String configScmPassword, String scmUrl) {
+  private Map<CREDENTIALS, String> promptForCredentials(String configScmUserName, String configScmPassword, String scmUrl) throws SemverException {
     Map<CREDENTIALS, String> credentials = new HashMap<>();
     String scmDefaultUsername = "";
-    if(configScmUserName.isEmpty() || configScmPassword.isEmpty()) {
+    if((configScmUserName.isEmpty() || configScmPassword.isEmpty()) && !isInteractive) {
+      throw new SemverException("No SCM-credentials configured in batch-mode", "Configure username and password, or a server in settings.xml with serverId");
+    } else if(configScmUserName.isEmpty() || configScmPassword.isEmpty()) {
       String messageUsername = "[info]  * Please enter your (SCM) username : ";
       String messagePassword = "[info]  * Please enter your (SCM) password : ";
       if(scmUrl.contains(URL_GITHUB)) {
@@ -191,10 +335,15 @@ public class RepositoryProviderImpl implements RepositoryProvider {
   @Override
   public boolean pull() {
     boolean isSuccess = true;
-    try {
-      repository.pull().setCredentialsProvider(provider).call();
+    try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.FETCH); SemverEvent event = SemverEvents.git("pull", remoteHost)) {
+      TransferMonitor monitor = new TransferMonitor("pull", LOG, metricsProvider, MetricsProvider.PHASE.FETCH);
+      long packBytes = getPackBytes();
+      boolean isSuccessful = repository.pull().setCredentialsProvider(provider).setProgressMonitor(monitor).call().isSuccessful();
+      finishTransfer(monitor, event, getPackBytes() - packBytes);
+      event.setSucceeded(isSuccessful);
     } catch (GitAPIException err) {
       isSuccess = false;
+      invalidateCredentials();
       LOG.error(err.getMessage());
       LOG.error("");
       LOG.error(SemverExceptionMessages.MESSAGE_ERROR_SCM_CREDENTIALS);
@@ -203,20 +352,105 @@ public class RepositoryProviderImpl implements RepositoryProvider {
     return isSuccess;
   }
 
-  /**
-   *
-   * <p>Perform a pull from the remote GIT-repository.</p>
-   *
-   * @return is pull completed?
-   */
-  private boolean checkRemoteUpdates() {
-    boolean isRemoteDifferent = false;
-    try {
-      FetchResult fetch = repository.fetch().setRemote("origin").setCredentialsProvider(provider).setDryRun(true).call();
-      if(!fetch.getTrackingRefUpdates().isEmpty()) {
-        isRemoteDifferent = true;
+  @Override
+  public boolean fetch() {
+    boolean isSuccess = true;
+    try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.FETCH); SemverEvent event = SemverEvents.git("fetch", remoteHost)) {
+      TransferMonitor monitor = new TransferMonitor("fetch", LOG, metricsProvider, MetricsProvider.PHASE.FETCH);
+      long packBytes = getPackBytes();
+      event.setCount(repository.fetch().setRemote("origin").setCredentialsProvider(provider).setProgressMonitor(monitor).call().getTrackingRefUpdates().size());
+      finishTransfer(monitor, event, getPackBytes() - packBytes);
+      event.setSucceeded(true);
+    } catch (GitAPIException err) {
+      isSuccess = false;
+      invalidateCredentials();
+      LOG.error(err.getMessage());
+      LOG.error("");
+      LOG.error(SemverExceptionMessages.MESSAGE_ERROR_SCM_CREDENTIALS);
+    }
+    return isSuccess;
+  }
+
+  @Override
+  public boolean fetchTags() {
+    boolean isSuccess = true;
+    try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.FETCH); SemverEvent event = SemverEvents.git("fetch-tags", remoteHost)) {
+      TransferMonitor monitor = new TransferMonitor("fetch-tags", LOG, metricsProvider, MetricsProvider.PHASE.FETCH);
+      long packBytes = getPackBytes();
+      RefSpec tagSpec = new RefSpec(Constants.R_TAGS + "*:" + Constants.R_TAGS + "*");
+      int fetchedTags = 0;
+      for (TrackingRefUpdate update : repository.fetch().setRemote("origin").setRefSpecs(tagSpec).setCredentialsProvider(provider).setProgressMonitor(monitor).call().getTrackingRefUpdates()) {
+        if (update.getResult() == RefUpdate.Result.REJECTED) {
+          LOG.warn(" * Local tag differs from remote   : [ {} ]", update.getLocalName());
+        } else {
+          fetchedTags++;
+        }
+      }
+      event.setCount(fetchedTags);
+      finishTransfer(monitor, event, getPackBytes() - packBytes);
+      event.setSucceeded(true);
+    } catch (GitAPIException err) {
+      isSuccess = false;
+      invalidateCredentials();
+      LOG.error(err.getMessage());
+      LOG.error("");
+      LOG.error(SemverExceptionMessages.MESSAGE_ERROR_SCM_CREDENTIALS);
+    }
+    return isSuccess;
+  }
+
+  @Override
+  public RemoteSnapshot getRemoteSnapshot() {
+    RemoteSnapshot snapshot = remoteSnapshot;
+    if (snapshot == null) {
+      synchronized (this) {
+        if (remoteSnapshot == null) {
+          refreshRemoteSnapshot();
+        }
+        snapshot = remoteSnapshot;
       }
+    }
+    return snapshot;
+  }
+
+  @Override
+  public RemoteSnapshot refreshRemoteSnapshot() {
+    try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.REMOTE_CHECK); SemverEvent event = SemverEvents.git("ls-remote", remoteHost)) {
+      remoteSnapshot = new RemoteSnapshot(repository.lsRemote().setRemote("origin").setCredentialsProvider(provider).callAsMap());
+      metricsProvider.count(MetricsProvider.PHASE.REMOTE_CHECK, "refs", remoteSnapshot.getRefs().size());
+      event.setCount(remoteSnapshot.getRefs().size()).setSucceeded(true);
     } catch (GitAPIException err) {
+      invalidateCredentials();
+      LOG.error(err.getMessage());
+      LOG.error("");
+      LOG.error(SemverExceptionMessages.MESSAGE_ERROR_SCM_CREDENTIALS);
+      Runtime.getRuntime().exit(1);
+    }
+    return remoteSnapshot;
+  }
+
+  @Override
+  public boolean isRemoteAhead() {
+    boolean isRemoteDifferent = false;
+    RemoteSnapshot snapshot = getRemoteSnapshot();
+    try (SemverEvent event = SemverEvents.git("compare-refs", remoteHost)) {
+      Repository repo = repository.getRepository();
+      String branch = repo.getBranch();
+      BranchConfig branchConfig = new BranchConfig(repo.getConfig(), branch);
+      String upstreamRefName = branchConfig.getMerge() != null ? branchConfig.getMerge() : Constants.R_HEADS + branch;
+      Ref upstreamRef = snapshot.getRefs().get(upstreamRefName);
+      event.setCount(1);
+      if (upstreamRef != null && upstreamRef.getObjectId() != null) {
+        String trackingRefName = branchConfig.getTrackingBranch();
+        Ref trackingRef = trackingRefName != null ? repo.exactRef(trackingRefName) : null;
+        ObjectId remoteObjectId = upstreamRef.getObjectId();
+        if ((trackingRef == null || !remoteObjectId.equals(trackingRef.getObjectId())) && !isMergedIntoHead(repo, remoteObjectId)) {
+          LOG.debug(" * Remote ref [ {} ] differs from [ {} ]", upstreamRefName, trackingRefName);
+          isRemoteDifferent = true;
+        }
+      }
+      event.setSucceeded(true);
+    } catch (IOException err) {
       LOG.error(err.getMessage());
       LOG.error("");
       LOG.error(SemverExceptionMessages.MESSAGE_ERROR_SCM_CREDENTIALS);
@@ -225,6 +459,26 @@ public class RepositoryProviderImpl implements RepositoryProvider {
     return isRemoteDifferent;
   }
 
+  /**
+   *
+   * <p>Is the commit of the remote already part of the local branch? A local clone without the remote-tracking ref, or with an
+   * outdated one, is not ahead of the remote when it contains the commit.</p>
+   *
+   * @param repo local SCM-repository
+   * @param objectId commit of the remote
+   * @return is merged?
+   * @throws IOException when the commits can not be read
+   */
+  private static boolean isMergedIntoHead(Repository repo, ObjectId objectId) throws IOException {
+    ObjectId head = repo.resolve(Constants.HEAD);
+    if (head == null || !repo.getObjectDatabase().has(objectId)) {
+      return false;
+    }
+    try (RevWalk revWalk = new RevWalk(repo)) {
+      return revWalk.isMergedInto(revWalk.parseCommit(objectId), revWalk.parseCommit(head));
+    }
+  }
+
   @Override
   public String getCurrentBranch() {
     String currentBranch = "";
@@ -242,8 +496,9 @@ public class RepositoryProviderImpl implements RepositoryProvider {
   @Override
   public List<Ref> getLocalTags() {
     List<Ref> tags = new ArrayList<>();
-    try {
+    try (SemverEvent event = SemverEvents.git("list-tags", remoteHost)) {
       tags = repository.tagList().call();
+      event.setCount(tags.size()).setSucceeded(true);
     } catch (GitAPIException err) {
       LOG.error(err.getMessage());
       LOG.error("");
@@ -255,29 +510,27 @@ public class RepositoryProviderImpl implements RepositoryProvider {
 
   @Override
   public Map<String, Ref> getRemoteTags() {
-    Map<String, Ref> tags = new HashMap<>();
-    try {
-      tags = repository.pull().setCredentialsProvider(provider).getRepository().getTags();
-    } catch (Exception err) {
-      LOG.error(err.getMessage());
-      LOG.error("");
-      LOG.error(SemverExceptionMessages.MESSAGE_ERROR_SCM_CREDENTIALS);
-      Runtime.getRuntime().exit(1);
-    }
-    return tags;
+    return getRemoteSnapshot().getTags();
   }
 
 
   @Override
   public boolean createTag(String tag) {
     boolean isTagCreated = true;
-    try {
+    Lock refLock = handle.lockRef(Constants.R_TAGS + tag);
+    try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.TAG); SemverEvent event = SemverEvents.git("create-tag", remoteHost)) {
       deleteTag(tag);
       repository.tag().setName(tag).call();
+      event.setRefs(Collections.singletonList(Constants.R_TAGS + tag)).setCount(1).setSucceeded(true);
+      if (isPublishQueued) {
+        publishQueue.add(Constants.R_TAGS + tag);
+      }
     } catch (GitAPIException err) {
       isTagCreated = false;
       logException(err);
       Runtime.getRuntime().exit(1);
+    } finally {
+      refLock.unlock();
     }
     return isTagCreated;
   }
@@ -286,12 +539,16 @@ public class RepositoryProviderImpl implements RepositoryProvider {
   @Override
   public boolean deleteTag(String tag) {
     boolean isSuccess = true;
-    try {
-      repository.tagDelete().setTags(tag).call();
+    String tagRef = tag.startsWith(Constants.R_TAGS) ? tag : Constants.R_TAGS + tag;
+    Lock refLock = handle.lockRef(tagRef);
+    try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.TAG); SemverEvent event = SemverEvents.git("delete-tag", remoteHost)) {
+      event.setRefs(Collections.singletonList(tagRef)).setCount(repository.tagDelete().setTags(tag).call().size()).setSucceeded(true);
     } catch (GitAPIException err) {
       isSuccess = false;
       logException(err);
       Runtime.getRuntime().exit(1);
+    } finally {
+      refLock.unlock();
     }
     return isSuccess;
   }
@@ -300,21 +557,244 @@ public class RepositoryProviderImpl implements RepositoryProvider {
   @Override
   public boolean commit(String message) {
     boolean isCommitSuccess = true;
-    try {
+    Lock refLock = lockHead();
+    try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.COMMIT); SemverEvent event = SemverEvents.git("commit", remoteHost)) {
       repository.commit().setAll(true).setMessage(message).call();
+      event.setCount(1).setSucceeded(true);
     } catch (GitAPIException err) {
       isCommitSuccess = false;
       logException(err);
       Runtime.getRuntime().exit(1);
+    } finally {
+      refLock.unlock();
     }
     return isCommitSuccess;
   }
 
+  @Override
+  public boolean commit(String message, Collection<File> files) {
+    boolean isCommitSuccess = true;
+    if (files.isEmpty()) {
+      LOG.warn(" * No changed files to commit");
+      return isCommitSuccess;
+    }
+    Lock refLock = lockHead();
+    try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.COMMIT); SemverEvent event = SemverEvents.git("commit", remoteHost)) {
+      CommitCommand commitCommand = repository.commit().setMessage(message);
+      for (File file : files) {
+        commitCommand.setOnly(toRepositoryPath(file));
+      }
+      commitCommand.call();
+      metricsProvider.count(MetricsProvider.PHASE.COMMIT, "files", files.size());
+      event.setCount(1).setSucceeded(true);
+    } catch (GitAPIException err) {
+      isCommitSuccess = false;
+      logException(err);
+      Runtime.getRuntime().exit(1);
+    } finally {
+      refLock.unlock();
+    }
+    return isCommitSuccess;
+  }
+
+  @Override
+  public Map<File, byte[]> readCommittedFiles(Collection<File> files) {
+    Map<File, byte[]> committedFiles = new LinkedHashMap<>();
+    Map<String, File> paths = new HashMap<>();
+    for (File file : files) {
+      paths.put(toRepositoryPath(file), file);
+    }
+    Repository repo = repository.getRepository();
+    try (RevWalk revWalk = new RevWalk(repo); TreeWalk treeWalk = new TreeWalk(repo)) {
+      treeWalk.addTree(revWalk.parseCommit(repo.resolve(Constants.HEAD)).getTree());
+      treeWalk.setRecursive(true);
+      treeWalk.setFilter(PathFilterGroup.createFromStrings(paths.keySet()));
+      Map<File, byte[]> contents = new HashMap<>();
+      while (treeWalk.next()) {
+        contents.put(paths.get(treeWalk.getPathString()), treeWalk.getObjectReader().open(treeWalk.getObjectId(0), Constants.OBJ_BLOB).getBytes());
+      }
+      for (File file : files) {
+        if (contents.containsKey(file)) {
+          committedFiles.put(file, contents.get(file));
+        }
+      }
+    } catch (IOException err) {
+      LOG.error(err.getMessage());
+      LOG.error("");
+      LOG.error("Could not read the committed files from HEAD");
+      Runtime.getRuntime().exit(1);
+    }
+    return committedFiles;
+  }
+
+  @Override
+  public boolean commitFiles(String message, Map<File, byte[]> files) {
+    boolean isCommitSuccess = true;
+    if (files.isEmpty()) {
+      LOG.warn(" * No changed files to commit");
+      return isCommitSuccess;
+    }
+    Repository repo = repository.getRepository();
+    Lock refLock = lockHead();
+    try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.COMMIT); SemverEvent event = SemverEvents.git("commit-object-database", remoteHost); ObjectInserter inserter = repo.newObjectInserter(); RevWalk revWalk = new RevWalk(repo)) {
+      Ref head = repo.exactRef(Constants.HEAD);
+      if (head == null || head.getObjectId() == null) {
+        throw new IOException("HEAD does not point to a commit");
+      }
+      RevCommit headCommit = revWalk.parseCommit(head.getObjectId());
+
+      DirCache tree = DirCache.newInCore();
+      DirCacheBuilder treeBuilder = tree.builder();
+      treeBuilder.addTree(new byte[0], DirCacheEntry.STAGE_0, revWalk.getObjectReader(), headCommit.getTree());
+      treeBuilder.finish();
+      Map<String, ObjectId> blobs = new LinkedHashMap<>();
+      DirCacheEditor treeEditor = tree.editor();
+      for (Map.Entry<File, byte[]> file : files.entrySet()) {
+        String path = toRepositoryPath(file.getKey());
+        ObjectId blobId = inserter.insert(Constants.OBJ_BLOB, file.getValue());
+        blobs.put(path, blobId);
+        treeEditor.add(new BlobEdit(path, blobId, file.getValue().length, 0));
+      }
+      treeEditor.finish();
+
+      CommitBuilder commitBuilder = new CommitBuilder();
+      commitBuilder.setTreeId(tree.writeTree(inserter));
+      commitBuilder.setParentId(headCommit);
+      commitBuilder.setAuthor(new PersonIdent(repo));
+      commitBuilder.setCommitter(new PersonIdent(repo));
+      commitBuilder.setMessage(message);
+      ObjectId commitId = inserter.insert(commitBuilder);
+      inserter.flush();
+
+      RefUpdate refUpdate = repo.updateRef(head.getTarget().getName());
+      refUpdate.setExpectedOldObjectId(headCommit);
+      refUpdate.setNewObjectId(commitId);
+      refUpdate.setRefLogMessage("commit: " + message, false);
+      RefUpdate.Result result = refUpdate.update(revWalk);
+      if (result != RefUpdate.Result.FAST_FORWARD && result != RefUpdate.Result.NEW) {
+        throw new IOException("Could not move " + head.getTarget().getName() + " to the new commit: " + result);
+      }
+      LOG.debug(" * Commit in object-database      : [ {} ] [ {} ]", commitId.getName(), head.getTarget().getName());
+
+      if (!repo.isBare()) {
+        updateWorkingTree(repo, files, blobs);
+      }
+      metricsProvider.count(MetricsProvider.PHASE.COMMIT, "files", files.size());
+      event.setCount(1).setSucceeded(true);
+    } catch (IOException err) {
+      isCommitSuccess = false;
+      LOG.error(err.getMessage());
+      LOG.error("");
+      LOG.error("Could not commit in the object-database");
+      Runtime.getRuntime().exit(1);
+    } finally {
+      refLock.unlock();
+    }
+    return isCommitSuccess;
+  }
+
+  /**
+   *
+   * <p>Lock the branch that HEAD points to, before a commit moves it.</p>
+   *
+   * @return the held lock
+   */
+  private Lock lockHead() {
+    String headRefName = Constants.HEAD;
+    try {
+      String fullBranch = repository.getRepository().getFullBranch();
+      if (fullBranch != null) {
+        headRefName = fullBranch;
+      }
+    } catch (IOException err) {
+      LOG.debug(" * HEAD can not be resolved       : {}", err.getMessage());
+    }
+    return handle.lockRef(headRefName);
+  }
+
+  /**
+   *
+   * <p>Write the committed files to the working tree and update only their entries in the index.</p>
+   *
+   * @param repo non-bare repository
+   * @param files committed files with their content
+   * @param blobs committed blob-ids by repository path
+   * @throws IOException when the working tree or the index can not be written
+   */
+  private void updateWorkingTree(Repository repo, Map<File, byte[]> files, Map<String, ObjectId> blobs) throws IOException {
+    DirCache index = repo.lockDirCache();
+    try {
+      DirCacheEditor indexEditor = index.editor();
+      for (Map.Entry<File, byte[]> file : files.entrySet()) {
+        Files.write(file.getKey().toPath(), file.getValue());
+        String path = toRepositoryPath(file.getKey());
+        indexEditor.add(new BlobEdit(path, blobs.get(path), file.getValue().length, file.getKey().lastModified()));
+      }
+      indexEditor.commit();
+    } finally {
+      index.unlock();
+    }
+  }
+
+  /**
+   *
+   * <p>Path of a file relative to the root of the repository, with forward slashes.</p>
+   * <p>In a bare repository the files are relative to the base-directory of the plugin.</p>
+   *
+   * @param file file
+   * @return repository path
+   */
+  private String toRepositoryPath(File file) {
+    Repository repo = repository.getRepository();
+    File root = repo.isBare() ? baseDir : repo.getWorkTree();
+    Path rootPath = root.toPath().toAbsolutePath().normalize();
+    return rootPath.relativize(file.toPath().toAbsolutePath().normalize()).toString().replace(File.separatorChar, '/');
+  }
+
+  /**
+   *
+   * <h1>BlobEdit</h1>
+   *
+   * <p>Point a path in a {@link DirCache} to a new blob.</p>
+   */
+  private static class BlobEdit extends DirCacheEditor.PathEdit {
+
+    private final ObjectId blobId;
+    private final int length;
+    private final long lastModified;
+
+    private BlobEdit(String path, ObjectId blobId, int length, long lastModified) {
+      super(path);
+      this.blobId = blobId;
+      this.length = length;
+      this.lastModified = lastModified;
+    }
+
+    @Override
+    public void apply(DirCacheEntry entry) {
+      if (entry.getRawMode() == 0) {
+        entry.setFileMode(FileMode.REGULAR_FILE);
+      }
+      entry.setObjectId(blobId);
+      entry.setLength(length);
+      entry.setLastModified(lastModified);
+    }
+  }
+
   @Override
   public boolean push(){
     boolean isPushSuccess = true;
-    try {
-      repository.push().setPushAll().setRemote("origin").setCredentialsProvider(provider).call();
+    if (isPublishQueued) {
+      String branch = Constants.R_HEADS + getCurrentBranch();
+      LOG.info(" * Queue for atomic publish        : [ {} ]", branch);
+      publishQueue.add(branch);
+      return isPushSuccess;
+    }
+    try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.PUSH); SemverEvent event = SemverEvents.git("push", remoteHost)) {
+      TransferMonitor monitor = new TransferMonitor("push", LOG, metricsProvider, MetricsProvider.PHASE.PUSH);
+      countPushedRefs(MetricsProvider.PHASE.PUSH, event, repository.push().setPushAll().setRemote("origin").setCredentialsProvider(provider).setProgressMonitor(monitor).call());
+      monitor.finish();
+      event.setSucceeded(true);
     } catch (GitAPIException err) {
       isPushSuccess = false;
       logException(err);
@@ -338,8 +818,15 @@ public class RepositoryProviderImpl implements RepositoryProvider {
   @Override
   public boolean pushTag() {
     boolean isSuccess = true;
-    try {
-      repository.push().setPushTags().setRemote("origin").setCredentialsProvider(provider).call();
+    if (isPublishQueued) {
+      LOG.info(" * Queue for atomic publish        : {}", publishQueue);
+      return isSuccess;
+    }
+    try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.TAG); SemverEvent event = SemverEvents.git("push-tags", remoteHost)) {
+      TransferMonitor monitor = new TransferMonitor("push-tags", LOG, metricsProvider, MetricsProvider.PHASE.TAG);
+      countPushedRefs(MetricsProvider.PHASE.TAG, event, repository.push().setPushTags().setRemote("origin").setCredentialsProvider(provider).setProgressMonitor(monitor).call());
+      monitor.finish();
+      event.setSucceeded(true);
     } catch (GitAPIException err) {
       isSuccess = false;
       logException(err);
@@ -349,63 +836,398 @@ public class RepositoryProviderImpl implements RepositoryProvider {
   }
 
   @Override
-  public void closeRepository() {
-    repository.close();
+  public boolean pushRelease(String tag) {
+    String branchRef = Constants.R_HEADS + getCurrentBranch();
+    String tagRef = Constants.R_TAGS + tag;
+    if (isPublishQueued) {
+      publishQueue.add(branchRef);
+      publishQueue.add(tagRef);
+      LOG.info(" * Queue for atomic publish        : {}", publishQueue);
+      return true;
+    }
+    boolean isSuccess;
+    try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.PUSH); SemverEvent event = SemverEvents.git("push-release", remoteHost)) {
+      ObjectId releaseCommit = repository.getRepository().resolve(tagRef + "^{commit}");
+      if (releaseCommit == null) {
+        LOG.error(" * Release-tag not found          : [ {} ]", tag);
+        return false;
+      }
+      Map<String, String> refs = new LinkedHashMap<>();
+      refs.put(branchRef, releaseCommit.name());
+      refs.put(tagRef, tagRef);
+      Iterable<PushResult> results = pushRefs("push-release", event, refs, false);
+      isSuccess = isAccepted(results);
+      updateReservations(results, isSuccess);
+      event.setSucceeded(isSuccess);
+    } catch (IOException | URISyntaxException err) {
+      isSuccess = false;
+      LOG.error(err.getMessage());
+    }
+    return isSuccess;
+  }
+
+  @Override
+  public boolean reserveTag(String tag) {
+    String tagRef = Constants.R_TAGS + tag;
+    boolean isReserved = false;
+    try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.TAG); SemverEvent event = SemverEvents.git("reserve-tag", remoteHost)) {
+      ObjectId headCommit = repository.getRepository().resolve(Constants.HEAD + "^{commit}");
+      RemoteRefUpdate update = updateRemoteRef("reserve-tag", event, headCommit, tagRef, ObjectId.zeroId());
+      isReserved = update != null && update.getStatus() == RemoteRefUpdate.Status.OK;
+      if (isReserved) {
+        reservations.put(tagRef, headCommit);
+        LOG.info(" * Reserved release-tag            : [ {} ]", tag);
+      } else {
+        LOG.info(" * Release-tag is taken            : [ {} ] {}", tag, update != null ? update.getStatus() : "");
+      }
+      event.setSucceeded(isReserved);
+    } catch (IOException | URISyntaxException err) {
+      LOG.error(err.getMessage());
+      LOG.error("");
+      LOG.error(SemverExceptionMessages.MESSAGE_ERROR_SCM_CREDENTIALS);
+      Runtime.getRuntime().exit(1);
+    }
+    return isReserved;
+  }
+
+  @Override
+  public void cancelReservations() {
+    for (Map.Entry<String, ObjectId> reservation : new HashMap<>(reservations).entrySet()) {
+      reservations.remove(reservation.getKey());
+      try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.TAG); SemverEvent event = SemverEvents.git("cancel-reservation", remoteHost)) {
+        RemoteRefUpdate update = updateRemoteRef("cancel-reservation", event, null, reservation.getKey(), reservation.getValue());
+        boolean isCancelled = update != null && update.getStatus() == RemoteRefUpdate.Status.OK;
+        if (isCancelled) {
+          LOG.info(" * Cancelled reservation           : [ {} ]", reservation.getKey());
+        } else {
+          LOG.warn(" * Reservation is not cancelled    : [ {} ] {}", reservation.getKey(), update != null ? update.getStatus() : "");
+        }
+        event.setSucceeded(isCancelled);
+      } catch (IOException | URISyntaxException err) {
+        LOG.warn(" * Reservation is not cancelled    : [ {} ] {}", reservation.getKey(), err.getMessage());
+      }
+    }
+  }
+
+  /**
+   *
+   * <p>Push the refs of a release. A reserved tag is moved with force-with-lease on the value this release reserved, so a tag that
+   * was deleted or taken over in the meantime is rejected. All other refs are only updated when they fast-forward.</p>
+   *
+   * @param operation name of the operation for the progress
+   * @param event {@link SemverEvent}
+   * @param refs local source (ref or object-id) by remote ref
+   * @param isAtomic is the push atomic?
+   * @return results of the push
+   */
+  private Iterable<PushResult> pushRefs(String operation, SemverEvent event, Map<String, String> refs, boolean isAtomic) throws IOException, URISyntaxException {
+    List<RemoteRefUpdate> updates = new ArrayList<>(refs.size());
+    for (Map.Entry<String, String> ref : refs.entrySet()) {
+      ObjectId reservedObjectId = reservations.get(ref.getKey());
+      updates.add(new RemoteRefUpdate(repository.getRepository(), ref.getValue(), ref.getKey(), reservedObjectId != null, null, reservedObjectId));
+    }
+    try (Transport transport = Transport.open(repository.getRepository(), "origin")) {
+      transport.setCredentialsProvider(provider);
+      transport.setPushAtomic(isAtomic);
+      TransferMonitor monitor = new TransferMonitor(operation, LOG, metricsProvider, MetricsProvider.PHASE.PUSH);
+      PushResult result = transport.push(monitor, updates);
+      countPushedRefs(MetricsProvider.PHASE.PUSH, event, Collections.singletonList(result));
+      monitor.finish();
+      return Collections.singletonList(result);
+    }
+  }
+
+  /**
+   *
+   * <p>Update one remote ref with force-with-lease: the remote only applies the update when the ref still has the expected value.</p>
+   *
+   * @param operation name of the operation for the progress
+   * @param event {@link SemverEvent}
+   * @param newObjectId new value of the ref, null to delete the ref
+   * @param remoteRef the remote ref
+   * @param expectedOldObjectId expected value on the remote, {@link ObjectId#zeroId()} when the ref may not exist
+   * @return the update with its status
+   */
+  private RemoteRefUpdate updateRemoteRef(String operation, SemverEvent event, ObjectId newObjectId, String remoteRef, ObjectId expectedOldObjectId) throws IOException, URISyntaxException {
+    try (Transport transport = Transport.open(repository.getRepository(), "origin")) {
+      transport.setCredentialsProvider(provider);
+      TransferMonitor monitor = new TransferMonitor(operation, LOG, metricsProvider, MetricsProvider.PHASE.TAG);
+      RemoteRefUpdate update = new RemoteRefUpdate(repository.getRepository(), newObjectId != null ? newObjectId.name() : null, remoteRef, true, null, expectedOldObjectId);
+      PushResult result = transport.push(monitor, Collections.singletonList(update));
+      countPushedRefs(MetricsProvider.PHASE.TAG, event, Collections.singletonList(result));
+      monitor.finish();
+      return result.getRemoteUpdate(remoteRef);
+    }
+  }
+
+  /**
+   *
+   * <p>A reservation ends when its release is accepted. A reserved tag that is moved by a rejected release keeps its new value, so it can still be cancelled.</p>
+   *
+   * @param results results of the push
+   * @param isAccepted is the release accepted?
+   */
+  private void updateReservations(Iterable<PushResult> results, boolean isAccepted) {
+    for (PushResult result : results) {
+      for (RemoteRefUpdate update : result.getRemoteUpdates()) {
+        if (reservations.containsKey(update.getRemoteName())) {
+          if (isAccepted) {
+            reservations.remove(update.getRemoteName());
+          } else if (update.getStatus() == RemoteRefUpdate.Status.OK) {
+            reservations.put(update.getRemoteName(), update.getNewObjectId());
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   *
+   * <p>End a pull or fetch. JGit does not report the bytes it received, they are measured by the growth of the pack-files.</p>
+   *
+   * @param monitor {@link TransferMonitor}
+   * @param event {@link SemverEvent}
+   * @param bytes size of the received pack-files
+   */
+  private void finishTransfer(TransferMonitor monitor, SemverEvent event, long bytes) {
+    monitor.finish(Math.max(bytes, 0));
+    event.setBytes(Math.max(bytes, 0));
+  }
+
+  private long getPackBytes() {
+    long bytes = 0;
+    File[] packs = new File(repository.getRepository().getDirectory(), "objects/pack").listFiles();
+    if (packs != null) {
+      for (File pack : packs) {
+        if (pack.getName().endsWith(".pack")) {
+          bytes += pack.length();
+        }
+      }
+    }
+    return bytes;
+  }
+
+  private Iterable<PushResult> countPushedRefs(MetricsProvider.PHASE phase, SemverEvent event, Iterable<PushResult> results) {
+    long refs = 0;
+    List<String> updatedRefs = new ArrayList<>();
+    for (PushResult result : results) {
+      refs += result.getRemoteUpdates().size();
+      for (RemoteRefUpdate update : result.getRemoteUpdates()) {
+        if (update.getStatus() != RemoteRefUpdate.Status.UP_TO_DATE) {
+          updatedRefs.add(update.getRemoteName());
+        }
+      }
+    }
+    metricsProvider.count(phase, "refs", refs);
+    event.setRefs(updatedRefs).setCount(refs);
+    return results;
+  }
+
+  private boolean isAccepted(Iterable<PushResult> results) {
+    boolean isAccepted = true;
+    for (PushResult result : results) {
+      for (RemoteRefUpdate update : result.getRemoteUpdates()) {
+        if (update.getStatus() != RemoteRefUpdate.Status.OK && update.getStatus() != RemoteRefUpdate.Status.UP_TO_DATE) {
+          isAccepted = false;
+          LOG.error(" * Rejected by remote             : [ {} ] {} {}", update.getRemoteName(), update.getStatus(), update.getMessage() != null ? update.getMessage() : "");
+        }
+      }
+    }
+    return isAccepted;
+  }
+
+  @Override
+  public void beginAtomicPublish() {
+    publishQueue.clear();
+    isPublishQueued = true;
+  }
+
+  @Override
+  public boolean publish() {
+    boolean isSuccess = true;
+    if (isPublishQueued) {
+      isPublishQueued = false;
+      if (!publishQueue.isEmpty()) {
+        LOG.info("Atomic publish to remote           : {}", publishQueue);
+        Map<String, String> refs = new LinkedHashMap<>();
+        synchronized (publishQueue) {
+          for (String ref : publishQueue) {
+            refs.put(ref, ref);
+          }
+          publishQueue.clear();
+        }
+        try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.PUSH); SemverEvent event = SemverEvents.git("atomic-publish", remoteHost)) {
+          Iterable<PushResult> results = pushRefs("atomic-publish", event, refs, true);
+          isSuccess = isAccepted(results);
+          updateReservations(results, isSuccess);
+          event.setSucceeded(isSuccess);
+        } catch (IOException | URISyntaxException err) {
+          isSuccess = false;
+          LOG.error(err.getMessage());
+          LOG.error("");
+          LOG.error(SemverExceptionMessages.MESSAGE_ERROR_SCM_CREDENTIALS);
+        }
+        if (!isSuccess) {
+          LOG.error("");
+          LOG.error("Nothing is published to the remote");
+          LOG.error(SemverExceptionMessages.MESSAGE_ERROR_PERFORM_ROLLBACK);
+          cancelReservations();
+          Runtime.getRuntime().exit(1);
+        }
+      }
+    }
+    return isSuccess;
+  }
+
+  /**
+   *
+   * <p>Keep the handle that was just opened. Every open is counted, the acquires of a previous handle are released when the
+   * repository changes.</p>
+   *
+   * @param openedHandle handle returned by {@link RepositoryHandle#open(File, REPOSITORY_CACHE)}
+   */
+  private void acquireHandle(RepositoryHandle openedHandle) {
+    if (handle != openedHandle) {
+      while (handle != null && handleAcquired > 0) {
+        handle.close();
+        handleAcquired--;
+      }
+      handle = openedHandle;
+      handleAcquired = 0;
+    }
+    handleAcquired++;
+  }
+
+  @Override
+  public synchronized void closeRepository() {
+    if (handle != null && handleAcquired > 0) {
+      try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.CLEANUP)) {
+        handle.close();
+        handleAcquired--;
+      }
+    }
   }
 
   @Override
   public boolean isChanged() {
-    boolean isChanged = false;
     LOG.info("Check for local or remote changes");
     LOG.info(SemverMavenPlugin.MOJO_LINE_BREAK);
-    if(checkRemoteUpdates()) {
-      isChanged = true;
+    return isRemoteChanged() || isLocalChanged();
+  }
+
+  @Override
+  public boolean isRemoteChanged() {
+    boolean isChanged = false;
+    try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.REMOTE_CHECK)) {
+      isChanged = isRemoteAhead();
+    }
+    if(isChanged) {
       LOG.error("Remote changes                    : remote origin is ahead of local repository");
+      logChanged();
     } else {
       LOG.info("Remote changes                     : remote origin is up to date");
     }
-    if(!isChanged) {
-      try {
-        Status status = repository.status().call();
+    return isChanged;
+  }
+
+  @Override
+  public boolean isLocalChanged() {
+    boolean isChanged = false;
+    if(repository.getRepository().isBare()) {
+      LOG.info("Local changes                      : bare repository without workingtree");
+    } else {
+      try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.STATUS)) {
+        WorkingTreeStatus status = getWorkingTreeStatus();
+        metricsProvider.count(MetricsProvider.PHASE.STATUS, "changedFiles", status.getChangedPaths().size());
         if (!status.isClean()) {
           isChanged = true;
+          for (String changedPath : status.getChangedPaths()) {
+            LOG.error(" * Local change                  : [ {} ]", changedPath);
+          }
         } else {
           LOG.info("Local changes                      : workingtree is clean");
-          LOG.info(SemverMavenPlugin.FUNCTION_LINE_BREAK);
         }
-      } catch (GitAPIException err) {
+      } catch (IOException err) {
         LOG.error(err.getMessage());
         isChanged = true;
       }
     }
     if(isChanged) {
-      LOG.info(SemverMavenPlugin.FUNCTION_LINE_BREAK);
-      LOG.error("");
-      LOG.error("Semver-goal has failed");
-      LOG.error("There are uncomitted changes or the remote is ahead of local repository");
-      LOG.error("Please pull remote changes and/or commit and push the open changes");
+      logChanged();
     }
     return isChanged;
   }
 
+  private void logChanged() {
+    LOG.info(SemverMavenPlugin.FUNCTION_LINE_BREAK);
+    LOG.error("");
+    LOG.error("Semver-goal has failed");
+    LOG.error("There are uncomitted changes or the remote is ahead of local repository");
+    LOG.error("Please pull remote changes and/or commit and push the open changes");
+  }
+
+  /**
+   *
+   * <p>Determine the status of the working tree with the configured {@link STATUS_SCOPE}.</p>
+   *
+   * @return status of the working tree
+   * @throws IOException when the index or the working tree can not be read
+   */
+  private WorkingTreeStatus getWorkingTreeStatus() throws IOException {
+    Repository repo = repository.getRepository();
+    long start = System.nanoTime();
+    WorkingTreeStatus status;
+    if (statusScope == STATUS_SCOPE.SCOPED) {
+      List<String> scopedPaths = new ArrayList<>(scopedFiles.size());
+      for (File scopedFile : scopedFiles) {
+        scopedPaths.add(toRepositoryPath(scopedFile));
+      }
+      status = WorkingTreeStatus.scoped(repo, scopedPaths, scopedGlobs);
+    } else {
+      status = WorkingTreeStatus.parallel(repo, Runtime.getRuntime().availableProcessors());
+    }
+    LOG.debug("Status of the workingtree          : [ {} ] in [ {} ms ]", statusScope, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    return status;
+  }
+
+  @Override
+  public TagIndex getTagIndex() {
+    TagIndex tagIndex = null;
+    try (SemverEvent event = SemverEvents.git("read-tags", remoteHost)) {
+      tagIndex = TagIndex.load(repository.getRepository());
+      event.setCount(tagIndex.getEntries().size()).setSucceeded(true);
+    } catch (IOException err) {
+      LOG.error(err.getMessage());
+      LOG.error("");
+      LOG.error("Could not read the local SCM-tags");
+      Runtime.getRuntime().exit(1);
+    }
+    return tagIndex;
+  }
+
+  @Override
+  public VersionIndex getVersionIndex() {
+    return VersionIndex.create(getTagIndex());
+  }
+
+  @Override
+  public VersionIndex getRemoteVersionIndex() {
+    return VersionIndex.create(getRemoteTags(), getTagIndex());
+  }
+
   @Override
   public void isLocalVersionCorrupt(String scmVersion) throws SemverException, IOException, GitAPIException {
     LOG.info("Check for corrupt local tags       : [ {} ]", scmVersion);
-    pull();
-    List<Ref> refs = getLocalTags();
-    LOG.debug("Local tags                        ");
-    for(Ref ref : refs) {
-      LOG.debug(" * " + ref.getName());
-    }
-    if (refs.isEmpty()) {
+    Collection<TagIndex.Entry> tags = getTagIndex().getEntries().values();
+    LOG.debug("Local tags                         : [ {} ]", tags.size());
+    if (!tags.isEmpty()) {
       boolean found = false;
-      for (Ref ref : refs) {
-        if (ref.getName().contains(scmVersion)) {
+      for (TagIndex.Entry tag : tags) {
+        if (tag.getName().contains(scmVersion)) {
           found = true;
-          String tag = ref.getName().substring(10);
-          LOG.warn(" * Delete corrupt local-tag                   : [ {} ]", tag);
-          deleteTag(ref.getName());
-          LOG.warn(" * Delete possible corrupt remote-tag         : [ {} ]", tag);
+          LOG.warn(" * Delete corrupt local-tag                   : [ {} ]", tag.getName());
+          deleteTag(Constants.R_TAGS + tag.getName());
+          LOG.warn(" * Delete possible corrupt remote-tag         : [ {} ]", tag.getName());
           pushTag();
         }
       }
@@ -416,29 +1238,20 @@ public class RepositoryProviderImpl implements RepositoryProvider {
       LOG.info(" * No corrupt local tags where found");
     }
     LOG.info(SemverMavenPlugin.MOJO_LINE_BREAK);
-    closeRepository();
   }
 
   @Override
   public boolean isRemoteVersionCorrupt(String scmVersion) {
     boolean isRemoteVersionCorrupt  = false;
     LOG.info("Check for corrupt remote tags      : [ {} ]", scmVersion);
-    DefaultArtifactVersion localVersion;
-    if(scmVersion.contains("-SNAPSHOT")) {
-      localVersion = new DefaultArtifactVersion(scmVersion.replaceFirst("-SNAPSHOT", ""));
-    } else {
-      localVersion = new DefaultArtifactVersion(scmVersion);
+    String remoteTagAhead;
+    try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.REMOTE_CHECK)) {
+      remoteTagAhead = getRemoteVersionIndex().findTagAhead(scmVersion.replaceFirst("-SNAPSHOT", ""));
     }
-    Map<String, Ref> remoteTags = getRemoteTags();
-    for(Map.Entry<String, Ref> remoteTag : remoteTags.entrySet()) {
-      DefaultArtifactVersion remoteVersion = new DefaultArtifactVersion(remoteTag.getKey());
-      LOG.debug(" * Compare remote-tag [ {} ] with local-tag [ {} ]", remoteVersion, localVersion);
-      if(remoteVersion.compareTo(localVersion) > 0) {
-        LOG.error(" * Local version is corrupt       : [ local: {} ] [ remote: {} ]", remoteVersion, localVersion);
-        isRemoteVersionCorrupt = true;
-      }
-    }
-    if(!isRemoteVersionCorrupt) {
+    if (remoteTagAhead != null) {
+      LOG.error(" * Local version is corrupt       : [ local: {} ] [ remote: {} ]", scmVersion, remoteTagAhead);
+      isRemoteVersionCorrupt = true;
+    } else {
       LOG.info(" * Remote is not ahead of local    : [ {} ]", scmVersion);
     }
     LOG.info(SemverMavenPlugin.FUNCTION_LINE_BREAK);
@@ -0,0 +1,215 @@
+package org.apache.maven.plugins.semver.providers;
+
+import org.eclipse.jgit.lib.ProgressMonitor;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * <h1>TransferMonitor</h1>
+ *
+ * <p>{@link ProgressMonitor} for the pull-, fetch- and push-operations on the remote.</p>
+ * <p>JGit reports the tasks of a transfer (counting, compressing, writing, receiving objects and resolving deltas) in objects.
+ * For every task the objects and the objects per second are recorded, long running tasks log a progress line every
+ * {@link #LOG_INTERVAL_SECONDS} seconds, so a slow transfer does not look like a hang. The size of the transfer in bytes
+ * is not reported by JGit, a pull or fetch passes it to {@link #finish(long)}, a push ends with {@link #finish()}.</p>
+ * <p>At the end of the transfer the totals are counted on the phase of the {@link MetricsProvider}.</p>
+ *
+ * @author sido
+ */
+public class TransferMonitor implements ProgressMonitor {
+
+  public static final long LOG_INTERVAL_SECONDS = 2;
+
+  private static final long LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(LOG_INTERVAL_SECONDS);
+
+  private final String operation;
+  private final Logger LOG;
+  private final MetricsProvider metricsProvider;
+  private final MetricsProvider.PHASE phase;
+  private final long startNanos;
+  private final List<Task> tasks = new ArrayList<>();
+
+  private Task current;
+  private long lastLogNanos;
+
+  public TransferMonitor(String operation, Logger LOG, MetricsProvider metricsProvider, MetricsProvider.PHASE phase) {
+    this.operation = operation;
+    this.LOG = LOG;
+    this.metricsProvider = metricsProvider;
+    this.phase = phase;
+    this.startNanos = System.nanoTime();
+  }
+
+  @Override
+  public void start(int totalTasks) {
+    // the number of tasks is not known up front for most transports
+  }
+
+  @Override
+  public synchronized void beginTask(String title, int totalWork) {
+    if (current != null) {
+      endTask();
+    }
+    current = new Task(title, totalWork);
+    lastLogNanos = current.startNanos;
+  }
+
+  @Override
+  public synchronized void update(int completed) {
+    if (current != null) {
+      current.objects += completed;
+      long now = System.nanoTime();
+      if (now - lastLogNanos >= LOG_INTERVAL_NANOS) {
+        lastLogNanos = now;
+        LOG.info(" * {} : [ {} ] [ {} objects/s ]", pad(operation + " " + current.title.toLowerCase(Locale.ROOT)), current.getProgress(), current.getObjectsPerSecond(now));
+      }
+    }
+  }
+
+  @Override
+  public synchronized void endTask() {
+    if (current != null) {
+      current.endNanos = System.nanoTime();
+      tasks.add(current);
+      LOG.debug(" * {} : [ {} objects ] [ {} objects/s ]", pad(operation + " " + current.title.toLowerCase(Locale.ROOT)), current.objects, current.getObjectsPerSecond(current.endNanos));
+      current = null;
+    }
+  }
+
+  @Override
+  public boolean isCancelled() {
+    return false;
+  }
+
+  /**
+   *
+   * <p>Since JGit 6.5 part of {@link ProgressMonitor}, the durations are logged by this monitor itself.</p>
+   *
+   * @param enabled ignored
+   */
+  public void showDuration(boolean enabled) {
+    // durations are logged by this monitor
+  }
+
+  /**
+   *
+   * <p>End a push: count the objects and milliseconds of every task on the phase of the metrics.
+   * The bytes of a push are not known, so they are not counted.</p>
+   */
+  public synchronized void finish() {
+    long objects = finishTasks();
+    if (!tasks.isEmpty()) {
+      LOG.debug(" * {} : [ {} objects ]", pad(operation + " total"), objects);
+    }
+  }
+
+  /**
+   *
+   * <p>End a pull or fetch: count the objects and milliseconds of every task and the bytes on the phase of the metrics.</p>
+   *
+   * @param bytes size of the transfer in bytes, 0 when unknown
+   */
+  public synchronized void finish(long bytes) {
+    long objects = finishTasks();
+    long nanos = System.nanoTime() - startNanos;
+    if (bytes > 0) {
+      metricsProvider.count(phase, "bytes", bytes);
+    }
+    if (!tasks.isEmpty()) {
+      LOG.debug(" * {} : [ {} objects ] [ {} bytes ] [ {} bytes/s ]", pad(operation + " total"), objects, bytes, perSecond(bytes, nanos));
+    }
+  }
+
+  private long finishTasks() {
+    endTask();
+    long objects = 0;
+    for (Task task : tasks) {
+      metricsProvider.count(phase, task.getKey() + "Objects", task.objects);
+      metricsProvider.count(phase, task.getKey() + "Ms", TimeUnit.NANOSECONDS.toMillis(task.endNanos - task.startNanos));
+      objects = Math.max(objects, task.objects);
+    }
+    return objects;
+  }
+
+  /**
+   *
+   * <p>The finished tasks of the transfer.</p>
+   *
+   * @return the tasks
+   */
+  public synchronized List<Task> getTasks() {
+    return Collections.unmodifiableList(new ArrayList<>(tasks));
+  }
+
+  private static String pad(String label) {
+    return String.format("%-31s", label);
+  }
+
+  private static long perSecond(long amount, long nanos) {
+    return nanos > 0 ? amount * TimeUnit.SECONDS.toNanos(1) / nanos : 0;
+  }
+
+  /**
+   *
+   * <h1>Task</h1>
+   *
+   * <p>One task of a transfer, like <i>Writing objects</i>.</p>
+   */
+  public static class Task {
+
+    private final String title;
+    private final int totalWork;
+    private final long startNanos;
+    private long endNanos;
+    private long objects;
+
+    private Task(String title, int totalWork) {
+      this.title = title;
+      this.totalWork = totalWork;
+      this.startNanos = System.nanoTime();
+    }
+
+    public String getTitle() {
+      return title;
+    }
+
+    /**
+     *
+     * <p>Key of the task in the metrics, the first word of the title: <i>counting</i>, <i>compressing</i>, <i>writing</i>, <i>receiving</i>, <i>resolving</i>.</p>
+     *
+     * @return the key
+     */
+    public String getKey() {
+      String key = title.trim().toLowerCase(Locale.ROOT);
+      int space = key.indexOf(' ');
+      return space > 0 ? key.substring(0, space) : key;
+    }
+
+    public long getObjects() {
+      return objects;
+    }
+
+    public long getNanos() {
+      return endNanos - startNanos;
+    }
+
+    public long getObjectsPerSecond() {
+      return getObjectsPerSecond(endNanos);
+    }
+
+    private long getObjectsPerSecond(long now) {
+      return perSecond(objects, now - startNanos);
+    }
+
+    private String getProgress() {
+      return totalWork == UNKNOWN ? String.valueOf(objects) : objects + "/" + totalWork;
+    }
+  }
+
+}
@@ -3,6 +3,7 @@ package org.apache.maven.plugins.semver.providers;
 import org.apache.maven.plugins.semver.exceptions.SemverException;
 import org.apache.maven.plugins.semver.goals.SemverGoal;
 import org.apache.maven.plugins.semver.runmodes.RunMode;
+import org.apache.maven.plugins.semver.versions.VersionIndex;
 import org.eclipse.jgit.api.errors.GitAPIException;
 
 import java.io.IOException;
@@ -31,6 +32,24 @@ public interface VersionProvider {
    */
   Map<VersionProvider.RAW_VERSION, String> determineRawVersions(SemverGoal.SEMVER_GOAL semverGoal, RunMode.RUNMODE runMode, String configBranchVersion, String configMetaData, String version) throws SemverException, IOException, GitAPIException;
 
+  /**
+   * <p>Determine the raw version list after a release-version that is taken by another release.</p>
+   * <p>The next version follows the highest tag in the <i>versionIndex</i> on the same line as the goal, for example the highest
+   * patch of the minor for a PATCH-goal, or the taken version itself when it is higher.</p>
+   *
+   * @param semverGoal executed gaol
+   * @param runMode executed runmode
+   * @param configBranchVersion branchVersion determine by {@link org.apache.maven.plugins.semver.configuration.SemverConfiguration}
+   * @param configMetaData metaData determine by {@link org.apache.maven.plugins.semver.configuration.SemverConfiguration}
+   * @param takenVersion example: 0.x.x
+   * @param versionIndex the tags after the taken version was rejected
+   * @return list of development, git and release-versions, null when the goal does not increase the version
+   * @throws SemverException native exception
+   * @throws IOException write to disk exception
+   * @throws GitAPIException repository exception
+   */
+  Map<VersionProvider.RAW_VERSION, String> determineNextRawVersions(SemverGoal.SEMVER_GOAL semverGoal, RunMode.RUNMODE runMode, String configBranchVersion, String configMetaData, String takenVersion, VersionIndex versionIndex) throws SemverException, IOException, GitAPIException;
+
   /**
    * <p>Determine release versions from {@link RAW_VERSION}.</p>
    *
@@ -4,6 +4,8 @@ import org.apache.maven.plugins.semver.SemverMavenPlugin;
 import org.apache.maven.plugins.semver.exceptions.SemverException;
 import org.apache.maven.plugins.semver.goals.SemverGoal;
 import org.apache.maven.plugins.semver.runmodes.RunMode;
+import org.apache.maven.plugins.semver.versions.SemanticVersion;
+import org.apache.maven.plugins.semver.versions.VersionIndex;
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.eclipse.jgit.api.errors.GitAPIException;
@@ -13,6 +15,7 @@ import javax.inject.Inject;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.NavigableSet;
 
 
 @Component(role = VersionProvider.class)
@@ -35,40 +38,35 @@ public class VersionProviderImpl implements VersionProvider {
 
     Map<VersionProvider.RAW_VERSION, String> versions = new HashMap<>();
 
-    int majorVersion;
-    int minorVersion;
-    int patchVersion;
-
-    String[] rawVersion = pomVersion.split("\\.");
-    if (rawVersion.length > 0 && rawVersion.length == 3) {
+    SemanticVersion currentVersion = SemanticVersion.tryParse(pomVersion);
+    if (currentVersion != null) {
       LOG.debug("Set version-variables from POM.xml");
       LOG.debug(SemverMavenPlugin.MOJO_LINE_BREAK);
-      majorVersion = Integer.valueOf(rawVersion[0]);
-      minorVersion = Integer.valueOf(rawVersion[1]);
-      patchVersion = Integer.valueOf(rawVersion[2].substring(0, rawVersion[2].lastIndexOf('-')));
     } else {
       LOG.error("Unrecognized version-pattern");
       LOG.error("Semver plugin is terminating");
       throw new SemverException("Unrecognized version-pattern", "Could not parse version from POM.xml because of not parsable version-pattern");
     }
 
-    LOG.debug("MAJOR-version                     : [ {} ]", majorVersion);
-    LOG.debug("MINOR-version                     : [ {} ]", minorVersion);
-    LOG.debug("PATCH-version                     : [ {} ]", patchVersion);
+    LOG.debug("MAJOR-version                     : [ {} ]", currentVersion.getMajor());
+    LOG.debug("MINOR-version                     : [ {} ]", currentVersion.getMinor());
+    LOG.debug("PATCH-version                     : [ {} ]", currentVersion.getPatch());
     LOG.debug(SemverMavenPlugin.MOJO_LINE_BREAK);
 
+    SemanticVersion nextVersion = currentVersion.toRelease();
     if(semverGoal == SemverGoal.SEMVER_GOAL.MAJOR) {
-      majorVersion = majorVersion + 1;
-      minorVersion = 0;
-      patchVersion = 0;
+      nextVersion = currentVersion.nextMajor();
     } else if(semverGoal == SemverGoal.SEMVER_GOAL.MINOR) {
-      minorVersion = minorVersion + 1;
-      patchVersion = 0;
+      nextVersion = currentVersion.nextMinor();
     } else if(semverGoal == SemverGoal.SEMVER_GOAL.PATCH) {
-      patchVersion = patchVersion + 1;
+      nextVersion = currentVersion.nextPatch();
     }
 
-    String developmentVersion = majorVersion + "." + minorVersion + "." + patchVersion + "-SNAPSHOT";
+    int majorVersion = nextVersion.getMajor();
+    int minorVersion = nextVersion.getMinor();
+    int patchVersion = nextVersion.getPatch();
+
+    String developmentVersion = nextVersion.withPrerelease("SNAPSHOT").toString();
 
 
     //TODO:SH move this part to a RunModeNative and RunModeNativeRpm implementation
@@ -79,7 +77,7 @@ public class VersionProviderImpl implements VersionProvider {
       releaseVersion = scmVersion;
     } else {
       scmVersion = determineReleaseTag(runMode, patchVersion, minorVersion, majorVersion);
-      releaseVersion = majorVersion + "." + minorVersion + "." + patchVersion;
+      releaseVersion = nextVersion.toString();
     }
 
     String metaData = determineBuildMetaData(runMode, configMetaData, patchVersion, minorVersion, majorVersion);
@@ -100,6 +98,31 @@ public class VersionProviderImpl implements VersionProvider {
     return versions;
   }
 
+  @Override
+  public Map<VersionProvider.RAW_VERSION, String> determineNextRawVersions(SemverGoal.SEMVER_GOAL semverGoal, RunMode.RUNMODE runMode, String configBranchVersion, String configMetaData, String takenVersion, VersionIndex versionIndex) throws SemverException, IOException, GitAPIException {
+    SemanticVersion highestVersion = SemanticVersion.tryParse(takenVersion);
+    if (highestVersion == null) {
+      throw new SemverException("Unrecognized version-pattern", "Could not parse the taken version [ " + takenVersion + " ]");
+    }
+    SemanticVersion highestTag = null;
+    if (semverGoal == SemverGoal.SEMVER_GOAL.MAJOR) {
+      highestTag = versionIndex.getHighestRelease();
+    } else if (semverGoal == SemverGoal.SEMVER_GOAL.MINOR) {
+      NavigableSet<SemanticVersion> releases = versionIndex.getReleasesBetween(SemanticVersion.of(highestVersion.getMajor(), 0, 0), SemanticVersion.of(highestVersion.getMajor() + 1, 0, 0));
+      highestTag = releases.isEmpty() ? null : releases.last();
+    } else if (semverGoal == SemverGoal.SEMVER_GOAL.PATCH) {
+      NavigableSet<SemanticVersion> releases = versionIndex.getReleasesBetween(SemanticVersion.of(highestVersion.getMajor(), highestVersion.getMinor(), 0), SemanticVersion.of(highestVersion.getMajor(), highestVersion.getMinor() + 1, 0));
+      highestTag = releases.isEmpty() ? null : releases.last();
+    } else {
+      return null;
+    }
+    if (highestTag != null && highestTag.compareTo(highestVersion) > 0) {
+      highestVersion = highestTag;
+    }
+    LOG.info("Highest taken version              : [ {} ]", highestVersion);
+    return determineRawVersions(semverGoal, runMode, configBranchVersion, configMetaData, highestVersion.toString());
+  }
+
   @Override
   public Map<FINAL_VERSION, String> determineReleaseVersions(Map<RAW_VERSION, String> rawVersions) {
     Map<FINAL_VERSION, String> finalVersions = new HashMap<>();
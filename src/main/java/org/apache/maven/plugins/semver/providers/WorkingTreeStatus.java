@@ -0,0 +1,280 @@
+package org.apache.maven.plugins.semver.providers;
+
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.IndexDiff;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.treewalk.FileTreeIterator;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.OrTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ *
+ * <h1>WorkingTreeStatus</h1>
+ *
+ * <p>Status of the working tree, determined in one of two ways:</p>
+ * <ul>
+ * <li>scoped: only the given paths and globs are compared with the index and HEAD</li>
+ * <li>parallel: the working tree is split by top-level directory and each part is compared on its own thread</li>
+ * </ul>
+ * <p>Entries with the <i>skip-worktree</i> bit of a sparse checkout are not reported as missing or modified.</p>
+ *
+ * @author sido
+ */
+public class WorkingTreeStatus {
+
+  private final Set<String> changedPaths;
+
+  private WorkingTreeStatus(Set<String> changedPaths) {
+    this.changedPaths = Collections.unmodifiableSet(changedPaths);
+  }
+
+  /**
+   *
+   * <p>Is there nothing to commit in the checked paths?</p>
+   *
+   * @return is clean?
+   */
+  public boolean isClean() {
+    return changedPaths.isEmpty();
+  }
+
+  /**
+   *
+   * <p>All added, changed, removed, missing, modified, untracked and conflicting paths.</p>
+   *
+   * @return changed paths in sorted order
+   */
+  public Set<String> getChangedPaths() {
+    return changedPaths;
+  }
+
+  /**
+   *
+   * <p>Determine the status of only the given files and globs.</p>
+   *
+   * @param repository non-bare repository
+   * @param paths paths relative to the working tree, for example all reactor pom.xml's
+   * @param globs globs relative to the working tree, for example <i>**&#47;*.properties</i>
+   * @return status of the scoped paths
+   * @throws IOException when the index or the working tree can not be read
+   */
+  public static WorkingTreeStatus scoped(Repository repository, Collection<String> paths, Collection<String> globs) throws IOException {
+    List<TreeFilter> filters = new ArrayList<>();
+    if (!paths.isEmpty()) {
+      filters.add(PathFilterGroup.createFromStrings(paths));
+    }
+    for (String glob : globs) {
+      filters.add(new GlobFilter(glob));
+    }
+    if (filters.isEmpty()) {
+      return new WorkingTreeStatus(new TreeSet<String>());
+    }
+    TreeFilter filter = filters.size() == 1 ? filters.get(0) : OrTreeFilter.create(filters);
+    return new WorkingTreeStatus(diff(repository, filter, getSkipWorkTreePaths(repository)));
+  }
+
+  /**
+   *
+   * <p>Determine the status of the whole working tree, split by top-level directory over a thread-pool.</p>
+   *
+   * @param repository non-bare repository
+   * @param parallelism maximum number of threads
+   * @return status of the working tree
+   * @throws IOException when the index or the working tree can not be read
+   */
+  public static WorkingTreeStatus parallel(final Repository repository, int parallelism) throws IOException {
+    final Set<String> skipWorkTreePaths = getSkipWorkTreePaths(repository);
+    List<TreeFilter> parts = splitByTopLevelDirectory(repository);
+    if (parts.size() <= 1 || parallelism <= 1) {
+      return new WorkingTreeStatus(diff(repository, TreeFilter.ALL, skipWorkTreePaths));
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, parts.size()));
+    try {
+      List<Future<Set<String>>> results = new ArrayList<>(parts.size());
+      for (final TreeFilter part : parts) {
+        results.add(executor.submit(new Callable<Set<String>>() {
+          @Override
+          public Set<String> call() throws IOException {
+            return diff(repository, part, skipWorkTreePaths);
+          }
+        }));
+      }
+      Set<String> changedPaths = new TreeSet<>();
+      for (Future<Set<String>> result : results) {
+        changedPaths.addAll(result.get());
+      }
+      return new WorkingTreeStatus(changedPaths);
+    } catch (InterruptedException err) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Status of the working tree is interrupted", err);
+    } catch (ExecutionException err) {
+      throw err.getCause() instanceof IOException ? (IOException) err.getCause() : new IOException(err.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   *
+   * <p>Split the working tree in one part per top-level directory and one part for all top-level files.
+   * Directories that only exist in the index, for example outside a sparse checkout, are part of the split as well.</p>
+   */
+  private static List<TreeFilter> splitByTopLevelDirectory(Repository repository) throws IOException {
+    Set<String> directories = new TreeSet<>();
+    Set<String> files = new TreeSet<>();
+    DirCache index = repository.readDirCache();
+    for (int i = 0; i < index.getEntryCount(); i++) {
+      String path = index.getEntry(i).getPathString();
+      int slash = path.indexOf('/');
+      if (slash > 0) {
+        directories.add(path.substring(0, slash));
+      } else {
+        files.add(path);
+      }
+    }
+    String[] topLevelEntries = repository.getWorkTree().list();
+    if (topLevelEntries != null) {
+      for (String entry : topLevelEntries) {
+        if (Constants.DOT_GIT.equals(entry)) {
+          continue;
+        }
+        if (new File(repository.getWorkTree(), entry).isDirectory()) {
+          directories.add(entry);
+        } else {
+          files.add(entry);
+        }
+      }
+    }
+    List<TreeFilter> parts = new ArrayList<>();
+    for (String directory : directories) {
+      parts.add(PathFilterGroup.createFromStrings(directory));
+    }
+    if (!files.isEmpty()) {
+      parts.add(PathFilterGroup.createFromStrings(files));
+    }
+    return parts;
+  }
+
+  private static Set<String> getSkipWorkTreePaths(Repository repository) throws IOException {
+    Set<String> skipWorkTreePaths = new HashSet<>();
+    DirCache index = repository.readDirCache();
+    for (int i = 0; i < index.getEntryCount(); i++) {
+      DirCacheEntry entry = index.getEntry(i);
+      if (entry.isSkipWorkTree()) {
+        skipWorkTreePaths.add(entry.getPathString());
+      }
+    }
+    return skipWorkTreePaths;
+  }
+
+  private static Set<String> diff(Repository repository, TreeFilter filter, Set<String> skipWorkTreePaths) throws IOException {
+    IndexDiff indexDiff = new IndexDiff(repository, Constants.HEAD, new FileTreeIterator(repository));
+    indexDiff.setFilter(filter);
+    Set<String> changedPaths = new TreeSet<>();
+    if (indexDiff.diff()) {
+      changedPaths.addAll(indexDiff.getAdded());
+      changedPaths.addAll(indexDiff.getChanged());
+      changedPaths.addAll(indexDiff.getRemoved());
+      changedPaths.addAll(indexDiff.getConflicting());
+      changedPaths.addAll(indexDiff.getUntracked());
+      for (String path : indexDiff.getMissing()) {
+        if (!skipWorkTreePaths.contains(path)) {
+          changedPaths.add(path);
+        }
+      }
+      for (String path : indexDiff.getModified()) {
+        if (!skipWorkTreePaths.contains(path)) {
+          changedPaths.add(path);
+        }
+      }
+    }
+    return changedPaths;
+  }
+
+  /**
+   *
+   * <h1>GlobFilter</h1>
+   *
+   * <p>Include the files that match a glob. Only directories that can contain a match are entered.</p>
+   * <p>Like in git a <i>**&#47;</i> also matches zero directories, so <i>**&#47;*.properties</i> matches a top-level <i>app.properties</i>.
+   * The {@link PathMatcher} needs at least one directory, so the glob is also matched without every combination of its <i>**&#47;</i>.</p>
+   */
+  private static class GlobFilter extends TreeFilter {
+
+    private final String glob;
+    private final String prefix;
+    private final List<PathMatcher> matchers = new ArrayList<>();
+
+    private GlobFilter(String glob) {
+      this.glob = glob;
+      int wildcard = 0;
+      while (wildcard < glob.length() && "*?[{".indexOf(glob.charAt(wildcard)) < 0) {
+        wildcard++;
+      }
+      this.prefix = glob.substring(0, glob.lastIndexOf('/', wildcard) + 1);
+      addMatchers(glob, 0);
+    }
+
+    private void addMatchers(String glob, int from) {
+      int doubleStar = glob.indexOf("**/", from);
+      while (doubleStar > 0 && glob.charAt(doubleStar - 1) != '/') {
+        doubleStar = glob.indexOf("**/", doubleStar + 1);
+      }
+      if (doubleStar == -1) {
+        matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + glob));
+      } else {
+        addMatchers(glob, doubleStar + 3);
+        addMatchers(glob.substring(0, doubleStar) + glob.substring(doubleStar + 3), doubleStar);
+      }
+    }
+
+    private boolean matches(String path) {
+      Path filePath = Paths.get(path);
+      for (PathMatcher matcher : matchers) {
+        if (matcher.matches(filePath)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public boolean include(TreeWalk walker) {
+      String path = walker.getPathString();
+      if (walker.isSubtree()) {
+        return prefix.startsWith(path + "/") || (path + "/").startsWith(prefix);
+      }
+      return path.startsWith(prefix) && matches(path);
+    }
+
+    @Override
+    public boolean shouldBeRecursive() {
+      return true;
+    }
+
+    @Override
+    public TreeFilter clone() {
+      return this;
+    }
+
+    @Override
+    public String toString() {
+      return "GLOB(" + glob + ")";
+    }
+  }
+
+}
@@ -0,0 +1,140 @@
+package org.apache.maven.plugins.semver.rewriters;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ *
+ * <h1>PomChangeSet</h1>
+ *
+ * <p>Result of one reactor-wide rewrite: every pom.xml that is processed, if it has changed and how long it took.</p>
+ * <p>The changed files are committed together as one change-set.</p>
+ *
+ * @author sido
+ */
+public class PomChangeSet {
+
+  private final List<Change> changes;
+  private final long durationNanos;
+
+  PomChangeSet(List<Change> changes, long durationNanos) {
+    this.changes = Collections.unmodifiableList(changes);
+    this.durationNanos = durationNanos;
+  }
+
+  /**
+   *
+   * <p>All processed poms in reactor order.</p>
+   *
+   * @return changes
+   */
+  public List<Change> getChanges() {
+    return changes;
+  }
+
+  /**
+   *
+   * <p>The poms that are rewritten.</p>
+   *
+   * @return changed files
+   */
+  public List<File> getChangedFiles() {
+    List<File> changedFiles = new ArrayList<>();
+    for (Change change : changes) {
+      if (change.isChanged()) {
+        changedFiles.add(change.getPomFile());
+      }
+    }
+    return changedFiles;
+  }
+
+  /**
+   *
+   * <p>The new content of the poms that are rewritten in memory.</p>
+   *
+   * @return content by changed file, empty when the poms are rewritten on disk
+   */
+  public Map<File, byte[]> getChangedContents() {
+    Map<File, byte[]> changedContents = new LinkedHashMap<>();
+    for (Change change : changes) {
+      if (change.isChanged() && change.getContent() != null) {
+        changedContents.put(change.getPomFile(), change.getContent());
+      }
+    }
+    return changedContents;
+  }
+
+  /**
+   *
+   * <p>Wall-clock time of the whole rewrite.</p>
+   *
+   * @return duration in nanoseconds
+   */
+  public long getDurationNanos() {
+    return durationNanos;
+  }
+
+  /**
+   *
+   * <p>The module that took the longest to rewrite.</p>
+   *
+   * @return slowest change or null when no pom is processed
+   */
+  public Change getSlowestChange() {
+    Change slowestChange = null;
+    for (Change change : changes) {
+      if (slowestChange == null || change.getDurationNanos() > slowestChange.getDurationNanos()) {
+        slowestChange = change;
+      }
+    }
+    return slowestChange;
+  }
+
+  /**
+   *
+   * <h1>Change</h1>
+   *
+   * <p>Rewrite of one pom.xml.</p>
+   */
+  public static class Change {
+
+    private final File pomFile;
+    private final boolean isChanged;
+    private final long durationNanos;
+    private final byte[] content;
+
+    Change(File pomFile, boolean isChanged, long durationNanos, byte[] content) {
+      this.pomFile = pomFile;
+      this.isChanged = isChanged;
+      this.durationNanos = durationNanos;
+      this.content = content;
+    }
+
+    public File getPomFile() {
+      return pomFile;
+    }
+
+    public boolean isChanged() {
+      return isChanged;
+    }
+
+    public long getDurationNanos() {
+      return durationNanos;
+    }
+
+    /**
+     *
+     * <p>New content of a pom that is rewritten in memory.</p>
+     *
+     * @return content or null when the pom is rewritten on disk
+     */
+    public byte[] getContent() {
+      return content;
+    }
+  }
+
+}
@@ -0,0 +1,267 @@
+package org.apache.maven.plugins.semver.rewriters;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+/**
+ *
+ * <h1>PomRewriter</h1>
+ *
+ * <p>Streaming rewriter for the versions in a pom.xml.</p>
+ * <p>The pom is scanned once, element by element. Only the version nodes of the project, its parent and the dependencies
+ * that are part of the reactor are replaced. A dependency is only replaced when it has the old version of the reactor, a dependency
+ * that is pinned to another version keeps it, like <i>versions:set</i> does. All other bytes, including formatting, comments and the XML-declaration, are kept as they are.
+ * Versions that are a property (for example <i>${project.version}</i>) are not replaced.</p>
+ *
+ * @author sido
+ */
+public class PomRewriter {
+
+  /**
+   * Every byte maps to exactly one character, so any ASCII-compatible encoding is written back unchanged.
+   */
+  private static final Charset POM_CHARSET = StandardCharsets.ISO_8859_1;
+
+  private static final String PROJECT = "project";
+  private static final String PARENT = "parent";
+  private static final String DEPENDENCIES = "dependencies";
+  private static final String DEPENDENCY = "dependency";
+  private static final String GROUP_ID = "groupId";
+  private static final String ARTIFACT_ID = "artifactId";
+  private static final String VERSION = "version";
+  private static final String PROJECT_GROUP_ID = "${project.groupId}";
+  private static final String POM_GROUP_ID = "${pom.groupId}";
+
+  private final Set<String> reactorArtifacts;
+  private final String oldVersion;
+  private final String newVersion;
+
+  /**
+   *
+   * <p>Create a rewriter for one version-change of the reactor.</p>
+   *
+   * @param reactorArtifacts artifacts in the reactor that get the new version, as <i>groupId:artifactId</i>
+   * @param oldVersion the current version of the reactor
+   * @param newVersion the updated version
+   */
+  public PomRewriter(Set<String> reactorArtifacts, String oldVersion, String newVersion) {
+    this.reactorArtifacts = reactorArtifacts;
+    this.oldVersion = oldVersion;
+    this.newVersion = newVersion;
+  }
+
+  /**
+   *
+   * <p>Create the key of an artifact in the reactor.</p>
+   *
+   * @param groupId groupId
+   * @param artifactId artifactId
+   * @return <i>groupId:artifactId</i>
+   */
+  public static String toArtifactKey(String groupId, String artifactId) {
+    return groupId + ":" + artifactId;
+  }
+
+  /**
+   *
+   * <p>Rewrite a pom.xml on disk. The file is only written when a version has changed.</p>
+   *
+   * @param pomFile pom.xml
+   * @return is the file changed?
+   * @throws IOException when the pom.xml can not be read or written
+   */
+  public boolean rewrite(File pomFile) throws IOException {
+    String pom = new String(Files.readAllBytes(pomFile.toPath()), POM_CHARSET);
+    String rewrittenPom = rewrite(pom);
+    if (rewrittenPom.equals(pom)) {
+      return false;
+    }
+    Files.write(pomFile.toPath(), rewrittenPom.getBytes(POM_CHARSET));
+    return true;
+  }
+
+  /**
+   *
+   * <p>Rewrite the raw content of a pom.xml, for example a blob from the object-database.</p>
+   *
+   * @param pom raw content of the pom.xml
+   * @return rewritten content or the same array when nothing has changed
+   */
+  public byte[] rewrite(byte[] pom) {
+    String content = new String(pom, POM_CHARSET);
+    String rewrittenContent = rewrite(content);
+    return rewrittenContent.equals(content) ? pom : rewrittenContent.getBytes(POM_CHARSET);
+  }
+
+  /**
+   *
+   * <p>Rewrite the content of a pom.xml.</p>
+   *
+   * @param pom content of the pom.xml
+   * @return rewritten content
+   */
+  public String rewrite(String pom) {
+    List<int[]> replacements = new ArrayList<>();
+    Deque<Element> elements = new ArrayDeque<>();
+    int length = pom.length();
+    int position = 0;
+    while (position < length) {
+      int tagStart = pom.indexOf('<', position);
+      if (tagStart < 0) {
+        break;
+      }
+      if (pom.startsWith("<!--", tagStart)) {
+        position = skipTo(pom, "-->", tagStart);
+      } else if (pom.startsWith("<![CDATA[", tagStart)) {
+        position = skipTo(pom, "]]>", tagStart);
+      } else if (pom.startsWith("<?", tagStart)) {
+        position = skipTo(pom, "?>", tagStart);
+      } else if (pom.startsWith("<!", tagStart)) {
+        position = skipTo(pom, ">", tagStart);
+      } else if (pom.startsWith("</", tagStart)) {
+        position = skipTo(pom, ">", tagStart);
+        Element element = elements.poll();
+        if (element != null) {
+          endElement(pom, element, elements.peek(), tagStart, replacements);
+        }
+      } else {
+        position = skipTag(pom, tagStart);
+        Element parent = elements.peek();
+        if (parent != null) {
+          parent.hasChildren = true;
+        }
+        if (pom.charAt(position - 2) != '/') {
+          elements.push(new Element(readName(pom, tagStart + 1), parent, position));
+        }
+      }
+    }
+
+    if (replacements.isEmpty()) {
+      return pom;
+    }
+    Collections.sort(replacements, new Comparator<int[]>() {
+      @Override
+      public int compare(int[] first, int[] second) {
+        return Integer.compare(first[0], second[0]);
+      }
+    });
+    StringBuilder rewrittenPom = new StringBuilder(length + replacements.size() * newVersion.length());
+    int copied = 0;
+    for (int[] replacement : replacements) {
+      rewrittenPom.append(pom, copied, replacement[0]).append(newVersion);
+      copied = replacement[1];
+    }
+    rewrittenPom.append(pom, copied, length);
+    return rewrittenPom.toString();
+  }
+
+  /**
+   *
+   * <p>Collect the coordinates of an element and decide if its version has to be replaced.</p>
+   */
+  private void endElement(String pom, Element element, Element parent, int contentEnd, List<int[]> replacements) {
+    if (parent != null && !element.hasChildren) {
+      int start = element.contentStart;
+      int end = contentEnd;
+      while (start < end && Character.isWhitespace(pom.charAt(start))) {
+        start++;
+      }
+      while (end > start && Character.isWhitespace(pom.charAt(end - 1))) {
+        end--;
+      }
+      if (GROUP_ID.equals(element.name)) {
+        parent.groupId = pom.substring(start, end);
+      } else if (ARTIFACT_ID.equals(element.name)) {
+        parent.artifactId = pom.substring(start, end);
+      } else if (VERSION.equals(element.name)) {
+        parent.versionStart = start;
+        parent.versionEnd = end;
+      }
+    }
+
+    boolean isProject = parent == null && PROJECT.equals(element.name);
+    boolean isParent = PARENT.equals(element.name) && parent != null && parent.parent == null;
+    boolean isDependency = DEPENDENCY.equals(element.name) && parent != null && DEPENDENCIES.equals(parent.name);
+    if (isParent) {
+      parent.parentGroupId = element.groupId;
+    }
+    if (isProject && element.groupId == null) {
+      element.groupId = element.parentGroupId;
+    }
+    if (isDependency && (PROJECT_GROUP_ID.equals(element.groupId) || POM_GROUP_ID.equals(element.groupId))) {
+      Element project = parent;
+      while (project.parent != null) {
+        project = project.parent;
+      }
+      element.groupId = project.groupId != null ? project.groupId : project.parentGroupId;
+    }
+    if ((isProject || isParent || isDependency) && element.versionStart >= 0 && !pom.startsWith("${", element.versionStart)
+        && (!isDependency || isOldVersion(pom, element)) && reactorArtifacts.contains(toArtifactKey(element.groupId, element.artifactId))) {
+      replacements.add(new int[]{element.versionStart, element.versionEnd});
+    }
+  }
+
+  private boolean isOldVersion(String pom, Element element) {
+    return element.versionEnd - element.versionStart == oldVersion.length() && pom.startsWith(oldVersion, element.versionStart);
+  }
+
+  private static int skipTo(String pom, String end, int position) {
+    int endPosition = pom.indexOf(end, position);
+    return endPosition < 0 ? pom.length() : endPosition + end.length();
+  }
+
+  private static int skipTag(String pom, int position) {
+    char quote = 0;
+    for (int i = position + 1; i < pom.length(); i++) {
+      char character = pom.charAt(i);
+      if (quote != 0) {
+        if (character == quote) {
+          quote = 0;
+        }
+      } else if (character == '"' || character == '\'') {
+        quote = character;
+      } else if (character == '>') {
+        return i + 1;
+      }
+    }
+    return pom.length();
+  }
+
+  private static String readName(String pom, int position) {
+    int end = position;
+    while (end < pom.length() && !Character.isWhitespace(pom.charAt(end)) && pom.charAt(end) != '>' && pom.charAt(end) != '/') {
+      end++;
+    }
+    return pom.substring(position, end);
+  }
+
+  /**
+   *
+   * <h1>Element</h1>
+   *
+   * <p>Open element with the coordinates that are found so far.</p>
+   */
+  private static class Element {
+
+    private final String name;
+    private final Element parent;
+    private final int contentStart;
+    private boolean hasChildren;
+    private String groupId;
+    private String artifactId;
+    private String parentGroupId;
+    private int versionStart = -1;
+    private int versionEnd = -1;
+
+    private Element(String name, Element parent, int contentStart) {
+      this.name = name;
+      this.parent = parent;
+      this.contentStart = contentStart;
+    }
+  }
+
+}
@@ -0,0 +1,146 @@
+package org.apache.maven.plugins.semver.rewriters;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ *
+ * <h1>ReactorPomRewriter</h1>
+ *
+ * <p>Rewrites all poms of a reactor in one pass on a fork-join pool.</p>
+ * <p>The list of poms is split in halves until a part is small enough to rewrite on one thread.
+ * Each pom is read, scanned and written once by the {@link PomRewriter}.
+ * Poms can also be rewritten in memory, for example the blobs of HEAD that are committed in the object-database.</p>
+ *
+ * @author sido
+ */
+public class ReactorPomRewriter {
+
+  private static final int POMS_PER_TASK = 4;
+
+  private ReactorPomRewriter() {
+  }
+
+  /**
+   *
+   * <p>Rewrite all poms with the number of available processors.</p>
+   *
+   * @param pomFiles poms of the reactor
+   * @param pomRewriter rewriter for the new version
+   * @return change-set of the rewrite
+   * @throws IOException when a pom can not be read or written
+   */
+  public static PomChangeSet rewrite(List<File> pomFiles, PomRewriter pomRewriter) throws IOException {
+    return rewrite(pomFiles, pomRewriter, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   *
+   * <p>Rewrite all poms with a maximum number of threads.</p>
+   *
+   * @param pomFiles poms of the reactor
+   * @param pomRewriter rewriter for the new version
+   * @param parallelism maximum number of threads
+   * @return change-set of the rewrite
+   * @throws IOException when a pom can not be read or written
+   */
+  public static PomChangeSet rewrite(List<File> pomFiles, PomRewriter pomRewriter, int parallelism) throws IOException {
+    return rewrite(pomFiles, null, pomRewriter, parallelism);
+  }
+
+  /**
+   *
+   * <p>Rewrite the content of all poms in memory with the number of available processors. Nothing is written to disk.</p>
+   *
+   * @param poms content by pom of the reactor
+   * @param pomRewriter rewriter for the new version
+   * @return change-set with the new content
+   */
+  public static PomChangeSet rewrite(Map<File, byte[]> poms, PomRewriter pomRewriter) {
+    try {
+      return rewrite(new ArrayList<>(poms.keySet()), poms, pomRewriter, Runtime.getRuntime().availableProcessors());
+    } catch (IOException err) {
+      throw new UncheckedIOException(err);
+    }
+  }
+
+  private static PomChangeSet rewrite(List<File> pomFiles, Map<File, byte[]> contents, PomRewriter pomRewriter, int parallelism) throws IOException {
+    long start = System.nanoTime();
+    List<PomChangeSet.Change> changes;
+    if (pomFiles.size() <= POMS_PER_TASK || parallelism <= 1) {
+      changes = rewriteSequential(pomFiles, contents, pomRewriter);
+    } else {
+      ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, (pomFiles.size() + POMS_PER_TASK - 1) / POMS_PER_TASK));
+      try {
+        changes = pool.invoke(new RewriteTask(pomFiles, contents, pomRewriter));
+      } catch (UncheckedIOException err) {
+        throw err.getCause();
+      } finally {
+        pool.shutdown();
+      }
+    }
+    return new PomChangeSet(changes, System.nanoTime() - start);
+  }
+
+  private static List<PomChangeSet.Change> rewriteSequential(List<File> pomFiles, Map<File, byte[]> contents, PomRewriter pomRewriter) throws IOException {
+    List<PomChangeSet.Change> changes = new ArrayList<>(pomFiles.size());
+    for (File pomFile : pomFiles) {
+      long start = System.nanoTime();
+      if (contents == null) {
+        boolean isChanged = pomRewriter.rewrite(pomFile);
+        changes.add(new PomChangeSet.Change(pomFile, isChanged, System.nanoTime() - start, null));
+      } else {
+        byte[] content = contents.get(pomFile);
+        byte[] rewrittenContent = pomRewriter.rewrite(content);
+        changes.add(new PomChangeSet.Change(pomFile, rewrittenContent != content, System.nanoTime() - start, rewrittenContent));
+      }
+    }
+    return changes;
+  }
+
+  /**
+   *
+   * <h1>RewriteTask</h1>
+   *
+   * <p>Rewrites a part of the reactor and keeps the reactor order in the result.</p>
+   */
+  private static class RewriteTask extends RecursiveTask<List<PomChangeSet.Change>> {
+
+    private final List<File> pomFiles;
+    private final Map<File, byte[]> contents;
+    private final PomRewriter pomRewriter;
+
+    private RewriteTask(List<File> pomFiles, Map<File, byte[]> contents, PomRewriter pomRewriter) {
+      this.pomFiles = pomFiles;
+      this.contents = contents;
+      this.pomRewriter = pomRewriter;
+    }
+
+    @Override
+    protected List<PomChangeSet.Change> compute() {
+      if (pomFiles.size() <= POMS_PER_TASK) {
+        try {
+          return rewriteSequential(pomFiles, contents, pomRewriter);
+        } catch (IOException err) {
+          throw new UncheckedIOException(err);
+        }
+      }
+      int middle = pomFiles.size() / 2;
+      RewriteTask first = new RewriteTask(pomFiles.subList(0, middle), contents, pomRewriter);
+      RewriteTask second = new RewriteTask(pomFiles.subList(middle, pomFiles.size()), contents, pomRewriter);
+      first.fork();
+      List<PomChangeSet.Change> changes = new ArrayList<>(pomFiles.size());
+      List<PomChangeSet.Change> secondChanges = second.compute();
+      changes.addAll(first.join());
+      changes.addAll(secondChanges);
+      return changes;
+    }
+  }
+
+}
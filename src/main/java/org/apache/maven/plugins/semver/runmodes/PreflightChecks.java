@@ -0,0 +1,127 @@
+package org.apache.maven.plugins.semver.runmodes;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *
+ * <h1>PreflightChecks</h1>
+ *
+ * <p>Runs the independent checks before a release side by side: the local checks on the filesystem and the checks on the remote.</p>
+ * <p>The first check that fails stops the stage and the checks that are still running are cancelled,
+ * so the stage takes as long as the slowest check instead of the sum of all checks.</p>
+ *
+ * @author sido
+ */
+public class PreflightChecks {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PreflightChecks.class);
+
+    private final Map<String, Callable<Boolean>> checks = new LinkedHashMap<>();
+
+    /**
+     *
+     * <p>Add a check.</p>
+     *
+     * @param name name of the check, used in the log
+     * @param check returns true when the release has to stop
+     * @return this
+     */
+    public PreflightChecks add(String name, Callable<Boolean> check) {
+        checks.put(name, check);
+        return this;
+    }
+
+    /**
+     *
+     * <p>Run all checks concurrently. A check that throws an exception has failed as well.</p>
+     *
+     * @return name of the first failed check, null when all checks passed
+     */
+    public String run() {
+        if (checks.size() == 1) {
+            Map.Entry<String, Callable<Boolean>> check = checks.entrySet().iterator().next();
+            return isFailed(check.getKey(), check.getValue()) ? check.getKey() : null;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, checks.size()), new PreflightThreadFactory());
+        CompletionService<String> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<String>> running = new ArrayList<>(checks.size());
+        long start = System.nanoTime();
+        try {
+            for (final Map.Entry<String, Callable<Boolean>> check : checks.entrySet()) {
+                running.add(completionService.submit(new Callable<String>() {
+                    @Override
+                    public String call() {
+                        return isFailed(check.getKey(), check.getValue()) ? check.getKey() : null;
+                    }
+                }));
+            }
+            for (int i = 0; i < running.size(); i++) {
+                String failedCheck = completionService.take().get();
+                if (failedCheck != null) {
+                    LOG.debug("Pre-flight check failed            : [ {} ], cancel the other checks", failedCheck);
+                    return failedCheck;
+                }
+            }
+            LOG.debug("Pre-flight checks passed           : {} in [ {} ms ]", checks.keySet(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return null;
+        } catch (InterruptedException err) {
+            Thread.currentThread().interrupt();
+            return "interrupted";
+        } catch (ExecutionException err) {
+            LOG.error(err.getCause().getMessage());
+            return "unexpected";
+        } finally {
+            for (Future<String> check : running) {
+                check.cancel(true);
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    private static boolean isFailed(String name, Callable<Boolean> check) {
+        try {
+            return Boolean.TRUE.equals(check.call());
+        } catch (Exception err) {
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            LOG.error("Pre-flight check [ {} ] has failed : {}", name, err.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     *
+     * <h1>PreflightThreadFactory</h1>
+     *
+     * <p>Daemon-threads, so a check that ignores the cancel does not keep the JVM alive.</p>
+     */
+    private static class PreflightThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "semver-preflight-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package org.apache.maven.plugins.semver.runmodes;
+
+import org.apache.maven.plugins.semver.SemverMavenPlugin;
+import org.apache.maven.plugins.semver.exceptions.SemverExceptionMessages;
+import org.apache.maven.plugins.semver.providers.AsyncRepositoryProvider;
+import org.apache.maven.plugins.semver.providers.PomProvider;
+import org.apache.maven.plugins.semver.providers.RepositoryProvider;
+import org.apache.maven.plugins.semver.providers.VersionProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * <h1>ReleasePipeline</h1>
+ *
+ * <p>Creates the release-pom and the next development-pom of the native runmodes as a pipeline.</p>
+ * <p>The release-commit and the release-tag are pushed in one push in the background.
+ * Meanwhile the next development-pom is rewritten and committed locally.
+ * The pipeline waits for the release-push before the development-commit is pushed, so a rejected release never publishes a development-version.
+ * The reserved release-tag of a rejected release is deleted again.</p>
+ *
+ * @author sido
+ */
+public class ReleasePipeline {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReleasePipeline.class);
+
+    private ReleasePipeline() {
+    }
+
+    /**
+     *
+     * <p>Run the release-stages. When the remote rejects the release the plugin stops and the backup of the pom is kept for the rollback.</p>
+     *
+     * @param pomProvider provider for the pom-rewrites and commits
+     * @param repositoryProvider provider for the GIT-repos
+     * @param asyncRepositoryProvider provider for the pushes in the background
+     * @param finalVersions the final versions of the release
+     */
+    public static void run(PomProvider pomProvider, RepositoryProvider repositoryProvider, AsyncRepositoryProvider asyncRepositoryProvider, Map<VersionProvider.FINAL_VERSION, String> finalVersions) {
+        String scmTag = finalVersions.get(VersionProvider.FINAL_VERSION.SCM);
+        long start = System.nanoTime();
+        pomProvider.commitReleasePom(finalVersions);
+        LOG.info("Push release-pom and scm-tag       : [ {} ]", scmTag);
+        CompletableFuture<Boolean> releasePush = asyncRepositoryProvider.pushRelease(scmTag);
+        pomProvider.commitNextDevelopmentPom(finalVersions.get(VersionProvider.FINAL_VERSION.DEVELOPMENT));
+        if (!Boolean.TRUE.equals(releasePush.join())) {
+            LOG.error("");
+            LOG.error("Release [ {} ] is not accepted by the remote, the next development-version is not pushed", scmTag);
+            LOG.error(SemverExceptionMessages.MESSAGE_ERROR_PERFORM_ROLLBACK);
+            repositoryProvider.cancelReservations();
+            Runtime.getRuntime().exit(1);
+        }
+        LOG.info("Push next dev-pom to remote        : [ {} ]", finalVersions.get(VersionProvider.FINAL_VERSION.DEVELOPMENT));
+        repositoryProvider.push();
+        LOG.debug("Release-stages done in             : [ {} ms ]", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        LOG.info(SemverMavenPlugin.FUNCTION_LINE_BREAK);
+    }
+
+}
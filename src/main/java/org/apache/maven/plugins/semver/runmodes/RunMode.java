@@ -6,6 +6,9 @@ import org.apache.maven.plugins.semver.goals.SemverGoal;
 import org.apache.maven.plugins.semver.providers.RepositoryProvider;
 import org.apache.maven.plugins.semver.providers.VersionProvider;
 
+import java.util.Map;
+import java.util.concurrent.Callable;
+
 /**
  * <h1>RunMode</h1>
  *
@@ -61,19 +64,43 @@ public interface RunMode {
     /**
      *
      * <p>Run all checks before performing the RunMode.</p>
+     * <p>The checks on the pom-version and the working tree and the checks on the remote run concurrently with {@link PreflightChecks}.
+     * The first failing check stops the release.</p>
      *
      * @param repositoryProvider provider for the GIT-repos
      * @param versionProvider privder for version mutations
      * @param configuration configuration for plugin
      * @param scmTag the version that has to be checked
      */
-    static void checkRemoteRepository(RepositoryProvider repositoryProvider, VersionProvider versionProvider, SemverConfiguration configuration, String scmTag) throws SemverException {
+    static void checkRemoteRepository(final RepositoryProvider repositoryProvider, final VersionProvider versionProvider, SemverConfiguration configuration, final String scmTag) throws SemverException {
+        PreflightChecks preflightChecks = new PreflightChecks();
         if (configuration.checkRemoteVersionTags()) {
-            if (repositoryProvider.isRemoteVersionCorrupt(scmTag)) {
-                Runtime.getRuntime().exit(1);
-            }
+            preflightChecks.add("remote-version-tags", new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    return repositoryProvider.isRemoteVersionCorrupt(scmTag);
+                }
+            });
         }
-        if (versionProvider.isVersionCorrupt(scmTag) || repositoryProvider.isChanged()) {
+        preflightChecks.add("pom-version", new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws SemverException {
+                return versionProvider.isVersionCorrupt(scmTag);
+            }
+        });
+        preflightChecks.add("remote-changes", new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return repositoryProvider.isRemoteChanged();
+            }
+        });
+        preflightChecks.add("local-changes", new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return repositoryProvider.isLocalChanged();
+            }
+        });
+        if (preflightChecks.run() != null) {
             Runtime.getRuntime().exit(1);
         }
     }
@@ -86,6 +113,7 @@ public interface RunMode {
      * @param semverGoal {@link SemverGoal} that is called
      * @param configuration plugin configuration
      * @param pomVersion pom version
+     * @return final versions, empty when they could not be determined
      */
-    void execute(SemverGoal.SEMVER_GOAL semverGoal, SemverConfiguration configuration, String pomVersion);
+    Map<VersionProvider.FINAL_VERSION, String> execute(SemverGoal.SEMVER_GOAL semverGoal, SemverConfiguration configuration, String pomVersion);
 }
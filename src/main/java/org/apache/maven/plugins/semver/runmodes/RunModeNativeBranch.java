@@ -3,14 +3,19 @@ package org.apache.maven.plugins.semver.runmodes;
 import org.apache.maven.plugins.semver.configuration.SemverConfiguration;
 import org.apache.maven.plugins.semver.factories.FileWriterFactory;
 import org.apache.maven.plugins.semver.goals.SemverGoal;
+import org.apache.maven.plugins.semver.providers.AsyncRepositoryProvider;
+import org.apache.maven.plugins.semver.providers.MetricsProvider;
 import org.apache.maven.plugins.semver.providers.PomProvider;
+import org.apache.maven.plugins.semver.providers.RemoteSnapshot;
 import org.apache.maven.plugins.semver.providers.RepositoryProvider;
 import org.apache.maven.plugins.semver.providers.VersionProvider;
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.slf4j.Logger;
 
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  *
@@ -31,20 +36,51 @@ public class RunModeNativeBranch implements RunMode {
     private VersionProvider versionProvider;
     @Requirement
     private RepositoryProvider repositoryProvider;
+    @Requirement
+    private MetricsProvider metricsProvider;
+    @Requirement
+    private AsyncRepositoryProvider asyncRepositoryProvider;
 
     @Override
-    public void execute(SemverGoal.SEMVER_GOAL semverGoal, SemverConfiguration configuration, String pomVersion) {
+    public Map<VersionProvider.FINAL_VERSION, String> execute(SemverGoal.SEMVER_GOAL semverGoal, SemverConfiguration configuration, String pomVersion) {
+        Map<VersionProvider.FINAL_VERSION, String> finalVersions = Collections.emptyMap();
         try {
-            Map<VersionProvider.RAW_VERSION, String> rawVersions = versionProvider.determineRawVersions(semverGoal, configuration.getRunMode(), configuration.getBranchVersion(), configuration.getMetaData(), pomVersion);
+            Map<VersionProvider.RAW_VERSION, String> rawVersions;
+            try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.VERSIONS)) {
+                rawVersions = versionProvider.determineRawVersions(semverGoal, configuration.getRunMode(), configuration.getBranchVersion(), configuration.getMetaData(), pomVersion);
+            }
             RunMode.checkRemoteRepository(repositoryProvider, versionProvider, configuration, rawVersions.get(VersionProvider.RAW_VERSION.SCM));
-            FileWriterFactory.backupSemverPom();
-            Map<VersionProvider.FINAL_VERSION, String> finalVersions = versionProvider.determineReleaseBranchVersions(rawVersions, configuration.getRunMode(), configuration.getMetaData(), configuration.getBranchVersion());
-            pomProvider.createReleasePom(finalVersions);
-            pomProvider.createNextDevelopmentPom(finalVersions.get(VersionProvider.FINAL_VERSION.DEVELOPMENT));
-            FileWriterFactory.removeBackupSemverPom();
+            if (configuration.isTagReservation()) {
+                LOG.warn("Tag-reservation is only supported in run-mode NATIVE, the release-tag is not reserved");
+            }
+            CompletableFuture<RemoteSnapshot> remoteSnapshot = asyncRepositoryProvider.refreshRemoteSnapshot();
+            FileWriterFactory.backupSemverPom(configuration.getBaseDir());
+            try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.VERSIONS)) {
+                finalVersions = versionProvider.determineReleaseBranchVersions(rawVersions, configuration.getRunMode(), configuration.getMetaData(), configuration.getBranchVersion());
+            }
+            remoteSnapshot.join();
+            if (repositoryProvider.isRemoteAhead()) {
+                LOG.error("");
+                LOG.error("Remote origin has changed since the checks, the release is not pushed");
+                FileWriterFactory.removeBackupSemverPom(configuration.getBaseDir());
+                Runtime.getRuntime().exit(1);
+            }
+            if (configuration.isAtomicPublish()) {
+                repositoryProvider.beginAtomicPublish();
+            }
+            pomProvider.initialize(configuration.getPomRewriter(), configuration.isObjectDatabaseCommit());
+            ReleasePipeline.run(pomProvider, repositoryProvider, asyncRepositoryProvider, finalVersions);
+            repositoryProvider.publish();
+            try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.CLEANUP)) {
+                FileWriterFactory.removeBackupSemverPom(configuration.getBaseDir());
+            }
         } catch (Exception e) {
             LOG.error(e.getMessage());
+        } finally {
+            repositoryProvider.cancelReservations();
+            repositoryProvider.closeRepository();
         }
+        return finalVersions;
     }
 
 }
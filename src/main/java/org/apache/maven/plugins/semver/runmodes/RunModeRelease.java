@@ -3,6 +3,7 @@ package org.apache.maven.plugins.semver.runmodes;
 import org.apache.maven.plugins.semver.configuration.SemverConfiguration;
 import org.apache.maven.plugins.semver.factories.FileWriterFactory;
 import org.apache.maven.plugins.semver.goals.SemverGoal;
+import org.apache.maven.plugins.semver.providers.MetricsProvider;
 import org.apache.maven.plugins.semver.providers.PomProvider;
 import org.apache.maven.plugins.semver.providers.RepositoryProvider;
 import org.apache.maven.plugins.semver.providers.VersionProvider;
@@ -11,6 +12,7 @@ import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.slf4j.Logger;
 
+import java.util.Collections;
 import java.util.Map;
 
 /**
@@ -29,18 +31,29 @@ public class RunModeRelease implements RunMode {
     @Requirement
     private RepositoryProvider repositoryProvider;
     @Requirement
+    private MetricsProvider metricsProvider;
+    @Requirement
     private MavenProject project;
 
     @Override
-    public void execute(SemverGoal.SEMVER_GOAL semverGoal, SemverConfiguration configuration, String pomVersion) {
+    public Map<VersionProvider.FINAL_VERSION, String> execute(SemverGoal.SEMVER_GOAL semverGoal, SemverConfiguration configuration, String pomVersion) {
+        Map<VersionProvider.FINAL_VERSION, String> finalVersions = Collections.emptyMap();
         try {
-            Map<VersionProvider.RAW_VERSION, String> rawVersions = versionProvider.determineRawVersions(semverGoal, configuration.getRunMode(), configuration.getBranchVersion(), configuration.getMetaData(), pomVersion);
+            Map<VersionProvider.RAW_VERSION, String> rawVersions;
+            try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.VERSIONS)) {
+                rawVersions = versionProvider.determineRawVersions(semverGoal, configuration.getRunMode(), configuration.getBranchVersion(), configuration.getMetaData(), pomVersion);
+            }
             RunMode.checkRemoteRepository(repositoryProvider, versionProvider, configuration, rawVersions.get(VersionProvider.RAW_VERSION.SCM));
-            Map<VersionProvider.FINAL_VERSION, String> finalVersions = versionProvider.determineReleaseVersions(rawVersions);
+            try (MetricsProvider.Timer timer = metricsProvider.startPhase(MetricsProvider.PHASE.VERSIONS)) {
+                finalVersions = versionProvider.determineReleaseVersions(rawVersions);
+            }
             FileWriterFactory.createReleaseProperties(project, finalVersions);
         } catch (Exception e) {
             LOG.error(e.getMessage());
+        } finally {
+            repositoryProvider.closeRepository();
         }
+        return finalVersions;
     }
 
 }
@@ -0,0 +1,96 @@
+package org.apache.maven.plugins.semver.runmodes;
+
+import org.apache.maven.plugins.semver.SemverMavenPlugin;
+import org.apache.maven.plugins.semver.configuration.SemverConfiguration;
+import org.apache.maven.plugins.semver.exceptions.SemverException;
+import org.apache.maven.plugins.semver.goals.SemverGoal;
+import org.apache.maven.plugins.semver.providers.RepositoryProvider;
+import org.apache.maven.plugins.semver.providers.VersionProvider;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * <h1>TagReservation</h1>
+ *
+ * <p>Reserves the release-tag on the remote before the pom is rewritten, with an optimistic compare-and-swap on the tag-ref.</p>
+ * <p>The tag is pushed on the current commit with the expectation that it does not exist yet. When another release took the tag
+ * only the tags are fetched, the next version is determined after the highest taken tag and the reservation is retried after a
+ * random backoff. Concurrent releases then contend on one ref-update instead of a rejected release and its rollback.</p>
+ *
+ * @author sido
+ */
+public class TagReservation {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TagReservation.class);
+
+    static final int MAX_ATTEMPTS = 10;
+    static final long BACKOFF_MILLIS = 50;
+    static final long MAX_BACKOFF_MILLIS = 2000;
+
+    private TagReservation() {
+    }
+
+    /**
+     *
+     * <p>Reserve the release-tag of the raw versions. The plugin stops when no tag could be reserved in {@link #MAX_ATTEMPTS} attempts.</p>
+     *
+     * @param repositoryProvider provider for the GIT-repos
+     * @param versionProvider provider for version mutations
+     * @param semverGoal {@link SemverGoal} that is called
+     * @param configuration plugin configuration
+     * @param rawVersions raw versions determined from the pom
+     * @return raw versions of the reserved release-tag
+     * @throws SemverException native exception
+     * @throws IOException write to disk exception
+     * @throws GitAPIException repository exception
+     */
+    public static Map<VersionProvider.RAW_VERSION, String> reserve(RepositoryProvider repositoryProvider, VersionProvider versionProvider, SemverGoal.SEMVER_GOAL semverGoal, SemverConfiguration configuration, Map<VersionProvider.RAW_VERSION, String> rawVersions) throws SemverException, IOException, GitAPIException {
+        Map<VersionProvider.RAW_VERSION, String> reservedVersions = rawVersions;
+        LOG.info("Reserve release-tag on remote      : [ {} ]", reservedVersions.get(VersionProvider.RAW_VERSION.RELEASE));
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            String releaseTag = reservedVersions.get(VersionProvider.RAW_VERSION.RELEASE);
+            if (repositoryProvider.reserveTag(releaseTag)) {
+                LOG.info(SemverMavenPlugin.FUNCTION_LINE_BREAK);
+                return reservedVersions;
+            }
+            if (attempt < MAX_ATTEMPTS) {
+                backoff(attempt);
+                repositoryProvider.fetchTags();
+                reservedVersions = versionProvider.determineNextRawVersions(semverGoal, configuration.getRunMode(), configuration.getBranchVersion(), configuration.getMetaData(), releaseTag, repositoryProvider.getVersionIndex());
+                if (reservedVersions == null) {
+                    break;
+                }
+            }
+        }
+        LOG.error("");
+        LOG.error("No release-tag could be reserved in [ {} ] attempts, the release is not started", MAX_ATTEMPTS);
+        LOG.error("");
+        Runtime.getRuntime().exit(1);
+        return rawVersions;
+    }
+
+    /**
+     *
+     * <p>Wait a random time up to an exponential bound, so releases that collided do not collide again at the same moment.</p>
+     *
+     * @param attempt the attempt that failed, starts at 1
+     */
+    private static void backoff(int attempt) {
+        long bound = Math.min(BACKOFF_MILLIS << Math.min(attempt - 1, 16), MAX_BACKOFF_MILLIS);
+        long millis = ThreadLocalRandom.current().nextLong(bound + 1);
+        LOG.debug("Backoff before next reservation    : [ {} ms ]", millis);
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException err) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
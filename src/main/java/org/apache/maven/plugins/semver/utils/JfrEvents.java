@@ -0,0 +1,165 @@
+package org.apache.maven.plugins.semver.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.Collection;
+
+/**
+ * <h1>JfrEvents</h1>
+ *
+ * <p>The flight-recorder event-classes. Only {@link SemverEvents} uses this class, after it checked that <i>jdk.jfr</i> exists.</p>
+ *
+ * @author sido
+ */
+class JfrEvents {
+
+    private JfrEvents() {
+    }
+
+    static boolean isAvailable() {
+        return FlightRecorder.isAvailable();
+    }
+
+    static SemverEvent git(String operation, String remoteHost) {
+        GitOperationEvent event = new GitOperationEvent();
+        event.operation = operation;
+        event.remoteHost = remoteHost;
+        event.begin();
+        return event;
+    }
+
+    static SemverEvent pomRewrite(String rewriter, String version) {
+        PomRewriteEvent event = new PomRewriteEvent();
+        event.rewriter = rewriter;
+        event.version = version;
+        event.begin();
+        return event;
+    }
+
+    static SemverEvent fileWrite(String operation, String path) {
+        FileWriteEvent event = new FileWriteEvent();
+        event.operation = operation;
+        event.path = path;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * <h1>AbstractSemverEvent</h1>
+     *
+     * <p>Outcome and size, shared by all events of the plugin.</p>
+     */
+    @Category({"Semver Maven Plugin"})
+    @StackTrace(false)
+    abstract static class AbstractSemverEvent extends Event implements SemverEvent {
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+
+        @Label("Outcome")
+        String outcome = FAILURE;
+
+        @Override
+        public SemverEvent setRefs(Collection<String> refs) {
+            return this;
+        }
+
+        @Override
+        public SemverEvent setBytes(long bytes) {
+            this.bytes = bytes;
+            return this;
+        }
+
+        @Override
+        public SemverEvent setSucceeded(boolean isSucceeded) {
+            this.outcome = isSucceeded ? SUCCESS : FAILURE;
+            return this;
+        }
+
+        @Override
+        public void close() {
+            commit();
+        }
+    }
+
+    @Name("org.apache.maven.plugins.semver.GitOperation")
+    @Label("Git Operation")
+    @Description("Network- or ref-operation on the SCM-repository")
+    static class GitOperationEvent extends AbstractSemverEvent {
+
+        @Label("Operation")
+        String operation;
+
+        @Label("Remote Host")
+        String remoteHost;
+
+        @Label("Ref Count")
+        long refCount;
+
+        @Label("Refs")
+        String refs;
+
+        @Override
+        public SemverEvent setRefs(Collection<String> refs) {
+            StringBuilder names = new StringBuilder();
+            for (String ref : refs) {
+                names.append(names.length() == 0 ? "" : " ").append(ref);
+            }
+            this.refs = names.toString();
+            return this;
+        }
+
+        @Override
+        public SemverEvent setCount(long count) {
+            this.refCount = count;
+            return this;
+        }
+    }
+
+    @Name("org.apache.maven.plugins.semver.PomRewrite")
+    @Label("Pom Rewrite")
+    @Description("Rewrite of the versions in the pom.xml's")
+    static class PomRewriteEvent extends AbstractSemverEvent {
+
+        @Label("Rewriter")
+        String rewriter;
+
+        @Label("Version")
+        String version;
+
+        @Label("File Count")
+        long fileCount;
+
+        @Override
+        public SemverEvent setCount(long count) {
+            this.fileCount = count;
+            return this;
+        }
+    }
+
+    @Name("org.apache.maven.plugins.semver.FileWrite")
+    @Label("File Write")
+    @Description("Write of a file by the plugin, like the pom.xml.semverBackup")
+    static class FileWriteEvent extends AbstractSemverEvent {
+
+        @Label("Operation")
+        String operation;
+
+        @Label("Path")
+        String path;
+
+        @Override
+        public SemverEvent setCount(long count) {
+            return this;
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+package org.apache.maven.plugins.semver.utils;
+
+import java.util.Collection;
+
+/**
+ * <h1>SemverEvent</h1>
+ *
+ * <p>A running flight-recorder event around one git-, pom- or file-operation, created by {@link SemverEvents}.</p>
+ * <p>The event is committed by {@link #close()}, so it can be used in a try-with-resources block.
+ * The outcome is <i>FAILURE</i> until {@link #setSucceeded(boolean)} is called, so mark the success as the last statement of the block.</p>
+ *
+ * @author sido
+ */
+public interface SemverEvent extends AutoCloseable {
+
+    String SUCCESS = "SUCCESS";
+    String FAILURE = "FAILURE";
+
+    /**
+     *
+     * <p>Refs the operation updated, for example the created tag or the pushed branch.</p>
+     *
+     * @param refs the refs
+     * @return this
+     */
+    SemverEvent setRefs(Collection<String> refs);
+
+    /**
+     *
+     * <p>Number of refs or files the operation handled.</p>
+     *
+     * @param count the count
+     * @return this
+     */
+    SemverEvent setCount(long count);
+
+    /**
+     *
+     * <p>Number of bytes the operation read or wrote.</p>
+     *
+     * @param bytes the bytes
+     * @return this
+     */
+    SemverEvent setBytes(long bytes);
+
+    /**
+     *
+     * <p>Outcome of the operation.</p>
+     *
+     * @param isSucceeded did the operation succeed?
+     * @return this
+     */
+    SemverEvent setSucceeded(boolean isSucceeded);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,105 @@
+package org.apache.maven.plugins.semver.utils;
+
+import java.io.File;
+import java.util.Collection;
+
+/**
+ * <h1>SemverEvents</h1>
+ *
+ * <p>Custom JDK Flight Recorder events around the git-, pom- and file-operations of the plugin.
+ * Record them with <i>-XX:StartFlightRecording</i> next to the I/O- and GC-events of the JVM itself.</p>
+ * <p>The plugin is compiled for Java 8, where <i>jdk.jfr</i> only exists from 8u262. The event classes are only loaded
+ * when the flight recorder is available, otherwise every event is a no-op.</p>
+ *
+ * @author sido
+ */
+public class SemverEvents {
+
+    private static final SemverEvent NO_EVENT = new SemverEvent() {
+        @Override
+        public SemverEvent setRefs(Collection<String> refs) {
+            return this;
+        }
+
+        @Override
+        public SemverEvent setCount(long count) {
+            return this;
+        }
+
+        @Override
+        public SemverEvent setBytes(long bytes) {
+            return this;
+        }
+
+        @Override
+        public SemverEvent setSucceeded(boolean isSucceeded) {
+            return this;
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    private static final boolean IS_AVAILABLE = isFlightRecorderAvailable();
+
+    private SemverEvents() {
+    }
+
+    /**
+     *
+     * <p>Is the flight recorder available in this JVM?</p>
+     *
+     * @return are events recorded?
+     */
+    public static boolean isAvailable() {
+        return IS_AVAILABLE;
+    }
+
+    /**
+     *
+     * <p>Start an event around a network- or ref-operation on the SCM-repository.</p>
+     * <p>While a {@link SemverTrace} is recording the operation is also added to the trace.</p>
+     *
+     * @param operation the operation, for example <i>push</i>
+     * @param remoteHost host of the remote url
+     * @return running event
+     */
+    public static SemverEvent git(String operation, String remoteHost) {
+        return SemverTrace.trace(operation, remoteHost, IS_AVAILABLE ? JfrEvents.git(operation, remoteHost) : NO_EVENT);
+    }
+
+    /**
+     *
+     * <p>Start an event around a rewrite of the pom.xml's.</p>
+     *
+     * @param rewriter the configured pom-rewriter
+     * @param version the new version
+     * @return running event
+     */
+    public static SemverEvent pomRewrite(String rewriter, String version) {
+        return IS_AVAILABLE ? JfrEvents.pomRewrite(rewriter, version) : NO_EVENT;
+    }
+
+    /**
+     *
+     * <p>Start an event around a write of a file.</p>
+     *
+     * @param operation the operation, for example <i>backup</i>
+     * @param file the written file
+     * @return running event
+     */
+    public static SemverEvent fileWrite(String operation, File file) {
+        return IS_AVAILABLE ? JfrEvents.fileWrite(operation, file.getPath()) : NO_EVENT;
+    }
+
+    private static boolean isFlightRecorderAvailable() {
+        try {
+            Class.forName("jdk.jfr.FlightRecorder");
+            return JfrEvents.isAvailable();
+        } catch (ClassNotFoundException | LinkageError err) {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+package org.apache.maven.plugins.semver.utils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <h1>SemverExecutors</h1>
+ *
+ * <p>Executors for the blocking network- and disk-work of the plugin.</p>
+ * <p>On JDK 21+ every task gets its own virtual thread. The plugin is compiled for Java 8, so the virtual-thread executor is looked up
+ * by reflection; on older JDKs a bounded pool of daemon-threads is used instead.</p>
+ *
+ * @author sido
+ */
+public class SemverExecutors {
+
+    private static final int BOUNDED_POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    private static volatile ExecutorService repositoryExecutor;
+
+    private SemverExecutors() {
+    }
+
+    /**
+     *
+     * <p>Shared executor for the asynchronous repository-calls. It lives until {@link #shutdown()}, the next call creates a new one.</p>
+     *
+     * @return executor with virtual threads or a bounded pool
+     */
+    public static ExecutorService getRepositoryExecutor() {
+        if (repositoryExecutor == null) {
+            synchronized (SemverExecutors.class) {
+                if (repositoryExecutor == null) {
+                    ExecutorService executor = newVirtualThreadExecutor();
+                    repositoryExecutor = executor != null ? executor : newBoundedExecutor("semver-repository", BOUNDED_POOL_SIZE);
+                }
+            }
+        }
+        return repositoryExecutor;
+    }
+
+    /**
+     *
+     * <p>Shut down the shared executor when the maven-session ends. Running calls are finished, new calls get a new executor.</p>
+     */
+    public static void shutdown() {
+        ExecutorService executor;
+        synchronized (SemverExecutors.class) {
+            executor = repositoryExecutor;
+            repositoryExecutor = null;
+        }
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     *
+     * <p>Is the shared executor backed by virtual threads?</p>
+     *
+     * @return uses virtual threads?
+     */
+    public static boolean isVirtual() {
+        return !(getRepositoryExecutor() instanceof ThreadPoolExecutor);
+    }
+
+    /**
+     *
+     * <p><i>Executors.newVirtualThreadPerTaskExecutor()</i> when the JDK has it.</p>
+     *
+     * @return executor or null before JDK 21
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException err) {
+            return null;
+        }
+    }
+
+    /**
+     *
+     * <p>Pool of at most the given number of daemon-threads. Idle threads stop after a minute.</p>
+     *
+     * @param name prefix of the thread-names
+     * @param size maximum number of threads
+     * @return bounded executor
+     */
+    public static ExecutorService newBoundedExecutor(final String name, int size) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+}
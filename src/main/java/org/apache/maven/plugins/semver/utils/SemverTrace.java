@@ -0,0 +1,337 @@
+package org.apache.maven.plugins.semver.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>SemverTrace</h1>
+ *
+ * <p>Trace of the git-operations of one goal: the operation, the refs, the number of refs, the bytes and the latency of every call
+ * on the repository, in order of start.</p>
+ * <p>While a trace is recording every event of {@link SemverEvents#git(String, String)} is also added to the trace. The trace is
+ * written as a tab-separated file, so a slow release on a build-agent can be replayed against a local repository.</p>
+ *
+ * @author sido
+ */
+public class SemverTrace {
+
+    public static final String TRACE_FILE = "semver-trace.tsv";
+
+    private static final String VERSION_LINE = "# semver-trace\t1";
+    private static final String GOAL_LINE = "# goal\t";
+    private static final String HEADER = "offsetMicros\tdurationMicros\tthread\toperation\tremoteHost\trefs\tcount\tbytes\toutcome";
+
+    private static volatile SemverTrace recording;
+
+    private final String goal;
+    private final long startNanos = System.nanoTime();
+    private final List<Entry> entries = new ArrayList<>();
+
+    private SemverTrace(String goal) {
+        this.goal = goal;
+    }
+
+    /**
+     *
+     * <p>Start recording a new trace. A trace that was still recording is dropped.</p>
+     *
+     * @param goal name of the goal
+     */
+    public static void start(String goal) {
+        recording = new SemverTrace(goal);
+    }
+
+    /**
+     *
+     * <p>Is a trace recording?</p>
+     *
+     * @return is recording?
+     */
+    public static boolean isRecording() {
+        return recording != null;
+    }
+
+    /**
+     *
+     * <p>Stop recording.</p>
+     *
+     * @return the recorded trace, null when no trace was recording
+     */
+    public static SemverTrace finish() {
+        SemverTrace trace = recording;
+        recording = null;
+        return trace;
+    }
+
+    /**
+     *
+     * <p>Add a git-operation to the recording trace, when the event is closed.</p>
+     *
+     * @param operation the operation, for example <i>push</i>
+     * @param remoteHost host of the remote url
+     * @param event the running event
+     * @return the event, or an event that also records the operation
+     */
+    static SemverEvent trace(String operation, String remoteHost, SemverEvent event) {
+        SemverTrace trace = recording;
+        return trace == null ? event : new TracedEvent(trace, operation, remoteHost, event);
+    }
+
+    /**
+     *
+     * <p>Read a trace-file.</p>
+     *
+     * @param traceFile the file, for example <i>target/semver-trace.tsv</i>
+     * @return the trace
+     * @throws IOException when the file can not be read or is not a trace
+     */
+    public static SemverTrace read(File traceFile) throws IOException {
+        List<String> lines = Files.readAllLines(traceFile.toPath(), StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !VERSION_LINE.equals(lines.get(0))) {
+            throw new IOException("Not a semver-trace: " + traceFile);
+        }
+        List<Entry> entries = new ArrayList<>();
+        String goal = "";
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.startsWith(GOAL_LINE)) {
+                goal = line.substring(GOAL_LINE.length());
+            } else if (!line.isEmpty() && !line.startsWith("#") && !HEADER.equals(line)) {
+                String[] columns = line.split("\t", -1);
+                if (columns.length != 9) {
+                    throw new IOException("Invalid line in semver-trace: " + line);
+                }
+                try {
+                    entries.add(new Entry(TimeUnit.MICROSECONDS.toNanos(Long.parseLong(columns[0])), TimeUnit.MICROSECONDS.toNanos(Long.parseLong(columns[1])), columns[2], columns[3], columns[4],
+                        columns[5].isEmpty() ? Collections.<String>emptyList() : Arrays.asList(columns[5].split(" ")), Long.parseLong(columns[6]), Long.parseLong(columns[7]), columns[8]));
+                } catch (NumberFormatException err) {
+                    throw new IOException("Invalid line in semver-trace: " + line, err);
+                }
+            }
+        }
+        SemverTrace trace = new SemverTrace(goal);
+        trace.entries.addAll(entries);
+        return trace;
+    }
+
+    public String getGoal() {
+        return goal;
+    }
+
+    /**
+     *
+     * <p>The operations in order of start.</p>
+     *
+     * @return operations
+     */
+    public List<Entry> getEntries() {
+        List<Entry> sortedEntries;
+        synchronized (entries) {
+            sortedEntries = new ArrayList<>(entries);
+        }
+        Collections.sort(sortedEntries, new Comparator<Entry>() {
+            @Override
+            public int compare(Entry first, Entry second) {
+                return Long.compare(first.getOffsetNanos(), second.getOffsetNanos());
+            }
+        });
+        return sortedEntries;
+    }
+
+    /**
+     *
+     * <p>The trace as tab-separated file: a version-line, the goal, a header and one line per operation.</p>
+     *
+     * @return tsv
+     */
+    public String toTsv() {
+        StringBuilder tsv = new StringBuilder();
+        tsv.append(VERSION_LINE).append('\n');
+        tsv.append(GOAL_LINE).append(goal).append('\n');
+        tsv.append(HEADER).append('\n');
+        for (Entry entry : getEntries()) {
+            StringBuilder refs = new StringBuilder();
+            for (String ref : entry.getRefs()) {
+                refs.append(refs.length() == 0 ? "" : " ").append(ref);
+            }
+            tsv.append(TimeUnit.NANOSECONDS.toMicros(entry.getOffsetNanos())).append('\t')
+                .append(TimeUnit.NANOSECONDS.toMicros(entry.getNanos())).append('\t')
+                .append(clean(entry.getThread())).append('\t')
+                .append(clean(entry.getOperation())).append('\t')
+                .append(clean(entry.getRemoteHost())).append('\t')
+                .append(refs).append('\t')
+                .append(entry.getCount()).append('\t')
+                .append(entry.getBytes()).append('\t')
+                .append(entry.getOutcome()).append('\n');
+        }
+        return tsv.toString();
+    }
+
+    private static String clean(String value) {
+        return value == null ? "" : value.replace('\t', ' ').replace('\n', ' ');
+    }
+
+    private void add(Entry entry) {
+        synchronized (entries) {
+            entries.add(entry);
+        }
+    }
+
+    /**
+     * <h1>Entry</h1>
+     *
+     * <p>One git-operation of a trace.</p>
+     */
+    public static class Entry {
+
+        private final long offsetNanos;
+        private final long nanos;
+        private final String thread;
+        private final String operation;
+        private final String remoteHost;
+        private final List<String> refs;
+        private final long count;
+        private final long bytes;
+        private final String outcome;
+
+        public Entry(long offsetNanos, long nanos, String thread, String operation, String remoteHost, List<String> refs, long count, long bytes, String outcome) {
+            this.offsetNanos = offsetNanos;
+            this.nanos = nanos;
+            this.thread = thread;
+            this.operation = operation;
+            this.remoteHost = remoteHost;
+            this.refs = Collections.unmodifiableList(new ArrayList<>(refs));
+            this.count = count;
+            this.bytes = bytes;
+            this.outcome = outcome;
+        }
+
+        /**
+         * @return start of the operation, since the start of the trace
+         */
+        public long getOffsetNanos() {
+            return offsetNanos;
+        }
+
+        /**
+         * @return latency of the operation
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+
+        public String getRemoteHost() {
+            return remoteHost;
+        }
+
+        /**
+         * @return the refs the operation updated, for example the created tag or the pushed branch
+         */
+        public List<String> getRefs() {
+            return refs;
+        }
+
+        /**
+         * @return number of refs the operation handled
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return bytes the operation received
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        public String getOutcome() {
+            return outcome;
+        }
+
+        public boolean isSucceeded() {
+            return SemverEvent.SUCCESS.equals(outcome);
+        }
+    }
+
+    /**
+     * <h1>TracedEvent</h1>
+     *
+     * <p>Passes everything on to the event and adds the operation to the trace when it is closed.</p>
+     */
+    private static class TracedEvent implements SemverEvent {
+
+        private final SemverTrace trace;
+        private final String operation;
+        private final String remoteHost;
+        private final SemverEvent event;
+        private final long start = System.nanoTime();
+        private List<String> refs = Collections.emptyList();
+        private long count;
+        private long bytes;
+        private boolean isSucceeded;
+        private boolean isClosed;
+
+        private TracedEvent(SemverTrace trace, String operation, String remoteHost, SemverEvent event) {
+            this.trace = trace;
+            this.operation = operation;
+            this.remoteHost = remoteHost;
+            this.event = event;
+        }
+
+        @Override
+        public SemverEvent setRefs(Collection<String> refs) {
+            this.refs = new ArrayList<>(refs);
+            event.setRefs(refs);
+            return this;
+        }
+
+        @Override
+        public SemverEvent setCount(long count) {
+            this.count = count;
+            event.setCount(count);
+            return this;
+        }
+
+        @Override
+        public SemverEvent setBytes(long bytes) {
+            this.bytes = bytes;
+            event.setBytes(bytes);
+            return this;
+        }
+
+        @Override
+        public SemverEvent setSucceeded(boolean isSucceeded) {
+            this.isSucceeded = isSucceeded;
+            event.setSucceeded(isSucceeded);
+            return this;
+        }
+
+        @Override
+        public void close() {
+            if (!isClosed) {
+                isClosed = true;
+                long end = System.nanoTime();
+                event.close();
+                trace.add(new Entry(start - trace.startNanos, end - start, Thread.currentThread().getName(), operation, remoteHost, refs, count, bytes, isSucceeded ? SUCCESS : FAILURE));
+            }
+        }
+    }
+
+}
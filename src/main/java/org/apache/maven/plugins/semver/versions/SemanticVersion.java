@@ -0,0 +1,426 @@
+package org.apache.maven.plugins.semver.versions;
+
+/**
+ *
+ * <h1>SemanticVersion</h1>
+ *
+ * <p>Immutable semantic version as described on <a href="https://semver.org">semver.org</a> (2.0.0).</p>
+ * <p>The version is parsed in a single pass over the characters. Prerelease and build metadata are kept as positions in the
+ * source text, so parsing and {@link #compareTo(SemanticVersion)} do not allocate.</p>
+ * <p>Numeric prerelease identifiers with leading zeros and a second <i>+</i> are rejected, so the tags of the RPM run modes,
+ * for example <i>6.4.0-001000000+1.0.0+beta</i>, are no semantic versions. They are parsed by {@link VersionIndex#parseRpmTag(String)}.</p>
+ * <p>Note: the natural ordering is inconsistent with equals. {@link #compareTo(SemanticVersion)} ignores the build metadata,
+ * {@link #equals(Object)} does not: <i>1.0.0+a</i> and <i>1.0.0+b</i> have the same precedence, but are not equal.
+ * A sorted collection, like the {@link VersionIndex}, keeps only one of them.</p>
+ *
+ * @author sido
+ */
+public final class SemanticVersion implements Comparable<SemanticVersion> {
+
+  private static final int NONE = -1;
+
+  private final String text;
+  private final int major;
+  private final int minor;
+  private final int patch;
+  private final int prereleaseStart;
+  private final int prereleaseEnd;
+  private final int buildStart;
+
+  private SemanticVersion(String text, int major, int minor, int patch, int prereleaseStart, int prereleaseEnd, int buildStart) {
+    this.text = text;
+    this.major = major;
+    this.minor = minor;
+    this.patch = patch;
+    this.prereleaseStart = prereleaseStart;
+    this.prereleaseEnd = prereleaseEnd;
+    this.buildStart = buildStart;
+  }
+
+  /**
+   *
+   * <p>Parse a semantic version.</p>
+   *
+   * @param text for example <i>1.2.3-beta.1+build.5</i>
+   * @return parsed version
+   * @throws IllegalArgumentException when the text is not a semantic version
+   */
+  public static SemanticVersion parse(String text) {
+    SemanticVersion version = tryParse(text);
+    if (version == null) {
+      throw new IllegalArgumentException("Not a semantic version: [ " + text + " ]");
+    }
+    return version;
+  }
+
+  /**
+   *
+   * <p>Parse a semantic version without throwing an exception.</p>
+   *
+   * @param text for example <i>1.2.3-SNAPSHOT</i>
+   * @return parsed version or null when the text is not a semantic version
+   */
+  public static SemanticVersion tryParse(String text) {
+    if (text == null) {
+      return null;
+    }
+    int length = text.length();
+    int position = 0;
+    int major = 0;
+    int minor = 0;
+    int patch = 0;
+    for (int part = 0; part < 3; part++) {
+      int start = position;
+      long value = 0;
+      while (position < length && isDigit(text.charAt(position))) {
+        value = value * 10 + (text.charAt(position) - '0');
+        if (value > Integer.MAX_VALUE) {
+          return null;
+        }
+        position++;
+      }
+      if (position == start || (text.charAt(start) == '0' && position - start > 1)) {
+        return null;
+      }
+      if (part == 0) {
+        major = (int) value;
+      } else if (part == 1) {
+        minor = (int) value;
+      } else {
+        patch = (int) value;
+      }
+      if (part < 2) {
+        if (position >= length || text.charAt(position) != '.') {
+          return null;
+        }
+        position++;
+      }
+    }
+
+    int prereleaseStart = NONE;
+    int prereleaseEnd = NONE;
+    if (position < length && text.charAt(position) == '-') {
+      prereleaseStart = ++position;
+      position = scanIdentifiers(text, position, false);
+      if (position == NONE) {
+        return null;
+      }
+      prereleaseEnd = position;
+    }
+
+    int buildStart = NONE;
+    if (position < length && text.charAt(position) == '+') {
+      buildStart = ++position;
+      position = scanIdentifiers(text, position, true);
+      if (position == NONE) {
+        return null;
+      }
+    }
+
+    if (position != length) {
+      return null;
+    }
+    return new SemanticVersion(text, major, minor, patch, prereleaseStart, prereleaseEnd, buildStart);
+  }
+
+  /**
+   *
+   * <p>Create a release version.</p>
+   *
+   * @param major major is the number to define a breaking change in symantic-versioning
+   * @param minor minor is the number to define a feature in symantic-versioning
+   * @param patch patch is the number to define a bugfix in symantic-versioning
+   * @return version <i>major.minor.patch</i>
+   */
+  public static SemanticVersion of(int major, int minor, int patch) {
+    if (major < 0 || minor < 0 || patch < 0) {
+      throw new IllegalArgumentException("Version numbers can not be negative");
+    }
+    String text = new StringBuilder(16).append(major).append('.').append(minor).append('.').append(patch).toString();
+    return new SemanticVersion(text, major, minor, patch, NONE, NONE, NONE);
+  }
+
+  /**
+   *
+   * <p>Restore a version that is already parsed, for example from the {@link TagIndex}.</p>
+   */
+  static SemanticVersion restore(String text, int major, int minor, int patch, int prereleaseStart, int prereleaseEnd, int buildStart) {
+    return new SemanticVersion(text, major, minor, patch, prereleaseStart, prereleaseEnd, buildStart);
+  }
+
+  int getPrereleaseStart() {
+    return prereleaseStart;
+  }
+
+  int getPrereleaseEnd() {
+    return prereleaseEnd;
+  }
+
+  int getBuildStart() {
+    return buildStart;
+  }
+
+  /**
+   *
+   * <p>Scan dot-separated identifiers of prerelease or build metadata.</p>
+   *
+   * @param text source text
+   * @param position first character of the identifiers
+   * @param isBuild build metadata accepts numeric identifiers with leading zeros and ends at the end of the text
+   * @return position after the identifiers or {@link #NONE} when they are not valid
+   */
+  private static int scanIdentifiers(String text, int position, boolean isBuild) {
+    int length = text.length();
+    int identifierStart = position;
+    boolean isNumeric = true;
+    while (position < length) {
+      char character = text.charAt(position);
+      if (character == '.') {
+        if (!isValidIdentifier(text, identifierStart, position, isNumeric, isBuild)) {
+          return NONE;
+        }
+        identifierStart = position + 1;
+        isNumeric = true;
+      } else if (character == '+' && !isBuild) {
+        break;
+      } else if (isIdentifierCharacter(character)) {
+        isNumeric &= isDigit(character);
+      } else {
+        return NONE;
+      }
+      position++;
+    }
+    if (!isValidIdentifier(text, identifierStart, position, isNumeric, isBuild)) {
+      return NONE;
+    }
+    return position;
+  }
+
+  private static boolean isValidIdentifier(String text, int start, int end, boolean isNumeric, boolean isBuild) {
+    return end > start && (isBuild || !isNumeric || end - start == 1 || text.charAt(start) != '0');
+  }
+
+  private static boolean isDigit(char character) {
+    return character >= '0' && character <= '9';
+  }
+
+  private static boolean isIdentifierCharacter(char character) {
+    return isDigit(character) || (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z') || character == '-';
+  }
+
+  /**
+   *
+   * <p>Next major version: <i>x.0.0</i>.</p>
+   *
+   * @return next major release
+   */
+  public SemanticVersion nextMajor() {
+    return of(major + 1, 0, 0);
+  }
+
+  /**
+   *
+   * <p>Next minor version: <i>x.y.0</i>.</p>
+   *
+   * @return next minor release
+   */
+  public SemanticVersion nextMinor() {
+    return of(major, minor + 1, 0);
+  }
+
+  /**
+   *
+   * <p>Next patch version: <i>x.y.z</i>.</p>
+   *
+   * @return next patch release
+   */
+  public SemanticVersion nextPatch() {
+    return of(major, minor, patch + 1);
+  }
+
+  /**
+   *
+   * <p>The release version without prerelease and build metadata.</p>
+   *
+   * @return release version
+   */
+  public SemanticVersion toRelease() {
+    if (prereleaseStart == NONE && buildStart == NONE) {
+      return this;
+    }
+    return of(major, minor, patch);
+  }
+
+  /**
+   *
+   * <p>Same version with another prerelease, for example <i>SNAPSHOT</i>. Only the text of the new version is allocated.</p>
+   *
+   * @param prerelease prerelease identifiers
+   * @return version <i>major.minor.patch-prerelease</i>
+   * @throws IllegalArgumentException when the prerelease identifiers are not valid
+   */
+  public SemanticVersion withPrerelease(String prerelease) {
+    int releaseEnd = prereleaseStart != NONE ? prereleaseStart - 1 : buildStart != NONE ? buildStart - 1 : text.length();
+    String newText = new StringBuilder(releaseEnd + 1 + prerelease.length()).append(text, 0, releaseEnd).append('-').append(prerelease).toString();
+    int newPrereleaseStart = releaseEnd + 1;
+    if (scanIdentifiers(newText, newPrereleaseStart, false) != newText.length()) {
+      throw new IllegalArgumentException("Not a prerelease: [ " + prerelease + " ]");
+    }
+    return new SemanticVersion(newText, major, minor, patch, newPrereleaseStart, newText.length(), NONE);
+  }
+
+  public int getMajor() {
+    return major;
+  }
+
+  public int getMinor() {
+    return minor;
+  }
+
+  public int getPatch() {
+    return patch;
+  }
+
+  public boolean hasPrerelease() {
+    return prereleaseStart != NONE;
+  }
+
+  /**
+   *
+   * <p>Prerelease identifiers.</p>
+   *
+   * @return prerelease or an empty string
+   */
+  public String getPrerelease() {
+    return prereleaseStart == NONE ? "" : text.substring(prereleaseStart, prereleaseEnd);
+  }
+
+  /**
+   *
+   * <p>Build metadata.</p>
+   *
+   * @return build metadata or an empty string
+   */
+  public String getBuildMetadata() {
+    return buildStart == NONE ? "" : text.substring(buildStart);
+  }
+
+  /**
+   *
+   * <p>Compare the precedence of two versions. Build metadata does not count for precedence.</p>
+   *
+   * @param other other version
+   * @return negative, zero or positive as this version is lower, equal or higher
+   */
+  @Override
+  public int compareTo(SemanticVersion other) {
+    int compare = Integer.compare(major, other.major);
+    if (compare == 0) {
+      compare = Integer.compare(minor, other.minor);
+    }
+    if (compare == 0) {
+      compare = Integer.compare(patch, other.patch);
+    }
+    if (compare == 0) {
+      compare = comparePrerelease(other);
+    }
+    return compare;
+  }
+
+  /**
+   *
+   * <p>Compare the prerelease identifiers one by one, without allocating substrings.</p>
+   *
+   * @param other other version
+   * @return precedence of the prerelease
+   */
+  private int comparePrerelease(SemanticVersion other) {
+    if (prereleaseStart == NONE || other.prereleaseStart == NONE) {
+      return Boolean.compare(prereleaseStart == NONE, other.prereleaseStart == NONE);
+    }
+    int position = prereleaseStart;
+    int otherPosition = other.prereleaseStart;
+    while (position < prereleaseEnd && otherPosition < other.prereleaseEnd) {
+      int end = identifierEnd(text, position, prereleaseEnd);
+      int otherEnd = identifierEnd(other.text, otherPosition, other.prereleaseEnd);
+      int compare = compareIdentifier(text, position, end, other.text, otherPosition, otherEnd);
+      if (compare != 0) {
+        return compare;
+      }
+      position = end + 1;
+      otherPosition = otherEnd + 1;
+    }
+    return Boolean.compare(position < prereleaseEnd, otherPosition < other.prereleaseEnd);
+  }
+
+  private static int identifierEnd(String text, int position, int end) {
+    while (position < end && text.charAt(position) != '.') {
+      position++;
+    }
+    return position;
+  }
+
+  private static boolean isNumeric(String text, int start, int end) {
+    for (int position = start; position < end; position++) {
+      if (!isDigit(text.charAt(position))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   *
+   * <p>Numeric identifiers are compared numerically and are lower than alphanumeric identifiers.
+   * Alphanumeric identifiers are compared in ASCII sort order.</p>
+   */
+  private static int compareIdentifier(String text, int start, int end, String otherText, int otherStart, int otherEnd) {
+    boolean isNumeric = isNumeric(text, start, end);
+    boolean isOtherNumeric = isNumeric(otherText, otherStart, otherEnd);
+    if (isNumeric && isOtherNumeric) {
+      int compare = Integer.compare(end - start, otherEnd - otherStart);
+      for (int i = 0; compare == 0 && start + i < end; i++) {
+        compare = Character.compare(text.charAt(start + i), otherText.charAt(otherStart + i));
+      }
+      return compare;
+    }
+    if (isNumeric || isOtherNumeric) {
+      return isNumeric ? -1 : 1;
+    }
+    int length = Math.min(end - start, otherEnd - otherStart);
+    for (int i = 0; i < length; i++) {
+      int compare = Character.compare(text.charAt(start + i), otherText.charAt(otherStart + i));
+      if (compare != 0) {
+        return compare;
+      }
+    }
+    return Integer.compare(end - start, otherEnd - otherStart);
+  }
+
+  /**
+   *
+   * <p>Versions are equal when their text is equal, so <i>1.0.0+a</i> and <i>1.0.0+b</i> are not equal but have the same precedence.
+   * Versions with the same precedence and the same build metadata are equal.</p>
+   */
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof SemanticVersion)) {
+      return false;
+    }
+    return text.equals(((SemanticVersion) other).text);
+  }
+
+  @Override
+  public int hashCode() {
+    return text.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return text;
+  }
+
+}
@@ -0,0 +1,481 @@
+package org.apache.maven.plugins.semver.versions;
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ *
+ * <h1>TagIndex</h1>
+ *
+ * <p>Persistent index of the parsed versions of all local SCM-tags.</p>
+ * <p>The index is stored in <i>.git/semver/tags.idx</i> and maps each tag to its parsed {@link SemanticVersion} and commit-id.
+ * It is only rebuilt when the <i>packed-refs</i> file has changed. Tags that did not change are not parsed again.</p>
+ * <p>The loose tag-refs are updated incrementally. GIT writes a loose ref to a lock-file and renames it, so a changed tag changes the
+ * modification time of its directory. Only the directories with a new modification time are listed and only the loose refs with
+ * a new modification time or length are read again.</p>
+ * <p>A file that is rewritten within the timestamp-resolution of the filesystem keeps its stamp, so <i>packed-refs</i>, a directory
+ * or a loose ref is not trusted while it is not older than the index by {@link #RACY_MILLIS} (the racy-git rule).</p>
+ *
+ * @author sido
+ */
+public class TagIndex {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TagIndex.class);
+
+  public static final String INDEX_DIRECTORY = "semver";
+  public static final String INDEX_FILE = "tags.idx";
+
+  private static final int MAGIC = 0x53565449;
+  private static final int FORMAT_VERSION = 4;
+  private static final long RACY_MILLIS = 2500;
+
+  private final Map<String, Entry> entries;
+  private final long packedRefsModified;
+  private final long packedRefsLength;
+  private final Map<String, Long> looseDirectories;
+  private final Map<String, LooseRef> looseRefs;
+
+  private TagIndex(Map<String, Entry> entries, long packedRefsModified, long packedRefsLength, Map<String, Long> looseDirectories, Map<String, LooseRef> looseRefs) {
+    this.entries = Collections.unmodifiableMap(entries);
+    this.packedRefsModified = packedRefsModified;
+    this.packedRefsLength = packedRefsLength;
+    this.looseDirectories = looseDirectories;
+    this.looseRefs = looseRefs;
+  }
+
+  /**
+   *
+   * <p>Load the tag-index of the repository.</p>
+   * <p>The stored index is used as long as <i>packed-refs</i> and the directories of the loose tag-refs are unchanged.
+   * When only loose tag-refs have changed, only those are read again. When <i>packed-refs</i> has changed, the tags are listed again
+   * and only new or moved tags are parsed. The updated index is written back to disk.</p>
+   *
+   * @param repository local SCM-repository
+   * @return up-to-date tag-index
+   * @throws IOException when the refs can not be read
+   */
+  public static TagIndex load(Repository repository) throws IOException {
+    File indexFile = getIndexFile(repository);
+    File tagsDirectory = new File(repository.getDirectory(), Constants.R_TAGS);
+    File packedRefs = new File(repository.getDirectory(), Constants.PACKED_REFS);
+    long packedRefsModified = packedRefs.lastModified();
+    long packedRefsLength = packedRefs.length();
+    Map<String, Long> looseDirectories = new HashMap<>();
+    stampDirectories(tagsDirectory, "", looseDirectories);
+
+    TagIndex storedIndex = read(indexFile);
+    long indexModified = indexFile.lastModified();
+    TagIndex tagIndex;
+    if (storedIndex == null || storedIndex.packedRefsModified != packedRefsModified || storedIndex.packedRefsLength != packedRefsLength
+        || isRacy(packedRefsModified, indexModified)) {
+      tagIndex = rebuild(repository, storedIndex, tagsDirectory, packedRefsModified, packedRefsLength, looseDirectories);
+    } else {
+      Set<String> changedDirectories = new HashSet<>();
+      for (Map.Entry<String, Long> directory : looseDirectories.entrySet()) {
+        if (!directory.getValue().equals(storedIndex.looseDirectories.get(directory.getKey())) || isRacy(directory.getValue(), indexModified)) {
+          changedDirectories.add(directory.getKey());
+        }
+      }
+      for (String directory : storedIndex.looseDirectories.keySet()) {
+        if (!looseDirectories.containsKey(directory)) {
+          changedDirectories.add(directory);
+        }
+      }
+      if (changedDirectories.isEmpty()) {
+        LOG.debug("Tag-index is up to date           : [ {} tags ]", storedIndex.entries.size());
+        return storedIndex;
+      }
+      tagIndex = update(repository, storedIndex, tagsDirectory, indexModified, changedDirectories, looseDirectories);
+    }
+    tagIndex.write(indexFile);
+    return tagIndex;
+  }
+
+  /**
+   *
+   * <p>List all tags again, after <i>packed-refs</i> has changed. Tags that did not move keep their parsed entry.</p>
+   */
+  private static TagIndex rebuild(Repository repository, TagIndex storedIndex, File tagsDirectory, long packedRefsModified, long packedRefsLength, Map<String, Long> looseDirectories) throws IOException {
+    Map<String, Entry> storedEntries = storedIndex != null ? storedIndex.entries : Collections.<String, Entry>emptyMap();
+    Map<String, Entry> entries = new HashMap<>();
+    int parsed = 0;
+    for (Ref ref : repository.getRefDatabase().getRefs(Constants.R_TAGS).values()) {
+      String name = ref.getName().substring(Constants.R_TAGS.length());
+      Entry entry = storedEntries.get(name);
+      if (entry == null || !entry.getObjectId().equals(ref.getObjectId())) {
+        entry = createEntry(repository, name, ref);
+        parsed++;
+      }
+      entries.put(name, entry);
+    }
+    Map<String, LooseRef> looseRefs = new HashMap<>();
+    for (String directory : looseDirectories.keySet()) {
+      stampLooseRefs(tagsDirectory, directory, looseRefs);
+    }
+    LOG.debug("Tag-index is rebuilt              : [ {} tags, {} parsed ]", entries.size(), parsed);
+    return new TagIndex(entries, packedRefsModified, packedRefsLength, looseDirectories, looseRefs);
+  }
+
+  /**
+   *
+   * <p>Read only the loose tag-refs of the changed directories that are new, removed or have a new stamp.</p>
+   */
+  private static TagIndex update(Repository repository, TagIndex storedIndex, File tagsDirectory, long indexModified, Set<String> changedDirectories, Map<String, Long> looseDirectories) throws IOException {
+    Map<String, LooseRef> looseRefs = new HashMap<>(storedIndex.looseRefs);
+    Set<String> changedTags = new HashSet<>();
+    for (String directory : changedDirectories) {
+      Map<String, LooseRef> directoryRefs = new HashMap<>();
+      if (looseDirectories.containsKey(directory)) {
+        stampLooseRefs(tagsDirectory, directory, directoryRefs);
+      }
+      for (Iterator<Map.Entry<String, LooseRef>> iterator = looseRefs.entrySet().iterator(); iterator.hasNext(); ) {
+        Map.Entry<String, LooseRef> storedRef = iterator.next();
+        if (isInDirectory(storedRef.getKey(), directory) && !directoryRefs.containsKey(storedRef.getKey())) {
+          changedTags.add(storedRef.getKey());
+          iterator.remove();
+        }
+      }
+      for (Map.Entry<String, LooseRef> looseRef : directoryRefs.entrySet()) {
+        LooseRef storedRef = looseRefs.put(looseRef.getKey(), looseRef.getValue());
+        if (!looseRef.getValue().equals(storedRef) || isRacy(looseRef.getValue().modified, indexModified)) {
+          changedTags.add(looseRef.getKey());
+        }
+      }
+    }
+
+    Map<String, Entry> entries = new HashMap<>(storedIndex.entries);
+    int parsed = 0;
+    for (String name : changedTags) {
+      Ref ref = repository.exactRef(Constants.R_TAGS + name);
+      Entry entry = entries.get(name);
+      if (ref == null || ref.getObjectId() == null) {
+        entries.remove(name);
+      } else if (entry == null || !entry.getObjectId().equals(ref.getObjectId())) {
+        entries.put(name, createEntry(repository, name, ref));
+        parsed++;
+      }
+    }
+    LOG.debug("Tag-index is updated              : [ {} tags, {} read, {} parsed ]", entries.size(), changedTags.size(), parsed);
+    return new TagIndex(entries, storedIndex.packedRefsModified, storedIndex.packedRefsLength, looseDirectories, looseRefs);
+  }
+
+  private static Entry createEntry(Repository repository, String name, Ref ref) throws IOException {
+    Ref peeledRef = repository.getRefDatabase().peel(ref);
+    ObjectId commitId = peeledRef.getPeeledObjectId() != null ? peeledRef.getPeeledObjectId() : ref.getObjectId();
+    return Entry.create(name, ref.getObjectId(), commitId);
+  }
+
+  private static boolean isInDirectory(String name, String directory) {
+    int separator = name.lastIndexOf('/');
+    return directory.equals(separator < 0 ? "" : name.substring(0, separator));
+  }
+
+  /**
+   *
+   * <p>Can a file have changed after the index was written without changing its modification time?</p>
+   *
+   * @param modified modification time of the file, 0 when the file does not exist
+   * @param indexModified modification time of the stored index
+   * @return is racy?
+   */
+  private static boolean isRacy(long modified, long indexModified) {
+    return modified != 0 && modified + RACY_MILLIS > indexModified;
+  }
+
+  /**
+   *
+   * <p>Location of the index-file in the GIT-directory.</p>
+   *
+   * @param repository local SCM-repository
+   * @return index-file
+   */
+  public static File getIndexFile(Repository repository) {
+    return new File(new File(repository.getDirectory(), INDEX_DIRECTORY), INDEX_FILE);
+  }
+
+  /**
+   *
+   * <p>All indexed tags keyed by tag-name.</p>
+   *
+   * @return entries
+   */
+  public Map<String, Entry> getEntries() {
+    return entries;
+  }
+
+  /**
+   *
+   * <p>Indexed tag by name.</p>
+   *
+   * @param tag tag-name without <i>refs/tags/</i>
+   * @return entry or null when the tag is not present
+   */
+  public Entry get(String tag) {
+    return entries.get(tag);
+  }
+
+  /**
+   *
+   * <p>Read a stored index. A missing, unreadable or outdated index-format is ignored.</p>
+   *
+   * @param indexFile stored index
+   * @return tag-index or null
+   */
+  private static TagIndex read(File indexFile) {
+    if (!indexFile.isFile()) {
+      return null;
+    }
+    try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+      if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+        return null;
+      }
+      long packedRefsModified = input.readLong();
+      long packedRefsLength = input.readLong();
+      int size = input.readInt();
+      Map<String, Entry> entries = new HashMap<>(size * 2);
+      byte[] rawId = new byte[Constants.OBJECT_ID_LENGTH];
+      for (int i = 0; i < size; i++) {
+        String name = input.readUTF();
+        SemanticVersion version = null;
+        if (input.readBoolean()) {
+          version = SemanticVersion.restore(name, input.readInt(), input.readInt(), input.readInt(), input.readInt(), input.readInt(), input.readInt());
+        }
+        input.readFully(rawId);
+        ObjectId objectId = ObjectId.fromRaw(rawId);
+        input.readFully(rawId);
+        ObjectId commitId = ObjectId.fromRaw(rawId);
+        entries.put(name, new Entry(name, version, objectId, commitId));
+      }
+      int directories = input.readInt();
+      Map<String, Long> looseDirectories = new HashMap<>(directories * 2);
+      for (int i = 0; i < directories; i++) {
+        looseDirectories.put(input.readUTF(), input.readLong());
+      }
+      int refs = input.readInt();
+      Map<String, LooseRef> looseRefs = new HashMap<>(refs * 2);
+      for (int i = 0; i < refs; i++) {
+        looseRefs.put(input.readUTF(), new LooseRef(input.readLong(), input.readLong()));
+      }
+      return new TagIndex(entries, packedRefsModified, packedRefsLength, looseDirectories, looseRefs);
+    } catch (IOException err) {
+      LOG.warn("Tag-index is not readable and will be rebuilt: {}", err.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   *
+   * <p>Write the index to a unique temporary file and move it in place, so concurrent builds never write the same file.</p>
+   *
+   * @param indexFile target index-file
+   */
+  private void write(File indexFile) {
+    File directory = indexFile.getParentFile();
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      LOG.warn("Tag-index directory is not created : {}", directory.getAbsolutePath());
+      return;
+    }
+    File tempFile;
+    try {
+      tempFile = File.createTempFile(INDEX_FILE, ".tmp", directory);
+    } catch (IOException err) {
+      LOG.warn("Tag-index is not written: {}", err.getMessage());
+      return;
+    }
+    try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+      output.writeInt(MAGIC);
+      output.writeInt(FORMAT_VERSION);
+      output.writeLong(packedRefsModified);
+      output.writeLong(packedRefsLength);
+      output.writeInt(entries.size());
+      byte[] rawId = new byte[Constants.OBJECT_ID_LENGTH];
+      for (Entry entry : entries.values()) {
+        output.writeUTF(entry.getName());
+        output.writeBoolean(entry.isVersion());
+        if (entry.isVersion()) {
+          SemanticVersion version = entry.getVersion();
+          output.writeInt(version.getMajor());
+          output.writeInt(version.getMinor());
+          output.writeInt(version.getPatch());
+          output.writeInt(version.getPrereleaseStart());
+          output.writeInt(version.getPrereleaseEnd());
+          output.writeInt(version.getBuildStart());
+        }
+        entry.getObjectId().copyRawTo(rawId, 0);
+        output.write(rawId);
+        entry.getCommitId().copyRawTo(rawId, 0);
+        output.write(rawId);
+      }
+      output.writeInt(looseDirectories.size());
+      for (Map.Entry<String, Long> looseDirectory : looseDirectories.entrySet()) {
+        output.writeUTF(looseDirectory.getKey());
+        output.writeLong(looseDirectory.getValue());
+      }
+      output.writeInt(looseRefs.size());
+      for (Map.Entry<String, LooseRef> looseRef : looseRefs.entrySet()) {
+        output.writeUTF(looseRef.getKey());
+        output.writeLong(looseRef.getValue().modified);
+        output.writeLong(looseRef.getValue().length);
+      }
+    } catch (IOException err) {
+      LOG.warn("Tag-index is not written: {}", err.getMessage());
+      tempFile.delete();
+      return;
+    }
+    try {
+      Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException err) {
+      LOG.warn("Tag-index is not written: {}", err.getMessage());
+      tempFile.delete();
+    }
+  }
+
+  /**
+   *
+   * <p>Modification times of the <i>refs/tags</i> directory and its sub-directories, keyed by the path relative to <i>refs/tags</i>.</p>
+   *
+   * @param directory directory to stamp
+   * @param path relative path of the directory, empty for <i>refs/tags</i>
+   * @param looseDirectories collected stamps
+   */
+  private static void stampDirectories(File directory, String path, Map<String, Long> looseDirectories) {
+    File[] files = directory.listFiles();
+    if (files == null) {
+      return;
+    }
+    looseDirectories.put(path, directory.lastModified());
+    for (File file : files) {
+      if (file.isDirectory()) {
+        stampDirectories(file, path.isEmpty() ? file.getName() : path + "/" + file.getName(), looseDirectories);
+      }
+    }
+  }
+
+  /**
+   *
+   * <p>Modification time and length of the loose tag-refs in one directory, keyed by tag-name.</p>
+   *
+   * @param tagsDirectory <i>refs/tags</i> directory
+   * @param path relative path of the directory, empty for <i>refs/tags</i>
+   * @param looseRefs collected stamps
+   */
+  private static void stampLooseRefs(File tagsDirectory, String path, Map<String, LooseRef> looseRefs) {
+    File[] files = (path.isEmpty() ? tagsDirectory : new File(tagsDirectory, path)).listFiles();
+    if (files == null) {
+      return;
+    }
+    for (File file : files) {
+      if (file.isFile() && !file.getName().endsWith(".lock")) {
+        looseRefs.put(path.isEmpty() ? file.getName() : path + "/" + file.getName(), new LooseRef(file.lastModified(), file.length()));
+      }
+    }
+  }
+
+  /**
+   *
+   * <h1>LooseRef</h1>
+   *
+   * <p>Stamp of one loose tag-ref.</p>
+   */
+  private static class LooseRef {
+
+    private final long modified;
+    private final long length;
+
+    private LooseRef(long modified, long length) {
+      this.modified = modified;
+      this.length = length;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof LooseRef && ((LooseRef) other).modified == modified && ((LooseRef) other).length == length;
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(modified) * 31 + Long.hashCode(length);
+    }
+  }
+
+  /**
+   *
+   * <h1>Entry</h1>
+   *
+   * <p>Parsed version of one SCM-tag.</p>
+   */
+  public static class Entry {
+
+    private final String name;
+    private final SemanticVersion version;
+    private final ObjectId objectId;
+    private final ObjectId commitId;
+
+    Entry(String name, SemanticVersion version, ObjectId objectId, ObjectId commitId) {
+      this.name = name;
+      this.version = version;
+      this.objectId = objectId;
+      this.commitId = commitId;
+    }
+
+    /**
+     *
+     * <p>Parse the version of a tag. Tags that are not a {@link SemanticVersion} are indexed without version.</p>
+     *
+     * @param name tag-name
+     * @param objectId object-id of the tag-ref
+     * @param commitId commit-id the tag points to
+     * @return entry
+     */
+    public static Entry create(String name, ObjectId objectId, ObjectId commitId) {
+      return new Entry(name, SemanticVersion.tryParse(name), objectId, commitId);
+    }
+
+    /**
+     *
+     * <p>Does this tag contain a {@link SemanticVersion}?</p>
+     *
+     * @return is version?
+     */
+    public boolean isVersion() {
+      return version != null;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    /**
+     *
+     * <p>Parsed version of the tag.</p>
+     *
+     * @return version or null when the tag is not a {@link SemanticVersion}
+     */
+    public SemanticVersion getVersion() {
+      return version;
+    }
+
+    public ObjectId getObjectId() {
+      return objectId;
+    }
+
+    public ObjectId getCommitId() {
+      return commitId;
+    }
+
+    @Override
+    public String toString() {
+      return name;
+    }
+  }
+
+}
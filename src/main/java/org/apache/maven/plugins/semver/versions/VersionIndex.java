@@ -0,0 +1,323 @@
+package org.apache.maven.plugins.semver.versions;
+
+import org.eclipse.jgit.lib.Ref;
+
+import java.util.*;
+
+/**
+ *
+ * <h1>VersionIndex</h1>
+ *
+ * <p>Sorted index of the versions of a set of SCM-tags, ordered by {@link SemanticVersion} precedence.</p>
+ * <p>Tags in the RPM-format <i>%03d%03d%03d</i> (for example <i>001002003+1.2.3</i>) are kept in a separate bucket per branch-version
+ * (for example <i>6.4.0-001002003+1.2.3</i>), available through {@link #getRpmVersions(String)}. Tags that are no version are not indexed.
+ * Tags that only differ in build metadata have the same precedence and are indexed once.</p>
+ * <p>All lookups take logarithmic time.</p>
+ *
+ * @author sido
+ */
+public class VersionIndex {
+
+  private static final int RPM_LENGTH = 9;
+
+  private final NavigableMap<SemanticVersion, String> versions = new TreeMap<>();
+  private final NavigableMap<SemanticVersion, String> releases = new TreeMap<>();
+  private final Map<String, VersionIndex> rpmVersions;
+
+  private VersionIndex(Map<String, VersionIndex> rpmVersions) {
+    this.rpmVersions = rpmVersions;
+  }
+
+  /**
+   *
+   * <p>Index the versions of the local tags.</p>
+   *
+   * @param tagIndex local tag-index
+   * @return version-index
+   */
+  public static VersionIndex create(TagIndex tagIndex) {
+    VersionIndex versionIndex = new VersionIndex(new HashMap<String, VersionIndex>());
+    for (TagIndex.Entry entry : tagIndex.getEntries().values()) {
+      versionIndex.add(entry.getName(), entry.getVersion());
+    }
+    return versionIndex;
+  }
+
+  /**
+   *
+   * <p>Index the versions of a set of tags, for example the remote tags.</p>
+   * <p>Tags that are present in the tag-index with the same object-id are not parsed again.</p>
+   *
+   * @param tags tags keyed by tag-name
+   * @param tagIndex local tag-index
+   * @return version-index
+   */
+  public static VersionIndex create(Map<String, Ref> tags, TagIndex tagIndex) {
+    VersionIndex versionIndex = new VersionIndex(new HashMap<String, VersionIndex>());
+    for (Map.Entry<String, Ref> tag : tags.entrySet()) {
+      TagIndex.Entry entry = tagIndex.get(tag.getKey());
+      if (entry != null && entry.getObjectId().equals(tag.getValue().getObjectId())) {
+        versionIndex.add(tag.getKey(), entry.getVersion());
+      } else {
+        versionIndex.add(tag.getKey(), SemanticVersion.tryParse(tag.getKey()));
+      }
+    }
+    return versionIndex;
+  }
+
+  /**
+   *
+   * <p>Index the versions of tag-names.</p>
+   *
+   * @param tags tag-names
+   * @return version-index
+   */
+  public static VersionIndex create(Iterable<String> tags) {
+    VersionIndex versionIndex = new VersionIndex(new HashMap<String, VersionIndex>());
+    for (String tag : tags) {
+      versionIndex.add(tag, SemanticVersion.tryParse(tag));
+    }
+    return versionIndex;
+  }
+
+  private void add(String tag, SemanticVersion version) {
+    if (version != null) {
+      put(tag, version);
+    } else {
+      SemanticVersion rpmVersion = parseRpmTag(tag);
+      if (rpmVersion != null) {
+        String branchVersion = getRpmBranchVersion(tag);
+        VersionIndex branchRpmVersions = rpmVersions.get(branchVersion);
+        if (branchRpmVersions == null) {
+          branchRpmVersions = new VersionIndex(null);
+          rpmVersions.put(branchVersion, branchRpmVersions);
+        }
+        branchRpmVersions.put(tag, rpmVersion);
+      }
+    }
+  }
+
+  private void put(String tag, SemanticVersion version) {
+    if (!versions.containsKey(version)) {
+      versions.put(version, tag);
+      if (!version.hasPrerelease()) {
+        releases.put(version, tag);
+      }
+    }
+  }
+
+  /**
+   *
+   * <p>Parse a tag in the RPM-format <i>%03d%03d%03d</i> with an optional branch-version before and build metadata after it.</p>
+   *
+   * @param tag for example <i>001002003+1.2.3</i> or <i>6.4.0-001002003+1.2.3+beta</i>
+   * @return version <i>1.2.3</i> or null when the tag is not in the RPM-format
+   */
+  public static SemanticVersion parseRpmTag(String tag) {
+    int start = getRpmStart(tag);
+    if (start == -1) {
+      return null;
+    }
+    int[] numbers = new int[3];
+    for (int i = 0; i < RPM_LENGTH; i++) {
+      numbers[i / 3] = numbers[i / 3] * 10 + (tag.charAt(start + i) - '0');
+    }
+    return SemanticVersion.of(numbers[0], numbers[1], numbers[2]);
+  }
+
+  /**
+   *
+   * <p>Branch-version of a tag in the RPM-format.</p>
+   *
+   * @param tag for example <i>6.4.0-001002003+1.2.3</i>
+   * @return branch-version, for example <i>6.4.0-</i>, an empty string without branch-version or null when the tag is not in the RPM-format
+   */
+  public static String getRpmBranchVersion(String tag) {
+    int start = getRpmStart(tag);
+    return start != -1 ? tag.substring(0, start) : null;
+  }
+
+  /**
+   *
+   * <p>The RPM-number is the last 9 digits before the build metadata, not preceded by another digit.</p>
+   *
+   * @return position of the RPM-number or -1
+   */
+  private static int getRpmStart(String tag) {
+    if (tag == null) {
+      return -1;
+    }
+    int end = tag.indexOf('+');
+    if (end == -1) {
+      end = tag.length();
+    }
+    int start = end - RPM_LENGTH;
+    if (start < 0 || (start > 0 && isDigit(tag.charAt(start - 1)))) {
+      return -1;
+    }
+    for (int i = start; i < end; i++) {
+      if (!isDigit(tag.charAt(i))) {
+        return -1;
+      }
+    }
+    return start;
+  }
+
+  private static boolean isDigit(char character) {
+    return character >= '0' && character <= '9';
+  }
+
+  /**
+   *
+   * <p>Index of the tags in the RPM-format without branch-version, ordered by the version they encode.</p>
+   *
+   * @return RPM-index
+   */
+  public VersionIndex getRpmVersions() {
+    return getRpmVersions("");
+  }
+
+  /**
+   *
+   * <p>Index of the tags in the RPM-format of one branch-version, ordered by the version they encode.</p>
+   *
+   * @param branchVersion branch-version, for example <i>6.4.0-</i>
+   * @return RPM-index
+   */
+  public VersionIndex getRpmVersions(String branchVersion) {
+    VersionIndex branchRpmVersions = rpmVersions != null ? rpmVersions.get(branchVersion) : null;
+    return branchRpmVersions != null ? branchRpmVersions : new VersionIndex(null);
+  }
+
+  /**
+   *
+   * <p>All indexed versions in ascending order.</p>
+   *
+   * @return versions
+   */
+  public NavigableSet<SemanticVersion> getVersions() {
+    return Collections.unmodifiableNavigableSet(versions.navigableKeySet());
+  }
+
+  /**
+   *
+   * <p>Tag-name of an indexed version.</p>
+   *
+   * @param version indexed version
+   * @return tag-name or null when no tag has the same precedence
+   */
+  public String getTag(SemanticVersion version) {
+    return versions.get(version);
+  }
+
+  /**
+   *
+   * <p>Highest version without prerelease.</p>
+   *
+   * @return highest release or null
+   */
+  public SemanticVersion getHighestRelease() {
+    return releases.isEmpty() ? null : releases.lastKey();
+  }
+
+  /**
+   *
+   * <p>Highest version including prereleases.</p>
+   *
+   * @return highest version or null
+   */
+  public SemanticVersion getHighestVersion() {
+    return versions.isEmpty() ? null : versions.lastKey();
+  }
+
+  /**
+   *
+   * <p>Highest version lower than or equal to the given version.</p>
+   *
+   * @param version version
+   * @return floor or null
+   */
+  public SemanticVersion floor(SemanticVersion version) {
+    return versions.floorKey(version);
+  }
+
+  /**
+   *
+   * <p>Lowest version higher than or equal to the given version.</p>
+   *
+   * @param version version
+   * @return ceiling or null
+   */
+  public SemanticVersion ceiling(SemanticVersion version) {
+    return versions.ceilingKey(version);
+  }
+
+  /**
+   *
+   * <p>Lowest version strictly higher than the given version.</p>
+   *
+   * @param version version
+   * @return higher version or null
+   */
+  public SemanticVersion higher(SemanticVersion version) {
+    return versions.higherKey(version);
+  }
+
+  /**
+   *
+   * <p>All versions without prerelease in the range <i>[from, to)</i>.</p>
+   *
+   * @param from lowest version, inclusive
+   * @param to highest version, exclusive
+   * @return releases in ascending order
+   */
+  public NavigableSet<SemanticVersion> getReleasesBetween(SemanticVersion from, SemanticVersion to) {
+    return Collections.unmodifiableNavigableSet(releases.navigableKeySet().subSet(from, true, to, false));
+  }
+
+  /**
+   *
+   * <p>All versions, including prereleases, in the range <i>[from, to)</i>.</p>
+   *
+   * @param from lowest version, inclusive
+   * @param to highest version, exclusive
+   * @return versions in ascending order
+   */
+  public NavigableSet<SemanticVersion> getVersionsBetween(SemanticVersion from, SemanticVersion to) {
+    return Collections.unmodifiableNavigableSet(versions.navigableKeySet().subSet(from, true, to, false));
+  }
+
+  /**
+   *
+   * <p>Find the tag that is ahead of a tag.</p>
+   * <p>Tags in the RPM-format are compared with the RPM-bucket of their branch-version, other tags with the semantic versions.</p>
+   *
+   * @param tag tag to compare, for example the new SCM-version
+   * @return tag-name of the lowest version that is ahead, or null when nothing is ahead or the tag is no version
+   */
+  public String findTagAhead(String tag) {
+    SemanticVersion version = SemanticVersion.tryParse(tag);
+    if (version != null) {
+      SemanticVersion higher = higher(version);
+      return higher != null ? getTag(higher) : null;
+    }
+    SemanticVersion rpmVersion = parseRpmTag(tag);
+    if (rpmVersion != null) {
+      VersionIndex branchRpmVersions = getRpmVersions(getRpmBranchVersion(tag));
+      SemanticVersion higher = branchRpmVersions.higher(rpmVersion);
+      return higher != null ? branchRpmVersions.getTag(higher) : null;
+    }
+    return null;
+  }
+
+  /**
+   *
+   * <p>Number of indexed versions, without the RPM-buckets.</p>
+   *
+   * @return size
+   */
+  public int size() {
+    return versions.size();
+  }
+
+}
@@ -0,0 +1,162 @@
+package org.apache.maven.plugins.semver.test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.transport.PacketLineOut;
+import org.eclipse.jgit.transport.ReceivePack;
+import org.eclipse.jgit.transport.RefAdvertiser;
+import org.eclipse.jgit.transport.UploadPack;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ *
+ * <h1>SmartHttpGitServer</h1>
+ * <p>In-process git smart-HTTP server for a bare repository, on the HTTP-server of the JDK with the upload-pack and
+ * receive-pack of JGit.</p>
+ * <p>Every request is counted by the value of the {@link #PHASE_HEADER}, so a test can see how many round trips each phase of a goal takes.</p>
+ *
+ * @author sido
+ */
+public class SmartHttpGitServer implements AutoCloseable {
+
+  public static final String PHASE_HEADER = "X-Semver-Phase";
+  public static final String NO_PHASE = "NONE";
+
+  private static final String UPLOAD_PACK = "git-upload-pack";
+  private static final String RECEIVE_PACK = "git-receive-pack";
+
+  private final Repository repository;
+  private final HttpServer server;
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private final ConcurrentMap<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+
+  public SmartHttpGitServer(File bareRepository) throws IOException {
+    this.repository = new FileRepositoryBuilder().setGitDir(bareRepository).setBare().build();
+    this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    this.server.createContext("/repo.git/", new HttpHandler() {
+      @Override
+      public void handle(HttpExchange exchange) throws IOException {
+        try {
+          serve(exchange);
+        } finally {
+          exchange.close();
+        }
+      }
+    });
+    this.server.setExecutor(executor);
+    this.server.start();
+  }
+
+  public String getUrl() {
+    return "http://" + server.getAddress().getAddress().getHostAddress() + ":" + server.getAddress().getPort() + "/repo.git";
+  }
+
+  /**
+   *
+   * <p>Requests per phase, sorted by phase.</p>
+   *
+   * @return requests per phase
+   */
+  public Map<String, Integer> getRequests() {
+    Map<String, Integer> requestsPerPhase = new TreeMap<>();
+    for (Map.Entry<String, AtomicInteger> phase : requests.entrySet()) {
+      requestsPerPhase.put(phase.getKey(), phase.getValue().get());
+    }
+    return requestsPerPhase;
+  }
+
+  public int getRequests(String phase) {
+    AtomicInteger count = requests.get(phase);
+    return count == null ? 0 : count.get();
+  }
+
+  public int getTotalRequests() {
+    int total = 0;
+    for (AtomicInteger count : requests.values()) {
+      total += count.get();
+    }
+    return total;
+  }
+
+  public void reset() {
+    requests.clear();
+  }
+
+  private void serve(HttpExchange exchange) throws IOException {
+    String phase = exchange.getRequestHeaders().getFirst(PHASE_HEADER);
+    AtomicInteger count = new AtomicInteger();
+    AtomicInteger existing = requests.putIfAbsent(phase == null ? NO_PHASE : phase, count);
+    (existing == null ? count : existing).incrementAndGet();
+
+    String path = exchange.getRequestURI().getPath();
+    String query = exchange.getRequestURI().getQuery();
+    if ("GET".equals(exchange.getRequestMethod()) && path.endsWith("/info/refs") && query != null && query.contains("service=")) {
+      String service = query.substring(query.indexOf("service=") + "service=".length());
+      exchange.getResponseHeaders().set("Content-Type", "application/x-" + service + "-advertisement");
+      exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+      exchange.sendResponseHeaders(200, 0);
+      PacketLineOut packetLineOut = new PacketLineOut(exchange.getResponseBody());
+      packetLineOut.writeString("# service=" + service + "\n");
+      packetLineOut.end();
+      RefAdvertiser.PacketLineOutRefAdvertiser advertiser = new RefAdvertiser.PacketLineOutRefAdvertiser(packetLineOut);
+      if (UPLOAD_PACK.equals(service)) {
+        UploadPack uploadPack = new UploadPack(repository);
+        uploadPack.setBiDirectionalPipe(false);
+        uploadPack.sendAdvertisedRefs(advertiser);
+      } else {
+        ReceivePack receivePack = new ReceivePack(repository);
+        receivePack.setBiDirectionalPipe(false);
+        receivePack.sendAdvertisedRefs(advertiser);
+      }
+    } else if ("POST".equals(exchange.getRequestMethod()) && path.endsWith("/" + UPLOAD_PACK)) {
+      exchange.getResponseHeaders().set("Content-Type", "application/x-" + UPLOAD_PACK + "-result");
+      exchange.sendResponseHeaders(200, 0);
+      UploadPack uploadPack = new UploadPack(repository);
+      uploadPack.setBiDirectionalPipe(false);
+      uploadPack.upload(getRequestBody(exchange), exchange.getResponseBody(), null);
+    } else if ("POST".equals(exchange.getRequestMethod()) && path.endsWith("/" + RECEIVE_PACK)) {
+      exchange.getResponseHeaders().set("Content-Type", "application/x-" + RECEIVE_PACK + "-result");
+      exchange.sendResponseHeaders(200, 0);
+      ReceivePack receivePack = new ReceivePack(repository);
+      receivePack.setBiDirectionalPipe(false);
+      receivePack.receive(getRequestBody(exchange), exchange.getResponseBody(), null);
+    } else {
+      exchange.sendResponseHeaders(404, -1);
+    }
+    OutputStream out = exchange.getResponseBody();
+    out.flush();
+  }
+
+  private static InputStream getRequestBody(HttpExchange exchange) throws IOException {
+    InputStream in = exchange.getRequestBody();
+    if ("gzip".equals(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+      in = new GZIPInputStream(in);
+    }
+    return in;
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+    repository.close();
+  }
+
+}
@@ -0,0 +1,122 @@
+package org.apache.maven.plugins.semver.test.configuration;
+
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugins.semver.configuration.SemverConfiguration;
+import org.apache.maven.plugins.semver.test.AbstractSemverMavenPluginTest;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.settings.Proxy;
+import org.apache.maven.settings.Server;
+import org.apache.maven.settings.building.SettingsProblem;
+import org.apache.maven.settings.crypto.SettingsDecrypter;
+import org.apache.maven.settings.crypto.SettingsDecryptionRequest;
+import org.apache.maven.settings.crypto.SettingsDecryptionResult;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ *
+ * <h1>SemverConfigurationTest</h1>
+ * <p>Testing the credentials of a server in the settings.xml with an encrypted password.</p>
+ *
+ * @author sido
+ */
+public class SemverConfigurationTest extends AbstractSemverMavenPluginTest {
+
+  private static final String ENCRYPTED_PASSWORD = "{jSMOWnoPFgsHVpMvz5VrIt5kRbzGpI8u+9EF1iFQyJQ=}";
+  private static final String PASSWORD = "secret";
+
+  @Test
+  public void encryptedServerPasswordTest() {
+    SemverConfiguration configuration = new SemverConfiguration(createSession());
+    configuration.setServerId("scm-server");
+    configuration.setSettingsDecrypter(new SettingsSecurityDecrypter());
+
+    assertEquals("sido", configuration.getScmUsername());
+    assertEquals(PASSWORD, configuration.getScmPassword());
+  }
+
+  @Test
+  public void configuredPasswordBeforeServerTest() {
+    SemverConfiguration configuration = new SemverConfiguration(createSession());
+    configuration.setScmPassword("configured");
+    configuration.setSettingsDecrypter(new SettingsSecurityDecrypter());
+    configuration.setServerId("scm-server");
+
+    assertEquals("sido", configuration.getScmUsername());
+    assertEquals("configured", configuration.getScmPassword());
+  }
+
+  @Test
+  public void invalidCredentialCacheTtlTest() {
+    MavenSession session = createSession();
+    session.getUserProperties().setProperty("credentialCacheTtl", "one hour");
+    SemverConfiguration configuration = new SemverConfiguration(session);
+    assertEquals(3600L, configuration.getCredentialCacheTtl());
+
+    configuration.setCredentialCacheTtl(60L);
+    assertEquals(60L, configuration.getCredentialCacheTtl());
+  }
+
+  private static MavenSession createSession() {
+    Server server = new Server();
+    server.setId("scm-server");
+    server.setUsername("sido");
+    server.setPassword(ENCRYPTED_PASSWORD);
+    DefaultMavenExecutionRequest request = new DefaultMavenExecutionRequest();
+    request.addServer(server);
+    return new MavenSession(null, request, new DefaultMavenExecutionResult(), Collections.<MavenProject>emptyList());
+  }
+
+  /**
+   *
+   * <p>Decrypts the password of the settings.xml like the settings-security.xml of the user would.</p>
+   */
+  private static class SettingsSecurityDecrypter implements SettingsDecrypter {
+
+    @Override
+    public SettingsDecryptionResult decrypt(SettingsDecryptionRequest request) {
+      final List<Server> servers = new ArrayList<>();
+      for (Server server : request.getServers()) {
+        Server decrypted = server.clone();
+        if (ENCRYPTED_PASSWORD.equals(server.getPassword())) {
+          decrypted.setPassword(PASSWORD);
+        }
+        servers.add(decrypted);
+      }
+      return new SettingsDecryptionResult() {
+        @Override
+        public Server getServer() {
+          return servers.isEmpty() ? null : servers.get(0);
+        }
+
+        @Override
+        public List<Server> getServers() {
+          return servers;
+        }
+
+        @Override
+        public Proxy getProxy() {
+          return null;
+        }
+
+        @Override
+        public List<Proxy> getProxies() {
+          return Collections.emptyList();
+        }
+
+        @Override
+        public List<SettingsProblem> getProblems() {
+          return Collections.emptyList();
+        }
+      };
+    }
+  }
+
+}
@@ -0,0 +1,189 @@
+package org.apache.maven.plugins.semver.test.providers;
+
+import org.apache.maven.plugins.semver.providers.AsyncRepositoryProvider;
+import org.apache.maven.plugins.semver.providers.AsyncRepositoryProviderImpl;
+import org.apache.maven.plugins.semver.providers.MetricsProviderImpl;
+import org.apache.maven.plugins.semver.providers.RepositoryCacheLifecycleParticipant;
+import org.apache.maven.plugins.semver.providers.RepositoryProviderImpl;
+import org.apache.maven.plugins.semver.test.AbstractSemverMavenPluginTest;
+import org.apache.maven.plugins.semver.utils.SemverExecutors;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * <h1>AsyncRepositoryProviderTest</h1>
+ * <p>Testing the non-blocking calls on the repository.</p>
+ *
+ * @author sido
+ */
+public class AsyncRepositoryProviderTest extends AbstractSemverMavenPluginTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private static RepositoryProviderImpl createRepositoryProvider() throws Exception {
+    RepositoryProviderImpl repositoryProvider = new RepositoryProviderImpl();
+    Field log = RepositoryProviderImpl.class.getDeclaredField("LOG");
+    log.setAccessible(true);
+    log.set(repositoryProvider, LoggerFactory.getLogger(RepositoryProviderImpl.class));
+    Field metricsProvider = RepositoryProviderImpl.class.getDeclaredField("metricsProvider");
+    metricsProvider.setAccessible(true);
+    metricsProvider.set(repositoryProvider, new MetricsProviderImpl());
+    return repositoryProvider;
+  }
+
+  @Test
+  public void overlappingCallsTest() throws Exception {
+    File origin = folder.newFolder("origin.git");
+    Git.init().setBare(true).setDirectory(origin).call().close();
+    File workingCopy = folder.newFolder("working-copy");
+    try (Git git = Git.cloneRepository().setURI(origin.toURI().toString()).setDirectory(workingCopy).call()) {
+      Files.write(new File(workingCopy, "pom.xml").toPath(), "<project/>".getBytes(StandardCharsets.UTF_8));
+      git.add().addFilepattern(".").call();
+      git.commit().setMessage("initial commit").call();
+      git.tag().setName("1.0.0").call();
+      git.push().setPushAll().setPushTags().call();
+    }
+
+    RepositoryProviderImpl repositoryProvider = createRepositoryProvider();
+    repositoryProvider.initialize(workingCopy, origin.toURI().toString(), "username", "password");
+
+    ExecutorService executor = SemverExecutors.newBoundedExecutor("semver-test", 2);
+    try {
+      AsyncRepositoryProvider asyncRepositoryProvider = new AsyncRepositoryProviderImpl(repositoryProvider, executor);
+      CompletableFuture<Boolean> fetch = asyncRepositoryProvider.fetch();
+      CompletableFuture<Boolean> isLocalChanged = asyncRepositoryProvider.isLocalChanged();
+      CompletableFuture<List<Ref>> localTags = asyncRepositoryProvider.getLocalTags();
+
+      assertTrue(fetch.get());
+      assertFalse(isLocalChanged.get());
+      assertEquals(1, localTags.get().size());
+      assertTrue(asyncRepositoryProvider.getRemoteTags().get().containsKey("1.0.0"));
+      assertFalse(asyncRepositoryProvider.isRemoteChanged().get());
+    } finally {
+      executor.shutdownNow();
+      repositoryProvider.closeRepository();
+    }
+  }
+
+  @Test
+  public void pushReleaseTest() throws Exception {
+    File origin = folder.newFolder("origin.git");
+    Git.init().setBare(true).setDirectory(origin).call().close();
+    File workingCopy = folder.newFolder("working-copy");
+    try (Git git = Git.cloneRepository().setURI(origin.toURI().toString()).setDirectory(workingCopy).call()) {
+      git.commit().setMessage("initial commit").call();
+      git.push().call();
+    }
+
+    RepositoryProviderImpl repositoryProvider = createRepositoryProvider();
+    repositoryProvider.initialize(workingCopy, origin.toURI().toString(), "username", "password");
+
+    ExecutorService executor = SemverExecutors.newBoundedExecutor("semver-test", 1);
+    try (Git git = Git.open(workingCopy)) {
+      AsyncRepositoryProvider asyncRepositoryProvider = new AsyncRepositoryProviderImpl(repositoryProvider, executor);
+      ObjectId releaseCommit = git.commit().setMessage("release 1.0.0").call().getId();
+      assertTrue(repositoryProvider.createTag("1.0.0"));
+      CompletableFuture<Boolean> releasePush = asyncRepositoryProvider.pushRelease("1.0.0");
+      ObjectId developmentCommit = git.commit().setMessage("next development 1.0.1-SNAPSHOT").call().getId();
+      assertTrue(releasePush.get());
+
+      try (Git remote = Git.open(origin)) {
+        assertEquals(releaseCommit, remote.getRepository().resolve("refs/tags/1.0.0^{commit}"));
+        assertEquals(releaseCommit, remote.getRepository().resolve("refs/heads/master"));
+      }
+      assertTrue(repositoryProvider.push());
+      try (Git remote = Git.open(origin)) {
+        assertEquals(developmentCommit, remote.getRepository().resolve("refs/heads/master"));
+      }
+      assertFalse(asyncRepositoryProvider.pushRelease("2.0.0").get());
+    } finally {
+      executor.shutdownNow();
+      repositoryProvider.closeRepository();
+    }
+  }
+
+  @Test
+  public void remoteAheadTest() throws Exception {
+    File origin = folder.newFolder("origin.git");
+    Git.init().setBare(true).setDirectory(origin).call().close();
+    File workingCopy = folder.newFolder("working-copy");
+    try (Git git = Git.cloneRepository().setURI(origin.toURI().toString()).setDirectory(workingCopy).call()) {
+      git.commit().setMessage("initial commit").call();
+      git.push().call();
+    }
+
+    RepositoryProviderImpl repositoryProvider = createRepositoryProvider();
+    repositoryProvider.initialize(workingCopy, origin.toURI().toString(), "username", "password");
+    try {
+      try (Git git = Git.open(workingCopy)) {
+        RefUpdate deleteTrackingRef = git.getRepository().updateRef(Constants.R_REMOTES + "origin/master");
+        deleteTrackingRef.setForceUpdate(true);
+        deleteTrackingRef.delete();
+      }
+      repositoryProvider.refreshRemoteSnapshot();
+      assertFalse(repositoryProvider.isRemoteAhead());
+
+      File otherCopy = folder.newFolder("other-copy");
+      try (Git git = Git.cloneRepository().setURI(origin.toURI().toString()).setDirectory(otherCopy).call()) {
+        git.checkout().setCreateBranch(true).setName("feature").call();
+        git.commit().setMessage("feature commit").call();
+        git.push().add("feature").call();
+        repositoryProvider.refreshRemoteSnapshot();
+        assertFalse(repositoryProvider.isRemoteAhead());
+
+        git.checkout().setName("master").call();
+        git.commit().setMessage("master commit").call();
+        git.push().add("master").call();
+        repositoryProvider.refreshRemoteSnapshot();
+        assertTrue(repositoryProvider.isRemoteAhead());
+      }
+    } finally {
+      repositoryProvider.closeRepository();
+    }
+  }
+
+  @Test
+  public void repositoryExecutorTest() throws Exception {
+    ExecutorService executor = SemverExecutors.getRepositoryExecutor();
+    assertSame(executor, SemverExecutors.getRepositoryExecutor());
+    assertEquals(SemverExecutors.newVirtualThreadExecutor() != null, SemverExecutors.isVirtual());
+    assertTrue(CompletableFuture.supplyAsync(new Supplier<Boolean>() {
+      @Override
+      public Boolean get() {
+        return true;
+      }
+    }, executor).get());
+  }
+
+  @Test
+  public void repositoryExecutorShutdownTest() throws Exception {
+    ExecutorService executor = SemverExecutors.getRepositoryExecutor();
+    new RepositoryCacheLifecycleParticipant().afterSessionEnd(null);
+    assertTrue(executor.isShutdown());
+
+    ExecutorService nextExecutor = SemverExecutors.getRepositoryExecutor();
+    assertNotSame(executor, nextExecutor);
+    assertFalse(nextExecutor.isShutdown());
+  }
+
+}
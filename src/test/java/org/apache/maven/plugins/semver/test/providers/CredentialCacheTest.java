@@ -0,0 +1,55 @@
+package org.apache.maven.plugins.semver.test.providers;
+
+import org.apache.maven.plugins.semver.providers.CredentialCache;
+import org.apache.maven.plugins.semver.test.AbstractSemverMavenPluginTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * <h1>CredentialCacheTest</h1>
+ * <p>Testing the cache of validated SCM-credentials.</p>
+ *
+ * @author sido
+ */
+public class CredentialCacheTest extends AbstractSemverMavenPluginTest {
+
+  private static final String SCM_URL = "https://github.com/example/project.git";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void validCredentialsTest() throws Exception {
+    File cacheFile = new File(folder.getRoot(), "cache/credentials.properties");
+    String key = CredentialCache.createKey(SCM_URL, "token", "secret");
+    new CredentialCache(cacheFile, 60).markValid(key);
+
+    CredentialCache credentialCache = new CredentialCache(cacheFile, 60);
+    assertTrue(credentialCache.isValid(key));
+    assertFalse(credentialCache.isValid(CredentialCache.createKey(SCM_URL, "token", "other-secret")));
+    assertFalse(credentialCache.isValid(CredentialCache.createKey("https://github.com/example/other.git", "token", "secret")));
+    assertFalse(new String(Files.readAllBytes(cacheFile.toPath()), StandardCharsets.ISO_8859_1).contains("secret"));
+
+    credentialCache.invalidate(key);
+    assertFalse(credentialCache.isValid(key));
+  }
+
+  @Test
+  public void disabledCacheTest() {
+    File cacheFile = new File(folder.getRoot(), "credentials.properties");
+    String key = CredentialCache.createKey(SCM_URL, "username", "password");
+    CredentialCache credentialCache = new CredentialCache(cacheFile, 0);
+    credentialCache.markValid(key);
+    assertFalse(credentialCache.isValid(key));
+    assertFalse(cacheFile.exists());
+  }
+
+}
@@ -0,0 +1,65 @@
+package org.apache.maven.plugins.semver.test.providers;
+
+import org.apache.maven.plugins.semver.providers.MetricsProvider;
+import org.apache.maven.plugins.semver.providers.MetricsProviderImpl;
+import org.apache.maven.plugins.semver.providers.MetricsReport;
+import org.apache.maven.plugins.semver.test.AbstractSemverMavenPluginTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * <h1>MetricsProviderTest</h1>
+ * <p>Testing the timings and counters per phase of a goal.</p>
+ *
+ * @author sido
+ */
+public class MetricsProviderTest extends AbstractSemverMavenPluginTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void phaseReportTest() throws Exception {
+    MetricsProviderImpl metricsProvider = new MetricsProviderImpl();
+    Field log = MetricsProviderImpl.class.getDeclaredField("LOG");
+    log.setAccessible(true);
+    log.set(metricsProvider, LoggerFactory.getLogger(MetricsProviderImpl.class));
+
+    metricsProvider.startReport("PATCH");
+    try (MetricsProvider.Timer tag = metricsProvider.startPhase(MetricsProvider.PHASE.TAG)) {
+      try (MetricsProvider.Timer nestedTag = metricsProvider.startPhase(MetricsProvider.PHASE.TAG)) {
+        metricsProvider.count(MetricsProvider.PHASE.TAG, "refs", 1);
+      }
+    }
+    try (MetricsProvider.Timer commit = metricsProvider.startPhase(MetricsProvider.PHASE.COMMIT)) {
+      metricsProvider.count(MetricsProvider.PHASE.COMMIT, "files", 2);
+    }
+    metricsProvider.count(MetricsProvider.PHASE.COMMIT, "files", 3);
+    File outputDirectory = new File(folder.getRoot(), "target");
+    MetricsReport report = metricsProvider.finishReport(outputDirectory);
+
+    assertEquals("PATCH", report.getGoal());
+    assertEquals(1, report.getCalls(MetricsProvider.PHASE.TAG));
+    assertEquals(1, report.getCalls(MetricsProvider.PHASE.COMMIT));
+    assertEquals(Long.valueOf(5), report.getCounters(MetricsProvider.PHASE.COMMIT).get("files"));
+    assertFalse(report.isRecorded(MetricsProvider.PHASE.PUSH));
+    assertTrue(report.getDurationNanos() >= report.getNanos(MetricsProvider.PHASE.TAG));
+
+    String json = new String(Files.readAllBytes(new File(outputDirectory, MetricsProvider.METRICS_FILE).toPath()), StandardCharsets.UTF_8);
+    assertTrue(json.contains("\"goal\": \"PATCH\""));
+    assertTrue(json.contains("\"phase\": \"COMMIT\", \"description\": \"commit\", \"calls\": 1"));
+    assertTrue(json.contains("\"counters\": { \"files\": 5 }"));
+    assertTrue(json.contains("\"phase\": \"CLEANUP\""));
+  }
+
+}
@@ -0,0 +1,86 @@
+package org.apache.maven.plugins.semver.test.providers;
+
+import org.apache.maven.plugins.semver.providers.RepositoryHandle;
+import org.apache.maven.plugins.semver.providers.RepositoryProvider;
+import org.apache.maven.plugins.semver.test.AbstractSemverMavenPluginTest;
+import org.eclipse.jgit.api.Git;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * <h1>RepositoryHandleTest</h1>
+ * <p>Testing the cache of repository handles over goals and sessions.</p>
+ *
+ * @author sido
+ */
+public class RepositoryHandleTest extends AbstractSemverMavenPluginTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private File createRepository() throws Exception {
+    File workingCopy = folder.newFolder("working-copy");
+    try (Git git = Git.init().setDirectory(workingCopy).call()) {
+      git.commit().setMessage("initial commit").call();
+    }
+    return workingCopy;
+  }
+
+  @After
+  public void closeAll() {
+    RepositoryHandle.closeAll();
+  }
+
+  @Test
+  public void noCacheTest() throws Exception {
+    File workingCopy = createRepository();
+    RepositoryHandle handle = RepositoryHandle.open(workingCopy, RepositoryProvider.REPOSITORY_CACHE.NONE);
+    handle.close();
+    assertFalse(handle.isOpen());
+    RepositoryHandle reopened = RepositoryHandle.open(workingCopy, RepositoryProvider.REPOSITORY_CACHE.NONE);
+    assertTrue(handle != reopened);
+    reopened.close();
+  }
+
+  @Test
+  public void sessionCacheTest() throws Exception {
+    File workingCopy = createRepository();
+    Object session = new Object();
+    RepositoryHandle.beginSession(session);
+    RepositoryHandle handle = RepositoryHandle.open(workingCopy, RepositoryProvider.REPOSITORY_CACHE.SESSION);
+    handle.close();
+    assertTrue(handle.isOpen());
+
+    try (Git git = Git.open(workingCopy)) {
+      git.tag().setName("1.0.0").call();
+    }
+    RepositoryHandle reopened = RepositoryHandle.open(new File(workingCopy, "."), RepositoryProvider.REPOSITORY_CACHE.SESSION);
+    assertSame(handle, reopened);
+    assertNotNull(reopened.getRepository().exactRef("refs/tags/1.0.0"));
+    reopened.close();
+
+    RepositoryHandle.beginSession(session);
+    assertTrue(handle.isOpen());
+    RepositoryHandle.beginSession(new Object());
+    assertFalse(handle.isOpen());
+  }
+
+  @Test
+  public void daemonCacheTest() throws Exception {
+    File workingCopy = createRepository();
+    RepositoryHandle handle = RepositoryHandle.open(workingCopy, RepositoryProvider.REPOSITORY_CACHE.DAEMON);
+    handle.close();
+    RepositoryHandle.endSession();
+    assertTrue(handle.isOpen());
+    RepositoryHandle.closeAll();
+    assertFalse(handle.isOpen());
+  }
+
+}
@@ -0,0 +1,273 @@
+package org.apache.maven.plugins.semver.test.providers;
+
+import org.apache.maven.plugins.semver.providers.MetricsProviderImpl;
+import org.apache.maven.plugins.semver.providers.RepositoryHandle;
+import org.apache.maven.plugins.semver.providers.RepositoryProvider;
+import org.apache.maven.plugins.semver.providers.RepositoryProviderImpl;
+import org.apache.maven.plugins.semver.test.AbstractSemverMavenPluginTest;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * <h1>RepositoryProviderConcurrencyTest</h1>
+ * <p>Stress-test of modules that release in parallel (-T) with one shared {@link RepositoryProviderImpl}.</p>
+ *
+ * @author sido
+ */
+public class RepositoryProviderConcurrencyTest extends AbstractSemverMavenPluginTest {
+
+  private static final int MODULES = 8;
+  private static final int ROUNDS = 10;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private File createWorkingCopy() throws Exception {
+    File origin = folder.newFolder("origin.git");
+    Git.init().setBare(true).setDirectory(origin).call().close();
+    File workingCopy = folder.newFolder("working-copy");
+    try (Git git = Git.cloneRepository().setURI(origin.toURI().toString()).setDirectory(workingCopy).call()) {
+      for (int module = 0; module < MODULES; module++) {
+        write(new File(workingCopy, "module-" + module + "/pom.xml"), "<project/>");
+      }
+      git.add().addFilepattern(".").call();
+      git.commit().setMessage("initial commit").call();
+      git.push().call();
+    }
+    return workingCopy;
+  }
+
+  private static void write(File file, String content) throws Exception {
+    file.getParentFile().mkdirs();
+    Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static RepositoryProviderImpl createRepositoryProvider() throws Exception {
+    RepositoryProviderImpl repositoryProvider = new RepositoryProviderImpl();
+    Field log = RepositoryProviderImpl.class.getDeclaredField("LOG");
+    log.setAccessible(true);
+    log.set(repositoryProvider, LoggerFactory.getLogger(RepositoryProviderImpl.class));
+    Field metricsProvider = RepositoryProviderImpl.class.getDeclaredField("metricsProvider");
+    metricsProvider.setAccessible(true);
+    metricsProvider.set(repositoryProvider, new MetricsProviderImpl());
+    return repositoryProvider;
+  }
+
+  @Test
+  public void sharedHandleTest() throws Exception {
+    File workingCopy = createWorkingCopy();
+    RepositoryHandle moduleA = RepositoryHandle.open(new File(workingCopy, "module-0"));
+    RepositoryHandle moduleB = RepositoryHandle.open(new File(workingCopy, "module-1"));
+    try {
+      assertSame(moduleA, moduleB);
+      assertEquals(new File(workingCopy, ".git").getCanonicalFile(), moduleA.getGitDir());
+    } finally {
+      moduleA.close();
+      moduleB.close();
+    }
+    RepositoryHandle reopened = RepositoryHandle.open(workingCopy);
+    try {
+      assertTrue(moduleA != reopened);
+    } finally {
+      reopened.close();
+    }
+  }
+
+  @Test
+  public void fetchTagsKeepsLocalTagsTest() throws Exception {
+    File workingCopy = createWorkingCopy();
+    File origin = new File(folder.getRoot(), "origin.git");
+    File otherCopy = folder.newFolder("other-copy");
+    try (Git git = Git.cloneRepository().setURI(origin.toURI().toString()).setDirectory(otherCopy).call()) {
+      write(new File(otherCopy, "module-0/pom.xml"), "<project><version>1</version></project>");
+      git.commit().setAll(true).setMessage("other release").call();
+      git.tag().setName("1.0.0").call();
+      git.tag().setName("1.0.1").call();
+      git.push().setPushTags().call();
+    }
+    ObjectId localTag;
+    try (Git git = Git.open(workingCopy)) {
+      localTag = git.tag().setName("1.0.0").call().getObjectId();
+    }
+
+    RepositoryProviderImpl repositoryProvider = createRepositoryProvider();
+    repositoryProvider.initialize(workingCopy, origin.toURI().toString(), "username", "password");
+    try {
+      assertTrue(repositoryProvider.fetchTags());
+    } finally {
+      repositoryProvider.closeRepository();
+    }
+
+    try (Git git = Git.open(workingCopy)) {
+      assertEquals(localTag, git.getRepository().exactRef(Constants.R_TAGS + "1.0.0").getObjectId());
+      assertNotNull(git.getRepository().exactRef(Constants.R_TAGS + "1.0.1"));
+    }
+  }
+
+  @Test
+  public void corruptLocalTagDeletedTest() throws Exception {
+    File workingCopy = createWorkingCopy();
+    File origin = new File(folder.getRoot(), "origin.git");
+    try (Git git = Git.open(workingCopy)) {
+      git.tag().setName("1.0.0").call();
+      git.tag().setName("1.0.1").call();
+    }
+
+    RepositoryProviderImpl repositoryProvider = createRepositoryProvider();
+    repositoryProvider.initialize(workingCopy, origin.toURI().toString(), "username", "password");
+    try {
+      repositoryProvider.isLocalVersionCorrupt("1.0.1");
+    } finally {
+      repositoryProvider.closeRepository();
+    }
+
+    try (Git git = Git.open(workingCopy)) {
+      assertNotNull(git.getRepository().exactRef(Constants.R_TAGS + "1.0.0"));
+      assertNull(git.getRepository().exactRef(Constants.R_TAGS + "1.0.1"));
+    }
+  }
+
+  @Test
+  public void reservedTagTakenOverTest() throws Exception {
+    File workingCopy = createWorkingCopy();
+    File origin = new File(folder.getRoot(), "origin.git");
+    RepositoryProviderImpl repositoryProvider = createRepositoryProvider();
+    repositoryProvider.initialize(workingCopy, origin.toURI().toString(), "username", "password");
+    try {
+      assertTrue(repositoryProvider.reserveTag("1.0.0"));
+
+      File otherCopy = folder.newFolder("other-copy");
+      ObjectId takenTag;
+      try (Git git = Git.cloneRepository().setURI(origin.toURI().toString()).setDirectory(otherCopy).call()) {
+        write(new File(otherCopy, "module-0/pom.xml"), "<project><version>1</version></project>");
+        takenTag = git.commit().setAll(true).setMessage("other release").call().getId();
+        git.tag().setName("1.0.0").setAnnotated(false).setForceUpdate(true).call();
+        git.push().add(Constants.R_TAGS + "1.0.0").setForce(true).call();
+      }
+
+      write(new File(workingCopy, "module-0/pom.xml"), "<project><version>2</version></project>");
+      assertTrue(repositoryProvider.commit("release"));
+      assertTrue(repositoryProvider.createTag("1.0.0"));
+      assertFalse(repositoryProvider.pushRelease("1.0.0"));
+
+      try (Git git = Git.open(origin)) {
+        assertEquals(takenTag, git.getRepository().exactRef(Constants.R_TAGS + "1.0.0").getObjectId());
+      }
+    } finally {
+      repositoryProvider.closeRepository();
+    }
+  }
+
+  @Test
+  public void sharedRepositorySnapshotTest() throws Exception {
+    File workingCopy = createWorkingCopy();
+    File origin = new File(folder.getRoot(), "origin.git");
+    Object session = new Object();
+    RepositoryProviderImpl repositoryProvider = createRepositoryProvider();
+    repositoryProvider.initializeCache(RepositoryProvider.REPOSITORY_CACHE.SESSION, session);
+    repositoryProvider.initialize(workingCopy, origin.toURI().toString(), "username", "password");
+    assertFalse(repositoryProvider.isRemoteAhead());
+    repositoryProvider.closeRepository();
+
+    File otherCopy = folder.newFolder("other-copy");
+    try (Git git = Git.cloneRepository().setURI(origin.toURI().toString()).setDirectory(otherCopy).call()) {
+      write(new File(otherCopy, "module-0/pom.xml"), "<project><version>1</version></project>");
+      git.commit().setAll(true).setMessage("other release").call();
+      git.push().call();
+    }
+
+    repositoryProvider.initialize(new File(workingCopy, "module-0"), origin.toURI().toString(), "username", "password");
+    try {
+      assertTrue(repositoryProvider.isRemoteAhead());
+    } finally {
+      repositoryProvider.closeRepository();
+      RepositoryHandle.endSession();
+    }
+  }
+
+  @Test
+  public void concurrentModulesTest() throws Exception {
+    final File workingCopy = createWorkingCopy();
+    final String scmUrl = new File(folder.getRoot(), "origin.git").toURI().toString();
+    final RepositoryProviderImpl repositoryProvider = createRepositoryProvider();
+    final CyclicBarrier barrier = new CyclicBarrier(MODULES);
+
+    ExecutorService executor = Executors.newFixedThreadPool(MODULES);
+    try {
+      List<Future<Void>> modules = new ArrayList<>();
+      for (int module = 0; module < MODULES; module++) {
+        final File baseDir = new File(workingCopy, "module-" + module);
+        modules.add(executor.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws Exception {
+            barrier.await();
+            repositoryProvider.initialize(baseDir, scmUrl, "username", "password");
+            for (int round = 0; round < ROUNDS; round++) {
+              File pomFile = new File(baseDir, "pom.xml");
+              write(pomFile, "<project><version>" + round + "</version></project>");
+              assertTrue(repositoryProvider.commit("[" + baseDir.getName() + "] round " + round, Collections.singletonList(pomFile)));
+              assertTrue(repositoryProvider.createTag(baseDir.getName() + "-" + round));
+              assertTrue(repositoryProvider.createTag("shared"));
+            }
+            return null;
+          }
+        }));
+      }
+      for (Future<Void> module : modules) {
+        module.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    try (Git git = Git.open(workingCopy)) {
+      List<RevCommit> commits = new ArrayList<>();
+      for (RevCommit commit : git.log().call()) {
+        commits.add(commit);
+        assertTrue(commit.getParentCount() <= 1);
+      }
+      assertEquals(1 + MODULES * ROUNDS, commits.size());
+
+      Set<String> tags = new HashSet<>();
+      for (Ref tag : git.tagList().call()) {
+        tags.add(tag.getName().substring(Constants.R_TAGS.length()));
+        assertNotNull(git.getRepository().parseCommit(tag.getObjectId()));
+      }
+      assertEquals(1 + MODULES * ROUNDS, tags.size());
+      assertTrue(tags.contains("shared"));
+      for (int module = 0; module < MODULES; module++) {
+        for (int round = 0; round < ROUNDS; round++) {
+          assertTrue(tags.contains("module-" + module + "-" + round));
+        }
+      }
+      assertTrue(git.status().call().isClean());
+    }
+    repositoryProvider.closeRepository();
+  }
+
+}
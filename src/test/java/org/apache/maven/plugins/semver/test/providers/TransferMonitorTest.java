@@ -0,0 +1,78 @@
+package org.apache.maven.plugins.semver.test.providers;
+
+import org.apache.maven.plugins.semver.providers.MetricsProvider;
+import org.apache.maven.plugins.semver.providers.MetricsProviderImpl;
+import org.apache.maven.plugins.semver.providers.MetricsReport;
+import org.apache.maven.plugins.semver.providers.TransferMonitor;
+import org.apache.maven.plugins.semver.test.AbstractSemverMavenPluginTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * <h1>TransferMonitorTest</h1>
+ * <p>Testing the progress of the tasks of a transfer.</p>
+ *
+ * @author sido
+ */
+public class TransferMonitorTest extends AbstractSemverMavenPluginTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void taskTotalsTest() throws Exception {
+    Logger logger = LoggerFactory.getLogger(TransferMonitorTest.class);
+    MetricsProviderImpl metricsProvider = new MetricsProviderImpl();
+    Field log = MetricsProviderImpl.class.getDeclaredField("LOG");
+    log.setAccessible(true);
+    log.set(metricsProvider, logger);
+
+    metricsProvider.startReport("PATCH");
+    TransferMonitor monitor = new TransferMonitor("fetch", logger, metricsProvider, MetricsProvider.PHASE.FETCH);
+    monitor.start(2);
+    monitor.beginTask("Receiving objects", 10);
+    monitor.update(4);
+    monitor.update(6);
+    monitor.beginTask("Resolving deltas", 3);
+    monitor.update(3);
+    monitor.finish(2048);
+    MetricsReport report = metricsProvider.finishReport(folder.getRoot());
+
+    assertEquals(2, monitor.getTasks().size());
+    assertEquals("receiving", monitor.getTasks().get(0).getKey());
+    assertEquals(10, monitor.getTasks().get(0).getObjects());
+    assertEquals("resolving", monitor.getTasks().get(1).getKey());
+    assertEquals(Long.valueOf(10), report.getCounters(MetricsProvider.PHASE.FETCH).get("receivingObjects"));
+    assertEquals(Long.valueOf(3), report.getCounters(MetricsProvider.PHASE.FETCH).get("resolvingObjects"));
+    assertEquals(Long.valueOf(2048), report.getCounters(MetricsProvider.PHASE.FETCH).get("bytes"));
+    assertFalse(monitor.isCancelled());
+  }
+
+  @Test
+  public void pushTotalsTest() throws Exception {
+    Logger logger = LoggerFactory.getLogger(TransferMonitorTest.class);
+    MetricsProviderImpl metricsProvider = new MetricsProviderImpl();
+    Field log = MetricsProviderImpl.class.getDeclaredField("LOG");
+    log.setAccessible(true);
+    log.set(metricsProvider, logger);
+
+    metricsProvider.startReport("PATCH");
+    TransferMonitor monitor = new TransferMonitor("push", logger, metricsProvider, MetricsProvider.PHASE.PUSH);
+    monitor.beginTask("Writing objects", 5);
+    monitor.update(5);
+    monitor.finish();
+    MetricsReport report = metricsProvider.finishReport(folder.getRoot());
+
+    assertEquals(Long.valueOf(5), report.getCounters(MetricsProvider.PHASE.PUSH).get("writingObjects"));
+    assertNull(report.getCounters(MetricsProvider.PHASE.PUSH).get("bytes"));
+  }
+
+}
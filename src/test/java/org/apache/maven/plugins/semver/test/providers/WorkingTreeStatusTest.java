@@ -0,0 +1,86 @@
+package org.apache.maven.plugins.semver.test.providers;
+
+import org.apache.maven.plugins.semver.providers.WorkingTreeStatus;
+import org.apache.maven.plugins.semver.test.AbstractSemverMavenPluginTest;
+import org.eclipse.jgit.api.Git;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * <h1>WorkingTreeStatusTest</h1>
+ * <p>Testing the scoped and parallel status of the working tree.</p>
+ *
+ * @author sido
+ */
+public class WorkingTreeStatusTest extends AbstractSemverMavenPluginTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private void write(String path, String content) throws Exception {
+    File file = new File(folder.getRoot(), path);
+    file.getParentFile().mkdirs();
+    Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private Git createRepository() throws Exception {
+    Git git = Git.init().setDirectory(folder.getRoot()).call();
+    write("pom.xml", "<project/>");
+    write("module-a/pom.xml", "<project/>");
+    write("module-a/src/main/resources/app.properties", "a=1");
+    write("module-b/pom.xml", "<project/>");
+    write("module-b/README.md", "b");
+    git.add().addFilepattern(".").call();
+    git.commit().setMessage("initial commit").call();
+    return git;
+  }
+
+  @Test
+  public void parallelStatusTest() throws Exception {
+    try (Git git = createRepository()) {
+      assertTrue(WorkingTreeStatus.parallel(git.getRepository(), 4).isClean());
+
+      write("module-b/README.md", "changed");
+      write("untracked.txt", "new");
+      WorkingTreeStatus status = WorkingTreeStatus.parallel(git.getRepository(), 4);
+      assertEquals(Arrays.asList("module-b/README.md", "untracked.txt"), Arrays.asList(status.getChangedPaths().toArray()));
+    }
+  }
+
+  @Test
+  public void scopedStatusTest() throws Exception {
+    try (Git git = createRepository()) {
+      write("module-b/README.md", "changed");
+      assertTrue(WorkingTreeStatus.scoped(git.getRepository(), Arrays.asList("pom.xml", "module-a/pom.xml", "module-b/pom.xml"), Collections.<String>emptyList()).isClean());
+
+      write("module-a/src/main/resources/app.properties", "a=2");
+      WorkingTreeStatus status = WorkingTreeStatus.scoped(git.getRepository(), Collections.singletonList("pom.xml"), Collections.singletonList("**/*.properties"));
+      assertEquals(Collections.singleton("module-a/src/main/resources/app.properties"), status.getChangedPaths());
+    }
+  }
+
+  @Test
+  public void topLevelGlobTest() throws Exception {
+    try (Git git = createRepository()) {
+      write("app.properties", "top=1");
+      write("module-a/src/main/resources/app.properties", "a=2");
+      WorkingTreeStatus status = WorkingTreeStatus.scoped(git.getRepository(), Collections.singletonList("pom.xml"), Collections.singletonList("**/*.properties"));
+      assertEquals(new HashSet<>(Arrays.asList("app.properties", "module-a/src/main/resources/app.properties")), status.getChangedPaths());
+
+      status = WorkingTreeStatus.scoped(git.getRepository(), Collections.singletonList("pom.xml"), Collections.singletonList("module-a/**/resources/**/*.properties"));
+      assertEquals(Collections.singleton("module-a/src/main/resources/app.properties"), status.getChangedPaths());
+    }
+  }
+
+}
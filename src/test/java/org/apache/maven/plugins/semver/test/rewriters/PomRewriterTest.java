@@ -0,0 +1,83 @@
+package org.apache.maven.plugins.semver.test.rewriters;
+
+import org.apache.maven.plugins.semver.rewriters.PomRewriter;
+import org.apache.maven.plugins.semver.test.AbstractSemverMavenPluginTest;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * <h1>PomRewriterTest</h1>
+ * <p>Testing the in-process rewrite of pom-versions.</p>
+ *
+ * @author sido
+ */
+public class PomRewriterTest extends AbstractSemverMavenPluginTest {
+
+  private static final String POM =
+      "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+      "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n" +
+      "  <!-- <version>1.0.0-SNAPSHOT</version> -->\n" +
+      "  <parent>\n" +
+      "    <groupId>nl.example</groupId>\n" +
+      "    <artifactId>parent</artifactId>\n" +
+      "    <version>1.0.0-SNAPSHOT</version>\n" +
+      "  </parent>\n" +
+      "  <artifactId>module-a</artifactId>\n" +
+      "  <version> 1.0.0-SNAPSHOT </version>\n" +
+      "  <name>Modulé A</name>\n" +
+      "  <dependencies>\n" +
+      "    <dependency>\n" +
+      "      <version>1.0.0-SNAPSHOT</version>\n" +
+      "      <groupId>${project.groupId}</groupId>\n" +
+      "      <artifactId>module-b</artifactId>\n" +
+      "    </dependency>\n" +
+      "    <dependency>\n" +
+      "      <groupId>nl.example</groupId>\n" +
+      "      <artifactId>module-c</artifactId>\n" +
+      "      <version>${project.version}</version>\n" +
+      "    </dependency>\n" +
+      "    <dependency>\n" +
+      "      <groupId>nl.example</groupId>\n" +
+      "      <artifactId>module-d</artifactId>\n" +
+      "      <version>0.9.0</version>\n" +
+      "    </dependency>\n" +
+      "    <dependency>\n" +
+      "      <groupId>junit</groupId>\n" +
+      "      <artifactId>junit</artifactId>\n" +
+      "      <version>1.0.0-SNAPSHOT</version>\n" +
+      "    </dependency>\n" +
+      "  </dependencies>\n" +
+      "  <build><plugins><plugin><artifactId>module-b</artifactId><version>1.0.0-SNAPSHOT</version></plugin></plugins></build>\n" +
+      "</project>\n";
+
+  @Test
+  public void rewritePomTest() {
+    PomRewriter pomRewriter = new PomRewriter(new HashSet<>(Arrays.asList("nl.example:parent", "nl.example:module-a", "nl.example:module-b", "nl.example:module-c", "nl.example:module-d")), "1.0.0-SNAPSHOT", "1.0.0");
+    String expectedPom = POM
+        .replace("    <version>1.0.0-SNAPSHOT</version>\n  </parent>", "    <version>1.0.0</version>\n  </parent>")
+        .replace("<version> 1.0.0-SNAPSHOT </version>", "<version> 1.0.0 </version>")
+        .replace("      <version>1.0.0-SNAPSHOT</version>\n      <groupId>", "      <version>1.0.0</version>\n      <groupId>");
+    assertEquals(expectedPom, pomRewriter.rewrite(POM));
+  }
+
+  @Test
+  public void pinnedDependencyTest() {
+    PomRewriter pomRewriter = new PomRewriter(new HashSet<>(Arrays.asList("nl.example:module-a", "nl.example:module-d")), "1.0.0-SNAPSHOT", "1.0.0");
+    String rewrittenPom = pomRewriter.rewrite(POM);
+    assertTrue(rewrittenPom.contains("<artifactId>module-d</artifactId>\n      <version>0.9.0</version>"));
+    assertTrue(rewrittenPom.contains("<version> 1.0.0 </version>"));
+  }
+
+  @Test
+  public void rewriteNothingTest() {
+    PomRewriter pomRewriter = new PomRewriter(new HashSet<>(Arrays.asList("nl.other:module-a")), "1.0.0-SNAPSHOT", "1.0.0");
+    assertEquals(POM, pomRewriter.rewrite(POM));
+  }
+
+}
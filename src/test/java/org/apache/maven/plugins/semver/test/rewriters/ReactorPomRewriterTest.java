@@ -0,0 +1,63 @@
+package org.apache.maven.plugins.semver.test.rewriters;
+
+import org.apache.maven.plugins.semver.rewriters.PomChangeSet;
+import org.apache.maven.plugins.semver.rewriters.PomRewriter;
+import org.apache.maven.plugins.semver.rewriters.ReactorPomRewriter;
+import org.apache.maven.plugins.semver.test.AbstractSemverMavenPluginTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * <h1>ReactorPomRewriterTest</h1>
+ * <p>Testing the parallel rewrite of all poms in a reactor.</p>
+ *
+ * @author sido
+ */
+public class ReactorPomRewriterTest extends AbstractSemverMavenPluginTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void rewriteReactorTest() throws Exception {
+    Set<String> reactorArtifacts = new HashSet<>();
+    List<File> pomFiles = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      String artifactId = "module-" + i;
+      String dependencyId = i == 0 ? "junit" : "module-" + (i - 1);
+      if (i % 10 != 9) {
+        reactorArtifacts.add("nl.example:" + artifactId);
+      }
+      File pomFile = new File(folder.newFolder(artifactId), "pom.xml");
+      String pom = "<project>\n  <groupId>nl.example</groupId>\n  <artifactId>" + artifactId + "</artifactId>\n  <version>1.0.0-SNAPSHOT</version>\n" +
+          "  <dependencies><dependency><groupId>nl.example</groupId><artifactId>" + dependencyId + "</artifactId><version>1.0.0-SNAPSHOT</version></dependency></dependencies>\n</project>\n";
+      Files.write(pomFile.toPath(), pom.getBytes(StandardCharsets.UTF_8));
+      pomFiles.add(pomFile);
+    }
+
+    PomChangeSet changeSet = ReactorPomRewriter.rewrite(pomFiles, new PomRewriter(reactorArtifacts, "1.0.0-SNAPSHOT", "1.0.0"), 4);
+    assertEquals(50, changeSet.getChanges().size());
+    for (int i = 0; i < 50; i++) {
+      assertEquals(pomFiles.get(i), changeSet.getChanges().get(i).getPomFile());
+    }
+    assertEquals(50, changeSet.getChangedFiles().size());
+
+    String pom = new String(Files.readAllBytes(pomFiles.get(9).toPath()), StandardCharsets.UTF_8);
+    assertTrue(pom.contains("<artifactId>module-9</artifactId>\n  <version>1.0.0-SNAPSHOT</version>"));
+    assertTrue(pom.contains("<artifactId>module-8</artifactId><version>1.0.0</version>"));
+  }
+
+}
@@ -0,0 +1,81 @@
+package org.apache.maven.plugins.semver.test.runmodes;
+
+import org.apache.maven.plugins.semver.runmodes.PreflightChecks;
+import org.apache.maven.plugins.semver.test.AbstractSemverMavenPluginTest;
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * <h1>PreflightChecksTest</h1>
+ * <p>Testing the concurrent checks before a release.</p>
+ *
+ * @author sido
+ */
+public class PreflightChecksTest extends AbstractSemverMavenPluginTest {
+
+  private static Callable<Boolean> check(final long millis, final boolean isFailed) {
+    return new Callable<Boolean>() {
+      @Override
+      public Boolean call() throws InterruptedException {
+        Thread.sleep(millis);
+        return isFailed;
+      }
+    };
+  }
+
+  @Test
+  public void passedChecksTest() {
+    long start = System.nanoTime();
+    String failedCheck = new PreflightChecks()
+        .add("local", check(200, false))
+        .add("remote", check(200, false))
+        .add("tags", check(200, false))
+        .run();
+    assertNull(failedCheck);
+    assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 550);
+  }
+
+  @Test
+  public void failFastTest() throws Exception {
+    final CountDownLatch cancelled = new CountDownLatch(1);
+    long start = System.nanoTime();
+    String failedCheck = new PreflightChecks()
+        .add("remote", new Callable<Boolean>() {
+          @Override
+          public Boolean call() {
+            try {
+              Thread.sleep(10000);
+            } catch (InterruptedException err) {
+              cancelled.countDown();
+            }
+            return false;
+          }
+        })
+        .add("local", check(50, true))
+        .run();
+    assertEquals("local", failedCheck);
+    assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000);
+    assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void exceptionTest() {
+    String failedCheck = new PreflightChecks()
+        .add("remote", new Callable<Boolean>() {
+          @Override
+          public Boolean call() throws Exception {
+            throw new IllegalStateException("remote is not reachable");
+          }
+        })
+        .add("local", check(10, false))
+        .run();
+    assertEquals("remote", failedCheck);
+  }
+
+}
@@ -0,0 +1,389 @@
+package org.apache.maven.plugins.semver.test.runmodes;
+
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Scm;
+import org.apache.maven.plugins.semver.configuration.SemverConfiguration;
+import org.apache.maven.plugins.semver.goals.SemverGoal;
+import org.apache.maven.plugins.semver.goals.SemverMavenPluginGoalRollback;
+import org.apache.maven.plugins.semver.providers.AsyncRepositoryProviderImpl;
+import org.apache.maven.plugins.semver.providers.MetricsProvider;
+import org.apache.maven.plugins.semver.providers.MetricsProviderImpl;
+import org.apache.maven.plugins.semver.providers.MetricsReport;
+import org.apache.maven.plugins.semver.providers.PomProvider;
+import org.apache.maven.plugins.semver.providers.PomProviderImpl;
+import org.apache.maven.plugins.semver.providers.RepositoryProvider;
+import org.apache.maven.plugins.semver.providers.RepositoryProviderImpl;
+import org.apache.maven.plugins.semver.providers.VersionProvider;
+import org.apache.maven.plugins.semver.providers.VersionProviderImpl;
+import org.apache.maven.plugins.semver.runmodes.RunMode;
+import org.apache.maven.plugins.semver.runmodes.RunModeNative;
+import org.apache.maven.plugins.semver.runmodes.RunModeNativeBranch;
+import org.apache.maven.plugins.semver.test.AbstractSemverMavenPluginTest;
+import org.apache.maven.plugins.semver.test.SmartHttpGitServer;
+import org.apache.maven.plugins.semver.utils.SemverExecutors;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.transport.HttpTransport;
+import org.eclipse.jgit.transport.http.HttpConnection;
+import org.eclipse.jgit.transport.http.HttpConnectionFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.Proxy;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * <h1>RoundTripBudgetTest</h1>
+ * <p>Testing the number of round trips to the remote of each goal, against an in-process git smart-HTTP server.</p>
+ * <p>A round trip is one HTTP-request: a ref-advertisement or a pack-exchange. The budgets are the current counts,
+ * a change that adds a round trip to the release has to raise the budget on purpose.</p>
+ *
+ * @author sido
+ */
+public class RoundTripBudgetTest extends AbstractSemverMavenPluginTest {
+
+  private static final int NATIVE_PATCH_BUDGET = 6;
+  private static final int NATIVE_PATCH_ATOMIC_BUDGET = 4;
+  private static final int NATIVE_PATCH_RESERVED_TAG_BUDGET = 10;
+  private static final int NATIVE_MINOR_BUDGET = 6;
+  private static final int NATIVE_BRANCH_PATCH_BUDGET = 6;
+  private static final int ROLLBACK_BUDGET = 4;
+  private static final int CLEANUP_BUDGET = 2;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private HttpConnectionFactory connectionFactory;
+  private SmartHttpGitServer server;
+  private PhaseMetricsProvider metricsProvider;
+  private File origin;
+  private File workingCopy;
+
+  @Before
+  public void setUp() throws Exception {
+    origin = folder.newFolder("origin.git");
+    Git.init().setBare(true).setDirectory(origin).call().close();
+    server = new SmartHttpGitServer(origin);
+    workingCopy = folder.newFolder("working-copy");
+    try (Git git = Git.cloneRepository().setURI(origin.toURI().toString()).setDirectory(workingCopy).call()) {
+      Files.write(new File(workingCopy, "pom.xml").toPath(), ("<project><modelVersion>4.0.0</modelVersion><groupId>org.haakma</groupId><artifactId>budget</artifactId><version>1.0.1-SNAPSHOT</version></project>").getBytes(StandardCharsets.UTF_8));
+      git.add().addFilepattern(".").call();
+      git.commit().setMessage("initial commit").call();
+      git.tag().setName("1.0.0").call();
+      git.push().setPushAll().setPushTags().call();
+      git.getRepository().getConfig().setString("remote", "origin", "url", server.getUrl());
+      git.getRepository().getConfig().save();
+    }
+
+    metricsProvider = new PhaseMetricsProvider();
+    connectionFactory = HttpTransport.getConnectionFactory();
+    final HttpConnectionFactory delegate = connectionFactory;
+    HttpTransport.setConnectionFactory(new HttpConnectionFactory() {
+      @Override
+      public HttpConnection create(URL url) throws IOException {
+        return withPhase(delegate.create(url));
+      }
+
+      @Override
+      public HttpConnection create(URL url, Proxy proxy) throws IOException {
+        return withPhase(delegate.create(url, proxy));
+      }
+    });
+  }
+
+  @After
+  public void tearDown() {
+    HttpTransport.setConnectionFactory(connectionFactory);
+    server.close();
+  }
+
+  private HttpConnection withPhase(HttpConnection connection) {
+    connection.setRequestProperty(SmartHttpGitServer.PHASE_HEADER, metricsProvider.getCurrentPhase());
+    return connection;
+  }
+
+  @Test
+  public void nativePatchTest() throws Exception {
+    Map<VersionProvider.FINAL_VERSION, String> finalVersions = runPatch(false, false);
+
+    assertEquals("1.0.2", finalVersions.get(VersionProvider.FINAL_VERSION.SCM));
+    assertBudget(MetricsProvider.PHASE.CREDENTIALS, 1);
+    assertBudget(MetricsProvider.PHASE.REMOTE_CHECK, 1);
+    assertBudget(MetricsProvider.PHASE.PUSH, 4);
+    assertEquals(0, server.getRequests(SmartHttpGitServer.NO_PHASE));
+    assertTrue("NATIVE patch takes " + server.getRequests(), server.getTotalRequests() <= NATIVE_PATCH_BUDGET);
+  }
+
+  @Test
+  public void nativeAtomicPatchTest() throws Exception {
+    runPatch(true, false);
+
+    assertBudget(MetricsProvider.PHASE.PUSH, 2);
+    assertEquals(0, server.getRequests(SmartHttpGitServer.NO_PHASE));
+    assertTrue("NATIVE atomic patch takes " + server.getRequests(), server.getTotalRequests() <= NATIVE_PATCH_ATOMIC_BUDGET);
+  }
+
+  @Test
+  public void nativeReservedTagPatchTest() throws Exception {
+    try (Git git = Git.open(origin)) {
+      RefUpdate takenTag = git.getRepository().updateRef(Constants.R_TAGS + "1.0.2");
+      takenTag.setNewObjectId(git.getRepository().resolve(Constants.HEAD));
+      assertEquals(RefUpdate.Result.NEW, takenTag.update());
+    }
+
+    Map<VersionProvider.FINAL_VERSION, String> finalVersions = runPatch(false, true);
+
+    assertEquals("1.0.3", finalVersions.get(VersionProvider.FINAL_VERSION.SCM));
+    try (Git git = Git.open(origin)) {
+      assertEquals(git.getRepository().resolve("master~1"), git.getRepository().resolve(Constants.R_TAGS + "1.0.3^{commit}"));
+    }
+    assertBudget(MetricsProvider.PHASE.TAG, 3);
+    assertBudget(MetricsProvider.PHASE.FETCH, 1);
+    assertEquals(0, server.getRequests(SmartHttpGitServer.NO_PHASE));
+    assertTrue("NATIVE patch with a taken tag takes " + server.getRequests(), server.getTotalRequests() <= NATIVE_PATCH_RESERVED_TAG_BUDGET);
+  }
+
+  @Test
+  public void nativeMinorTest() throws Exception {
+    Map<VersionProvider.FINAL_VERSION, String> finalVersions = runGoal(SemverGoal.SEMVER_GOAL.MINOR, RunMode.RUNMODE.NATIVE, null, false, false);
+
+    assertEquals("1.1.0", finalVersions.get(VersionProvider.FINAL_VERSION.SCM));
+    assertBudget(MetricsProvider.PHASE.CREDENTIALS, 1);
+    assertBudget(MetricsProvider.PHASE.REMOTE_CHECK, 1);
+    assertBudget(MetricsProvider.PHASE.PUSH, 4);
+    assertEquals(0, server.getRequests(SmartHttpGitServer.NO_PHASE));
+    assertTrue("NATIVE minor takes " + server.getRequests(), server.getTotalRequests() <= NATIVE_MINOR_BUDGET);
+  }
+
+  @Test
+  public void nativeBranchPatchTest() throws Exception {
+    Map<VersionProvider.FINAL_VERSION, String> finalVersions = runGoal(SemverGoal.SEMVER_GOAL.PATCH, RunMode.RUNMODE.NATIVE_BRANCH, "6.4.0", false, false);
+
+    assertEquals("6.4.0-1.0.2", finalVersions.get(VersionProvider.FINAL_VERSION.SCM));
+    try (Git git = Git.open(origin)) {
+      assertNotNull(git.getRepository().exactRef(Constants.R_TAGS + "6.4.0-1.0.2"));
+    }
+    assertBudget(MetricsProvider.PHASE.CREDENTIALS, 1);
+    assertBudget(MetricsProvider.PHASE.REMOTE_CHECK, 1);
+    assertBudget(MetricsProvider.PHASE.PUSH, 4);
+    assertEquals(0, server.getRequests(SmartHttpGitServer.NO_PHASE));
+    assertTrue("NATIVE_BRANCH patch takes " + server.getRequests(), server.getTotalRequests() <= NATIVE_BRANCH_PATCH_BUDGET);
+  }
+
+  @Test
+  public void rollbackTest() throws Exception {
+    Files.copy(new File(workingCopy, "pom.xml").toPath(), new File(workingCopy, "pom.xml.semverBackup").toPath());
+    MavenProject project = createProject();
+    RepositoryProviderImpl repositoryProvider = createRepositoryProvider();
+    SemverMavenPluginGoalRollback rollback = new SemverMavenPluginGoalRollback();
+    inject(rollback, "project", project);
+    inject(rollback, "session", createSession(project));
+    inject(rollback, "runMode", RunMode.RUNMODE.NATIVE);
+    inject(rollback, "scmUsername", "username");
+    inject(rollback, "scmPassword", "password");
+    inject(rollback, "checkRemoteVersionTags", true);
+    inject(rollback, "atomicPublish", false);
+    inject(rollback, "tagReservation", false);
+    inject(rollback, "pomRewriter", PomProvider.POM_REWRITER.NATIVE);
+    inject(rollback, "objectDatabaseCommit", false);
+    inject(rollback, "statusScope", RepositoryProvider.STATUS_SCOPE.FULL);
+    inject(rollback, "aggregate", false);
+    inject(rollback, "repositoryCache", RepositoryProvider.REPOSITORY_CACHE.NONE);
+    inject(rollback, "credentialCacheTtl", 0L);
+    inject(rollback, "trace", false);
+    inject(rollback, "repositoryProvider", repositoryProvider);
+    inject(rollback, "metricsProvider", metricsProvider);
+
+    rollback.execute();
+
+    assertFalse(new File(workingCopy, "pom.xml.semverBackup").exists());
+    try (Git git = Git.open(origin)) {
+      assertTrue(git.log().setMaxCount(1).call().iterator().next().getFullMessage().contains("rollback"));
+    }
+    assertBudget(MetricsProvider.PHASE.CREDENTIALS, 1);
+    assertBudget(MetricsProvider.PHASE.REMOTE_CHECK, 1);
+    assertBudget(MetricsProvider.PHASE.PUSH, 2);
+    assertBudget(MetricsProvider.PHASE.TAG, 1);
+    assertEquals(0, server.getRequests(SmartHttpGitServer.NO_PHASE));
+    assertTrue("NATIVE rollback takes " + server.getRequests(), server.getTotalRequests() <= ROLLBACK_BUDGET);
+  }
+
+  @Test
+  public void cleanupGitTagsTest() throws Exception {
+    RepositoryProviderImpl repositoryProvider = createRepositoryProvider();
+    repositoryProvider.initialize(workingCopy, "scm:git:" + server.getUrl(), "username", "password");
+    repositoryProvider.pull();
+    repositoryProvider.getLocalTags();
+    repositoryProvider.closeRepository();
+
+    assertBudget(MetricsProvider.PHASE.CREDENTIALS, 1);
+    assertBudget(MetricsProvider.PHASE.FETCH, 1);
+    assertTrue("CLEANUP-GIT-TAGS takes " + server.getRequests(), server.getTotalRequests() <= CLEANUP_BUDGET);
+  }
+
+  private void assertBudget(MetricsProvider.PHASE phase, int budget) {
+    int requests = server.getRequests(phase.name());
+    assertTrue(phase + " takes " + requests + " round trips, budget is " + budget + ": " + server.getRequests(), requests <= budget);
+  }
+
+  private Map<VersionProvider.FINAL_VERSION, String> runPatch(boolean isAtomicPublish, boolean isTagReservation) throws Exception {
+    return runGoal(SemverGoal.SEMVER_GOAL.PATCH, RunMode.RUNMODE.NATIVE, null, isAtomicPublish, isTagReservation);
+  }
+
+  private MavenProject createProject() {
+    Model model = new Model();
+    model.setGroupId("org.haakma");
+    model.setArtifactId("budget");
+    model.setVersion("1.0.1-SNAPSHOT");
+    Scm scm = new Scm();
+    scm.setConnection("scm:git:" + server.getUrl());
+    model.setScm(scm);
+    MavenProject project = new MavenProject(model);
+    project.setFile(new File(workingCopy, "pom.xml"));
+    return project;
+  }
+
+  private static MavenSession createSession(MavenProject project) {
+    return new MavenSession(null, new DefaultMavenExecutionRequest(), new DefaultMavenExecutionResult(), Collections.singletonList(project));
+  }
+
+  private Map<VersionProvider.FINAL_VERSION, String> runGoal(SemverGoal.SEMVER_GOAL goal, RunMode.RUNMODE runModeType, String branchVersion, boolean isAtomicPublish, boolean isTagReservation) throws Exception {
+    MavenProject project = createProject();
+    MavenSession session = createSession(project);
+
+    RepositoryProviderImpl repositoryProvider = createRepositoryProvider();
+    VersionProviderImpl versionProvider = new VersionProviderImpl();
+    inject(versionProvider, "LOG", LoggerFactory.getLogger(VersionProviderImpl.class));
+    inject(versionProvider, "repositoryProvider", repositoryProvider);
+    PomProviderImpl pomProvider = new PomProviderImpl();
+    inject(pomProvider, "LOG", LoggerFactory.getLogger(PomProviderImpl.class));
+    inject(pomProvider, "repositoryProvider", repositoryProvider);
+    inject(pomProvider, "metricsProvider", metricsProvider);
+    inject(pomProvider, "project", project);
+    inject(pomProvider, "session", session);
+    RunMode runMode = runModeType == RunMode.RUNMODE.NATIVE_BRANCH ? new RunModeNativeBranch() : new RunModeNative();
+    inject(runMode, "LOG", LoggerFactory.getLogger(runMode.getClass()));
+    inject(runMode, "pomProvider", pomProvider);
+    inject(runMode, "versionProvider", versionProvider);
+    inject(runMode, "repositoryProvider", repositoryProvider);
+    inject(runMode, "metricsProvider", metricsProvider);
+    inject(runMode, "asyncRepositoryProvider", new AsyncRepositoryProviderImpl(repositoryProvider, SemverExecutors.getRepositoryExecutor()));
+
+    SemverConfiguration configuration = new SemverConfiguration(null);
+    configuration.setRunMode(runModeType);
+    configuration.setBranchVersion(branchVersion);
+    configuration.setCheckRemoteVersionTags(true);
+    configuration.setAtomicPublish(isAtomicPublish);
+    configuration.setTagReservation(isTagReservation);
+    configuration.setPomRewriter(PomProvider.POM_REWRITER.NATIVE);
+    configuration.setBaseDir(workingCopy);
+
+    metricsProvider.startReport(goal.name());
+    repositoryProvider.initialize(workingCopy, "scm:git:" + server.getUrl(), "username", "password");
+    Map<VersionProvider.FINAL_VERSION, String> finalVersions = runMode.execute(goal, configuration, "1.0.1-SNAPSHOT");
+    repositoryProvider.closeRepository();
+    metricsProvider.finishReport(new File(folder.getRoot(), "target"));
+    return finalVersions;
+  }
+
+  private RepositoryProviderImpl createRepositoryProvider() throws Exception {
+    RepositoryProviderImpl repositoryProvider = new RepositoryProviderImpl();
+    inject(repositoryProvider, "LOG", LoggerFactory.getLogger(RepositoryProviderImpl.class));
+    inject(repositoryProvider, "metricsProvider", metricsProvider);
+    return repositoryProvider;
+  }
+
+  private static void inject(Object component, String name, Object value) throws Exception {
+    Class<?> type = component.getClass();
+    while (type.getSuperclass() != null && !hasField(type, name)) {
+      type = type.getSuperclass();
+    }
+    Field field = type.getDeclaredField(name);
+    field.setAccessible(true);
+    field.set(component, value);
+  }
+
+  private static boolean hasField(Class<?> type, String name) {
+    for (Field field : type.getDeclaredFields()) {
+      if (field.getName().equals(name)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   *
+   * <p>Keeps the running phase of every thread, the HTTP-requests of JGit are made on the thread of the phase.</p>
+   */
+  private static class PhaseMetricsProvider implements MetricsProvider {
+
+    private final MetricsProviderImpl metricsProvider = new MetricsProviderImpl();
+    private final ThreadLocal<Deque<PHASE>> runningPhases = new ThreadLocal<Deque<PHASE>>() {
+      @Override
+      protected Deque<PHASE> initialValue() {
+        return new ArrayDeque<>();
+      }
+    };
+
+    private PhaseMetricsProvider() throws Exception {
+      inject(metricsProvider, "LOG", LoggerFactory.getLogger(MetricsProviderImpl.class));
+    }
+
+    private String getCurrentPhase() {
+      PHASE phase = runningPhases.get().peek();
+      return phase == null ? SmartHttpGitServer.NO_PHASE : phase.name();
+    }
+
+    @Override
+    public void startReport(String goal) {
+      metricsProvider.startReport(goal);
+    }
+
+    @Override
+    public Timer startPhase(PHASE phase) {
+      final Timer timer = metricsProvider.startPhase(phase);
+      final Deque<PHASE> phases = runningPhases.get();
+      phases.push(phase);
+      return new Timer() {
+        @Override
+        public void close() {
+          phases.pop();
+          timer.close();
+        }
+      };
+    }
+
+    @Override
+    public void count(PHASE phase, String counter, long value) {
+      metricsProvider.count(phase, counter, value);
+    }
+
+    @Override
+    public MetricsReport finishReport(File outputDirectory) {
+      return metricsProvider.finishReport(outputDirectory);
+    }
+  }
+
+}
@@ -0,0 +1,64 @@
+package org.apache.maven.plugins.semver.test.utils;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.maven.plugins.semver.test.AbstractSemverMavenPluginTest;
+import org.apache.maven.plugins.semver.utils.SemverEvent;
+import org.apache.maven.plugins.semver.utils.SemverEvents;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * <h1>SemverEventsTest</h1>
+ * <p>Testing the flight-recorder events of the plugin.</p>
+ *
+ * @author sido
+ */
+public class SemverEventsTest extends AbstractSemverMavenPluginTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void recordedEventsTest() throws Exception {
+    Assume.assumeTrue(SemverEvents.isAvailable());
+    File dump = new File(folder.getRoot(), "semver.jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable("org.apache.maven.plugins.semver.GitOperation");
+      recording.enable("org.apache.maven.plugins.semver.FileWrite");
+      recording.start();
+      try (SemverEvent event = SemverEvents.git("push", "github.com")) {
+        event.setCount(2).setSucceeded(true);
+      }
+      try (SemverEvent event = SemverEvents.fileWrite("backup", new File("pom.xml.semverBackup"))) {
+        event.setBytes(42);
+      }
+      recording.stop();
+      recording.dump(dump.toPath());
+    }
+
+    List<RecordedEvent> events = RecordingFile.readAllEvents(dump.toPath());
+    assertEquals(2, events.size());
+    for (RecordedEvent event : events) {
+      if (event.getEventType().getName().endsWith("GitOperation")) {
+        assertEquals("push", event.getString("operation"));
+        assertEquals("github.com", event.getString("remoteHost"));
+        assertEquals(2, event.getLong("refCount"));
+        assertEquals(SemverEvent.SUCCESS, event.getString("outcome"));
+      } else {
+        assertEquals(42, event.getLong("bytes"));
+        assertEquals(SemverEvent.FAILURE, event.getString("outcome"));
+      }
+    }
+  }
+
+}
@@ -0,0 +1,77 @@
+package org.apache.maven.plugins.semver.test.utils;
+
+import org.apache.maven.plugins.semver.test.AbstractSemverMavenPluginTest;
+import org.apache.maven.plugins.semver.utils.SemverEvent;
+import org.apache.maven.plugins.semver.utils.SemverEvents;
+import org.apache.maven.plugins.semver.utils.SemverTrace;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * <h1>SemverTraceTest</h1>
+ * <p>Testing the trace of the git-operations and reading it back for a replay.</p>
+ *
+ * @author sido
+ */
+public class SemverTraceTest extends AbstractSemverMavenPluginTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void recordAndReadTest() throws Exception {
+    try (SemverEvent event = SemverEvents.git("ls-remote", "github.com")) {
+      event.setCount(3).setSucceeded(true);
+    }
+    assertFalse(SemverTrace.isRecording());
+    assertNull(SemverTrace.finish());
+
+    SemverTrace.start("PATCH");
+    try (SemverEvent event = SemverEvents.git("create-tag", "github.com")) {
+      event.setRefs(Collections.singletonList("refs/tags/1.0.2")).setCount(1).setSucceeded(true);
+    }
+    try (SemverEvent event = SemverEvents.git("push-release", "github.com")) {
+      event.setRefs(Arrays.asList("refs/heads/master", "refs/tags/1.0.2")).setCount(2).setBytes(512);
+    }
+    SemverTrace trace = SemverTrace.finish();
+    assertFalse(SemverTrace.isRecording());
+
+    File traceFile = new File(folder.getRoot(), SemverTrace.TRACE_FILE);
+    Files.write(traceFile.toPath(), trace.toTsv().getBytes(StandardCharsets.UTF_8));
+    SemverTrace readTrace = SemverTrace.read(traceFile);
+
+    assertEquals("PATCH", readTrace.getGoal());
+    List<SemverTrace.Entry> entries = readTrace.getEntries();
+    assertEquals(2, entries.size());
+    assertEquals("create-tag", entries.get(0).getOperation());
+    assertEquals("github.com", entries.get(0).getRemoteHost());
+    assertEquals(Collections.singletonList("refs/tags/1.0.2"), entries.get(0).getRefs());
+    assertTrue(entries.get(0).isSucceeded());
+    assertEquals("push-release", entries.get(1).getOperation());
+    assertEquals(Arrays.asList("refs/heads/master", "refs/tags/1.0.2"), entries.get(1).getRefs());
+    assertEquals(2, entries.get(1).getCount());
+    assertEquals(512, entries.get(1).getBytes());
+    assertEquals(SemverEvent.FAILURE, entries.get(1).getOutcome());
+    assertTrue(entries.get(1).getOffsetNanos() >= entries.get(0).getOffsetNanos());
+  }
+
+  @Test(expected = IOException.class)
+  public void readInvalidTraceTest() throws Exception {
+    File traceFile = folder.newFile("semver-metrics.json");
+    Files.write(traceFile.toPath(), "{}".getBytes(StandardCharsets.UTF_8));
+    SemverTrace.read(traceFile);
+  }
+
+}
@@ -0,0 +1,81 @@
+package org.apache.maven.plugins.semver.test.versions;
+
+import org.apache.maven.plugins.semver.test.AbstractSemverMavenPluginTest;
+import org.apache.maven.plugins.semver.versions.SemanticVersion;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * <h1>SemanticVersionTest</h1>
+ * <p>Testing parsing and precedence of semantic versions.</p>
+ *
+ * @author sido
+ */
+public class SemanticVersionTest extends AbstractSemverMavenPluginTest {
+
+  @Test
+  public void parseVersionTest() {
+    SemanticVersion version = SemanticVersion.parse("1.2.3-beta.1+build.5");
+    assertEquals(1, version.getMajor());
+    assertEquals(2, version.getMinor());
+    assertEquals(3, version.getPatch());
+    assertEquals("beta.1", version.getPrerelease());
+    assertEquals("build.5", version.getBuildMetadata());
+    assertEquals("1.2.3", version.toRelease().toString());
+    assertEquals("1.3.0-SNAPSHOT", version.nextMinor().withPrerelease("SNAPSHOT").toString());
+  }
+
+  @Test
+  public void rpmVersionTest() {
+    assertNull(SemanticVersion.tryParse("6.4.0-001000000"));
+    assertNull(SemanticVersion.tryParse("6.4.0-001000000+1.0.0+beta"));
+    assertNull(SemanticVersion.tryParse("1.0.0+1.0.0+beta"));
+    assertEquals("001", SemanticVersion.parse("1.0.0+001").getBuildMetadata());
+    assertEquals("0.rc-01", SemanticVersion.parse("1.0.0-0.rc-01").getPrerelease());
+  }
+
+  @Test
+  public void withPrereleaseTest() {
+    assertEquals("1.2.3-SNAPSHOT", SemanticVersion.parse("1.2.3").withPrerelease("SNAPSHOT").toString());
+    SemanticVersion version = SemanticVersion.parse("1.2.3-beta.1+build.5").withPrerelease("rc.1");
+    assertEquals("1.2.3-rc.1", version.toString());
+    assertEquals("rc.1", version.getPrerelease());
+    assertEquals("", version.getBuildMetadata());
+    assertEquals(SemanticVersion.parse("1.2.3-rc.1"), version);
+    assertEquals("1.2.3-SNAPSHOT", SemanticVersion.parse("1.2.3+build.5").withPrerelease("SNAPSHOT").toString());
+    for (String invalidPrerelease : new String[] {"", "01", "beta..1", "beta+1"}) {
+      try {
+        SemanticVersion.parse("1.2.3").withPrerelease(invalidPrerelease);
+        fail(invalidPrerelease);
+      } catch (IllegalArgumentException err) {
+        // expected
+      }
+    }
+  }
+
+  @Test
+  public void invalidVersionTest() {
+    String[] invalidVersions = {"", "1", "1.0", "v1.0.0", "01.0.0", "1.0.0-", "1.0.0-beta..1", "1.0.0+", "1.0.0-beta_1", "1.0.0.0", "99999999999.0.0", "1.0.0-01", "1.0.0-beta.007", "1.0.0+a+b"};
+    for (String invalidVersion : invalidVersions) {
+      assertNull(invalidVersion, SemanticVersion.tryParse(invalidVersion));
+    }
+  }
+
+  @Test
+  public void precedenceTest() {
+    String[] versions = {"1.0.0-alpha", "1.0.0-alpha.1", "1.0.0-alpha.beta", "1.0.0-beta", "1.0.0-beta.2", "1.0.0-beta.11", "1.0.0-rc.1", "1.0.0", "1.0.1", "1.1.0", "2.0.0"};
+    for (int i = 1; i < versions.length; i++) {
+      SemanticVersion lower = SemanticVersion.parse(versions[i - 1]);
+      SemanticVersion higher = SemanticVersion.parse(versions[i]);
+      assertTrue(lower + " < " + higher, lower.compareTo(higher) < 0);
+      assertTrue(higher + " > " + lower, higher.compareTo(lower) > 0);
+    }
+    assertEquals(0, SemanticVersion.parse("1.0.0+a").compareTo(SemanticVersion.parse("1.0.0+b")));
+    assertFalse(SemanticVersion.parse("1.0.0+a").equals(SemanticVersion.parse("1.0.0+b")));
+    assertEquals(SemanticVersion.parse("1.0.0-beta.11+a"), SemanticVersion.parse("1.0.0-beta.11+a"));
+    assertEquals(SemanticVersion.parse("1.0.0-beta.11+a").hashCode(), SemanticVersion.parse("1.0.0-beta.11+a").hashCode());
+  }
+
+}
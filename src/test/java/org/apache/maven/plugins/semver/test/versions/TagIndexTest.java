@@ -0,0 +1,141 @@
+package org.apache.maven.plugins.semver.test.versions;
+
+import org.apache.maven.plugins.semver.test.AbstractSemverMavenPluginTest;
+import org.apache.maven.plugins.semver.versions.TagIndex;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * <h1>TagIndexTest</h1>
+ * <p>Testing the persistent tag-index on a local GIT-repository.</p>
+ *
+ * @author sido
+ */
+public class TagIndexTest extends AbstractSemverMavenPluginTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void loadTagIndexTest() throws Exception {
+    try (Git git = Git.init().setDirectory(folder.getRoot()).call()) {
+      RevCommit commit = git.commit().setMessage("initial commit").call();
+      git.tag().setName("1.0.0").call();
+      git.tag().setName("1.2.0-beta").call();
+      git.tag().setName("build-12").call();
+
+      TagIndex tagIndex = TagIndex.load(git.getRepository());
+      assertEquals(3, tagIndex.getEntries().size());
+      assertTrue(TagIndex.getIndexFile(git.getRepository()).isFile());
+
+      TagIndex.Entry release = tagIndex.get("1.0.0");
+      assertTrue(release.isVersion());
+      assertEquals(1, release.getVersion().getMajor());
+      assertEquals(0, release.getVersion().getMinor());
+      assertEquals(0, release.getVersion().getPatch());
+      assertEquals(commit.getId(), release.getCommitId());
+
+      TagIndex.Entry beta = tagIndex.get("1.2.0-beta");
+      assertEquals("beta", beta.getVersion().getPrerelease());
+      assertTrue(beta.getVersion().compareTo(release.getVersion()) > 0);
+
+      assertFalse(tagIndex.get("build-12").isVersion());
+    }
+  }
+
+  @Test
+  public void updateTagIndexTest() throws Exception {
+    try (Git git = Git.init().setDirectory(folder.getRoot()).call()) {
+      git.commit().setMessage("initial commit").call();
+      git.tag().setName("1.0.0").call();
+      assertEquals(1, TagIndex.load(git.getRepository()).getEntries().size());
+
+      git.tag().setName("1.0.1").call();
+      TagIndex tagIndex = TagIndex.load(git.getRepository());
+      assertEquals(2, tagIndex.getEntries().size());
+      assertEquals(1, tagIndex.get("1.0.1").getVersion().getPatch());
+
+      git.tagDelete().setTags("1.0.0").call();
+      assertNull(TagIndex.load(git.getRepository()).get("1.0.0"));
+    }
+  }
+
+  @Test
+  public void movedTagTest() throws Exception {
+    try (Git git = Git.init().setDirectory(folder.getRoot()).call()) {
+      git.commit().setMessage("initial commit").call();
+      git.tag().setName("1.0.0").setAnnotated(false).call();
+      File looseTag = new File(git.getRepository().getDirectory(), Constants.R_TAGS + "1.0.0");
+      long lastModified = looseTag.lastModified();
+      assertEquals(1, TagIndex.load(git.getRepository()).getEntries().size());
+
+      RevCommit moved = git.commit().setMessage("moved commit").call();
+      git.tag().setName("1.0.0").setAnnotated(false).setForceUpdate(true).call();
+      assertTrue(looseTag.setLastModified(lastModified));
+      assertEquals(moved.getId(), TagIndex.load(git.getRepository()).get("1.0.0").getCommitId());
+    }
+  }
+
+  @Test
+  public void movedPackedTagTest() throws Exception {
+    try (Git git = Git.init().setDirectory(folder.getRoot()).call()) {
+      RevCommit commit = git.commit().setMessage("initial commit").call();
+      RevCommit moved = git.commit().setMessage("moved commit").call();
+      File packedRefs = new File(git.getRepository().getDirectory(), Constants.PACKED_REFS);
+      write(packedRefs, commit.getName() + " " + Constants.R_TAGS + "1.0.0\n");
+      long lastModified = packedRefs.lastModified();
+      assertEquals(commit.getId(), TagIndex.load(git.getRepository()).get("1.0.0").getCommitId());
+
+      write(packedRefs, moved.getName() + " " + Constants.R_TAGS + "1.0.0\n");
+      assertTrue(packedRefs.setLastModified(lastModified));
+      assertEquals(moved.getId(), TagIndex.load(git.getRepository()).get("1.0.0").getCommitId());
+    }
+  }
+
+  @Test
+  public void nestedLooseTagTest() throws Exception {
+    try (Git git = Git.init().setDirectory(folder.getRoot()).call()) {
+      git.commit().setMessage("initial commit").call();
+      git.tag().setName("1.0.0").call();
+      assertEquals(1, TagIndex.load(git.getRepository()).getEntries().size());
+
+      git.tag().setName("release/2.0.0").call();
+      TagIndex tagIndex = TagIndex.load(git.getRepository());
+      assertEquals(2, tagIndex.getEntries().size());
+      assertNotNull(tagIndex.get("release/2.0.0"));
+
+      git.tagDelete().setTags("release/2.0.0").call();
+      tagIndex = TagIndex.load(git.getRepository());
+      assertNull(tagIndex.get("release/2.0.0"));
+      assertNotNull(tagIndex.get("1.0.0"));
+    }
+  }
+
+  private static void write(File file, String content) throws Exception {
+    Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void createEntryTest() {
+    TagIndex.Entry beta = TagIndex.Entry.create("6.4.0-beta.1+1.0.0", ObjectId.zeroId(), ObjectId.zeroId());
+    assertTrue(beta.isVersion());
+    assertEquals(6, beta.getVersion().getMajor());
+    assertEquals("beta.1", beta.getVersion().getPrerelease());
+    assertFalse(TagIndex.Entry.create("6.4.0-001000000+1.0.0", ObjectId.zeroId(), ObjectId.zeroId()).isVersion());
+    assertFalse(TagIndex.Entry.create("1.0", ObjectId.zeroId(), ObjectId.zeroId()).isVersion());
+    assertFalse(TagIndex.Entry.create("v1.0.0", ObjectId.zeroId(), ObjectId.zeroId()).isVersion());
+  }
+
+}
@@ -0,0 +1,68 @@
+package org.apache.maven.plugins.semver.test.versions;
+
+import org.apache.maven.plugins.semver.test.AbstractSemverMavenPluginTest;
+import org.apache.maven.plugins.semver.versions.SemanticVersion;
+import org.apache.maven.plugins.semver.versions.VersionIndex;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * <h1>VersionIndexTest</h1>
+ * <p>Testing the lookups and range queries of the version-index.</p>
+ *
+ * @author sido
+ */
+public class VersionIndexTest extends AbstractSemverMavenPluginTest {
+
+  private VersionIndex createVersionIndex() {
+    return VersionIndex.create(Arrays.asList("1.0.0", "1.1.0-beta", "1.1.0", "1.2.0", "2.0.0-rc.1", "build-12", "001002003+1.2.3", "001003000"));
+  }
+
+  @Test
+  public void lookupTest() {
+    VersionIndex versionIndex = createVersionIndex();
+    assertEquals(5, versionIndex.size());
+    assertEquals("1.2.0", versionIndex.getHighestRelease().toString());
+    assertEquals("2.0.0-rc.1", versionIndex.getHighestVersion().toString());
+    assertEquals("1.1.0", versionIndex.floor(SemanticVersion.parse("1.1.5")).toString());
+    assertEquals("1.2.0", versionIndex.ceiling(SemanticVersion.parse("1.1.5")).toString());
+    assertEquals("1.1.0", versionIndex.higher(SemanticVersion.parse("1.1.0-beta")).toString());
+    assertNull(versionIndex.higher(SemanticVersion.parse("2.0.0")));
+  }
+
+  @Test
+  public void rangeTest() {
+    VersionIndex versionIndex = createVersionIndex();
+    assertEquals(Arrays.asList(SemanticVersion.parse("1.0.0"), SemanticVersion.parse("1.1.0")),
+        Arrays.asList(versionIndex.getReleasesBetween(SemanticVersion.parse("1.0.0"), SemanticVersion.parse("1.2.0")).toArray()));
+    assertEquals(5, versionIndex.getVersionsBetween(SemanticVersion.parse("1.0.0"), SemanticVersion.parse("2.0.0")).size());
+    assertEquals(3, versionIndex.getVersionsBetween(SemanticVersion.parse("1.0.0"), SemanticVersion.parse("1.2.0")).size());
+  }
+
+  @Test
+  public void findTagAheadTest() {
+    VersionIndex versionIndex = createVersionIndex();
+    assertEquals("1.2.0", versionIndex.findTagAhead("1.1.0"));
+    assertNull(versionIndex.findTagAhead("2.0.0"));
+    assertEquals("001003000", versionIndex.findTagAhead("001002003+1.2.3"));
+    assertNull(versionIndex.findTagAhead("001003001"));
+    assertEquals("001002003+1.2.3", versionIndex.getRpmVersions().getTag(SemanticVersion.of(1, 2, 3)));
+  }
+
+  @Test
+  public void branchRpmTagTest() {
+    VersionIndex versionIndex = VersionIndex.create(Arrays.asList("6.4.0-001000000+1.0.0", "6.4.0-001000001+1.0.1+beta", "6.5.0-001002000+1.2.0", "1.0.0"));
+    assertEquals(1, versionIndex.size());
+    assertEquals("6.4.0-", VersionIndex.getRpmBranchVersion("6.4.0-001000000+1.0.0"));
+    assertEquals(SemanticVersion.of(1, 0, 1), VersionIndex.parseRpmTag("6.4.0-001000001+1.0.1+beta"));
+    assertEquals("6.4.0-001000001+1.0.1+beta", versionIndex.findTagAhead("6.4.0-001000000+1.0.0"));
+    assertNull(versionIndex.findTagAhead("6.4.0-001000001"));
+    assertNull(versionIndex.findTagAhead("6.5.0-001002000"));
+    assertNull(VersionIndex.parseRpmTag("1.0.0-0001000000"));
+  }
+
+}